@@ -0,0 +1,36 @@
+package com.example.backend.common.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 発生日時の型変換のベンチマーク
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DateUtilsBenchmark {
+
+    // 時分あり・日付のみ・全角数字
+    @Param({"2025年9月8日午後6時10分", "2025年9月8日", "２０２５年９月８日午前９時"})
+    private String occurDate;
+
+    @Benchmark
+    public LocalDateTime parseToLocalDateTime() {
+        return DateUtils.parseToLocalDateTime(occurDate);
+    }
+}
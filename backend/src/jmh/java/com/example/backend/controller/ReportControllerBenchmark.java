@@ -0,0 +1,94 @@
+package com.example.backend.controller;
+
+import com.example.backend.dto.ReportDto;
+import com.example.backend.entity.ReportEntity;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 不審者情報のDto変換・JSON変換（N件）のベンチマーク
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReportControllerBenchmark {
+
+    // 件数
+    @Param({"100", "1000", "10000"})
+    private int reportCount;
+
+    private List<ReportEntity> reports;
+    private List<ReportDto> dtos;
+
+    // Spring Bootと同じ設定（JavaTimeModuleなど）
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Setup
+    public void setUp() {
+
+        reports = new ArrayList<>(reportCount);
+        LocalDateTime now = LocalDateTime.of(2025, 9, 8, 18, 10);
+        for (int i = 0; i < reportCount; i++) {
+            ReportEntity report = new ReportEntity();
+            report.setId((long) i + 1);
+            report.setUserId("U0123456789abcdef0123456789abcdef");
+            report.setTag1("不審な声かけ");
+            report.setTag2("撮影行為");
+            report.setOccurDate(now.minusMinutes(i));
+            report.setPrefecture("福岡県");
+            report.setMunicipality("福岡市中央区");
+            report.setDistrict("天神1丁目");
+            report.setAddressDetails((i % 20 + 1) + "-" + (i % 7 + 1));
+            report.setLatitude(33.59 + i * 1e-5);
+            report.setLongitude(130.40 + i * 1e-5);
+            report.setSummary("下校中の児童に声をかけていた");
+            report.setCreated(now);
+            reports.add(report);
+        }
+        dtos = convert();
+    }
+
+    @Benchmark
+    public List<ReportDto> convertToDto() {
+        return convert();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public byte[] convertAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(convert());
+    }
+
+    private List<ReportDto> convert() {
+
+        List<ReportDto> result = new ArrayList<>(reports.size());
+        for (ReportEntity report : reports) {
+            result.add(ReportController.convertToDto(report));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.backend.gazetteer;
+
+import com.example.backend.model.GeoPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 町丁目の代表点のトライ検索のベンチマーク
+ * 位置参照情報（大字・町丁目）と同程度の件数（約20万件）で作成する。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GazetteerTrieBenchmark {
+
+    // 市区町村数・市区町村あたりの町名数・町名あたりの丁目数
+    private static final int MUNICIPALITIES = 1_000;
+    private static final int TOWNS = 40;
+    private static final int DISTRICTS = 5;
+
+    private Path path;
+    private GazetteerTrie trie;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+
+        SortedMap<String, GeoPoint> entries = new TreeMap<>();
+        for (int m = 0; m < MUNICIPALITIES; m++) {
+            for (int t = 0; t < TOWNS; t++) {
+                for (int d = 1; d <= DISTRICTS; d++) {
+                    entries.put("福岡県市" + m + "区町" + t + "名" + d + "丁目",
+                            new GeoPoint(33.0 + m * 1e-3, 130.0 + t * 1e-3));
+                }
+            }
+        }
+        path = Files.createTempFile("gazetteer", ".trie");
+        GazetteerTrie.write(entries, Map.of(), path, 0L, 0L);
+        trie = GazetteerTrie.open(path);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(path);
+    }
+
+    @Benchmark
+    public int hit() {
+        return trie.findLongestPrefix("福岡県市512区町17名3丁目11-1");
+    }
+
+    @Benchmark
+    public int miss() {
+        return trie.findLongestPrefix("福岡県市512区町17名");
+    }
+}
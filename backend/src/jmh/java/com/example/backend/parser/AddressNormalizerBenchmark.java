@@ -0,0 +1,96 @@
+package com.example.backend.parser;
+
+import com.example.backend.model.NormalizedAddress;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 住所の正規化のスループット（件/秒）のベンチマーク
+ * 表記揺れを含む住所を大量に正規化する（一括取り込み・重複判定を想定）。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AddressNormalizerBenchmark {
+
+    // 1回の呼び出しで正規化する件数
+    private static final int BATCH_SIZE = 100_000;
+
+    // 表記揺れ（%1$d: 丁目, %2$d: 番地, %3$d: 号）
+    private static final String[] FORMATS = {
+            "福岡県福岡市中央区天神%1$d丁目%2$d-%3$d",
+            "福岡県 福岡市中央区 天神%1$d丁目　%2$d－%3$d",
+            "福岡県福岡市中央区天神%1$d丁目%2$d番地%3$d号",
+            "福岡県福岡市中央区天神%1$d-%2$d-%3$d",
+            "福岡市中央区天神%1$d丁目%2$dの%3$d",
+    };
+
+    // 漢数字の表記揺れ
+    private static final String[] KANJI_FORMATS = {
+            "福岡県福岡市中央区天神%s丁目%s番%s号",
+            "福岡県糸島市大字志摩初%s丁目%s番地%s",
+    };
+
+    private static final String[] KANJI = {"一", "二", "三", "四", "五", "六", "七", "八", "九", "十"};
+
+    private final AddressNormalizer normalizer = new AddressNormalizer();
+    private String[] addresses;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        normalizer.registerMunicipalities(Map.of(
+                "福岡県", List.of("福岡市中央区", "福岡市博多区", "糸島市", "春日市")));
+
+        Random random = new Random(42);
+        List<String> generated = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            if (i % 5 == 0) {
+                String format = KANJI_FORMATS[random.nextInt(KANJI_FORMATS.length)];
+                generated.add(String.format(format, KANJI[random.nextInt(5)],
+                        KANJI[random.nextInt(10)], KANJI[random.nextInt(10)]));
+            } else {
+                String format = FORMATS[random.nextInt(FORMATS.length)];
+                generated.add(String.format(format, 1 + random.nextInt(5),
+                        1 + random.nextInt(30), 1 + random.nextInt(20)));
+            }
+        }
+        addresses = generated.toArray(new String[0]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void normalize(Blackhole blackhole) {
+        for (String address : addresses) {
+            blackhole.consume(normalizer.normalize(address).getKey());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void fallbackKeys(Blackhole blackhole) {
+        for (String address : addresses) {
+            blackhole.consume(normalizer.normalize(address).getFallbackKeys());
+        }
+    }
+}
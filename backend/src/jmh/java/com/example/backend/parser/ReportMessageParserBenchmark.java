@@ -0,0 +1,115 @@
+package com.example.backend.parser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 不審者情報メッセージの解析のベンチマーク
+ * 従来の抽出処理（項目ごとにメッセージを分割）と ReportMessageParser を比較する。
+ * 1回あたりの割り当てバイト数は -prof gc の gc.alloc.rate.norm で確認する。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReportMessageParserBenchmark {
+
+    // 不審者情報メッセージ
+    private static final String MESSAGE = String.join("\n",
+            "タグ:不審な声かけ、撮影行為",
+            "日時:2025年9月8日午後6時10分",
+            "都道府県:福岡県",
+            "市区町村:福岡市中央区",
+            "丁目:天神1丁目",
+            "番地以降:1-1",
+            "概要:下校中の児童に声をかけていた");
+
+    private final ReportMessageParser parser = new ReportMessageParser();
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        blackhole.consume(LegacyExtractor.extractLineToMultiple(MESSAGE, LegacyExtractor.TAG));
+        blackhole.consume(LegacyExtractor.extractLineToSingle(MESSAGE, LegacyExtractor.OCCUR_DATE));
+        blackhole.consume(LegacyExtractor.extractLineToSingle(MESSAGE, LegacyExtractor.PREFECTURE));
+        blackhole.consume(LegacyExtractor.extractLineToSingle(MESSAGE, LegacyExtractor.MUNICIPALITY));
+        blackhole.consume(LegacyExtractor.extractLineToSingle(MESSAGE, LegacyExtractor.DISTRICT));
+        blackhole.consume(LegacyExtractor.extractLineToSingle(MESSAGE, LegacyExtractor.ADDRESS_DETAILS));
+        blackhole.consume(LegacyExtractor.extractLineToSingle(MESSAGE, LegacyExtractor.SUMMARY));
+    }
+
+    @Benchmark
+    public void parser(Blackhole blackhole) {
+        blackhole.consume(parser.parse(MESSAGE));
+    }
+
+    /**
+     * 従来の抽出処理（ReportService から複写、比較用）
+     */
+    static final class LegacyExtractor {
+        static final String TAG = "タグ:";
+        static final String OCCUR_DATE = "日時:";
+        static final String PREFECTURE = "都道府県:";
+        static final String MUNICIPALITY = "市区町村:";
+        static final String DISTRICT = "丁目:";
+        static final String ADDRESS_DETAILS = "番地以降:";
+        static final String SUMMARY = "概要:";
+
+        private LegacyExtractor() {
+        }
+
+        static String extractLineToSingle(String text, String item) {
+
+            String[] lines = text.split("[\r\n]+");
+            List<String> lineList = Arrays.asList(lines);
+            for (String line : lineList) {
+                String singleLine = line.trim();
+                if (singleLine.startsWith(item)) {
+                    String value = singleLine.substring(item.length());
+                    return value.replace(":", "")
+                                .replace("：", "")
+                                .trim();
+                }
+            }
+            return null;
+        }
+
+        static List<String> extractLineToMultiple(String text, String item) {
+
+            String[] lines = text.split("[\r\n]+");
+            List<String> lineList = Arrays.asList(lines);
+            List<String> valuesWithItem = null;
+            for (String line : lineList) {
+                String singleLine = line.trim();
+                if (singleLine.startsWith(item)) {
+                    valuesWithItem = Arrays.asList(line.split("\\s*[,、]\\s*"));
+                    List<String> values = new ArrayList<>();
+                    for (String value : valuesWithItem) {
+                        if (value.startsWith(item)) {
+                            value = value.substring(item.length());
+                        }
+                        value.replace(":", "")
+                             .replace("：", "");
+                        values.add(value);
+                    }
+                    return values;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.backend.readmodel;
+
+import com.example.backend.dto.ReportNearDto;
+import com.example.backend.dto.ReportSearchCondition;
+import com.example.backend.entity.ReportEntity;
+import com.example.backend.repository.ReportRepository;
+import com.example.backend.repository.TagRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * 読み取りモデルの半径・近傍検索（100万件）のベンチマーク
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class ReportReadModelNearBenchmark {
+
+    // 件数
+    private static final int REPORT_COUNT = 1_000_000;
+
+    // 主要都市（緯度・経度）の周辺に分布させる
+    private static final double[][] CITIES = {
+            {35.681, 139.767}, {34.702, 135.496}, {35.170, 136.882}, {33.590, 130.401},
+            {43.068, 141.351}, {38.260, 140.882}, {34.396, 132.459}, {34.986, 135.759},
+    };
+
+    // 検索する半径（メートル）
+    @Param({"500", "1000", "5000"})
+    private double radiusM;
+
+    private ReportReadModel readModel;
+    private ReportSearchCondition noCondition;
+    private ReportSearchCondition lastWeek;
+
+    @Setup
+    public void setUp() {
+
+        ReportRepository reportRepository = mock(ReportRepository.class, withSettings().stubOnly());
+        TagRepository tagRepository = mock(TagRepository.class, withSettings().stubOnly());
+
+        // 都市の中心から約20km以内、発生日時は直近1年
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.of(2025, 9, 8, 18, 0);
+        when(reportRepository.streamAllOrderById()).thenReturn(LongStream.rangeClosed(1, REPORT_COUNT)
+                .mapToObj(id -> {
+                    double[] city = CITIES[(int) (id % CITIES.length)];
+                    ReportEntity report = new ReportEntity();
+                    report.setId(id);
+                    report.setUserId("U" + id);
+                    report.setPrefecture("東京都");
+                    report.setMunicipality("千代田区");
+                    report.setDistrict("丸の内1丁目");
+                    report.setLatitude(city[0] + random.nextGaussian() * 0.06);
+                    report.setLongitude(city[1] + random.nextGaussian() * 0.07);
+                    report.setOccurDate(now.minusMinutes(random.nextInt(365 * 24 * 60)));
+                    return report;
+                }));
+        when(tagRepository.findAll()).thenReturn(List.of());
+        when(tagRepository.streamLinksOrderByReportId()).thenReturn(Stream.empty());
+
+        readModel = new ReportReadModel(reportRepository, tagRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(readModel, "entityManager",
+                mock(EntityManager.class, withSettings().stubOnly()));
+        readModel.warm();
+
+        noCondition = new ReportSearchCondition();
+        lastWeek = new ReportSearchCondition();
+        lastWeek.setFrom(now.minusDays(7));
+        lastWeek.setTo(now);
+    }
+
+    // 都心（東京駅）の近傍20件
+    @Benchmark
+    public List<ReportNearDto> nearest() {
+        return readModel.searchNear(noCondition, 35.681, 139.767, radiusM, 20);
+    }
+
+    // 発生日時（直近1週間）で絞り込んだ近傍20件
+    @Benchmark
+    public List<ReportNearDto> nearestLastWeek() {
+        return readModel.searchNear(lastWeek, 35.681, 139.767, radiusM, 20);
+    }
+}
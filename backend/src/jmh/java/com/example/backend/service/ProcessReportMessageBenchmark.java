@@ -0,0 +1,89 @@
+package com.example.backend.service;
+
+import com.example.backend.BackendApplication;
+import com.example.backend.model.GeoPoint;
+import com.example.backend.model.NormalizedAddress;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 不審者情報の登録（解析・座標情報取得・DB登録・コミット後の反映）のベンチマーク
+ * Geocoding APIはスタブに置き換え、DBはH2（インメモリ）を使用する。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProcessReportMessageBenchmark {
+
+    // 不審者情報メッセージ
+    private static final String MESSAGE = String.join("\n",
+            "タグ:不審な声かけ、撮影行為",
+            "日時:2025年9月8日午後6時10分",
+            "都道府県:福岡県",
+            "市区町村:福岡市中央区",
+            "丁目:天神1丁目",
+            "番地以降:1-1",
+            "概要:下校中の児童に声をかけていた");
+
+    // スタブの座標情報
+    private static final GeoPoint POINT = new GeoPoint(33.5914, 130.3989);
+
+    private ConfigurableApplicationContext context;
+    private ReportService reportService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        context = new SpringApplicationBuilder(BackendApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "google.api.key=benchmark",
+                        "line.bot.channel-token=benchmark",
+                        "line.bot.channelSecret=benchmark",
+                        // 同じメッセージを繰り返し登録するため、重複判定は無効にする
+                        "report.dedup.enabled=false",
+                        "logging.level.root=WARN")
+                // Geocoding APIを呼び出さないスタブ（優先して注入される）
+                .initializers(applicationContext -> ((GenericApplicationContext) applicationContext).registerBean(
+                        "stubGeocodeService", GeocodeService.class,
+                        () -> new GeocodeService(null, null, null, null, null, null) {
+                            @Override
+                            public GeoPoint getLatLng(NormalizedAddress address) {
+                                return POINT;
+                            }
+                        },
+                        definition -> definition.setPrimary(true)))
+                .run();
+        reportService = context.getBean(ReportService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void processReportMessage() {
+        reportService.processReportMessage("U0123456789abcdef0123456789abcdef", MESSAGE);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.backend.service;
+
+import com.example.backend.model.NormalizedAddress;
+import com.example.backend.model.ParsedReport;
+import com.example.backend.parser.AddressNormalizer;
+import com.example.backend.parser.ReportMessageParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 不審者情報メッセージの抽出・住所情報の正規化・フォールバック用住所の作成のベンチマーク
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReportServiceBenchmark {
+
+    // 不審者情報メッセージ
+    private static final String MESSAGE = String.join("\n",
+            "タグ：不審な声かけ、撮影行為",
+            "日時：２０２５年９月８日午後６時１０分",
+            "都道府県：福岡県",
+            "市区町村：福岡市中央区",
+            "丁目：天神１丁目",
+            "番地以降：１１－１",
+            "概要：下校中の児童に声をかけていた");
+
+    // 住所情報（正規化前）
+    private static final String ADDRESS = " 福岡県福岡市中央区天神１丁目　１１－１ ";
+
+    private final ReportMessageParser parser = new ReportMessageParser();
+    private final AddressNormalizer addressNormalizer = new AddressNormalizer();
+    private final NormalizedAddress normalizedAddress = addressNormalizer.normalize(ADDRESS);
+
+    @Benchmark
+    public ParsedReport extract() {
+        return parser.parse(MESSAGE);
+    }
+
+    @Benchmark
+    public NormalizedAddress normalizeAddress() {
+        return addressNormalizer.normalize(ADDRESS);
+    }
+
+    @Benchmark
+    public List<String> createFallbackAddresses() {
+        return normalizedAddress.getFallbackKeys();
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.backend.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Geocoding APIのスタブサーバー
+ * ループバックの空きポートで待ち受け、住所のハッシュから求めた座標（九州〜中国地方の範囲）を返却する。
+ * 応答の遅延（固定＋ゆらぎ）とエラー（503）の割合を指定できる。
+ */
+class GeocodingStubServer implements AutoCloseable {
+
+    // Geocoding APIのパス
+    private static final String PATH = "/maps/api/geocode/json";
+
+    private final HttpServer server;
+    private final long latencyMillis;
+    private final long jitterMillis;
+    private final double errorRate;
+
+    // 受付件数
+    private final AtomicLong requests = new AtomicLong();
+
+    // エラー応答件数
+    private final AtomicLong errors = new AtomicLong();
+
+    /*
+     * スタブサーバーを起動する。
+     * latencyMillis: 応答の遅延（ミリ秒）
+     * jitterMillis: 遅延のゆらぎ（ミリ秒、0〜指定値を加算）
+     * errorRate: エラー応答の割合（0.0〜1.0）
+     */
+    GeocodingStubServer(long latencyMillis, long jitterMillis, double errorRate) throws IOException {
+
+        this.latencyMillis = latencyMillis;
+        this.jitterMillis = jitterMillis;
+        this.errorRate = errorRate;
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext(PATH, this::handle);
+        // 遅延中もほかのリクエストを受け付ける
+        server.setExecutor(Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "geocoding-stub");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        server.start();
+    }
+
+    // Geocoding APIのURL（google.api.geocode-urlに指定する）
+    String getUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + PATH;
+    }
+
+    // 受付件数
+    long getRequests() {
+        return requests.get();
+    }
+
+    // エラー応答件数
+    long getErrors() {
+        return errors.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    /*
+     * リクエストを処理する。
+     * exchange: リクエスト・応答
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+
+        requests.incrementAndGet();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try {
+            long delay = latencyMillis + (jitterMillis > 0 ? random.nextLong(jitterMillis + 1) : 0);
+            if (delay > 0) {
+                Thread.sleep(delay);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (random.nextDouble() < errorRate) {
+            errors.incrementAndGet();
+            send(exchange, 503, "{\"status\":\"UNKNOWN_ERROR\",\"results\":[]}");
+            return;
+        }
+
+        String address = queryParameter(exchange.getRequestURI(), "address");
+        int hash = address == null ? 0 : address.hashCode();
+        double lat = 33.0 + Math.floorMod(hash, 30_000) / 10_000.0;
+        double lng = 130.0 + Math.floorMod(hash / 30_000, 30_000) / 10_000.0;
+        send(exchange, 200, String.format(Locale.ROOT,
+                "{\"status\":\"OK\",\"results\":[{\"types\":[\"premise\"],"
+                        + "\"geometry\":{\"location\":{\"lat\":%.6f,\"lng\":%.6f},\"location_type\":\"ROOFTOP\"}}]}",
+                lat, lng));
+    }
+
+    /*
+     * 応答を返却する。
+     * exchange: リクエスト・応答
+     * status: HTTPステータス
+     * body: 応答ボディ（JSON）
+     */
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /*
+     * クエリパラメータを取得する。
+     * uri: リクエストURI
+     * name: パラメータ名
+     * return: 値（ない場合はnull）
+     */
+    private static String queryParameter(URI uri, String name) {
+
+        String query = uri.getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            int index = pair.indexOf('=');
+            if (index > 0 && pair.substring(0, index).equals(name)) {
+                return URLDecoder.decode(pair.substring(index + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.backend.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * 応答時間（マイクロ秒）の記録
+ * 全件を保持し、終了後に並べ替えて百分位数を求める（負荷試験の件数であれば十分に小さい）。
+ */
+class LatencyRecorder {
+
+    private final String name;
+    private long[] latencies = new long[1024];
+    private int size;
+    private long errors;
+    private long elapsedNanos;
+
+    LatencyRecorder(String name) {
+        this.name = name;
+    }
+
+    /*
+     * 応答時間を記録する。
+     * micros: 応答時間（マイクロ秒）
+     * error: true: エラー応答・通信エラー
+     */
+    synchronized void record(long micros, boolean error) {
+
+        if (size == latencies.length) {
+            latencies = Arrays.copyOf(latencies, size * 2);
+        }
+        latencies[size++] = micros;
+        if (error) {
+            errors++;
+        }
+    }
+
+    // 計測期間（最初の送信から最後の応答まで）
+    synchronized void finish(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /*
+     * 結果を整形する。
+     * return: 件数・スループット・エラー数・応答時間（p50/p99/p999/最大）
+     */
+    synchronized String summarize() {
+
+        long[] sorted = Arrays.copyOf(latencies, size);
+        Arrays.sort(sorted);
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        return String.format("%-8s %8d件 %9.1f件/秒 エラー%6d件  p50 %8.2fms  p99 %8.2fms  p999 %8.2fms  最大 %8.2fms",
+                name, size, seconds == 0 ? 0 : size / seconds, errors,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                size == 0 ? 0 : sorted[size - 1] / 1000.0);
+    }
+
+    // 百分位数（ミリ秒、最近傍法）
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1000.0;
+    }
+}
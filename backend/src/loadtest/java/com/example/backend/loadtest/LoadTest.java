@@ -0,0 +1,203 @@
+package com.example.backend.loadtest;
+
+import com.example.backend.BackendApplication;
+import com.example.backend.model.InboxStatus;
+import com.example.backend.repository.DuplicateReportRepository;
+import com.example.backend.repository.LineEventInboxRepository;
+import com.example.backend.repository.ReportRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 負荷試験
+ * Geocoding APIをスタブサーバーに置き換えてアプリケーション（DBはH2（インメモリ））を起動し、
+ * 署名付きのLINE Webhook（/line/callback）と不審者情報の検索（/api/reports）を一定のレートで同時に送信する。
+ * 外部のサービスに接続せず、スループットと応答時間（p50/p99/p999）を出力する。
+ * 例: mvn -P loadtest verify -Dloadtest.webhook-rate=200 -Dloadtest.geocode.error-rate=0.05
+ */
+public class LoadTest {
+
+    // チャネルシークレット（署名の鍵）
+    private static final String CHANNEL_SECRET = "loadtest";
+
+    // 検索範囲（福岡県の周辺）
+    private static final double MIN_LAT = 33.0;
+    private static final double MAX_LAT = 34.0;
+    private static final double MIN_LNG = 130.0;
+    private static final double MAX_LNG = 131.0;
+
+    public static void main(String[] args) throws Exception {
+
+        Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10));
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 60));
+        double webhookRate = doubleProperty("loadtest.webhook-rate", 50);
+        double readerRate = doubleProperty("loadtest.reader-rate", 200);
+        int users = Integer.getInteger("loadtest.users", 1000);
+        long seed = Long.getLong("loadtest.seed", 42);
+        Duration drainTimeout = Duration.ofSeconds(Long.getLong("loadtest.drain-timeout-seconds", 120));
+
+        try (GeocodingStubServer stub = new GeocodingStubServer(
+                Long.getLong("loadtest.geocode.latency-ms", 50),
+                Long.getLong("loadtest.geocode.jitter-ms", 50),
+                doubleProperty("loadtest.geocode.error-rate", 0.01))) {
+
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(BackendApplication.class)
+                    .properties(
+                            "server.port=0",
+                            "management.server.port=0",
+                            "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                            "spring.jpa.hibernate.ddl-auto=create-drop",
+                            "google.api.key=loadtest",
+                            "google.api.geocode-url=" + stub.getUrl(),
+                            "line.bot.channel-token=loadtest",
+                            "line.bot.channelSecret=" + CHANNEL_SECRET,
+                            "logging.level.root=WARN")
+                    .run();
+            try {
+                int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                run(context, stub, "http://localhost:" + port, warmup, duration, webhookRate, readerRate,
+                        users, seed, drainTimeout);
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    /*
+     * 負荷を送信し、結果を出力する。
+     * context: アプリケーション
+     * stub: Geocoding APIのスタブサーバー
+     * baseUrl: アプリケーションのURL
+     * warmup: 暖機の期間（結果は集計しない）
+     * duration: 計測の期間
+     * webhookRate: Webhookの送信レート（件/秒）
+     * readerRate: 検索の送信レート（件/秒）
+     * users: Webhookの送信元のユーザー数
+     * seed: 乱数の種
+     * drainTimeout: 受信イベントの処理完了を待つ時間
+     */
+    private static void run(ConfigurableApplicationContext context, GeocodingStubServer stub, String baseUrl,
+            Duration warmup, Duration duration, double webhookRate, double readerRate,
+            int users, long seed, Duration drainTimeout) throws Exception {
+
+        LineEventInboxRepository inboxRepository = context.getBean(LineEventInboxRepository.class);
+        ReportRepository reportRepository = context.getBean(ReportRepository.class);
+        DuplicateReportRepository duplicateReportRepository = context.getBean(DuplicateReportRepository.class);
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        OpenLoopLoad load = new OpenLoopLoad(client);
+        WebhookPayloads payloads = new WebhookPayloads(CHANNEL_SECRET, users, seed);
+        Random random = new Random(seed);
+
+        Supplier<HttpRequest> webhook = () -> {
+            String body = payloads.next();
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/line/callback"))
+                    .header("Content-Type", "application/json")
+                    .header(WebhookPayloads.SIGNATURE_HEADER, payloads.sign(body))
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        };
+        Supplier<HttpRequest> reader = () -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/reports?"
+                        + bbox(random) + "&limit=" + (50 + random.nextInt(151))))
+                .GET()
+                .build();
+
+        if (!warmup.isZero()) {
+            System.out.printf("暖機中（%d秒）...%n", warmup.toSeconds());
+            measure(load, warmup, webhookRate, readerRate, webhook, reader);
+            awaitDrained(inboxRepository, drainTimeout);
+        }
+
+        long reportsBefore = reportRepository.count() + duplicateReportRepository.count();
+        long stubRequestsBefore = stub.getRequests();
+        long stubErrorsBefore = stub.getErrors();
+
+        System.out.printf("計測中（%d秒、Webhook %.1f件/秒、検索 %.1f件/秒）...%n",
+                duration.toSeconds(), webhookRate, readerRate);
+        long start = System.nanoTime();
+        LatencyRecorder[] results = measure(load, duration, webhookRate, readerRate, webhook, reader);
+        boolean drained = awaitDrained(inboxRepository, drainTimeout);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        long ingested = reportRepository.count() + duplicateReportRepository.count() - reportsBefore;
+
+        System.out.println("---- 結果 ----");
+        for (LatencyRecorder result : results) {
+            System.out.println(result.summarize());
+        }
+        System.out.printf(Locale.ROOT, "登録     %8d件 %9.1f件/秒（受信から登録完了まで%s）%n",
+                ingested, ingested / seconds, drained ? "" : "、未処理あり");
+        System.out.printf("Inbox    未処理%6d件  処理中%6d件  失敗%6d件%n",
+                inboxRepository.countByStatus(InboxStatus.PENDING),
+                inboxRepository.countByStatus(InboxStatus.PROCESSING),
+                inboxRepository.countByStatus(InboxStatus.FAILED));
+        System.out.printf("Geocode  %8d件  エラー%6d件%n",
+                stub.getRequests() - stubRequestsBefore, stub.getErrors() - stubErrorsBefore);
+    }
+
+    /*
+     * Webhookと検索を同時に送信する。
+     * return: 応答時間の記録（Webhook、検索）
+     */
+    private static LatencyRecorder[] measure(OpenLoopLoad load, Duration duration, double webhookRate,
+            double readerRate, Supplier<HttpRequest> webhook, Supplier<HttpRequest> reader) throws Exception {
+
+        CompletableFuture<LatencyRecorder> webhooks = CompletableFuture.supplyAsync(() -> {
+            try {
+                return load.run("webhook", webhookRate, duration, webhook);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        });
+        LatencyRecorder readers = load.run("reader", readerRate, duration, reader);
+        return new LatencyRecorder[] {webhooks.get(), readers};
+    }
+
+    /*
+     * 受信イベントの処理完了（未処理・処理中が0件）を待つ。
+     * inboxRepository: Inboxリポジトリ
+     * timeout: 待つ時間
+     * return: true: 処理完了、false: 時間切れ
+     */
+    private static boolean awaitDrained(LineEventInboxRepository inboxRepository, Duration timeout)
+            throws InterruptedException {
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (inboxRepository.countByStatus(InboxStatus.PENDING)
+                + inboxRepository.countByStatus(InboxStatus.PROCESSING) > 0) {
+            if (System.nanoTime() - deadline > 0) {
+                return false;
+            }
+            TimeUnit.MILLISECONDS.sleep(200);
+        }
+        return true;
+    }
+
+    // 検索範囲（約1〜10km四方）のクエリパラメータ
+    private static String bbox(Random random) {
+
+        double size = 0.01 + random.nextDouble() * 0.09;
+        double minLat = MIN_LAT + random.nextDouble() * (MAX_LAT - MIN_LAT - size);
+        double minLng = MIN_LNG + random.nextDouble() * (MAX_LNG - MIN_LNG - size);
+        return String.format(Locale.ROOT, "minLat=%.5f&maxLat=%.5f&minLng=%.5f&maxLng=%.5f",
+                minLat, minLat + size, minLng, minLng + size);
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+}
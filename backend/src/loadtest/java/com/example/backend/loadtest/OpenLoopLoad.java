@@ -0,0 +1,72 @@
+package com.example.backend.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 一定のレートでのリクエスト送信（オープンループ）
+ * 応答を待たずに予定時刻どおりに送信し、応答時間は送信の予定時刻から計測する。
+ * （サーバーが詰まった間の送信の遅れも応答時間に含め、高い百分位数を過小に見積もらない）
+ */
+class OpenLoopLoad {
+
+    // 計測期間の終了後、未応答のリクエストを待つ時間
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+
+    OpenLoopLoad(HttpClient client) {
+        this.client = client;
+    }
+
+    /*
+     * リクエストを送信する。
+     * name: 負荷の名称
+     * ratePerSecond: 1秒あたりの送信数
+     * duration: 送信期間
+     * requests: リクエストの作成（送信スレッドから順に呼び出す）
+     * return: 応答時間の記録
+     */
+    LatencyRecorder run(String name, double ratePerSecond, Duration duration, Supplier<HttpRequest> requests)
+            throws InterruptedException {
+
+        LatencyRecorder recorder = new LatencyRecorder(name);
+        if (ratePerSecond <= 0) {
+            return recorder;
+        }
+
+        long intervalNanos = (long) (1_000_000_000L / ratePerSecond);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        for (long scheduled = start; scheduled - end < 0; scheduled += intervalNanos) {
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+
+            long intended = scheduled;
+            futures.add(client.sendAsync(requests.get(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> recorder.record(
+                            (System.nanoTime() - intended) / 1000,
+                            error != null || response.statusCode() >= 400)));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                    .orTimeout(DRAIN_TIMEOUT.toSeconds(), TimeUnit.SECONDS)
+                    .exceptionally(error -> null)
+                    .join();
+        } finally {
+            recorder.finish(System.nanoTime() - start);
+        }
+        return recorder;
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * LINE Webhookのリクエストボディの生成
+ * 不審者情報メッセージ（タグ・日時・住所・概要）を乱数で組み立て、チャネルシークレットで署名する。
+ * 乱数の種を固定し、同じ設定であれば同じ順序のメッセージを生成する。
+ */
+class WebhookPayloads {
+
+    // 署名のヘッダー
+    static final String SIGNATURE_HEADER = "X-Line-Signature";
+
+    private static final String[] TAGS = {
+            "不審な声かけ", "つきまとい", "撮影行為", "公然わいせつ", "不審な車両", "暴行"
+    };
+
+    // 市区町村と丁目の候補
+    private static final String[][] DISTRICTS = {
+            {"福岡市中央区", "天神1丁目", "天神2丁目", "大名1丁目", "赤坂2丁目", "薬院3丁目"},
+            {"福岡市博多区", "博多駅前1丁目", "博多駅前3丁目", "中洲2丁目", "住吉4丁目"},
+            {"福岡市早良区", "西新1丁目", "西新4丁目", "百道2丁目", "原5丁目"},
+            {"福岡市南区", "大橋1丁目", "高宮3丁目", "長住2丁目"},
+            {"北九州市小倉北区", "京町2丁目", "魚町1丁目", "室町3丁目"},
+            {"久留米市", "東町", "日吉町", "六ツ門町"}
+    };
+
+    private static final String[] SUMMARIES = {
+            "下校中の児童に「家まで送ろうか」と声をかけた",
+            "自転車で女子生徒の後をつけ、声をかけた",
+            "公園で遊んでいた児童をスマートフォンで撮影していた",
+            "車の窓から児童に道を尋ね、車に乗るよう誘った",
+            "帰宅途中の女性に背後から近づき、体を触って逃走した",
+            "黒っぽい服装の男が通学路で児童をじっと見ていた"
+    };
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Random random;
+    private final Mac mac;
+    private final int users;
+
+    /*
+     * channelSecret: チャネルシークレット（署名の鍵）
+     * users: 送信元のユーザー数
+     * seed: 乱数の種
+     */
+    WebhookPayloads(String channelSecret, int users, long seed) {
+
+        this.random = new Random(seed);
+        this.users = Math.max(users, 1);
+        try {
+            mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(channelSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /*
+     * 1件のメッセージイベントを含むリクエストボディを生成する。（送信スレッドから順に呼び出す）
+     * return: リクエストボディ（JSON）
+     */
+    String next() {
+
+        long now = System.currentTimeMillis();
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("destination", "Uloadtest");
+        ArrayNode events = root.putArray("events");
+
+        ObjectNode event = events.addObject();
+        event.put("type", "message");
+        event.put("mode", "active");
+        event.put("timestamp", now);
+        event.put("webhookEventId", UUID.randomUUID().toString());
+        event.putObject("deliveryContext").put("isRedelivery", false);
+        event.putObject("source")
+                .put("type", "user")
+                .put("userId", String.format("U%032x", random.nextInt(users)));
+        event.put("replyToken", UUID.randomUUID().toString().replace("-", ""));
+        event.putObject("message")
+                .put("type", "text")
+                .put("id", Long.toString(now * 1000 + random.nextInt(1000)))
+                .put("quoteToken", UUID.randomUUID().toString())
+                .put("text", message());
+
+        try {
+            return objectMapper.writeValueAsString(root);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /*
+     * リクエストボディに署名する。（X-Line-Signatureの値）
+     * body: リクエストボディ
+     * return: 署名（HMAC-SHA256のBase64）
+     */
+    String sign(String body) {
+        return Base64.getEncoder().encodeToString(mac.doFinal(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /*
+     * 不審者情報メッセージを生成する。
+     * 発生日時は直近7日間、番地以降は約半数のみ記載する。
+     * return: 不審者情報メッセージ
+     */
+    private String message() {
+
+        String[] district = DISTRICTS[random.nextInt(DISTRICTS.length)];
+        LocalDateTime occurred = LocalDateTime.now().minusMinutes(random.nextInt(7 * 24 * 60));
+        int hour = occurred.getHour();
+
+        StringBuilder message = new StringBuilder()
+                .append("タグ:").append(TAGS[random.nextInt(TAGS.length)]);
+        if (random.nextInt(3) == 0) {
+            message.append("、").append(TAGS[random.nextInt(TAGS.length)]);
+        }
+        message.append("\n日時:").append(occurred.getYear()).append("年")
+                .append(occurred.getMonthValue()).append("月")
+                .append(occurred.getDayOfMonth()).append("日")
+                .append(hour < 12 ? "午前" : "午後").append(hour % 12).append("時")
+                .append(occurred.getMinute()).append("分")
+                .append("\n都道府県:福岡県")
+                .append("\n市区町村:").append(district[0])
+                .append("\n丁目:").append(district[1 + random.nextInt(district.length - 1)]);
+        if (random.nextBoolean()) {
+            message.append("\n番地以降:").append(1 + random.nextInt(20)).append("-").append(1 + random.nextInt(30));
+        }
+        return message.append("\n概要:").append(SUMMARIES[random.nextInt(SUMMARIES.length)]).toString();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.backend.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.util.function.Supplier;
+
+/**
+ * Geocoding API専用のHTTPクライアント
+ * コネクションプール・タイムアウトに加え、サーキットブレーカーとバルクヘッドで
+ * Geocoding APIの遅延・障害がサーバー全体に波及しないようにする。
+ */
+public class GeocodingClient {
+
+    private final RestTemplate restTemplate;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+
+    // Geocoding API専用のHTTPクライアント
+    public GeocodingClient(RestTemplate restTemplate, PoolingHttpClientConnectionManager connectionManager,
+            CircuitBreaker circuitBreaker, Bulkhead bulkhead) {
+        this.restTemplate = restTemplate;
+        this.connectionManager = connectionManager;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+    }
+
+    /*
+     * GETリクエストを実行する。
+     * サーキットブレーカーが開いている場合はCallNotPermittedException、
+     * 同時実行数の上限に達している場合はBulkheadFullExceptionとなる。
+     * uri: リクエストURI
+     * return: レスポンスボディ
+     */
+    public String get(URI uri) {
+
+        // 同時実行数の上限超過はサーキットブレーカーの失敗として記録しない
+        Supplier<String> call = CircuitBreaker.decorateSupplier(circuitBreaker,
+                () -> restTemplate.getForObject(uri, String.class));
+        return Bulkhead.decorateSupplier(bulkhead, call).get();
+    }
+
+    // サーキットブレーカー
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    // バルクヘッド
+    public Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+
+    // コネクションプールの使用状況
+    public PoolStats getPoolStats() {
+        return connectionManager.getTotalStats();
+    }
+}
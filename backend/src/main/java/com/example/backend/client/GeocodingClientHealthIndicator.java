@@ -0,0 +1,40 @@
+package com.example.backend.client;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import lombok.RequiredArgsConstructor;
+import org.apache.hc.core5.pool.PoolStats;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Geocoding API専用のHTTPクライアントの状態（/actuator/health の geocodingClient）
+ * サーキットブレーカーが開いていてもサーバー自体は稼働しているため、ステータスはUPのまま詳細で公開する。
+ */
+@Component
+@RequiredArgsConstructor
+public class GeocodingClientHealthIndicator implements HealthIndicator {
+
+    private final GeocodingClient geocodingClient;
+
+    @Override
+    public Health health() {
+
+        CircuitBreaker circuitBreaker = geocodingClient.getCircuitBreaker();
+        CircuitBreaker.Metrics metrics = circuitBreaker.getMetrics();
+        PoolStats poolStats = geocodingClient.getPoolStats();
+
+        return Health.up()
+                .withDetail("circuitBreakerState", circuitBreaker.getState().name())
+                .withDetail("failureRate", metrics.getFailureRate())
+                .withDetail("slowCallRate", metrics.getSlowCallRate())
+                .withDetail("notPermittedCalls", metrics.getNumberOfNotPermittedCalls())
+                .withDetail("bulkheadAvailableCalls",
+                        geocodingClient.getBulkhead().getMetrics().getAvailableConcurrentCalls())
+                .withDetail("poolLeased", poolStats.getLeased())
+                .withDetail("poolAvailable", poolStats.getAvailable())
+                .withDetail("poolPending", poolStats.getPending())
+                .withDetail("poolMax", poolStats.getMax())
+                .build();
+    }
+}
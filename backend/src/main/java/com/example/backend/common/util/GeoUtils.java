@@ -0,0 +1,50 @@
+package com.example.backend.common.util;
+
+/**
+ * 緯度経度の距離計算（球面近似）
+ */
+public class GeoUtils {
+
+    // 地球の平均半径（メートル）
+    public static final double EARTH_RADIUS_M = 6_371_008.8;
+
+    /*
+     * 2点間の距離（ハーバサイン公式）
+     * lat1: 緯度1
+     * lng1: 経度1
+     * lat2: 緯度2
+     * lng2: 経度2
+     * return: 距離（メートル）
+     */
+    public static double distanceMeters(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_M * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /*
+     * 距離に相当する緯度の幅
+     * meters: 距離（メートル）
+     * return: 緯度の幅（度）
+     */
+    public static double latitudeDelta(double meters) {
+        return Math.toDegrees(meters / EARTH_RADIUS_M);
+    }
+
+    /*
+     * 距離に相当する経度の幅（指定の緯度において、極付近は全周）
+     * meters: 距離（メートル）
+     * latitude: 緯度
+     * return: 経度の幅（度）
+     */
+    public static double longitudeDelta(double meters, double latitude) {
+        double cos = Math.cos(Math.toRadians(Math.min(Math.abs(latitude) + latitudeDelta(meters), 90.0)));
+        if (cos <= 1e-9) {
+            return 180.0;
+        }
+        return Math.min(180.0, Math.toDegrees(meters / (EARTH_RADIUS_M * cos)));
+    }
+}
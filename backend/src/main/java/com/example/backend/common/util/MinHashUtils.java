@@ -0,0 +1,90 @@
+package com.example.backend.common.util;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+
+/**
+ * 文章の類似度（MinHash）
+ * 文字の2-gram（日本語は単語の区切りがないため）の集合の類似度（Jaccard係数）を、固定長の署名で推定する。
+ */
+public class MinHashUtils {
+
+    // 署名の長さ（推定の誤差は約1/√64）
+    public static final int SIGNATURE_LENGTH = 64;
+
+    // ハッシュ関数ごとの種
+    private static final long[] SEEDS = new long[SIGNATURE_LENGTH];
+
+    static {
+        long seed = 0x2545F4914F6CDD1DL;
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            seed += 0x9E3779B97F4A7C15L;
+            SEEDS[i] = mix(seed);
+        }
+    }
+
+    /*
+     * 文章の署名を作成する。（全角・半角、大文字・小文字、空白・記号の違いは無視）
+     * text: 文章
+     * return: 署名（文字・数字を含まない場合、null）
+     */
+    public static long[] signature(String text) {
+
+        if (text == null) {
+            return null;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC)
+                .toLowerCase()
+                .replaceAll("[^\\p{L}\\p{N}]", "");
+        if (normalized.isEmpty()) {
+            return null;
+        }
+
+        long[] signature = new long[SIGNATURE_LENGTH];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        // 1文字の場合はその文字を1つの要素とする
+        int shingles = Math.max(normalized.length() - 1, 1);
+        for (int i = 0; i < shingles; i++) {
+            long shingle = ((long) normalized.charAt(i) << 16)
+                    | (i + 1 < normalized.length() ? normalized.charAt(i + 1) : 0);
+            for (int k = 0; k < SIGNATURE_LENGTH; k++) {
+                long hash = mix(shingle ^ SEEDS[k]);
+                if (hash < signature[k]) {
+                    signature[k] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /*
+     * 署名から類似度を推定する。
+     * a: 署名
+     * b: 署名
+     * return: 類似度（0.0〜1.0、どちらかがnull（概要なし）の場合は0.0）
+     */
+    public static double similarity(long[] a, long[] b) {
+
+        // 概要がない同士は比較できないため、一致とみなさない
+        if (a == null || b == null) {
+            return 0.0;
+        }
+        int same = 0;
+        for (int k = 0; k < SIGNATURE_LENGTH; k++) {
+            if (a[k] == b[k]) {
+                same++;
+            }
+        }
+        return (double) same / SIGNATURE_LENGTH;
+    }
+
+    // 64bitのハッシュの撹拌（MurmurHash3のfmix64）
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB93FE3A8DD53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
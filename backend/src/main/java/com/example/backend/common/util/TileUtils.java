@@ -0,0 +1,85 @@
+package com.example.backend.common.util;
+
+/**
+ * 地図タイル（Webメルカトル z/x/y）の座標変換
+ */
+public class TileUtils {
+
+    // 最大ズームレベル
+    public static final int MAX_ZOOM = 20;
+
+    // Webメルカトルで表示可能な緯度の上限
+    private static final double MAX_LATITUDE = 85.05112878;
+
+    /*
+     * 経度→タイルX
+     * lng: 経度
+     * zoom: ズームレベル
+     * return: タイルX
+     */
+    public static int lngToTileX(double lng, int zoom) {
+        int n = 1 << zoom;
+        int x = (int) Math.floor((lng + 180.0) / 360.0 * n);
+        return Math.min(Math.max(x, 0), n - 1);
+    }
+
+    /*
+     * 緯度→タイルY
+     * lat: 緯度
+     * zoom: ズームレベル
+     * return: タイルY
+     */
+    public static int latToTileY(double lat, int zoom) {
+        int n = 1 << zoom;
+        double latRad = Math.toRadians(Math.max(Math.min(lat, MAX_LATITUDE), -MAX_LATITUDE));
+        int y = (int) Math.floor((1.0 - Math.log(Math.tan(latRad) + 1.0 / Math.cos(latRad)) / Math.PI) / 2.0 * n);
+        return Math.min(Math.max(y, 0), n - 1);
+    }
+
+    /*
+     * タイルX→経度（タイルの西端）
+     * x: タイルX
+     * zoom: ズームレベル
+     * return: 経度
+     */
+    public static double tileXToLng(int x, int zoom) {
+        return x / (double) (1 << zoom) * 360.0 - 180.0;
+    }
+
+    /*
+     * タイルY→緯度（タイルの北端）
+     * y: タイルY
+     * zoom: ズームレベル
+     * return: 緯度
+     */
+    public static double tileYToLat(int y, int zoom) {
+        double n = Math.PI - 2.0 * Math.PI * y / (1 << zoom);
+        return Math.toDegrees(Math.atan(Math.sinh(n)));
+    }
+
+    /*
+     * タイルの一意キー
+     * zoom: ズームレベル
+     * x: タイルX
+     * y: タイルY
+     * return: タイルキー
+     */
+    public static long tileKey(int zoom, int x, int y) {
+        return ((long) zoom << 58) | ((long) x << 29) | y;
+    }
+
+    /*
+     * タイルの妥当性チェック
+     * zoom: ズームレベル
+     * x: タイルX
+     * y: タイルY
+     * return: true: 有効なタイル
+     */
+    public static boolean isValidTile(int zoom, int x, int y) {
+        if (zoom < 0 || zoom > MAX_ZOOM) {
+            return false;
+        }
+        int n = 1 << zoom;
+        return x >= 0 && x < n && y >= 0 && y < n;
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.backend.config;
+
+import com.example.backend.client.GeocodingClient;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+/**
+ * Geocoding API専用のHTTPクライアント設定
+ */
+@Configuration
+public class GeocodingClientConfig {
+
+    // サーキットブレーカー・バルクヘッドの名称
+    private static final String GEOCODING = "geocoding";
+
+    /*
+     * コネクションプール
+     */
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager geocodingConnectionManager(
+            @Value("${geocode.http.max-connections:50}") int maxConnections,
+            @Value("${geocode.http.max-connections-per-route:20}") int maxConnectionsPerRoute,
+            @Value("${geocode.http.connect-timeout-ms:2000}") long connectTimeoutMs,
+            @Value("${geocode.http.read-timeout-ms:5000}") long readTimeoutMs,
+            @Value("${geocode.http.connection-ttl-seconds:300}") long connectionTtlSeconds) {
+
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setTimeToLive(TimeValue.ofSeconds(connectionTtlSeconds))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                        .build())
+                .build();
+    }
+
+    /*
+     * HTTPクライアント（Keep-Alive・アイドル接続の破棄）
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient geocodingHttpClient(
+            PoolingHttpClientConnectionManager geocodingConnectionManager,
+            @Value("${geocode.http.pool-timeout-ms:1000}") long poolTimeoutMs,
+            @Value("${geocode.http.read-timeout-ms:5000}") long readTimeoutMs,
+            @Value("${geocode.http.idle-timeout-seconds:30}") long idleTimeoutSeconds) {
+
+        return HttpClients.custom()
+                .setConnectionManager(geocodingConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(idleTimeoutSeconds))
+                .build();
+    }
+
+    /*
+     * サーキットブレーカー
+     * 通信エラー・遅延が一定割合を超えた場合、一定時間Geocoding APIを呼び出さない。
+     */
+    @Bean
+    public CircuitBreaker geocodingCircuitBreaker(
+            MeterRegistry meterRegistry,
+            @Value("${geocode.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${geocode.circuit-breaker.slow-call-rate-threshold:80}") float slowCallRateThreshold,
+            @Value("${geocode.circuit-breaker.slow-call-duration-ms:3000}") long slowCallDurationMs,
+            @Value("${geocode.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${geocode.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${geocode.circuit-breaker.open-duration-seconds:30}") long openDurationSeconds,
+            @Value("${geocode.circuit-breaker.half-open-calls:3}") int halfOpenCalls) {
+
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCallDurationMs))
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .waitDurationInOpenState(Duration.ofSeconds(openDurationSeconds))
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .recordExceptions(RestClientException.class)
+                .build();
+
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry.circuitBreaker(GEOCODING);
+    }
+
+    /*
+     * バルクヘッド
+     * Geocoding APIの同時呼び出し数を制限し、待機時間を超えた呼び出しは即時失敗とする。
+     */
+    @Bean
+    public Bulkhead geocodingBulkhead(
+            MeterRegistry meterRegistry,
+            @Value("${geocode.bulkhead.max-concurrent-calls:16}") int maxConcurrentCalls,
+            @Value("${geocode.bulkhead.max-wait-ms:200}") long maxWaitMs) {
+
+        BulkheadConfig config = BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ofMillis(maxWaitMs))
+                .build();
+
+        BulkheadRegistry registry = BulkheadRegistry.of(config);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry.bulkhead(GEOCODING);
+    }
+
+    /*
+     * Geocoding API専用のHTTPクライアント
+     */
+    @Bean
+    public GeocodingClient geocodingClient(
+            CloseableHttpClient geocodingHttpClient,
+            PoolingHttpClientConnectionManager geocodingConnectionManager,
+            CircuitBreaker geocodingCircuitBreaker,
+            Bulkhead geocodingBulkhead,
+            MeterRegistry meterRegistry) {
+
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(geocodingHttpClient));
+        GeocodingClient client = new GeocodingClient(
+                restTemplate, geocodingConnectionManager, geocodingCircuitBreaker, geocodingBulkhead);
+
+        // コネクションプールの使用状況
+        Gauge.builder("geocode.http.pool.leased", client, c -> c.getPoolStats().getLeased())
+                .register(meterRegistry);
+        Gauge.builder("geocode.http.pool.available", client, c -> c.getPoolStats().getAvailable())
+                .register(meterRegistry);
+        Gauge.builder("geocode.http.pool.pending", client, c -> c.getPoolStats().getPending())
+                .register(meterRegistry);
+        Gauge.builder("geocode.http.pool.max", client, c -> c.getPoolStats().getMax())
+                .register(meterRegistry);
+
+        return client;
+    }
+}
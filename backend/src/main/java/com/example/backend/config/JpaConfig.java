@@ -0,0 +1,24 @@
+package com.example.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JpaConfig {
+
+    /*
+     * INSERTのバッチ化設定
+     * spring.jpa.properties.* で指定されている場合はそちらを優先する。
+     * NOTE: PostgreSQLは接続URLに reWriteBatchedInserts=true を指定すると複数行INSERTになる
+     */
+    @Bean
+    public HibernatePropertiesCustomizer batchInsertCustomizer(
+            @Value("${report.jdbc.batch-size:50}") int batchSize) {
+        return properties -> {
+            properties.putIfAbsent("hibernate.jdbc.batch_size", batchSize);
+            properties.putIfAbsent("hibernate.order_inserts", true);
+        };
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+/**
+ * メトリクス・トレースの設定
+ * Actuatorの公開範囲・ヒストグラム・サンプリング率の既定値を読み込む。
+ * （@PropertySourceは優先度が最も低いため、application.properties・環境変数で上書きできる）
+ */
+@Configuration
+@PropertySource("classpath:observability.properties")
+public class ObservabilityConfig {
+}
@@ -0,0 +1,26 @@
+package com.example.backend.config;
+
+import com.example.backend.service.ReportClusterService;
+import com.example.backend.service.ReportRollupService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 不審者情報の集計の移行
+ * 時系列・格子の集計が空の場合に不審者情報から再作成する。再作成中の登録は二重に計上されるため、
+ * Webサーバー（Webhookの受付）・Inboxワーカー・取り込みの開始より前（コンテキストの初期化中）に実行する。
+ */
+@Component
+@RequiredArgsConstructor
+public class ReportRollupMigration {
+
+    private final ReportRollupService reportRollupService;
+    private final ReportClusterService reportClusterService;
+
+    @PostConstruct
+    void migrate() {
+        reportRollupService.rebuildIfEmpty();
+        reportClusterService.rebuildIfEmpty();
+    }
+}
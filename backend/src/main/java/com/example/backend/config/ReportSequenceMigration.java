@@ -0,0 +1,68 @@
+package com.example.backend.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 不審者情報IDのシーケンス（reports_seq）の移行
+ * IDの採番をIDENTITYからシーケンスに変更したため、既存DBのシーケンスを既存のIDより後ろに合わせる。
+ * Webサーバー・Inboxワーカーの開始より前（コンテキストの初期化中）に実行する。
+ * NOTE: 既存DBの初回の移行時は、1インスタンスのみで起動すること
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReportSequenceMigration {
+
+    // シーケンス名（ReportEntityの@SequenceGeneratorと同じ）
+    private static final String SEQUENCE_NAME = "reports_seq";
+
+    // 採番のまとめ数（ReportEntityのallocationSizeと同じ）
+    private static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    /*
+     * シーケンスがない場合は作成し、既存のIDと重なる場合は max(id) の後ろから採番し直す。
+     * Hibernateはシーケンスの値を採番範囲の上限として扱う（値-まとめ数+1 〜 値）ため、
+     * 次の値が max(id)+まとめ数 以上であれば重ならない。
+     */
+    @PostConstruct
+    void migrate() {
+
+        Long maxId = jdbcTemplate.queryForObject("select max(id) from reports", Long.class);
+        long start = (maxId == null ? 0 : maxId) + ALLOCATION_SIZE;
+
+        Long next;
+        try {
+            next = jdbcTemplate.queryForObject(nextValueSql(), Long.class);
+        } catch (DataAccessException e) {
+            // シーケンスなし（スキーマを自動生成しない既存DB）
+            jdbcTemplate.execute("create sequence " + SEQUENCE_NAME
+                    + " start with " + start + " increment by " + ALLOCATION_SIZE);
+            log.info("シーケンスを作成しました: {}（開始値{}）", SEQUENCE_NAME, start);
+            return;
+        }
+
+        if (maxId != null && next != null && next - ALLOCATION_SIZE + 1 <= maxId) {
+            jdbcTemplate.execute("alter sequence " + SEQUENCE_NAME + " restart with " + start);
+            log.info("シーケンスを既存のIDの後ろに合わせました: {}（{}→{}）", SEQUENCE_NAME, next, start);
+        }
+    }
+
+    // シーケンスの次の値を取得するSQL（DBの方言に合わせる）
+    private String nextValueSql() {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect()
+                .getSequenceSupport()
+                .getSequenceNextValString(SEQUENCE_NAME);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.backend.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 不審者情報の更新日（updated）の移行
+ * 差分取得の位置を作成日から更新日に変更したため、既存DBの未設定の行を作成日に合わせる。
+ * Webサーバー・Inboxワーカーの開始より前（コンテキストの初期化中）に実行する。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReportUpdatedMigration {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void migrate() {
+
+        int filled = jdbcTemplate.update("update reports set updated = created where updated is null");
+        if (filled > 0) {
+            log.info("更新日を設定しました: {}件", filled);
+        }
+    }
+}
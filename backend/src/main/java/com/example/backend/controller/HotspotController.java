@@ -0,0 +1,30 @@
+package com.example.backend.controller;
+
+import com.example.backend.dto.HotspotDto;
+import com.example.backend.service.HotspotDetectionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 急増地点 エンドポイント
+ */
+@RestController
+@RequestMapping("/api/hotspots")
+@RequiredArgsConstructor
+public class HotspotController {
+    private final HotspotDetectionService hotspotDetectionService;
+
+    /*
+     * 不審者情報が急増している地点を取得する。
+     * 直近の集計期間の件数が平常時を大きく上回る格子を、件数の多い順に返却する。
+     * return: 急増地点Dto
+     */
+    @GetMapping
+    public List<HotspotDto> getHotspots() {
+        return hotspotDetectionService.getHotspots();
+    }
+}
@@ -1,8 +1,15 @@
 package com.example.backend.controller;
 
-import com.example.backend.service.ReportService;
+import com.example.backend.common.constant.CommonConst;
+import com.example.backend.service.LineEventInboxService;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.transport.SenderContext;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -13,52 +20,123 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
 @Slf4j
 @RestController
 @RequestMapping("/line")
 @RequiredArgsConstructor
 public class LineController {
 
-    private final ReportService reportService;
+    // W3C Trace Contextのキー
+    private static final String TRACEPARENT = "traceparent";
+
+    private final LineEventInboxService lineEventInboxService;
+    private final ObservationRegistry observationRegistry;
+    private final MeterRegistry meterRegistry;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Value("${line.bot.channelSecret}")
     private String channelSecret;
 
+    private DistributionSummary eventsSummary;
+
+    @PostConstruct
+    void init() {
+        eventsSummary = DistributionSummary.builder("line.webhook.events")
+                .description("1回の受信に含まれるイベント数")
+                .register(meterRegistry);
+    }
+
+    /*
+     * LINE Webhook受信
+     * 受信イベントをInboxへ登録して即時応答し、登録処理はLineEventInboxWorkerで非同期に行う。
+     * body: リクエストボディ
+     * signature: 署名
+     * return: 応答
+     */
     @PostMapping("/callback")
     public ResponseEntity<String> callback(
             @RequestBody String body,
             @RequestHeader(value = "X-Line-Signature", required = false) String signature) {
 
-        log.info("=== LINE /line/callback HIT ===");
-
         // 署名検証スキップ（テスト用）
-        log.info("Body length: {}", body.length());
-        log.info("Signature: {}", signature);
+        log.debug("LINE Webhook受信: {}バイト", body.length());
 
-        try {
+        Observation observation = Observation.createNotStarted("line.webhook", observationRegistry).start();
+        try (Observation.Scope scope = observation.openScope()) {
             JsonNode root = objectMapper.readTree(body);
             JsonNode events = root.path("events");
 
-            if (events.isArray() && events.size() > 0) {
+            int enqueued = CommonConst.COUNT.ZERO;
+            if (events.isArray()) {
+                eventsSummary.record(events.size());
                 for (JsonNode event : events) {
                     String userId = event.path("source").path("userId").asText(null);
                     String text   = event.path("message").path("text").asText(null);
-    
+
                     if (StringUtils.isNotEmpty(userId) && StringUtils.isNotEmpty(text)) {
-                        // ReportService呼び出し
-                        reportService.processReportMessage(userId, text);
+                        // Webhookイベント IDがない場合は冪等性キーを採番
+                        String webhookEventId = event.path("webhookEventId").asText(null);
+                        if (StringUtils.isEmpty(webhookEventId)) {
+                            webhookEventId = UUID.randomUUID().toString();
+                        }
+
+                        // Inbox登録
+                        if (enqueue(webhookEventId, userId, text, event.toString())) {
+                            enqueued++;
+                        }
                     }
-    
-                    return ResponseEntity.ok("OK");
                 }
             }
 
-            return ResponseEntity.ok("None");
+            observation.lowCardinalityKeyValue("result", enqueued > CommonConst.COUNT.ZERO ? "enqueued" : "none");
+            return ResponseEntity.ok(enqueued > CommonConst.COUNT.ZERO ? "OK" : "None");
 
         } catch (Exception e) {
             log.error("Webhookエラー", e);
+            observation.lowCardinalityKeyValue("result", "error");
+            observation.error(e);
             return ResponseEntity.status(500).body("Internalエラー: " + e.getMessage());
+
+        } finally {
+            observation.stop();
+        }
+    }
+
+    /*
+     * 受信イベントをInboxへ登録する。
+     * 現在のトレースコンテキスト（traceparent）を併せて保存し、非同期処理のトレースを受信時と関連付ける。
+     * webhookEventId: Webhookイベント ID
+     * userId: ユーザーID
+     * text: 不審者情報メッセージ
+     * rawEvent: 受信イベント（JSON）
+     * return: true: 登録、false: 登録済み
+     */
+    private boolean enqueue(String webhookEventId, String userId, String text, String rawEvent) {
+
+        Map<String, String> carrier = new HashMap<>();
+        SenderContext<Map<String, String>> context = new SenderContext<>(Map::put);
+        context.setCarrier(carrier);
+
+        // 開始時にトレースコンテキストがcarrierへ書き込まれる
+        Observation observation = Observation.createNotStarted("line.inbox.enqueue", () -> context, observationRegistry)
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            boolean enqueued = lineEventInboxService.enqueue(
+                    webhookEventId, userId, text, rawEvent, carrier.get(TRACEPARENT));
+            observation.lowCardinalityKeyValue("result", enqueued ? "enqueued" : "duplicate");
+            return enqueued;
+
+        } catch (RuntimeException e) {
+            observation.error(e);
+            throw e;
+
+        } finally {
+            observation.stop();
         }
     }
 }
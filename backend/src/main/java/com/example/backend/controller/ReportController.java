@@ -1,15 +1,43 @@
 package com.example.backend.controller;
 
+import com.example.backend.common.util.GeoUtils;
+import com.example.backend.dto.ReportClusterDto;
+import com.example.backend.dto.ReportDeltaDto;
 import com.example.backend.dto.ReportDto;
+import com.example.backend.dto.ReportHistogramDto;
+import com.example.backend.dto.ReportNearDto;
+import com.example.backend.dto.ReportPinDto;
+import com.example.backend.dto.ReportSearchCondition;
 import com.example.backend.entity.ReportEntity;
+import com.example.backend.model.ReportFeedCursor;
+import com.example.backend.readmodel.ReportReadModel;
 import com.example.backend.repository.ReportRepository;
+import com.example.backend.service.ReportChangeFeedService;
+import com.example.backend.service.ReportClusterService;
+import com.example.backend.service.ReportExportService;
+import com.example.backend.service.ReportFeedVersionService;
+import com.example.backend.service.ReportPushService;
+import com.example.backend.service.ReportRollupService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Report Controller エンドポイント
@@ -18,17 +46,390 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/reports")
 @RequiredArgsConstructor
 public class ReportController {
+    // キーセットページング：次ページのafter
+    private static final String NEXT_AFTER_HEADER = "X-Next-After";
+
+    // 購読の開始位置（地図ピン取得前の確定済みの位置）
+    private static final String FEED_CURSOR_HEADER = "X-Feed-Cursor";
+
     private final ReportRepository reportRepository;
+    private final ReportChangeFeedService reportChangeFeedService;
+    private final ReportClusterService reportClusterService;
+    private final ReportExportService reportExportService;
+    private final ReportFeedVersionService reportFeedVersionService;
+    private final ReportPushService reportPushService;
+    private final ReportReadModel reportReadModel;
+    private final ReportRollupService reportRollupService;
+
+    // 検索条件指定時の最大取得件数
+    @Value("${report.search.max-results:5000}")
+    private int maxResults;
+
+    // 近くの不審者情報の検索の最大半径（メートル）
+    @Value("${report.near.max-radius-m:50000}")
+    private double maxRadiusM;
 
     /*
      * 不審者情報を取得する。
+     * 表示範囲（minLat, maxLat, minLng, maxLng）、発生日時（from, to）、タグ（tag）で絞り込み可能。
+     * 複数タグ（tags=a,b）はmode=any（いずれか、既定）またはmode=all（すべて）で絞り込む。
+     * 発生時刻（hourFrom, hourTo）で時間帯を絞り込み可能（例：15〜18時、22〜5時）。
+     * キーセットページング（after, limit）指定時はID昇順で返却し、続きがある場合は次のafterをヘッダーに設定する。
+     * 登録がない限り304（Not Modified）を返却する。
+     * condition: 検索条件
+     * request: リクエスト
      * return: 不審者情報Dto
      */
     @GetMapping
-    public List<ReportDto> getReports() {
-        return reportRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public ResponseEntity<List<ReportDto>> getReports(@ModelAttribute ReportSearchCondition condition,
+            WebRequest request) {
+
+        // 変更なしの場合、DBを参照せず304を返却
+        String eTag = reportFeedVersionService.getETag();
+        if (request.checkNotModified(eTag, reportFeedVersionService.getLastModified())) {
+            return notModified(eTag);
+        }
+
+        // 検索条件なしの場合、全件
+        if (condition.isEmpty()) {
+            return okWithVersion(eTag).body(reportRepository.searchDtos(condition, Integer.MAX_VALUE));
+        }
+
+        int limit = resolveLimit(condition);
+        List<ReportDto> reports;
+        if (condition.hasTags() && reportReadModel.isCurrent()) {
+            // 複数タグはタグ索引でIDを絞り込み、詳細のみDBから取得
+            List<Long> ids = reportReadModel.searchIds(condition, limit);
+            reports = reportRepository.searchDtosByIds(ids);
+        } else {
+            reports = reportRepository.searchDtos(condition, limit);
+        }
+
+        // 続きがある可能性がある場合、次ページのafterを返却
+        ResponseEntity.BodyBuilder response = okWithVersion(eTag);
+        if (condition.isPaged() && reports.size() == limit) {
+            response.header(NEXT_AFTER_HEADER, String.valueOf(reports.get(reports.size() - 1).getId()));
+        }
+        return response.body(reports);
+    }
+
+    /*
+     * 地図ピン用の不審者情報を取得する。（概要などの詳細を含まない）
+     * 検索条件は getReports と同じ。
+     * 読み取りモデルから検索する場合はDBを参照せず、ETag・位置も公開済みの読み取りモデルから求める
+     * （DBの版数を使用すると、読み取りモデルへの反映前に新しいETagで古い一覧を返却してしまうため）。
+     * 読み取りモデルの読み込み中・反映の遅れが上限を超えた場合は、DBから検索し、DBの版数を使用する。
+     * 取得前の確定済みの位置をヘッダーに設定する（購読のlastEventIdに指定すると、取得後の登録を補完できる）。
+     * condition: 検索条件
+     * request: リクエスト
+     * return: 不審者情報（地図ピン用）Dto
+     */
+    @GetMapping("/pins")
+    public ResponseEntity<List<ReportPinDto>> getReportPins(@ModelAttribute ReportSearchCondition condition,
+            WebRequest request) {
+
+        // 版数・位置は検索より前に読む（検索結果は版数・位置までの登録・更新を必ず含む）
+        boolean fromReadModel = reportReadModel.isCurrent();
+        String feedCursor;
+        String eTag;
+        boolean notModified;
+        if (fromReadModel) {
+            feedCursor = reportReadModel.getCursor().format();
+            eTag = reportReadModel.getETag();
+            notModified = request.checkNotModified(eTag);
+        } else {
+            feedCursor = reportChangeFeedService.horizon().format();
+            eTag = reportFeedVersionService.getETag();
+            notModified = request.checkNotModified(eTag, reportFeedVersionService.getLastModified());
+        }
+        if (notModified) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .cacheControl(CacheControl.noCache())
+                    .header(FEED_CURSOR_HEADER, feedCursor)
+                    .build();
+        }
+
+        int limit = condition.isEmpty() ? Integer.MAX_VALUE : resolveLimit(condition);
+        if (fromReadModel) {
+            return ResponseEntity.ok()
+                    .eTag(eTag)
+                    .cacheControl(CacheControl.noCache())
+                    .header(FEED_CURSOR_HEADER, feedCursor)
+                    .body(reportReadModel.searchPins(condition, limit));
+        }
+        return okWithVersion(eTag)
+                .header(FEED_CURSOR_HEADER, feedCursor)
+                .body(reportRepository.searchPins(condition, limit));
+    }
+
+    /*
+     * 前回取得以降に登録・更新された不審者情報（地図ピン用）を取得する。
+     * 前回返却したcursorを指定し、初回は0を指定する。新規登録がない場合は不審者情報を参照しない。
+     * cursorは更新日時・IDの組のため、登録が並列・複数インスタンスでも取りこぼさない。
+     * since: 前回返却したcursor
+     * return: 不審者情報の差分Dto
+     */
+    @GetMapping("/changes")
+    public ReportDeltaDto getChanges(@RequestParam String since) {
+
+        ReportFeedCursor cursor;
+        try {
+            cursor = ReportFeedCursor.parse(since);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        return reportChangeFeedService.getChanges(cursor, maxResults);
+    }
+
+    /*
+     * 指定地点の近くの不審者情報を近い順に取得する。（距離は球面上の距離）
+     * 発生日時（from, to）、発生時刻（hourFrom, hourTo）、タグ（tag, tags, mode）で絞り込み可能。
+     * 読み取りモデルの読み込み完了後は格子索引から検索し、DBを参照しない。
+     * lat: 緯度
+     * lng: 経度
+     * radiusM: 半径（メートル）
+     * k: 最大取得件数
+     * condition: 検索条件
+     * return: 近くの不審者情報Dto
+     */
+    @GetMapping("/near")
+    public List<ReportNearDto> getNearReports(@RequestParam double lat, @RequestParam double lng,
+            @RequestParam(defaultValue = "1000") double radiusM, @RequestParam(defaultValue = "20") int k,
+            @ModelAttribute ReportSearchCondition condition) {
+
+        if (lat < -90 || lat > 90 || lng < -180 || lng > 180) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "latは-90〜90、lngは-180〜180で指定してください");
+        }
+        if (!(radiusM > 0) || radiusM > maxRadiusM) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "radiusMは0より大きく" + (long) maxRadiusM + "以下で指定してください");
+        }
+        if (k <= 0 || k > maxResults) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "kは1〜" + maxResults + "で指定してください");
+        }
+
+        // 検索条件チェック（表示範囲・ページングは使用しない）
+        condition.setMinLat(null);
+        condition.setMaxLat(null);
+        condition.setMinLng(null);
+        condition.setMaxLng(null);
+        condition.setAfter(null);
+        condition.setLimit(null);
+        resolveLimit(condition);
+
+        if (reportReadModel.isCurrent()) {
+            return reportReadModel.searchNear(condition, lat, lng, radiusM, k);
+        }
+        return searchNearFromDb(condition, lat, lng, radiusM, k);
+    }
+
+    /*
+     * 日別・時間帯別の件数を取得する。
+     * 表示範囲（minLat, maxLat, minLng, maxLng）、発生日時（from, to）、発生時刻（hourFrom, hourTo）で絞り込み可能。
+     * 登録時に加算した集計から求めるため、期間の長さによらず不審者情報を参照しない。
+     * condition: 検索条件
+     * request: リクエスト
+     * return: 時系列集計Dto
+     */
+    @GetMapping("/histogram")
+    public ResponseEntity<ReportHistogramDto> getHistogram(@ModelAttribute ReportSearchCondition condition,
+            WebRequest request) {
+
+        String eTag = reportFeedVersionService.getETag();
+        if (request.checkNotModified(eTag, reportFeedVersionService.getLastModified())) {
+            return notModified(eTag);
+        }
+
+        // 検索条件チェック
+        resolveLimit(condition);
+        return okWithVersion(eTag).body(reportRollupService.getHistogram(condition));
+    }
+
+    /*
+     * 不審者情報の詳細を取得する。
+     * id: ID
+     * return: 不審者情報Dto
+     */
+    @GetMapping("/{id}")
+    public ReportDto getReport(@PathVariable Long id) {
+
+        return reportRepository.findById(id)
+                .map(ReportController::convertToDto)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "不審者情報が見つかりません: " + id));
+    }
+
+    /*
+     * 全件の不審者情報をストリーミングで取得する。
+     * DBカーソルから1件ずつJSONへ書き出すため、件数によらずヒープ使用量は一定。
+     * return: 不審者情報Dto（JSON配列）
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamReports() {
+
+        StreamingResponseBody body = outputStream ->
+                reportExportService.writeAll(outputStream, ReportController::convertToDto);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    /*
+     * 表示範囲内の不審者情報をクラスタ単位で取得する。
+     * bbox: 表示範囲（西端経度,南端緯度,東端経度,北端緯度）
+     * zoom: ズームレベル
+     * return: クラスタDto
+     */
+    @GetMapping("/clusters")
+    public List<ReportClusterDto> getClusters(@RequestParam String bbox, @RequestParam int zoom) {
+
+        ReportSearchCondition bounds = parseBbox(bbox);
+        try {
+            return reportClusterService.getClusters(
+                    bounds.getMinLat(), bounds.getMinLng(), bounds.getMaxLat(), bounds.getMaxLng(), zoom);
+
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /*
+     * 新規登録された不審者情報をServer-Sent Eventsで受信する。
+     * 再接続時はEventSourceが付与する Last-Event-ID（または lastEventId）以降の分を先に送信する。
+     * bbox: 表示範囲（西端経度,南端緯度,東端経度,北端緯度、未指定の場合は全範囲）
+     * lastEventIdHeader: 最後に受信したイベントID（Last-Event-IDヘッダー）
+     * lastEventId: 地図ピン取得時の X-Feed-Cursor（初回接続時）
+     * return: SSEの送信オブジェクト
+     */
+    @GetMapping(value = "/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestParam(required = false) String bbox,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(required = false) String lastEventId) {
+
+        ReportSearchCondition bounds = bbox == null ? new ReportSearchCondition() : parseBbox(bbox);
+        try {
+            return reportPushService.subscribe(bounds, lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
+        }
+    }
+
+    /*
+     * 表示範囲の解析
+     * bbox: 表示範囲（西端経度,南端緯度,東端経度,北端緯度）
+     * return: 表示範囲を設定した検索条件
+     */
+    private ReportSearchCondition parseBbox(String bbox) {
+
+        String[] values = bbox.split(",");
+        if (values.length != 4) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "bboxは「西端経度,南端緯度,東端経度,北端緯度」で指定してください");
+        }
+
+        try {
+            ReportSearchCondition bounds = new ReportSearchCondition();
+            bounds.setMinLng(Double.parseDouble(values[0].trim()));
+            bounds.setMinLat(Double.parseDouble(values[1].trim()));
+            bounds.setMaxLng(Double.parseDouble(values[2].trim()));
+            bounds.setMaxLat(Double.parseDouble(values[3].trim()));
+            return bounds;
+
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "bboxは数値で指定してください", e);
+        }
+    }
+
+    /*
+     * 近くの不審者情報をDBから検索する。（読み取りモデルの読み込み中・反映の遅れが上限を超えた場合のみ）
+     * 半径を含む範囲をDBから取得し、距離で絞り込む。範囲内が最大取得件数を超える場合は新しい順の上限までとなる。
+     * condition: 検索条件
+     * lat: 緯度
+     * lng: 経度
+     * radiusM: 半径（メートル）
+     * k: 最大取得件数
+     * return: 近くの不審者情報Dto
+     */
+    private List<ReportNearDto> searchNearFromDb(ReportSearchCondition condition, double lat, double lng,
+            double radiusM, int k) {
+
+        double latDelta = GeoUtils.latitudeDelta(radiusM);
+        double lngDelta = GeoUtils.longitudeDelta(radiusM, lat);
+        condition.setMinLat(lat - latDelta);
+        condition.setMaxLat(lat + latDelta);
+        condition.setMinLng(lng - lngDelta);
+        condition.setMaxLng(lng + lngDelta);
+
+        return reportRepository.searchPins(condition, maxResults).stream()
+                .map(pin -> new ReportNearDto(
+                        GeoUtils.distanceMeters(lat, lng, pin.getLatitude(), pin.getLongitude()), pin))
+                .filter(near -> near.getDistance() <= radiusM)
+                .sorted(Comparator.comparingDouble(ReportNearDto::getDistance))
+                .limit(k)
+                .toList();
+    }
+
+    /*
+     * 304（Not Modified）のレスポンス
+     * eTag: ETag
+     * return: レスポンス
+     */
+    private <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .build();
+    }
+
+    /*
+     * 版数（ETag・Last-Modified）付きのレスポンス
+     * 毎回再検証させ、変更がなければ304とする。
+     * eTag: ETag
+     * return: レスポンス
+     */
+    private ResponseEntity.BodyBuilder okWithVersion(String eTag) {
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache());
+        long lastModified = reportFeedVersionService.getLastModified();
+        if (lastModified > 0) {
+            response.lastModified(lastModified);
+        }
+        return response;
+    }
+
+    /*
+     * 検索条件チェック・最大取得件数の決定
+     * condition: 検索条件
+     * return: 最大取得件数
+     */
+    private int resolveLimit(ReportSearchCondition condition) {
+
+        // 表示範囲は4辺すべて必須
+        if (condition.hasPartialBounds()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "minLat, maxLat, minLng, maxLngはすべて指定してください");
+        }
+
+        if (!condition.isValidMode()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "modeはanyまたはallで指定してください");
+        }
+
+        // 発生時刻は開始・終了とも必須
+        if (!condition.isValidHours()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "hourFromは0〜23、hourToは0〜24で、異なる値を両方指定してください");
+        }
+
+        if (condition.getLimit() == null) {
+            return maxResults;
+        }
+        if (condition.getLimit() <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limitは1以上で指定してください");
+        }
+        return Math.min(condition.getLimit(), maxResults);
     }
 
     /*
@@ -36,7 +437,7 @@ public class ReportController {
      * reportEntity: 不審者情報Entity
      * return: 不審者情報Dto
      */
-    private ReportDto convertToDto(ReportEntity entity) {
+    static ReportDto convertToDto(ReportEntity entity) {
         return new ReportDto(
                 entity.getId(),
                 entity.getUserId(),
@@ -0,0 +1,69 @@
+package com.example.backend.controller;
+
+import com.example.backend.common.util.TileUtils;
+import com.example.backend.dto.TileDto;
+import com.example.backend.service.ReportTileService;
+import com.example.backend.service.TileVersionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+
+/**
+ * 地図タイル エンドポイント
+ */
+@RestController
+@RequestMapping("/api/tiles")
+@RequiredArgsConstructor
+public class TileController {
+    private final ReportTileService reportTileService;
+    private final TileVersionService tileVersionService;
+
+    // ブラウザ・CDNでの再検証なしのキャッシュ期間（秒、0: 毎回再検証）
+    @Value("${report.tile.max-age-seconds:0}")
+    private long maxAgeSeconds;
+
+    /*
+     * 地図タイル内の不審者情報を取得する。
+     * タイルの版数をETagとし、タイル内に登録がない限り304（Not Modified）を返却する。
+     * z: ズームレベル
+     * x: タイルX
+     * y: タイルY
+     * return: 地図タイルDto
+     */
+    @GetMapping("/{z}/{x}/{y}")
+    public ResponseEntity<TileDto> getTile(@PathVariable int z, @PathVariable int x, @PathVariable int y,
+            WebRequest request) {
+
+        if (!TileUtils.isValidTile(z, x, y)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "存在しないタイルです: " + z + "/" + x + "/" + y);
+        }
+
+        CacheControl cacheControl = maxAgeSeconds > 0
+                ? CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic().mustRevalidate()
+                : CacheControl.noCache().cachePublic();
+
+        // 変更なしの場合、DBを参照せず304を返却
+        String eTag = tileVersionService.getETag(z, x, y);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(cacheControl)
+                .body(reportTileService.getTile(z, x, y));
+    }
+}
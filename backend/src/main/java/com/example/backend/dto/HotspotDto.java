@@ -0,0 +1,39 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 不審者情報の急増地点Dto
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotspotDto {
+    // ズームレベル
+    private int zoom;
+
+    // タイルX
+    private int x;
+
+    // タイルY
+    private int y;
+
+    // 緯度（タイルの中心）
+    private double latitude;
+
+    // 経度（タイルの中心）
+    private double longitude;
+
+    // 集計期間内の件数
+    private long count;
+
+    // 集計期間あたりの平常時の件数（過去の平均）
+    private double baseline;
+
+    // 急増を検知した日時
+    private LocalDateTime detectedAt;
+}
@@ -0,0 +1,27 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 不審者情報のクラスタDto
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportClusterDto {
+    // 件数
+    private int count;
+
+    // 緯度（重心）
+    private double latitude;
+
+    // 経度（重心）
+    private double longitude;
+
+    // 代表の不審者情報ID（新しい順）
+    private List<Long> reportIds;
+}
@@ -0,0 +1,24 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 不審者情報の差分Dto
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportDeltaDto {
+    // 次回の差分取得に指定するカーソル（作成日時（エポックマイクロ秒）-ID）
+    private String cursor;
+
+    // 続きの有無（trueの場合、cursorを指定して再取得）
+    private boolean hasMore;
+
+    // 前回以降に登録された不審者情報（作成順、前回と重複する場合があるためIDで重複を除く）
+    private List<ReportPinDto> reports;
+}
@@ -0,0 +1,42 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 不審者情報の時系列集計Dto
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportHistogramDto {
+    // 件数（合計）
+    private long total;
+
+    // daysの集計単位（day: 発生日ごと、month: 発生月ごと（長期間の集計時、dateは月の1日））
+    private String unit;
+
+    // 発生日（集計単位がmonthの場合、発生月）ごとの件数（昇順、0件の日は含まない）
+    private List<DayCount> days;
+
+    // 発生時刻（0〜23時）ごとの件数
+    private long[] hours;
+
+    /**
+     * 発生日ごとの件数
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DayCount {
+        // 発生日
+        private LocalDate date;
+
+        // 件数
+        private long count;
+    }
+}
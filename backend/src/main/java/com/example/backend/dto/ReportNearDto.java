@@ -0,0 +1,19 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 指定地点の近くの不審者情報Dto
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportNearDto {
+    // 指定地点からの距離（メートル）
+    private double distance;
+
+    // 不審者情報（地図ピン用）
+    private ReportPinDto report;
+}
@@ -0,0 +1,49 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 不審者情報（地図ピン用）Dto
+ * 地図・住所一覧の表示に必要な項目のみ。概要などの詳細は /api/reports/{id} で取得する。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportPinDto {
+    // ID
+    private Long id;
+
+    // 緯度
+    private double latitude;
+
+    // 経度
+    private double longitude;
+
+    // タグ1
+    private String tag1;
+
+    // タグ2
+    private String tag2;
+
+    // タグ3
+    private String tag3;
+
+    // 発生日時
+    private LocalDateTime occurDate;
+
+    // 都道府県
+    private String prefecture;
+
+    // 市区町村
+    private String municipality;
+
+    // 丁目
+    private String district;
+
+    // 番地以降
+    private String addressDetails;
+}
@@ -0,0 +1,174 @@
+package com.example.backend.dto;
+
+import lombok.Data;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 不審者情報の検索条件
+ */
+@Data
+public class ReportSearchCondition {
+    // タグの一致条件：いずれか
+    public static final String MODE_ANY = "any";
+
+    // タグの一致条件：すべて
+    public static final String MODE_ALL = "all";
+
+    // 緯度（南端）
+    private Double minLat;
+
+    // 緯度（北端）
+    private Double maxLat;
+
+    // 経度（西端）
+    private Double minLng;
+
+    // 経度（東端）
+    private Double maxLng;
+
+    // 発生日時（開始）
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    // 発生日時（終了）
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    // 発生時刻（開始、0〜23時、この時を含む）
+    private Integer hourFrom;
+
+    // 発生時刻（終了、0〜24時、この時を含まない、開始より前の場合は日をまたぐ）
+    private Integer hourTo;
+
+    // タグ
+    private String tag;
+
+    // タグ（複数、カンマ区切り）
+    private List<String> tags;
+
+    // タグの一致条件（any: いずれか、all: すべて、未指定の場合はany）
+    private String mode;
+
+    // キーセットページング：このIDより後を取得
+    private Long after;
+
+    // キーセットページング：取得件数
+    private Integer limit;
+
+    /*
+     * 表示範囲の指定有無
+     * return: true: 4辺すべて指定
+     */
+    public boolean hasBounds() {
+        return minLat != null && maxLat != null && minLng != null && maxLng != null;
+    }
+
+    /*
+     * 表示範囲の一部のみ指定されているか
+     * return: true: 一部のみ指定
+     */
+    public boolean hasPartialBounds() {
+        return !hasBounds() && (minLat != null || maxLat != null || minLng != null || maxLng != null);
+    }
+
+    /*
+     * 発生時刻の指定有無
+     * return: true: 開始・終了とも指定
+     */
+    public boolean hasHours() {
+        return hourFrom != null && hourTo != null;
+    }
+
+    /*
+     * 発生時刻の妥当性
+     * return: true: 未指定、または開始・終了とも範囲内で異なる値
+     */
+    public boolean isValidHours() {
+
+        if (hourFrom == null && hourTo == null) {
+            return true;
+        }
+        return hasHours() && hourFrom >= 0 && hourFrom <= 23 && hourTo >= 0 && hourTo <= 24
+                && !hourFrom.equals(hourTo);
+    }
+
+    /*
+     * 発生時刻が指定の範囲内か
+     * hour: 発生時刻（0〜23時）
+     * return: true: 範囲内（未指定の場合も含む）
+     */
+    public boolean matchesHour(int hour) {
+
+        if (!hasHours()) {
+            return true;
+        }
+        // 例：15〜18時は15・16・17時、22〜5時は22・23・0〜4時
+        return hourFrom < hourTo
+                ? hour >= hourFrom && hour < hourTo
+                : hour >= hourFrom || hour < hourTo;
+    }
+
+    /*
+     * キーセットページングの指定有無
+     * return: true: ページング（ID昇順）
+     */
+    public boolean isPaged() {
+        return after != null || limit != null;
+    }
+
+    /*
+     * 複数タグの指定有無
+     * return: true: 1つ以上指定
+     */
+    public boolean hasTags() {
+        return !getTagNames().isEmpty();
+    }
+
+    /*
+     * 指定されたタグ名（空・重複は除く）
+     * return: タグ名
+     */
+    public List<String> getTagNames() {
+
+        List<String> names = new ArrayList<>();
+        if (tags == null) {
+            return names;
+        }
+        for (String name : tags) {
+            if (StringUtils.isNotBlank(name) && !names.contains(name.trim())) {
+                names.add(name.trim());
+            }
+        }
+        return names;
+    }
+
+    /*
+     * タグの一致条件の妥当性
+     * return: true: 未指定・any・all
+     */
+    public boolean isValidMode() {
+        return mode == null || MODE_ANY.equalsIgnoreCase(mode) || MODE_ALL.equalsIgnoreCase(mode);
+    }
+
+    /*
+     * タグをすべて含むものに絞り込むか
+     * return: true: すべて、false: いずれか
+     */
+    public boolean isMatchAll() {
+        return MODE_ALL.equalsIgnoreCase(mode);
+    }
+
+    /*
+     * 検索条件の指定有無
+     * return: true: 条件なし
+     */
+    public boolean isEmpty() {
+        return !hasBounds() && !hasPartialBounds() && from == null && to == null && tag == null
+                && !hasTags() && hourFrom == null && hourTo == null && !isPaged();
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 地図タイルDto
+ * 詳細表示のズームレベル以上は不審者情報、未満はクラスタを返却する。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TileDto {
+    // ズームレベル
+    private int z;
+
+    // タイルX
+    private int x;
+
+    // タイルY
+    private int y;
+
+    // クラスタ（詳細表示のズームレベル未満）
+    private List<ReportClusterDto> clusters;
+
+    // 不審者情報（詳細表示のズームレベル以上）
+    private List<ReportPinDto> reports;
+}
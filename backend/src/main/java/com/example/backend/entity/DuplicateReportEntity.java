@@ -0,0 +1,52 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * 重複した不審者情報Entity
+ * 既存の不審者情報（同じ事案）と重複すると判定したメッセージを、不審者情報としては登録せずに関連付けて残す。
+ */
+@Entity
+@Table(name = "duplicate_reports",
+        indexes = @Index(name = "idx_duplicate_reports_report", columnList = "report_id"))
+@Getter
+@Setter
+@EntityListeners(AuditingEntityListener.class)
+public class DuplicateReportEntity {
+    // ID
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 関連付けた不審者情報（同じ事案）
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "report_id", nullable = false)
+    private ReportEntity report;
+
+    // ユーザーID(LINE)
+    @Column(name = "user_id", nullable = false, length = 255)
+    private String userId;
+
+    // 発生日時
+    @Column(name = "occur_date")
+    private LocalDateTime occurDate;
+
+    // 概要
+    @Column(name = "summary", columnDefinition = "TEXT")
+    private String summary;
+
+    // 概要の類似度（推定値、0.0〜1.0）
+    @Column(name = "similarity", nullable = false)
+    private double similarity;
+
+    // 作成日
+    @CreatedDate
+    @Column(name = "created", nullable = false, updatable = false)
+    private LocalDateTime created;
+}
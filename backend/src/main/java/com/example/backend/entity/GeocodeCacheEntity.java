@@ -0,0 +1,55 @@
+package com.example.backend.entity;
+
+import com.example.backend.model.GeocodeStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * 座標情報キャッシュEntity
+ */
+@Entity
+@Table(name = "geocode_cache")
+@Getter
+@Setter
+@EntityListeners(AuditingEntityListener.class)
+public class GeocodeCacheEntity {
+    // 正規化済み住所（キャッシュキー）
+    @Id
+    @Column(name = "address_key", length = 512)
+    private String addressKey;
+
+    // 取得結果ステータス
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private GeocodeStatus status;
+
+    // 緯度
+    @Column(name = "latitude")
+    private Double latitude;
+
+    // 経度
+    @Column(name = "longitude")
+    private Double longitude;
+
+    // フォールバックの段階（0: 住所そのもの）
+    @Column(name = "fallback_level", nullable = false)
+    private int fallbackLevel;
+
+    // 座標情報を取得できた住所
+    @Column(name = "resolved_address", length = 512)
+    private String resolvedAddress;
+
+    // 有効期限
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // 更新日
+    @LastModifiedDate
+    @Column(name = "updated", nullable = false)
+    private LocalDateTime updated;
+}
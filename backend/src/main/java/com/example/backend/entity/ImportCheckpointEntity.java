@@ -0,0 +1,51 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * 一括取込の進捗Entity
+ * 取込元ごとに処理済みのレコード数を、不審者情報の登録と同じトランザクションで更新する。
+ * 中断した取込は、処理済みのレコードを読み飛ばして再開する。
+ */
+@Entity
+@Table(name = "import_checkpoints")
+@Getter
+@Setter
+@EntityListeners(AuditingEntityListener.class)
+public class ImportCheckpointEntity {
+    // 取込元（ファイルの絶対パス）
+    @Id
+    @Column(name = "source", length = 500)
+    private String source;
+
+    // 処理済みのレコード数（登録・重複・失敗を含む）
+    @Column(name = "records", nullable = false)
+    private long records;
+
+    // 登録した件数
+    @Column(name = "imported", nullable = false)
+    private long imported;
+
+    // 重複として関連付けた件数
+    @Column(name = "duplicates", nullable = false)
+    private long duplicates;
+
+    // 解析・座標情報取得に失敗した件数
+    @Column(name = "failed", nullable = false)
+    private long failed;
+
+    // 完了フラグ
+    @Column(name = "completed", nullable = false)
+    private boolean completed;
+
+    // 更新日
+    @LastModifiedDate
+    @Column(name = "updated", nullable = false)
+    private LocalDateTime updated;
+}
@@ -0,0 +1,74 @@
+package com.example.backend.entity;
+
+import com.example.backend.model.InboxStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * LINE受信イベントEntity（Inbox）
+ */
+@Entity
+@Table(name = "line_event_inbox",
+        indexes = @Index(name = "idx_line_event_inbox_status", columnList = "status, next_attempt_at"))
+@Getter
+@Setter
+@EntityListeners(AuditingEntityListener.class)
+public class LineEventInboxEntity {
+    // ID
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Webhookイベント ID（冪等性キー）
+    @Column(name = "webhook_event_id", nullable = false, unique = true, length = 64)
+    private String webhookEventId;
+
+    // ユーザーID(LINE)
+    @Column(name = "user_id", nullable = false, length = 255)
+    private String userId;
+
+    // 不審者情報メッセージ
+    @Column(name = "text", nullable = false, columnDefinition = "TEXT")
+    private String text;
+
+    // 受信イベント（JSON）
+    @Column(name = "raw_event", columnDefinition = "TEXT")
+    private String rawEvent;
+
+    // 受信時のトレースコンテキスト（W3C traceparent、非同期処理のトレースを受信時と関連付ける）
+    @Column(name = "traceparent", length = 55)
+    private String traceparent;
+
+    // 処理ステータス
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private InboxStatus status;
+
+    // 試行回数
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    // 次回処理日時
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    // 最終エラー内容
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    // 作成日
+    @CreatedDate
+    @Column(name = "created", nullable = false, updatable = false)
+    private LocalDateTime created;
+
+    // 更新日
+    @LastModifiedDate
+    @Column(name = "updated", nullable = false)
+    private LocalDateTime updated;
+}
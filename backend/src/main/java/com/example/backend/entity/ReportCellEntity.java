@@ -0,0 +1,47 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 不審者情報の格子集計Entity（格子ごとの件数・座標の合計）
+ * 不審者情報の登録時に同じトランザクションで加算し、低ズームのクラスタは件数によらず格子の数だけ参照する。
+ */
+@Entity
+@Table(name = "report_cells",
+        uniqueConstraints = @UniqueConstraint(name = "uk_report_cells_cell",
+                columnNames = {"cell_x", "cell_y"}))
+@Getter
+@Setter
+public class ReportCellEntity {
+    // ID
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "report_cells_seq")
+    @SequenceGenerator(name = "report_cells_seq", sequenceName = "report_cells_seq", allocationSize = 50)
+    private Long id;
+
+    // 格子X（格子集計用のズームレベルのタイルX）
+    @Column(name = "cell_x", nullable = false)
+    private int cellX;
+
+    // 格子Y（格子集計用のズームレベルのタイルY）
+    @Column(name = "cell_y", nullable = false)
+    private int cellY;
+
+    // 件数
+    @Column(name = "report_count", nullable = false)
+    private long reportCount;
+
+    // 緯度の合計（重心の算出用）
+    @Column(name = "sum_lat", nullable = false)
+    private double sumLat;
+
+    // 経度の合計（重心の算出用）
+    @Column(name = "sum_lng", nullable = false)
+    private double sumLng;
+
+    // 最新の不審者情報ID（代表の不審者情報）
+    @Column(name = "latest_id", nullable = false)
+    private long latestId;
+}
@@ -4,22 +4,34 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 /**
  * 不審者情報Entity
  */
 @Entity
-@Table(name = "reports")
+@Table(name = "reports",
+        indexes = {
+                @Index(name = "idx_reports_lat_lng", columnList = "latitude, longitude"),
+                @Index(name = "idx_reports_occur_date", columnList = "occurDate"),
+                @Index(name = "idx_reports_created", columnList = "created, id"),
+                @Index(name = "idx_reports_updated", columnList = "updated, id")
+        })
 @Getter
 @Setter
 @EntityListeners(AuditingEntityListener.class)
 public class ReportEntity {
     // ID
+    // IDENTITYではINSERTのバッチ化が無効になるため、シーケンスをまとめて採番する
+    // 既存DBのシーケンスはReportSequenceMigrationで max(id) の後ろに合わせる
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reports_seq")
+    @SequenceGenerator(name = "reports_seq", sequenceName = "reports_seq", allocationSize = 50)
     private Long id;
 
     // ユーザーID(LINE)
@@ -38,10 +50,22 @@ public class ReportEntity {
     @Column(name = "tag3", length = 10)
     private String tag3;
 
+    // タグ（タグ辞書との多対多、タグ1〜3は互換のため残す）
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(name = "report_tags",
+            joinColumns = @JoinColumn(name = "report_id"),
+            inverseJoinColumns = @JoinColumn(name = "tag_id"),
+            indexes = @Index(name = "idx_report_tags_tag", columnList = "tag_id, report_id"))
+    private Set<TagEntity> tags = new LinkedHashSet<>();
+
     // 発生日時
     @Column(name = "occurDate", length = 100)
     private LocalDateTime occurDate;
 
+    // 発生時刻（時、0〜23、時間帯の絞り込み用に発生日時から設定）
+    @Column(name = "occur_hour")
+    private Integer occurHour;
+
     // 都道府県
     @Column(name = "prefecture", length = 4)
     private String prefecture;
@@ -74,4 +98,23 @@ public class ReportEntity {
     @CreatedDate
     @Column(name = "created", nullable = false, updatable = false)
     private LocalDateTime created;
+
+    // 更新日（差分取得の位置、重複の併合による更新時も変わる）
+    // 既存DBの未設定の行はReportUpdatedMigrationで作成日に合わせる
+    @LastModifiedDate
+    @Column(name = "updated")
+    private LocalDateTime updated;
+
+    // 版（重複の併合など登録後の更新を楽観ロックで直列化する）
+    // 既存DBの行は列の追加時に0とする
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
+    // 発生時刻を発生日時に合わせる
+    @PrePersist
+    @PreUpdate
+    void fillOccurHour() {
+        occurHour = occurDate == null ? null : occurDate.getHour();
+    }
 }
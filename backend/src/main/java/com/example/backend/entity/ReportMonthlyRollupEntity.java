@@ -0,0 +1,42 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 不審者情報の月別集計Entity（タイル×発生月×発生時刻（時）ごとの件数）
+ * 時別の集計（ReportRollupEntity）と同じトランザクションで加算し、長期間の時系列の集計は月単位で参照する。
+ */
+@Entity
+@Table(name = "report_monthly_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_report_monthly_rollups_bucket",
+                columnNames = {"bucket", "tile_x", "tile_y"}))
+@Getter
+@Setter
+public class ReportMonthlyRollupEntity {
+    // ID
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "report_monthly_rollups_seq")
+    @SequenceGenerator(name = "report_monthly_rollups_seq", sequenceName = "report_monthly_rollups_seq",
+            allocationSize = 50)
+    private Long id;
+
+    // 地図タイルX（集計用のズームレベル）
+    @Column(name = "tile_x", nullable = false)
+    private int tileX;
+
+    // 地図タイルY（集計用のズームレベル）
+    @Column(name = "tile_y", nullable = false)
+    private int tileY;
+
+    // 発生月の1日の発生時刻（時）
+    @Column(name = "bucket", nullable = false)
+    private LocalDateTime bucket;
+
+    // 件数
+    @Column(name = "report_count", nullable = false)
+    private long reportCount;
+}
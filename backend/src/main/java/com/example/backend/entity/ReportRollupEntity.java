@@ -0,0 +1,41 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 不審者情報の集計Entity（タイル×発生日時（時）ごとの件数）
+ * 不審者情報の登録時に同じトランザクションで加算し、時系列の集計は件数によらず集計単位の数だけ参照する。
+ */
+@Entity
+@Table(name = "report_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_report_rollups_bucket",
+                columnNames = {"bucket", "tile_x", "tile_y"}))
+@Getter
+@Setter
+public class ReportRollupEntity {
+    // ID
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "report_rollups_seq")
+    @SequenceGenerator(name = "report_rollups_seq", sequenceName = "report_rollups_seq", allocationSize = 50)
+    private Long id;
+
+    // 地図タイルX（集計用のズームレベル）
+    @Column(name = "tile_x", nullable = false)
+    private int tileX;
+
+    // 地図タイルY（集計用のズームレベル）
+    @Column(name = "tile_y", nullable = false)
+    private int tileY;
+
+    // 発生日時（時単位に切り捨て）
+    @Column(name = "bucket", nullable = false)
+    private LocalDateTime bucket;
+
+    // 件数
+    @Column(name = "report_count", nullable = false)
+    private long reportCount;
+}
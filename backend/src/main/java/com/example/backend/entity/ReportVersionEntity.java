@@ -0,0 +1,25 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 不審者情報の版数Entity（版数の種類ごとの更新回数）
+ * 不審者情報の登録・更新と同じトランザクションで加算し、インスタンス間で共有する版数とする。
+ * 件数の集計と異なり、参照は主キーで1行を読むのみのため、件数によらない。
+ */
+@Entity
+@Table(name = "report_versions")
+@Getter
+@Setter
+public class ReportVersionEntity {
+    // 版数の種類（例：一覧は "feed"）
+    @Id
+    @Column(name = "version_key", length = 64)
+    private String key;
+
+    // 版数（登録・更新のたびに加算）
+    @Column(name = "version", nullable = false)
+    private long version;
+}
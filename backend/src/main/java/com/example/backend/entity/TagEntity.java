@@ -0,0 +1,23 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * タグEntity（タグの辞書）
+ */
+@Entity
+@Table(name = "tags")
+@Getter
+@Setter
+public class TagEntity {
+    // ID（読み取りモデルのタグ索引の添字）
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    // タグ名
+    @Column(name = "name", nullable = false, unique = true, length = 50)
+    private String name;
+}
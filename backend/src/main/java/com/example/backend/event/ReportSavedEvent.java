@@ -0,0 +1,34 @@
+package com.example.backend.event;
+
+import com.example.backend.entity.ReportEntity;
+
+/**
+ * 不審者情報の登録イベント
+ * 登録トランザクションのコミット後に、キャッシュ・集計などへ反映するために使用する。
+ * 一括取込の場合は、配信・版数の更新など即時の反映を行わない（読み取りモデル・重複判定の索引には反映する）。
+ */
+public class ReportSavedEvent {
+    private final ReportEntity report;
+    private final boolean imported;
+
+    // 不審者情報の登録イベント
+    public ReportSavedEvent(ReportEntity report) {
+        this(report, false);
+    }
+
+    // 不審者情報の登録イベント（imported: 一括取込による登録）
+    public ReportSavedEvent(ReportEntity report, boolean imported) {
+        this.report = report;
+        this.imported = imported;
+    }
+
+    // 登録済みの不審者情報Entity
+    public ReportEntity getReport() {
+        return report;
+    }
+
+    // 一括取込による登録
+    public boolean isImported() {
+        return imported;
+    }
+}
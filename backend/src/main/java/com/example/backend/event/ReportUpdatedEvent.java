@@ -0,0 +1,29 @@
+package com.example.backend.event;
+
+import com.example.backend.entity.ReportEntity;
+
+/**
+ * 不審者情報の更新イベント
+ * 登録済みの不審者情報へ重複を併合した場合に、更新トランザクションのコミット後に
+ * 読み取りモデル・配信・版数へ反映するために使用する。（件数は変わらない）
+ */
+public class ReportUpdatedEvent {
+    private final ReportEntity report;
+    private final boolean imported;
+
+    // 不審者情報の更新イベント（imported: 一括取込による更新）
+    public ReportUpdatedEvent(ReportEntity report, boolean imported) {
+        this.report = report;
+        this.imported = imported;
+    }
+
+    // 更新済みの不審者情報Entity
+    public ReportEntity getReport() {
+        return report;
+    }
+
+    // 一括取込による更新
+    public boolean isImported() {
+        return imported;
+    }
+}
@@ -0,0 +1,375 @@
+package com.example.backend.gazetteer;
+
+import com.example.backend.model.GeoPoint;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.SortedSet;
+
+/**
+ * 町丁目の代表点（緯度経度）の文字トライ
+ * ノード・辺・値を配列に平坦化してファイルへ書き出し、メモリマップして参照する。
+ * 参照時はオブジェクトを生成せず、辺は文字の昇順に並べて二分探索する。
+ *
+ * ファイル形式（ビッグエンディアン）
+ *   ヘッダー: マジック(int), 版(int), 元データのサイズ(long), 元データの更新日時(long),
+ *            ノード数(int), 辺数(int), 値数(int)
+ *   ノード:   先頭の辺(int), 辺数(int), 値(int、値なしは-1) × ノード数
+ *   辺の遷移先: ノード(int) × 辺数
+ *   辺の文字:   文字(char) × 辺数
+ *   値:       緯度(double), 経度(double) × 値数
+ *   市区町村: 都道府県数(int), (都道府県(文字列), 市区町村数(int), 市区町村(文字列) × 市区町村数) × 都道府県数
+ *            ※文字列は 文字数(short), 文字(char) × 文字数
+ */
+public final class GazetteerTrie {
+
+    // ファイルの識別子
+    private static final int MAGIC = 0x475A5431;
+
+    // ファイルの版
+    private static final int VERSION = 2;
+
+    // ヘッダーのサイズ
+    private static final int HEADER_BYTES = Integer.BYTES * 2 + Long.BYTES * 2 + Integer.BYTES * 3;
+
+    // 値なし
+    private static final int NO_VALUE = -1;
+
+    private final ByteBuffer buffer;
+    private final int nodeCount;
+    private final int edgeCount;
+    private final int valueCount;
+    private final int nodesOffset;
+    private final int targetsOffset;
+    private final int charsOffset;
+    private final int valuesOffset;
+    private final int municipalitiesOffset;
+
+    private GazetteerTrie(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.nodeCount = buffer.getInt(Integer.BYTES * 2 + Long.BYTES * 2);
+        this.edgeCount = buffer.getInt(Integer.BYTES * 3 + Long.BYTES * 2);
+        this.valueCount = buffer.getInt(Integer.BYTES * 4 + Long.BYTES * 2);
+        this.nodesOffset = HEADER_BYTES;
+        this.targetsOffset = nodesOffset + nodeCount * Integer.BYTES * 3;
+        this.charsOffset = targetsOffset + edgeCount * Integer.BYTES;
+        this.valuesOffset = charsOffset + edgeCount * Character.BYTES;
+        this.municipalitiesOffset = valuesOffset + valueCount * Double.BYTES * 2;
+    }
+
+    /*
+     * トライのファイルを作成する。（一時ファイルへ書き出した後に置き換える）
+     * entries: 住所のキー→代表点（キーの昇順）
+     * municipalities: 都道府県→市区町村
+     * path: 出力先
+     * sourceSize: 元データのサイズ
+     * sourceModified: 元データの更新日時
+     */
+    public static void write(SortedMap<String, GeoPoint> entries, Map<String, SortedSet<String>> municipalities,
+            Path path, long sourceSize, long sourceModified) throws IOException {
+
+        String[] keys = entries.keySet().toArray(new String[0]);
+        GeoPoint[] points = entries.values().toArray(new GeoPoint[0]);
+
+        // 幅優先でノードを採番し、ノードごとの辺を連続して配置する
+        IntList nodeFirstEdge = new IntList();
+        IntList nodeEdgeCount = new IntList();
+        IntList nodeValue = new IntList();
+        IntList edgeTargets = new IntList();
+        StringBuilder edgeChars = new StringBuilder();
+
+        Deque<int[]> queue = new ArrayDeque<>();
+        addNode(nodeFirstEdge, nodeEdgeCount, nodeValue);
+        // 範囲の開始, 範囲の終了, 深さ, ノード
+        queue.add(new int[] {0, keys.length, 0, 0});
+        while (!queue.isEmpty()) {
+            int[] range = queue.poll();
+            int start = range[0];
+            int end = range[1];
+            int depth = range[2];
+            int node = range[3];
+
+            // 昇順のため、深さと長さが一致するキーは範囲の先頭のみ
+            if (start < end && keys[start].length() == depth) {
+                nodeValue.set(node, start);
+                start++;
+            }
+
+            nodeFirstEdge.set(node, edgeTargets.size());
+            int i = start;
+            while (i < end) {
+                char c = keys[i].charAt(depth);
+                int j = i + 1;
+                while (j < end && keys[j].charAt(depth) == c) {
+                    j++;
+                }
+                int child = addNode(nodeFirstEdge, nodeEdgeCount, nodeValue);
+                edgeTargets.add(child);
+                edgeChars.append(c);
+                queue.add(new int[] {i, j, depth + 1, child});
+                i = j;
+            }
+            nodeEdgeCount.set(node, edgeTargets.size() - nodeFirstEdge.get(node));
+        }
+
+        Path temp = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+        try (OutputStream file = Files.newOutputStream(temp);
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(sourceSize);
+            out.writeLong(sourceModified);
+            out.writeInt(nodeFirstEdge.size());
+            out.writeInt(edgeTargets.size());
+            out.writeInt(points.length);
+            for (int node = 0; node < nodeFirstEdge.size(); node++) {
+                out.writeInt(nodeFirstEdge.get(node));
+                out.writeInt(nodeEdgeCount.get(node));
+                out.writeInt(nodeValue.get(node));
+            }
+            for (int edge = 0; edge < edgeTargets.size(); edge++) {
+                out.writeInt(edgeTargets.get(edge));
+            }
+            for (int edge = 0; edge < edgeChars.length(); edge++) {
+                out.writeChar(edgeChars.charAt(edge));
+            }
+            for (GeoPoint point : points) {
+                out.writeDouble(point.getLatitude());
+                out.writeDouble(point.getLongitude());
+            }
+            out.writeInt(municipalities.size());
+            for (Map.Entry<String, SortedSet<String>> entry : municipalities.entrySet()) {
+                writeString(out, entry.getKey());
+                out.writeInt(entry.getValue().size());
+                for (String municipality : entry.getValue()) {
+                    writeString(out, municipality);
+                }
+            }
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /*
+     * トライのファイルをメモリマップする。
+     * path: トライのファイル
+     * return: トライ
+     */
+    public static GazetteerTrie open(Path path) throws IOException {
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.capacity() < HEADER_BYTES
+                    || buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != VERSION) {
+                throw new IOException("トライのファイル形式が不正です: " + path);
+            }
+            return new GazetteerTrie(buffer);
+        }
+    }
+
+    /*
+     * トライのファイルが元データから作成されたものか判定する。
+     * path: トライのファイル
+     * sourceSize: 元データのサイズ
+     * sourceModified: 元データの更新日時
+     * return: true: 作成済み（再作成不要）
+     */
+    public static boolean isUpToDate(Path path, long sourceSize, long sourceModified) throws IOException {
+
+        if (!Files.isRegularFile(path) || Files.size(path) < HEADER_BYTES) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // ヘッダーを読み込むまで継続
+            }
+            return header.getInt(0) == MAGIC
+                    && header.getInt(Integer.BYTES) == VERSION
+                    && header.getLong(Integer.BYTES * 2) == sourceSize
+                    && header.getLong(Integer.BYTES * 2 + Long.BYTES) == sourceModified;
+        }
+    }
+
+    /*
+     * 最長一致で代表点を検索する。
+     * 「福岡県福岡市中央区天神1丁目11-1」は「福岡県福岡市中央区天神1丁目」の代表点となる。
+     * 町名の途中では一致としない（「本町田1丁目」は「本町」の代表点としない）。
+     * key: 住所のキー
+     * return: 一致した値の番号（一致なしの場合、-1）
+     */
+    public int findLongestPrefix(String key) {
+
+        int node = 0;
+        int found = NO_VALUE;
+        for (int i = 0; i < key.length(); i++) {
+            node = findChild(node, key.charAt(i));
+            if (node < 0) {
+                break;
+            }
+            int value = buffer.getInt(nodesOffset + node * Integer.BYTES * 3 + Integer.BYTES * 2);
+            if (value != NO_VALUE && isBoundary(key, i + 1)) {
+                found = value;
+            }
+        }
+        return found;
+    }
+
+    /*
+     * 住所のキーの区切りか判定する。
+     * キーは「町名+N丁目+N-N」の形式のため、末尾または数字（丁目・番地）・ハイフンの直前を区切りとする。
+     * 数字の途中（「1」と「12」）は区切りとしない。
+     * key: 住所のキー
+     * end: 一致した文字数
+     * return: true: 区切り
+     */
+    private static boolean isBoundary(String key, int end) {
+
+        if (end == key.length()) {
+            return true;
+        }
+        char next = key.charAt(end);
+        if (next == '-') {
+            return true;
+        }
+        return isDigit(next) && !isDigit(key.charAt(end - 1));
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /*
+     * 市区町村の一覧を読み込む。（住所の正規化での妥当性確認用）
+     * return: 都道府県→市区町村
+     */
+    public Map<String, List<String>> readMunicipalities() {
+
+        Map<String, List<String>> municipalities = new LinkedHashMap<>();
+        int[] position = {municipalitiesOffset};
+        int prefectureCount = buffer.getInt(position[0]);
+        position[0] += Integer.BYTES;
+        for (int i = 0; i < prefectureCount; i++) {
+            String prefecture = readString(position);
+            int count = buffer.getInt(position[0]);
+            position[0] += Integer.BYTES;
+            String[] names = new String[count];
+            for (int j = 0; j < count; j++) {
+                names[j] = readString(position);
+            }
+            municipalities.put(prefecture, List.of(names));
+        }
+        return municipalities;
+    }
+
+    // 緯度
+    public double getLatitude(int value) {
+        return buffer.getDouble(valuesOffset + value * Double.BYTES * 2);
+    }
+
+    // 経度
+    public double getLongitude(int value) {
+        return buffer.getDouble(valuesOffset + value * Double.BYTES * 2 + Double.BYTES);
+    }
+
+    // 登録件数
+    public int size() {
+        return valueCount;
+    }
+
+    // ファイルのサイズ
+    public long byteSize() {
+        return buffer.capacity();
+    }
+
+    /*
+     * 子ノードを検索する。（辺は文字の昇順）
+     * node: ノード
+     * c: 文字
+     * return: 子ノード（なしの場合、-1）
+     */
+    private int findChild(int node, char c) {
+
+        int nodeOffset = nodesOffset + node * Integer.BYTES * 3;
+        int low = buffer.getInt(nodeOffset);
+        int high = low + buffer.getInt(nodeOffset + Integer.BYTES) - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midChar = buffer.getChar(charsOffset + mid * Character.BYTES);
+            if (midChar < c) {
+                low = mid + 1;
+            } else if (midChar > c) {
+                high = mid - 1;
+            } else {
+                return buffer.getInt(targetsOffset + mid * Integer.BYTES);
+            }
+        }
+        return NO_VALUE;
+    }
+
+    // 文字列を書き出す（文字数, 文字）
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeShort(value.length());
+        out.writeChars(value);
+    }
+
+    // 文字列を読み込む（position: 読み込み位置、読み込み後に更新）
+    private String readString(int[] position) {
+
+        int length = buffer.getShort(position[0]);
+        position[0] += Short.BYTES;
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = buffer.getChar(position[0]);
+            position[0] += Character.BYTES;
+        }
+        return new String(chars);
+    }
+
+    private static int addNode(IntList nodeFirstEdge, IntList nodeEdgeCount, IntList nodeValue) {
+        nodeFirstEdge.add(0);
+        nodeEdgeCount.add(0);
+        nodeValue.add(NO_VALUE);
+        return nodeValue.size() - 1;
+    }
+
+    // 作成時に使用する可変長のint配列
+    private static final class IntList {
+        private int[] values = new int[1024];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private int get(int index) {
+            return values[index];
+        }
+
+        private void set(int index, int value) {
+            values[index] = value;
+        }
+
+        private int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.backend.model;
+
+import java.time.LocalDateTime;
+
+public class BucketCount {
+    private final LocalDateTime bucket;
+    private final long count;
+
+    // 発生日時（時単位）ごとの件数
+    public BucketCount(LocalDateTime bucket, Long count) {
+        this.bucket = bucket;
+        this.count = count == null ? 0L : count;
+    }
+
+    // 発生日時（時単位に切り捨て）
+    public LocalDateTime getBucket() {
+        return bucket;
+    }
+
+    // 件数
+    public long getCount() {
+        return count;
+    }
+}
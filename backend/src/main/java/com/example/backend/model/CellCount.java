@@ -0,0 +1,50 @@
+package com.example.backend.model;
+
+public class CellCount {
+    private final int cellX;
+    private final int cellY;
+    private final long count;
+    private final double sumLat;
+    private final double sumLng;
+    private final long latestId;
+
+    // 格子ごとの件数・座標の合計
+    public CellCount(Integer cellX, Integer cellY, Long count, Double sumLat, Double sumLng, Long latestId) {
+        this.cellX = cellX;
+        this.cellY = cellY;
+        this.count = count == null ? 0L : count;
+        this.sumLat = sumLat == null ? 0.0 : sumLat;
+        this.sumLng = sumLng == null ? 0.0 : sumLng;
+        this.latestId = latestId == null ? 0L : latestId;
+    }
+
+    // 格子X
+    public int getCellX() {
+        return cellX;
+    }
+
+    // 格子Y
+    public int getCellY() {
+        return cellY;
+    }
+
+    // 件数
+    public long getCount() {
+        return count;
+    }
+
+    // 緯度の合計
+    public double getSumLat() {
+        return sumLat;
+    }
+
+    // 経度の合計
+    public double getSumLng() {
+        return sumLng;
+    }
+
+    // 最新の不審者情報ID
+    public long getLatestId() {
+        return latestId;
+    }
+}
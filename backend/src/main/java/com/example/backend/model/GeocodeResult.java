@@ -0,0 +1,61 @@
+package com.example.backend.model;
+
+public class GeocodeResult {
+    private final GeocodeStatus status;
+    private final GeoPoint point;
+    private final int fallbackLevel;
+    private final String resolvedAddress;
+
+    // 座標情報の取得結果
+    public GeocodeResult(GeocodeStatus status, GeoPoint point, int fallbackLevel, String resolvedAddress) {
+        this.status = status;
+        this.point = point;
+        this.fallbackLevel = fallbackLevel;
+        this.resolvedAddress = resolvedAddress;
+    }
+
+    // 取得成功（住所そのもの）
+    public static GeocodeResult ok(GeoPoint point, String address) {
+        return new GeocodeResult(GeocodeStatus.OK, point, 0, address);
+    }
+
+    // 取得成功（フォールバック用の住所）
+    public static GeocodeResult fallback(GeoPoint point, int fallbackLevel, String resolvedAddress) {
+        return new GeocodeResult(GeocodeStatus.FALLBACK, point, fallbackLevel, resolvedAddress);
+    }
+
+    // 取得成功（フォールバックの段階に応じて）
+    public static GeocodeResult resolved(GeoPoint point, int fallbackLevel, String resolvedAddress) {
+        return fallbackLevel == 0 ? ok(point, resolvedAddress) : fallback(point, fallbackLevel, resolvedAddress);
+    }
+
+    // 座標情報なし
+    public static GeocodeResult zeroResults(String address) {
+        return new GeocodeResult(GeocodeStatus.ZERO_RESULTS, null, 0, address);
+    }
+
+    // ステータス
+    public GeocodeStatus getStatus() {
+        return status;
+    }
+
+    // 座標情報
+    public GeoPoint getPoint() {
+        return point;
+    }
+
+    // フォールバックの段階（0: 住所そのもの）
+    public int getFallbackLevel() {
+        return fallbackLevel;
+    }
+
+    // 座標情報を取得できた住所
+    public String getResolvedAddress() {
+        return resolvedAddress;
+    }
+
+    // 座標情報を取得できたか
+    public boolean isResolved() {
+        return point != null;
+    }
+}
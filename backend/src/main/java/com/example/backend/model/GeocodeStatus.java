@@ -0,0 +1,15 @@
+package com.example.backend.model;
+
+/**
+ * 座標情報の取得結果ステータス
+ */
+public enum GeocodeStatus {
+    // 住所そのもので座標情報を取得
+    OK,
+
+    // フォールバック用の住所で座標情報を取得
+    FALLBACK,
+
+    // 座標情報なし
+    ZERO_RESULTS;
+}
@@ -0,0 +1,22 @@
+package com.example.backend.model;
+
+public class ImportRecord {
+    private final String userId;
+    private final String text;
+
+    // 一括取込のレコード（不審者情報メッセージと同じ形式）
+    public ImportRecord(String userId, String text) {
+        this.userId = userId;
+        this.text = text;
+    }
+
+    // ユーザーID（未記載の場合、null）
+    public String getUserId() {
+        return userId;
+    }
+
+    // 不審者情報メッセージ（読み込めない行の場合、null）
+    public String getText() {
+        return text;
+    }
+}
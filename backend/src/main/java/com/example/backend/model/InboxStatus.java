@@ -0,0 +1,18 @@
+package com.example.backend.model;
+
+/**
+ * 受信イベントの処理ステータス
+ */
+public enum InboxStatus {
+    // 未処理（再試行待ちを含む）
+    PENDING,
+
+    // 処理中
+    PROCESSING,
+
+    // 処理済み
+    DONE,
+
+    // 処理失敗（再試行しない）
+    FAILED;
+}
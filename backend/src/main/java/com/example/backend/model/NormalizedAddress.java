@@ -0,0 +1,130 @@
+package com.example.backend.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class NormalizedAddress {
+    private final String prefecture;
+    private final String municipality;
+    private final String town;
+    private final String chome;
+    private final String banchi;
+    private final String go;
+    private final String rest;
+    private final boolean validPrefecture;
+    private final boolean validMunicipality;
+
+    // 正規化済みの住所（未記載の要素は空文字）
+    public NormalizedAddress(String prefecture, String municipality, String town, String chome,
+            String banchi, String go, String rest, boolean validPrefecture, boolean validMunicipality) {
+        this.prefecture = prefecture;
+        this.municipality = municipality;
+        this.town = town;
+        this.chome = chome;
+        this.banchi = banchi;
+        this.go = go;
+        this.rest = rest;
+        this.validPrefecture = validPrefecture;
+        this.validMunicipality = validMunicipality;
+    }
+
+    // 都道府県
+    public String getPrefecture() {
+        return prefecture;
+    }
+
+    // 市区町村
+    public String getMunicipality() {
+        return municipality;
+    }
+
+    // 町名（大字・字は除去済み）
+    public String getTown() {
+        return town;
+    }
+
+    // 丁目（算用数字）
+    public String getChome() {
+        return chome;
+    }
+
+    // 番地（算用数字）
+    public String getBanchi() {
+        return banchi;
+    }
+
+    // 号（算用数字）
+    public String getGo() {
+        return go;
+    }
+
+    // 号より後（建物名など、キーには含めない）
+    public String getRest() {
+        return rest;
+    }
+
+    // 都道府県の妥当性（47都道府県のいずれか）
+    public boolean isValidPrefecture() {
+        return validPrefecture;
+    }
+
+    // 市区町村の妥当性（市区町村の一覧が未登録の場合はtrue）
+    public boolean isValidMunicipality() {
+        return validMunicipality;
+    }
+
+    /*
+     * 住所のキー（キャッシュ・重複判定・町丁目の代表点の検索に使用）
+     * 「福岡県福岡市中央区天神1丁目11-1」の形式とし、同じ場所の表記揺れは同じキーとなる。
+     * return: 住所のキー
+     */
+    public String getKey() {
+        return toKey(5);
+    }
+
+    /*
+     * 住所情報（フォールバック用）を詳細な順に取得する。
+     * 号まで → 番地まで → 丁目まで → 町名まで → 市区町村まで
+     * return: 住所情報（フォールバック用、重複は除く）
+     */
+    public List<String> getFallbackKeys() {
+
+        List<String> keys = new ArrayList<>(5);
+        for (int level = 5; level >= 1; level--) {
+            String key = toKey(level);
+            if (!key.isEmpty() && !keys.contains(key)) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    /*
+     * 指定した詳細度までのキーを作成する。
+     * level: 1: 市区町村, 2: 町名, 3: 丁目, 4: 番地, 5: 号
+     * return: 住所のキー
+     */
+    private String toKey(int level) {
+
+        StringBuilder sb = new StringBuilder(32);
+        sb.append(prefecture).append(municipality);
+        if (level >= 2) {
+            sb.append(town);
+        }
+        if (level >= 3 && !chome.isEmpty()) {
+            sb.append(chome).append("丁目");
+        }
+        if (level >= 4 && !banchi.isEmpty()) {
+            sb.append(banchi);
+            if (level >= 5 && !go.isEmpty()) {
+                sb.append('-').append(go);
+            }
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return getKey();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.backend.model;
+
+import java.util.List;
+
+public class ParsedReport {
+    private final List<String> tags;
+    private final String occurDate;
+    private final String prefecture;
+    private final String municipality;
+    private final String district;
+    private final String addressDetails;
+    private final String summary;
+
+    // 不審者情報メッセージの解析結果（未記載の項目はnull、タグは空リスト）
+    public ParsedReport(List<String> tags, String occurDate, String prefecture, String municipality,
+            String district, String addressDetails, String summary) {
+        this.tags = tags;
+        this.occurDate = occurDate;
+        this.prefecture = prefecture;
+        this.municipality = municipality;
+        this.district = district;
+        this.addressDetails = addressDetails;
+        this.summary = summary;
+    }
+
+    // タグ
+    public List<String> getTags() {
+        return tags;
+    }
+
+    // 発生日時（文字列）
+    public String getOccurDate() {
+        return occurDate;
+    }
+
+    // 都道府県
+    public String getPrefecture() {
+        return prefecture;
+    }
+
+    // 市区町村
+    public String getMunicipality() {
+        return municipality;
+    }
+
+    // 丁目
+    public String getDistrict() {
+        return district;
+    }
+
+    // 番地以降
+    public String getAddressDetails() {
+        return addressDetails;
+    }
+
+    // 概要
+    public String getSummary() {
+        return summary;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.backend.model;
+
+import java.time.LocalDateTime;
+
+public class ReportArrival {
+    private final double latitude;
+    private final double longitude;
+    private final LocalDateTime created;
+    private final LocalDateTime occurDate;
+
+    // 不審者情報の位置・作成日時・発生日時（急増地点の平常時の再作成用）
+    public ReportArrival(double latitude, double longitude, LocalDateTime created, LocalDateTime occurDate) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.created = created;
+        this.occurDate = occurDate;
+    }
+
+    // 緯度
+    public double getLatitude() {
+        return latitude;
+    }
+
+    // 経度
+    public double getLongitude() {
+        return longitude;
+    }
+
+    // 作成日時
+    public LocalDateTime getCreated() {
+        return created;
+    }
+
+    // 発生日時
+    public LocalDateTime getOccurDate() {
+        return occurDate;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.backend.model;
+
+import com.example.backend.dto.ReportPinDto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 差分取得の1件
+ * 地図ピン用の項目に、差分取得の位置（更新日時, ID）を付けたもの。
+ */
+public class ReportChange {
+    private final ReportFeedCursor position;
+    private final ReportPinDto report;
+
+    // 差分取得の1件（地図ピン用の項目と、更新日時・IDの位置）
+    public ReportChange(Long id, double latitude, double longitude, String tag1, String tag2, String tag3,
+            LocalDateTime occurDate, String prefecture, String municipality, String district,
+            String addressDetails, LocalDateTime updated) {
+        this.position = new ReportFeedCursor(updated, id);
+        this.report = new ReportPinDto(id, latitude, longitude, tag1, tag2, tag3, occurDate,
+                prefecture, municipality, district, addressDetails);
+    }
+
+    // 位置（更新日時, ID）
+    public ReportFeedCursor getPosition() {
+        return position;
+    }
+
+    // 不審者情報（地図ピン用）Dto
+    public ReportPinDto getReport() {
+        return report;
+    }
+}
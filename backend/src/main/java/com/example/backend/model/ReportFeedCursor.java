@@ -0,0 +1,110 @@
+package com.example.backend.model;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 差分取得のカーソル（更新日時, ID）
+ * 文字列表現は「更新日時（エポックマイクロ秒）_ID」とし、一覧のヘッダー・SSEのイベントIDに使用する。
+ */
+public class ReportFeedCursor implements Comparable<ReportFeedCursor> {
+
+    // 更新日時とIDの区切り（数値（符号を含む）に現れない文字）
+    private static final char SEPARATOR = '_';
+
+    // 先頭（初回の差分取得）
+    public static final ReportFeedCursor START = new ReportFeedCursor(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+
+    private final LocalDateTime updated;
+    private final long id;
+
+    // 差分取得のカーソル（更新日時, ID）
+    // IDはまとめて採番され、登録（コミット）の順序と一致しないため、更新日時とIDの組で位置を表す
+    // 重複の併合で更新された不審者情報は、更新日時の位置で再度返却される
+    public ReportFeedCursor(LocalDateTime updated, long id) {
+        // DBの精度（マイクロ秒）に合わせる
+        this.updated = updated.truncatedTo(ChronoUnit.MICROS);
+        this.id = id;
+    }
+
+    /*
+     * 文字列（更新日時（エポックマイクロ秒）_ID）から変換する。
+     * value: 文字列（未指定・"0"の場合、先頭）
+     * return: カーソル
+     */
+    public static ReportFeedCursor parse(String value) {
+
+        if (value == null || value.isBlank() || value.trim().equals("0")) {
+            return START;
+        }
+
+        String trimmed = value.trim();
+        int separator = trimmed.indexOf(SEPARATOR);
+        try {
+            if (separator < 0) {
+                throw new NumberFormatException(trimmed);
+            }
+            long micros = Long.parseLong(trimmed.substring(0, separator));
+            long id = Long.parseLong(trimmed.substring(separator + 1));
+            LocalDateTime updated = LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                    (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+            return new ReportFeedCursor(updated, id);
+
+        } catch (NumberFormatException | DateTimeException e) {
+            throw new IllegalArgumentException("カーソルの形式が正しくありません: " + value, e);
+        }
+    }
+
+    /*
+     * 文字列（更新日時（エポックマイクロ秒）_ID）に変換する。
+     * 更新日時はタイムゾーンを持たないため、UTCとみなす。
+     * return: 文字列
+     */
+    public String format() {
+        long micros = updated.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + updated.getNano() / 1_000;
+        return micros + String.valueOf(SEPARATOR) + id;
+    }
+
+    // 早い方のカーソル
+    public static ReportFeedCursor min(ReportFeedCursor a, ReportFeedCursor b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    // 遅い方のカーソル
+    public static ReportFeedCursor max(ReportFeedCursor a, ReportFeedCursor b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+
+    // 更新日時
+    public LocalDateTime getUpdated() {
+        return updated;
+    }
+
+    // ID
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public int compareTo(ReportFeedCursor other) {
+        int result = updated.compareTo(other.updated);
+        return result != 0 ? result : Long.compare(id, other.id);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof ReportFeedCursor cursor && compareTo(cursor) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return updated.hashCode() * 31 + Long.hashCode(id);
+    }
+
+    @Override
+    public String toString() {
+        return format();
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.backend.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * 不審者情報一覧の版数
+ * 更新回数は登録・更新のトランザクションで加算されるため、コミットの順序がIDの順序と異なる場合も変わる。
+ */
+public class ReportFeedVersion {
+    private final long maxId;
+    private final long sequence;
+    private final LocalDateTime maxUpdated;
+
+    // 不審者情報一覧の版数（DBの最大ID・更新回数・最新の更新日時）
+    public ReportFeedVersion(Long maxId, Long sequence, LocalDateTime maxUpdated) {
+        this.maxId = maxId == null ? 0L : maxId;
+        this.sequence = sequence == null ? 0L : sequence;
+        this.maxUpdated = maxUpdated;
+    }
+
+    // 最大ID（0件の場合、0）
+    public long getMaxId() {
+        return maxId;
+    }
+
+    // 更新回数（登録・更新のたびに加算、未登録の場合、0）
+    public long getSequence() {
+        return sequence;
+    }
+
+    // 最新の更新日時（0件の場合、null）
+    public LocalDateTime getMaxUpdated() {
+        return maxUpdated;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.backend.model;
+
+import java.time.LocalDateTime;
+
+public class ReportOccurrence {
+    private final double latitude;
+    private final double longitude;
+    private final LocalDateTime occurDate;
+
+    // 不審者情報の位置・発生日時（時系列の集計用）
+    public ReportOccurrence(double latitude, double longitude, LocalDateTime occurDate) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.occurDate = occurDate;
+    }
+
+    // 緯度
+    public double getLatitude() {
+        return latitude;
+    }
+
+    // 経度
+    public double getLongitude() {
+        return longitude;
+    }
+
+    // 発生日時
+    public LocalDateTime getOccurDate() {
+        return occurDate;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.backend.model;
+
+public class ReportPoint {
+    private final Long id;
+    private final double latitude;
+    private final double longitude;
+
+    // 不審者情報の位置（クラスタ集計用）
+    public ReportPoint(Long id, double latitude, double longitude) {
+        this.id = id;
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    // ID
+    public Long getId() {
+        return id;
+    }
+
+    // 緯度
+    public double getLatitude() {
+        return latitude;
+    }
+
+    // 経度
+    public double getLongitude() {
+        return longitude;
+    }
+}
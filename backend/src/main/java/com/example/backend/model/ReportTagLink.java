@@ -0,0 +1,22 @@
+package com.example.backend.model;
+
+public class ReportTagLink {
+    private final long reportId;
+    private final int tagId;
+
+    // 不審者情報とタグの対応（読み取りモデルのタグ索引の作成用）
+    public ReportTagLink(Long reportId, Integer tagId) {
+        this.reportId = reportId;
+        this.tagId = tagId;
+    }
+
+    // 不審者情報ID
+    public long getReportId() {
+        return reportId;
+    }
+
+    // タグID
+    public int getTagId() {
+        return tagId;
+    }
+}
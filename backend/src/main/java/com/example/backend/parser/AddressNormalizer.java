@@ -0,0 +1,358 @@
+package com.example.backend.parser;
+
+import com.example.backend.model.NormalizedAddress;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 住所の正規化
+ * 表記揺れ（全角・半角、漢数字、「番地」「番」「号」「の」・ハイフンの種類、大字・字）を統一し、
+ * 同じ場所の住所が同じキーとなるように「都道府県+市区町村+町名+N丁目+N-N」の形式へ変換する。
+ * 都道府県は47都道府県、市区町村は町丁目の代表点から登録された一覧で妥当性を確認する。
+ */
+@Component
+public class AddressNormalizer {
+
+    // 47都道府県
+    private static final List<String> PREFECTURES = List.of(
+            "北海道", "青森県", "岩手県", "宮城県", "秋田県", "山形県", "福島県",
+            "茨城県", "栃木県", "群馬県", "埼玉県", "千葉県", "東京都", "神奈川県",
+            "新潟県", "富山県", "石川県", "福井県", "山梨県", "長野県", "岐阜県",
+            "静岡県", "愛知県", "三重県", "滋賀県", "京都府", "大阪府", "兵庫県",
+            "奈良県", "和歌山県", "鳥取県", "島根県", "岡山県", "広島県", "山口県",
+            "徳島県", "香川県", "愛媛県", "高知県", "福岡県", "佐賀県", "長崎県",
+            "熊本県", "大分県", "宮崎県", "鹿児島県", "沖縄県");
+
+    // 都道府県の表記→正式名称（「都」「府」「県」の省略を含む）
+    private static final Map<String, String> PREFECTURE_NAMES = new HashMap<>();
+
+    static {
+        for (String prefecture : PREFECTURES) {
+            PREFECTURE_NAMES.put(prefecture, prefecture);
+            if (!prefecture.endsWith("道")) {
+                PREFECTURE_NAMES.put(prefecture.substring(0, prefecture.length() - 1), prefecture);
+            }
+        }
+    }
+
+    // 漢数字（位取りなし）
+    private static final String KANJI_DIGITS = "〇一二三四五六七八九";
+
+    // 丁目・番地・番・号・ハイフン・「の」の前の漢数字（「一番町」「二番丁」などの町名は除く）
+    private static final Pattern KANJI_NUMBER = Pattern.compile(
+            "[〇一二三四五六七八九十百千]+(?=丁目|番地|番(?![町丁街])|号|-|の[0-9〇一二三四五六七八九十])");
+
+    // 番地・番・ハイフン・「の」の後、末尾または号の前の漢数字
+    private static final Pattern TRAILING_KANJI_NUMBER = Pattern.compile(
+            "(?<=[0-9]番地|[0-9]番|[0-9]-|[0-9]の)[〇一二三四五六七八九十百千]+(?=号|$)");
+
+    // 数字の間の「の」（5の12 → 5-12）
+    private static final Pattern NUMBER_CONNECTOR = Pattern.compile("(?<=[0-9])の(?=[0-9])");
+
+    // 番地・号（「5番地12号」「5番12」「5-12」「5-12-301」など）
+    private static final Pattern BLOCK_NUMBERS = Pattern.compile(
+            "([0-9]+)(?:番地|番|-)?(?:([0-9]+)(?:号|-)?)?(?:([0-9]+)号?)?(.*)");
+
+    // 市区町村（一覧が未登録の場合の推定、政令指定都市の区・郡の町村を含む）
+    private static final Pattern MUNICIPALITY = Pattern.compile("^(.+?郡.+?[町村]|.+?市.+?区|.+?[市区町村])");
+
+    // ハイフンの表記揺れ
+    private static final String HYPHENS = "-‐‑‒–—―−－ｰ";
+
+    // 市区町村の一覧（差し替え時は参照を置き換える）
+    private volatile Municipalities municipalities = new Municipalities(Map.of(), Set.of());
+
+    // 都道府県→市区町村（長い順）, 都道府県+市区町村
+    private record Municipalities(Map<String, List<String>> byPrefecture, Set<String> keys) {
+    }
+
+    /*
+     * 市区町村の一覧を登録する。（町丁目の代表点の読み込み時）
+     * municipalities: 都道府県→市区町村
+     */
+    public void registerMunicipalities(Map<String, ? extends Collection<String>> municipalities) {
+
+        Map<String, List<String>> byPrefecture = new HashMap<>();
+        Set<String> keys = new HashSet<>();
+        municipalities.forEach((prefecture, names) -> {
+            List<String> sorted = new ArrayList<>(names);
+            // 最長一致のため長い順
+            sorted.sort(Comparator.comparingInt(String::length).reversed());
+            byPrefecture.put(prefecture, List.copyOf(sorted));
+            for (String name : names) {
+                keys.add(prefecture + name);
+            }
+        });
+        this.municipalities = new Municipalities(Map.copyOf(byPrefecture), Set.copyOf(keys));
+    }
+
+    /*
+     * 項目ごとの住所を正規化する。（不審者情報メッセージ・町丁目の代表点）
+     * prefecture: 都道府県
+     * municipality: 市区町村
+     * district: 丁目（町名を含む）
+     * addressDetails: 番地以降（任意）
+     * return: 正規化済みの住所
+     */
+    public NormalizedAddress normalize(String prefecture, String municipality, String district, String addressDetails) {
+
+        String canonicalPrefecture = canonicalize(prefecture);
+        String resolvedPrefecture = PREFECTURE_NAMES.get(canonicalPrefecture);
+        return parseTown(
+                resolvedPrefecture != null ? resolvedPrefecture : canonicalPrefecture,
+                resolvedPrefecture != null,
+                canonicalize(municipality),
+                canonicalize(StringUtils.defaultString(district) + StringUtils.defaultString(addressDetails)));
+    }
+
+    /*
+     * 1行の住所を正規化する。（都道府県・市区町村を先頭から判定）
+     * 都道府県が省略されている場合、市区町村の一覧で一意に決まれば補完する。
+     * address: 住所情報
+     * return: 正規化済みの住所
+     */
+    public NormalizedAddress normalize(String address) {
+
+        String canonical = canonicalize(address);
+        Municipalities current = municipalities;
+
+        String prefecture = "";
+        for (String name : PREFECTURES) {
+            if (canonical.startsWith(name)) {
+                prefecture = name;
+                break;
+            }
+        }
+        String remainder = canonical.substring(prefecture.length());
+
+        String municipality = null;
+        if (prefecture.isEmpty()) {
+            // 市区町村の一覧から都道府県を補完（複数の都道府県に一致する場合は補完しない）
+            for (Map.Entry<String, List<String>> entry : current.byPrefecture().entrySet()) {
+                String found = findMunicipality(entry.getValue(), remainder);
+                if (found != null) {
+                    if (municipality != null) {
+                        prefecture = "";
+                        municipality = null;
+                        break;
+                    }
+                    prefecture = entry.getKey();
+                    municipality = found;
+                }
+            }
+        } else {
+            municipality = findMunicipality(current.byPrefecture().getOrDefault(prefecture, List.of()), remainder);
+        }
+
+        if (municipality == null) {
+            Matcher matcher = MUNICIPALITY.matcher(remainder);
+            municipality = matcher.find() ? matcher.group(1) : "";
+        }
+
+        return parseTown(prefecture, !prefecture.isEmpty(), municipality,
+                remainder.substring(municipality.length()));
+    }
+
+    /*
+     * 町名以降を解析する。
+     * 「天神一丁目十一番一号」「天神1-11-1」 → 町名: 天神, 丁目: 1, 番地: 11, 号: 1
+     * prefecture: 都道府県
+     * validPrefecture: 都道府県の妥当性
+     * municipality: 市区町村
+     * town: 町名以降（表記統一済み）
+     * return: 正規化済みの住所
+     */
+    private NormalizedAddress parseTown(String prefecture, boolean validPrefecture, String municipality, String town) {
+
+        Municipalities current = municipalities;
+        List<String> known = current.byPrefecture().get(prefecture);
+        boolean validMunicipality = known == null || current.keys().contains(prefecture + municipality);
+
+        String value = convertKanjiNumbers(town);
+        if (value.startsWith("大字")) {
+            value = value.substring(2);
+        } else if (value.startsWith("字")) {
+            value = value.substring(1);
+        }
+        if (value.indexOf('の') >= 0) {
+            value = NUMBER_CONNECTOR.matcher(value).replaceAll("-");
+        }
+
+        String name;
+        String chome = "";
+        String banchi = "";
+        String go = "";
+        String rest = "";
+
+        int chomeIndex = value.indexOf("丁目");
+        int chomeStart = chomeIndex;
+        while (chomeStart > 0 && isDigit(value.charAt(chomeStart - 1))) {
+            chomeStart--;
+        }
+
+        if (chomeIndex > 0 && chomeStart < chomeIndex) {
+            // 「N丁目」あり
+            name = value.substring(0, chomeStart);
+            chome = stripLeadingZeros(value.substring(chomeStart, chomeIndex));
+            String block = StringUtils.removeStart(value.substring(chomeIndex + 2), "-");
+            Matcher matcher = BLOCK_NUMBERS.matcher(block);
+            if (!block.isEmpty() && isDigit(block.charAt(0)) && matcher.matches()) {
+                banchi = stripLeadingZeros(matcher.group(1));
+                go = stripLeadingZeros(matcher.group(2));
+                rest = (matcher.group(3) != null ? "-" + matcher.group(3) : "") + matcher.group(4);
+            } else {
+                rest = block;
+            }
+        } else {
+            int digitIndex = 0;
+            while (digitIndex < value.length() && !isDigit(value.charAt(digitIndex))) {
+                digitIndex++;
+            }
+            name = value.substring(0, digitIndex);
+            Matcher matcher = BLOCK_NUMBERS.matcher(value.substring(digitIndex));
+            if (digitIndex < value.length() && matcher.matches()) {
+                if (matcher.group(3) != null) {
+                    // 「N-N-N」は丁目・番地・号
+                    chome = stripLeadingZeros(matcher.group(1));
+                    banchi = stripLeadingZeros(matcher.group(2));
+                    go = stripLeadingZeros(matcher.group(3));
+                } else {
+                    banchi = stripLeadingZeros(matcher.group(1));
+                    go = stripLeadingZeros(matcher.group(2));
+                }
+                rest = matcher.group(4);
+            }
+        }
+
+        return new NormalizedAddress(prefecture, municipality, name, chome, banchi, go, rest,
+                validPrefecture, validMunicipality);
+    }
+
+    /*
+     * 全角→半角、空白の除去、ハイフンの統一を行う。
+     * value: 文字列
+     * return: 表記統一後の文字列（nullの場合、空文字）
+     */
+    private static String canonicalize(String value) {
+
+        if (StringUtils.isEmpty(value)) {
+            return "";
+        }
+
+        String normalized = Normalizer.normalize(value, Normalizer.Form.NFKC);
+        StringBuilder sb = new StringBuilder(normalized.length());
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+                continue;
+            }
+            // 長音記号は数字の後のみハイフンとみなす
+            if (HYPHENS.indexOf(c) >= 0 || (c == 'ー' && sb.length() > 0 && isDigit(sb.charAt(sb.length() - 1)))) {
+                sb.append('-');
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /*
+     * 丁目・番地・号の漢数字を算用数字へ変換する。
+     * 「三丁目五番地十二号」 → 「3丁目5番地12号」
+     * value: 町名以降
+     * return: 変換後の町名以降
+     */
+    private static String convertKanjiNumbers(String value) {
+
+        if (!containsKanjiNumber(value)) {
+            return value;
+        }
+        String converted = KANJI_NUMBER.matcher(value)
+                .replaceAll(match -> String.valueOf(parseKanjiNumber(match.group())));
+        return TRAILING_KANJI_NUMBER.matcher(converted)
+                .replaceAll(match -> String.valueOf(parseKanjiNumber(match.group())));
+    }
+
+    /*
+     * 漢数字を数値へ変換する。
+     * 「十二」 → 12、「百五」 → 105、「一〇」 → 10
+     * value: 漢数字
+     * return: 数値
+     */
+    static int parseKanjiNumber(String value) {
+
+        int total = 0;
+        int current = 0;
+        boolean positional = value.indexOf('十') < 0 && value.indexOf('百') < 0 && value.indexOf('千') < 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            int digit = KANJI_DIGITS.indexOf(c);
+            if (digit >= 0) {
+                current = positional ? current * 10 + digit : digit;
+                continue;
+            }
+            int unit = c == '十' ? 10 : c == '百' ? 100 : 1000;
+            total += (current == 0 ? 1 : current) * unit;
+            current = 0;
+        }
+        return total + current;
+    }
+
+    /*
+     * 市区町村の一覧から最長一致で検索する。
+     * names: 市区町村（長い順）
+     * value: 市区町村以降
+     * return: 市区町村（一致なしの場合、null）
+     */
+    private static String findMunicipality(List<String> names, String value) {
+
+        for (String name : names) {
+            if (value.startsWith(name)) {
+                return name;
+            }
+        }
+        return null;
+    }
+
+    // 漢数字を含むか
+    private static boolean containsKanjiNumber(String value) {
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (KANJI_DIGITS.indexOf(c) >= 0 || c == '十' || c == '百' || c == '千') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 先頭の0を除去する（nullの場合、空文字）
+    private static String stripLeadingZeros(String value) {
+
+        if (value == null) {
+            return "";
+        }
+        int start = 0;
+        while (start < value.length() - 1 && value.charAt(start) == '0') {
+            start++;
+        }
+        return value.substring(start);
+    }
+
+    // 半角数字
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
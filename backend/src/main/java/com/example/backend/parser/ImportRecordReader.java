@@ -0,0 +1,202 @@
+package com.example.backend.parser;
+
+import com.example.backend.model.ImportRecord;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 一括取込ファイルの読み込み
+ * ファイル全体は読み込まず、レコード単位で順に読み込む。
+ * JSONL: 1行に1オブジェクト（text: 不審者情報メッセージ、userId: ユーザーID（任意））
+ * CSV: 1行目は項目名（text、user_id（任意））、クォート内のカンマ・改行・""（"のエスケープ）に対応
+ */
+public class ImportRecordReader implements Closeable {
+
+    // ファイル形式
+    public static final String FORMAT_JSONL = "jsonl";
+    public static final String FORMAT_CSV = "csv";
+
+    // 項目名
+    private static final String TEXT = "text";
+    private static final String USER_ID = "userId";
+    private static final String USER_ID_CSV = "user_id";
+
+    // BOM
+    private static final int BOM = '\uFEFF';
+
+    private final BufferedReader reader;
+    private final boolean csv;
+    private final ObjectMapper objectMapper;
+
+    // CSVの列位置（該当なしの場合、-1）
+    private int textColumn = -1;
+    private int userIdColumn = -1;
+
+    /*
+     * reader: 読み込み元（UTF-8）
+     * format: ファイル形式（jsonl, csv）
+     * objectMapper: JSONの変換
+     */
+    public ImportRecordReader(BufferedReader reader, String format, ObjectMapper objectMapper) throws IOException {
+
+        if (!FORMAT_JSONL.equals(format) && !FORMAT_CSV.equals(format)) {
+            throw new IllegalArgumentException("不明なファイル形式です: " + format);
+        }
+        this.reader = reader;
+        this.csv = FORMAT_CSV.equals(format);
+        this.objectMapper = objectMapper;
+
+        // 先頭のBOMは読み飛ばす
+        reader.mark(1);
+        if (reader.read() != BOM) {
+            reader.reset();
+        }
+
+        if (csv) {
+            readHeader();
+        }
+    }
+
+    /*
+     * 次のレコードを読み込む。（空行は読み飛ばす）
+     * return: レコード（ファイルの終端の場合、null）
+     */
+    public ImportRecord next() throws IOException {
+        return csv ? nextCsv() : nextJson();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // JSONLの次のレコード（JSONとして読めない行は不審者情報メッセージなしとする）
+    private ImportRecord nextJson() throws IOException {
+
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (StringUtils.isBlank(line));
+
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            return new ImportRecord(textValue(node, USER_ID), textValue(node, TEXT));
+        } catch (JsonProcessingException e) {
+            return new ImportRecord(null, null);
+        }
+    }
+
+    // CSVの次のレコード
+    private ImportRecord nextCsv() throws IOException {
+
+        List<String> row;
+        do {
+            row = readRow();
+            if (row == null) {
+                return null;
+            }
+        } while (row.size() == 1 && row.get(0).isBlank());
+
+        return new ImportRecord(column(row, userIdColumn), column(row, textColumn));
+    }
+
+    // CSVの項目名から列位置を取得
+    private void readHeader() throws IOException {
+
+        List<String> header = readRow();
+        if (header == null) {
+            return;
+        }
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim();
+            if (TEXT.equalsIgnoreCase(name)) {
+                textColumn = i;
+            } else if (USER_ID_CSV.equalsIgnoreCase(name) || USER_ID.equalsIgnoreCase(name)) {
+                userIdColumn = i;
+            }
+        }
+        if (textColumn < 0) {
+            throw new IllegalArgumentException("CSVに" + TEXT + "列がありません");
+        }
+    }
+
+    /*
+     * CSVの1行を読み込む。（クォート内の改行は項目の一部とする）
+     * return: 項目（ファイルの終端の場合、null）
+     */
+    private List<String> readRow() throws IOException {
+
+        int c = reader.read();
+        if (c < 0) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                // 閉じられていないクォートはファイルの終端までを項目とする
+                if (c < 0) {
+                    fields.add(field.toString());
+                    return fields;
+                }
+                if (c == '"') {
+                    c = reader.read();
+                    if (c == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+
+            } else if (c < 0 || c == '\n' || c == '\r') {
+                // \r\nは1つの改行とする
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+
+            } else {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+
+    // CSVの列の値（列がない・空の場合、null）
+    private static String column(List<String> row, int index) {
+        return index >= 0 && index < row.size() ? StringUtils.defaultIfEmpty(row.get(index), null) : null;
+    }
+
+    // JSONの文字列項目の値（項目がない場合、null）
+    private static String textValue(JsonNode node, String name) {
+        JsonNode value = node.get(name);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.backend.parser;
+
+import com.example.backend.model.ParsedReport;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 不審者情報メッセージの解析
+ * メッセージを1回だけ走査し、「項目名:値」の行から各項目を取り出す。
+ * 項目名の後の区切りは半角・全角コロンのどちらも可とし、同じ項目が複数ある場合は先頭の行を採用する。
+ */
+@Component
+public class ReportMessageParser {
+
+    // 不審者情報の各項目（ITEMSの添字と対応）
+    private static final int TAG = 0;
+    private static final int OCCUR_DATE = 1;
+    private static final int PREFECTURE = 2;
+    private static final int MUNICIPALITY = 3;
+    private static final int DISTRICT = 4;
+    private static final int ADDRESS_DETAILS = 5;
+    private static final int SUMMARY = 6;
+
+    // 項目名
+    private static final String[] ITEMS = {"タグ", "日時", "都道府県", "市区町村", "丁目", "番地以降", "概要"};
+
+    // タグの区切り（半角・全角カンマ、読点）
+    private static final Pattern TAG_SEPARATOR = Pattern.compile("\\s*[,，、]\\s*");
+
+    /*
+     * 不審者情報メッセージを解析する。
+     * text: 不審者情報メッセージ
+     * return: 解析結果
+     */
+    public ParsedReport parse(String text) {
+
+        String[] values = new String[ITEMS.length];
+        if (text != null) {
+            // OSごとの改行コード（\r\n, \r, \n）を考慮し、行単位で走査
+            int length = text.length();
+            int start = 0;
+            while (start < length) {
+                int end = start;
+                while (end < length && text.charAt(end) != '\n' && text.charAt(end) != '\r') {
+                    end++;
+                }
+                parseLine(text, start, end, values);
+                start = end + 1;
+            }
+        }
+
+        return new ParsedReport(
+                splitTags(values[TAG]),
+                StringUtils.defaultIfEmpty(values[OCCUR_DATE], null),
+                StringUtils.defaultIfEmpty(values[PREFECTURE], null),
+                StringUtils.defaultIfEmpty(values[MUNICIPALITY], null),
+                StringUtils.defaultIfEmpty(values[DISTRICT], null),
+                StringUtils.defaultIfEmpty(values[ADDRESS_DETAILS], null),
+                StringUtils.defaultIfEmpty(values[SUMMARY], null));
+    }
+
+    /*
+     * 1行を解析する。
+     * 「都道府県：福岡県」 → 「福岡県」のように値を抽出し、値に含まれるコロンは除去する。
+     * text: 不審者情報メッセージ
+     * start: 行の開始位置
+     * end: 行の終了位置（改行の位置）
+     * values: 抽出結果（未抽出の項目はnull）
+     */
+    private void parseLine(String text, int start, int end, String[] values) {
+
+        // 前後の空白（全角を含む）
+        while (start < end && isSpace(text.charAt(start))) {
+            start++;
+        }
+        while (end > start && isSpace(text.charAt(end - 1))) {
+            end--;
+        }
+
+        for (int i = 0; i < ITEMS.length; i++) {
+            String item = ITEMS[i];
+            if (values[i] != null || !text.startsWith(item, start)) {
+                continue;
+            }
+
+            int position = start + item.length();
+            while (position < end && isSpace(text.charAt(position))) {
+                position++;
+            }
+            if (position < end && isColon(text.charAt(position))) {
+                values[i] = StringUtils.strip(removeColons(text.substring(position + 1, end)));
+            }
+            return;
+        }
+    }
+
+    /*
+     * タグを分割する。
+     * 「タグ：不審な声かけ、撮影行為」 → [不審な声かけ, 撮影行為]
+     * value: タグの値
+     * return: タグ（空の要素は除く）
+     */
+    private List<String> splitTags(String value) {
+
+        if (StringUtils.isEmpty(value)) {
+            return Collections.emptyList();
+        }
+
+        List<String> tags = new ArrayList<>(3);
+        for (String tag : TAG_SEPARATOR.split(value)) {
+            String stripped = StringUtils.strip(tag);
+            if (StringUtils.isNotEmpty(stripped)) {
+                tags.add(stripped);
+            }
+        }
+        return tags;
+    }
+
+    /*
+     * 半角・全角コロンを除去する。（含まない場合は複製しない）
+     * value: 値
+     * return: コロン除去後の値
+     */
+    private String removeColons(String value) {
+
+        int index = 0;
+        while (index < value.length() && !isColon(value.charAt(index))) {
+            index++;
+        }
+        if (index == value.length()) {
+            return value;
+        }
+
+        StringBuilder sb = new StringBuilder(value.length());
+        sb.append(value, 0, index);
+        for (int i = index + 1; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!isColon(c)) {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    // 半角・全角コロン
+    private static boolean isColon(char c) {
+        return c == ':' || c == '：';
+    }
+
+    // 空白（全角を含む）
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '　';
+    }
+}
@@ -0,0 +1,1262 @@
+package com.example.backend.readmodel;
+
+import com.example.backend.common.util.GeoUtils;
+import com.example.backend.dto.ReportNearDto;
+import com.example.backend.dto.ReportPinDto;
+import com.example.backend.dto.ReportSearchCondition;
+import com.example.backend.entity.ReportEntity;
+import com.example.backend.entity.TagEntity;
+import com.example.backend.event.ReportSavedEvent;
+import com.example.backend.event.ReportUpdatedEvent;
+import com.example.backend.model.ReportChange;
+import com.example.backend.model.ReportFeedCursor;
+import com.example.backend.model.ReportTagLink;
+import com.example.backend.repository.ReportRepository;
+import com.example.backend.repository.TagRepository;
+import com.example.backend.service.ReportChangeFeedService;
+import com.example.backend.service.ReportVersionService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * 不審者情報の読み取りモデル（メモリ内・列指向）
+ * 地図ピン用の項目をプリミティブ型の列（配列）で保持し、DBを参照せずに検索する。
+ * 起動後にDBから全件を読み込み（ReportReadModelWarmer、読み込み中はDBから検索する）、以降は差分取得（ReportChangeFeed）を
+ * 定期的に反映し、ほかのインスタンスの登録・更新も追記する。このインスタンスの登録・更新はコミット後のイベントで即時に追記する。
+ * 公開する列は反映前に読んだ一覧の版数（更新回数）を持ち、検索結果はその版数までの登録・更新を必ず含む（ETagに使用する）。
+ * 追記は1スレッドずつ行い、追記後の列を volatile で公開するため、参照はロックなしで行える。
+ * タグ（タグ辞書との対応）はタグIDごとに行のビット集合で保持し、複数タグの絞り込みは
+ * ビット集合の論理和・論理積で候補行を求めるため、全件を走査しない。
+ * 位置は緯度経度の格子ごとに行を保持し、近傍検索は範囲を含む格子の行のみ距離を求める。
+ * 登録（コミット）はID順とは限らないため、追記済みの最大IDより小さいIDの行（遅れて追記された行）を
+ * 別に記録し、検索時にID順の位置へ併合する（DBの検索と同じ並び順・ページングにする）。
+ * 更新（重複の併合）された行は書き換えず、更新後の行を遅れて追記された行として追記し、元の行を削除済みとする。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReportReadModel {
+
+    // 未設定（文字列ID）
+    private static final int NO_VALUE = -1;
+
+    // 未設定（発生日時）
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    // 初期容量
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // 起動時の読み込みで公開する間隔（件数）
+    private static final int PUBLISH_INTERVAL = 10_000;
+
+    // 1件あたりの固定長の列のサイズ（ID・緯度・経度・発生日時、文字列ID×6、番地以降の参照）
+    private static final int FIXED_BYTES_PER_ROW = Long.BYTES * 4 + Integer.BYTES * 6 + Integer.BYTES;
+
+    // 一致なし（行の検索結果）
+    private static final int[] NO_ROWS = new int[0];
+
+    // 格子索引の格子の大きさ（度、約1km）
+    private static final double CELL_DEGREES = 0.01;
+
+    // 差分の反映の1回あたりの取得件数
+    private static final int REFRESH_BATCH_SIZE = 1000;
+
+    private final ReportRepository reportRepository;
+    private final TagRepository tagRepository;
+    private final MeterRegistry meterRegistry;
+    private final ReportChangeFeedService reportChangeFeedService;
+    private final ReportVersionService reportVersionService;
+
+    // 差分の反映の遅れの上限（ミリ秒、超えた場合は呼び出し元がDBから検索する）
+    @Value("${report.readmodel.max-lag-ms:10000}")
+    private long maxLagMs;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // 公開済みの列（参照用）
+    private volatile Columns published = Columns.empty(INITIAL_CAPACITY);
+
+    // 追記中の列・件数・辞書（追記スレッドのみ使用）
+    private Columns buffer = published;
+    private int count;
+    private String[] dictionary = published.dictionary;
+    private int dictionarySize;
+
+    // 追記済みの最大ID・遅れて追記された行数（追記スレッドのみ使用）
+    private long maxId = Long.MIN_VALUE;
+    private int lateCount;
+
+    // 削除済み（更新により置き換えた）行のビット集合・行数（追記スレッドのみ使用）
+    // 公開済みの行のビットを立てるため、ビットを立てる際は複写する
+    private long[] removedBits = published.removedBits;
+    private int removedCount;
+
+    // 追記中のタグ索引（タグID→行のビット集合、追記スレッドのみ使用）
+    // 公開済みの外側の配列は変更せず、ビット集合の追加・拡張時は複写する
+    private long[][] tagBits = published.tagBits;
+
+    // タグ・住所の文字列→ID（参照時も使用するため並行Map）
+    private final Map<String, Integer> dictionaryIds = new ConcurrentHashMap<>();
+
+    // タグ名→タグID（タグ辞書のID、参照時も使用するため並行Map）
+    private final Map<String, Integer> tagIds = new ConcurrentHashMap<>();
+
+    // 格子索引（格子キー→行、参照時も使用するため並行Map）
+    private final Map<Long, GridCell> grid = new ConcurrentHashMap<>();
+
+    // 格子索引の推定サイズ（バイト）
+    private volatile long gridBytes;
+
+    // 起動時の読み込み完了
+    private volatile boolean ready;
+
+    // 反映済みの一覧の版数・差分取得の位置（追記スレッドのみ使用）
+    private long version;
+    private ReportFeedCursor cursor = ReportFeedCursor.START;
+
+    // 反映済みの位置より後に反映した不審者情報の位置（ID→位置、同じ登録・更新を二重に追記しない、追記スレッドのみ使用）
+    private final Map<Long, ReportFeedCursor> applied = new HashMap<>();
+
+    // 最後に差分を反映した時刻（System.nanoTime）
+    private volatile long refreshedAt;
+
+    // 文字列の推定サイズ（バイト）
+    private volatile long stringBytes;
+
+    /**
+     * 列指向の不審者情報
+     * 公開後は size 未満の要素を変更しない。容量不足時は新しい配列へ複写する。
+     * タグ索引・遅れて追記された行のビット集合は size 以降のビットのみ追記されるため、参照時は size 未満に限定する。
+     * 削除済みの行のビット集合は公開ごとに複写したものを保持する。
+     */
+    private static final class Columns {
+        private final int size;
+        private final long[] ids;
+        private final double[] latitudes;
+        private final double[] longitudes;
+        private final long[] occurDates;
+        private final int[] tag1;
+        private final int[] tag2;
+        private final int[] tag3;
+        private final int[] prefectures;
+        private final int[] municipalities;
+        private final int[] districts;
+        private final String[] addressDetails;
+        private final String[] dictionary;
+        private final int dictionarySize;
+        private final long[][] tagBits;
+        private final long[] lateBits;
+        private final int lateCount;
+        private final long[] removedBits;
+        private final int removedCount;
+        private final long version;
+        private final ReportFeedCursor cursor;
+
+        private Columns(int size, long[] ids, double[] latitudes, double[] longitudes, long[] occurDates,
+                int[] tag1, int[] tag2, int[] tag3, int[] prefectures, int[] municipalities, int[] districts,
+                String[] addressDetails, String[] dictionary, int dictionarySize, long[][] tagBits,
+                long[] lateBits, int lateCount, long[] removedBits, int removedCount, long version,
+                ReportFeedCursor cursor) {
+            this.size = size;
+            this.ids = ids;
+            this.latitudes = latitudes;
+            this.longitudes = longitudes;
+            this.occurDates = occurDates;
+            this.tag1 = tag1;
+            this.tag2 = tag2;
+            this.tag3 = tag3;
+            this.prefectures = prefectures;
+            this.municipalities = municipalities;
+            this.districts = districts;
+            this.addressDetails = addressDetails;
+            this.dictionary = dictionary;
+            this.dictionarySize = dictionarySize;
+            this.tagBits = tagBits;
+            this.lateBits = lateBits;
+            this.lateCount = lateCount;
+            this.removedBits = removedBits;
+            this.removedCount = removedCount;
+            this.version = version;
+            this.cursor = cursor;
+        }
+
+        // 空の列
+        private static Columns empty(int capacity) {
+            return new Columns(0, new long[capacity], new double[capacity], new double[capacity],
+                    new long[capacity], new int[capacity], new int[capacity], new int[capacity],
+                    new int[capacity], new int[capacity], new int[capacity], new String[capacity],
+                    new String[64], 0, new long[16][], new long[words(capacity)], 0, new long[words(capacity)], 0,
+                    0L, ReportFeedCursor.START);
+        }
+
+        // 容量
+        private int capacity() {
+            return ids.length;
+        }
+
+        // 件数・辞書・タグ索引・遅れて追記された行数・削除済みの行・版数を変更した公開用の列（配列は共有）
+        private Columns withSize(int newSize, String[] newDictionary, int newDictionarySize, long[][] newTagBits,
+                int newLateCount, long[] newRemovedBits, int newRemovedCount, long newVersion,
+                ReportFeedCursor newCursor) {
+            return new Columns(newSize, ids, latitudes, longitudes, occurDates, tag1, tag2, tag3,
+                    prefectures, municipalities, districts, addressDetails, newDictionary, newDictionarySize,
+                    newTagBits, lateBits, newLateCount, newRemovedBits, newRemovedCount, newVersion, newCursor);
+        }
+
+        // 容量を拡張した複写
+        private Columns grow(int newCapacity) {
+            return new Columns(size,
+                    Arrays.copyOf(ids, newCapacity),
+                    Arrays.copyOf(latitudes, newCapacity),
+                    Arrays.copyOf(longitudes, newCapacity),
+                    Arrays.copyOf(occurDates, newCapacity),
+                    Arrays.copyOf(tag1, newCapacity),
+                    Arrays.copyOf(tag2, newCapacity),
+                    Arrays.copyOf(tag3, newCapacity),
+                    Arrays.copyOf(prefectures, newCapacity),
+                    Arrays.copyOf(municipalities, newCapacity),
+                    Arrays.copyOf(districts, newCapacity),
+                    Arrays.copyOf(addressDetails, newCapacity),
+                    dictionary, dictionarySize, tagBits,
+                    Arrays.copyOf(lateBits, words(newCapacity)), lateCount,
+                    removedBits, removedCount, version, cursor);
+        }
+
+        // 遅れて追記された行（追記済みの最大IDより小さいID）
+        private boolean isLate(int i) {
+            return (lateBits[i >>> 6] & (1L << i)) != 0;
+        }
+
+        // 削除済みの行（更新により置き換えた行）
+        private boolean isRemoved(int i) {
+            return removedCount > 0 && (removedBits[i >>> 6] & (1L << i)) != 0;
+        }
+
+        // 辞書の文字列
+        private String text(int id) {
+            return id == NO_VALUE ? null : dictionary[id];
+        }
+    }
+
+    /**
+     * 格子内の行（昇順）
+     * 追記は追記スレッドのみ行い、要素→配列→件数の順に書き込む（公開済みの件数未満の要素は書き換えない）。
+     * 参照時は件数→配列の順に読むことで、件数未満の要素が書き込み済みの配列を読む。
+     */
+    private static final class GridCell {
+        private volatile int[] rows;
+        private volatile int size;
+
+        private GridCell(int row) {
+            this.rows = new int[]{row, 0};
+            this.size = 1;
+        }
+
+        // 行を追記（容量不足時は複写してから差し替える）
+        private void add(int row) {
+            int n = size;
+            int[] current = rows;
+            if (n == current.length) {
+                int[] grown = Arrays.copyOf(current, n * 2);
+                grown[n] = row;
+                rows = grown;
+            } else {
+                current[n] = row;
+            }
+            size = n + 1;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+
+        Gauge.builder("report.readmodel.size", this, model -> model.published.size)
+                .description("読み取りモデルの件数")
+                .register(meterRegistry);
+        Gauge.builder("report.readmodel.late", this, model -> model.published.lateCount)
+                .description("読み取りモデルの遅れて追記された件数（検索時にID順の位置へ併合する）")
+                .register(meterRegistry);
+        Gauge.builder("report.readmodel.removed", this, model -> model.published.removedCount)
+                .description("読み取りモデルの削除済みの件数（更新により置き換えた行）")
+                .register(meterRegistry);
+        Gauge.builder("report.readmodel.bytes", this, ReportReadModel::estimateBytes)
+                .description("読み取りモデルの推定メモリ使用量")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("report.readmodel.bytes_per_report", this, ReportReadModel::estimateBytesPerReport)
+                .description("読み取りモデルの1件あたりの推定メモリ使用量")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /*
+     * DBから全件を読み込む。（起動後、ReportReadModelWarmerが別スレッドで実行する）
+     * 読み込み前に一覧の版数・確定済みの位置を読み、読み込み中に登録・更新された分は以降の差分の反映で追記する。
+     */
+    @Transactional(readOnly = true)
+    public void warm() {
+
+        long start = System.nanoTime();
+        long warmVersion = reportVersionService.getVersion(ReportVersionService.FEED);
+        ReportFeedCursor horizon = reportChangeFeedService.horizon();
+        try (Stream<ReportEntity> reports = reportRepository.streamAllOrderById()) {
+            for (TagEntity tag : tagRepository.findAll()) {
+                tagIds.put(tag.getName(), tag.getId());
+            }
+
+            Iterator<ReportEntity> iterator = reports.iterator();
+            while (iterator.hasNext()) {
+                ReportEntity report = iterator.next();
+                synchronized (this) {
+                    append(toPinDto(report));
+                    if (count % PUBLISH_INTERVAL == 0) {
+                        publish();
+                    }
+                }
+                entityManager.detach(report);
+            }
+
+            warmTags();
+
+        } catch (RuntimeException e) {
+            // 読み込みに失敗した場合はDBから検索する
+            log.error("読み取りモデルの読み込みに失敗しました", e);
+            return;
+        }
+
+        synchronized (this) {
+            version = warmVersion;
+            cursor = horizon;
+            publish();
+            refreshedAt = System.nanoTime();
+            ready = true;
+        }
+
+        log.info("読み取りモデルを読み込みました: {}件, {}ms, 推定{}バイト/件",
+                published.size, (System.nanoTime() - start) / 1_000_000, estimateBytesPerReport());
+    }
+
+    /*
+     * 前回の反映以降に登録・更新された不審者情報を差分取得から追記する。（ほかのインスタンスの分を含む）
+     * 取得前に一覧の版数・確定済みの位置を読み、取得後に公開する列の版数・位置とする。
+     * 確定前の分は次回も取得されるため、反映済みの位置と同じ場合は追記しない。
+     */
+    @Scheduled(fixedDelayString = "${report.readmodel.refresh-interval-ms:1000}")
+    public void refresh() {
+
+        if (!ready) {
+            return;
+        }
+
+        try {
+            long refreshVersion = reportVersionService.getVersion(ReportVersionService.FEED);
+            ReportFeedCursor horizon = reportChangeFeedService.horizon();
+            ReportFeedCursor since;
+            synchronized (this) {
+                since = cursor;
+            }
+
+            List<ReportChange> changes;
+            do {
+                changes = reportChangeFeedService.findChanges(new ReportSearchCondition(), since, REFRESH_BATCH_SIZE);
+                applyChanges(changes);
+                if (!changes.isEmpty()) {
+                    since = changes.get(changes.size() - 1).getPosition();
+                }
+            } while (changes.size() == REFRESH_BATCH_SIZE);
+
+            synchronized (this) {
+                cursor = ReportFeedCursor.max(cursor, horizon);
+                applied.values().removeIf(position -> position.compareTo(cursor) <= 0);
+                version = Math.max(version, refreshVersion);
+                publish();
+            }
+            refreshedAt = System.nanoTime();
+
+        } catch (RuntimeException e) {
+            // 反映の遅れが上限を超えるまでは、反映済みの列から検索する
+            log.warn("読み取りモデルへの差分の反映に失敗しました", e);
+        }
+    }
+
+    /*
+     * 差分取得の結果を追記する。
+     * タグ辞書との対応はまとめて取得し、未読み込みのタグ（ほかのインスタンスで追加）はタグ名も取得する。
+     * changes: 差分取得の結果
+     */
+    private void applyChanges(List<ReportChange> changes) {
+
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<Integer>> links = new HashMap<>();
+        Set<Long> reportIds = new HashSet<>();
+        for (ReportChange change : changes) {
+            reportIds.add(change.getReport().getId());
+        }
+        Set<Integer> unknownTagIds = new HashSet<>();
+        for (ReportTagLink link : tagRepository.findLinksByReportIds(reportIds)) {
+            links.computeIfAbsent(link.getReportId(), id -> new ArrayList<>()).add(link.getTagId());
+            if (!tagIds.containsValue(link.getTagId())) {
+                unknownTagIds.add(link.getTagId());
+            }
+        }
+        if (!unknownTagIds.isEmpty()) {
+            registerTags(tagRepository.findAllById(unknownTagIds));
+        }
+
+        synchronized (this) {
+            for (ReportChange change : changes) {
+                apply(change.getReport(), change.getPosition(),
+                        links.getOrDefault(change.getReport().getId(), List.of()));
+            }
+        }
+    }
+
+    /*
+     * 不審者情報の登録時に追記する。（読み込み中の登録は、読み込み後の差分の反映で追記する）
+     * event: 不審者情報の登録イベント
+     */
+    @TransactionalEventListener
+    public synchronized void onReportSaved(ReportSavedEvent event) {
+        applyLocal(event.getReport());
+    }
+
+    /*
+     * 不審者情報の更新（重複の併合）時、更新後の行に置き換える。
+     * event: 不審者情報の更新イベント
+     */
+    @TransactionalEventListener
+    public synchronized void onReportUpdated(ReportUpdatedEvent event) {
+        applyLocal(event.getReport());
+    }
+
+    /*
+     * このインスタンスで登録・更新した不審者情報を追記し、公開する。（版数は次回の差分の反映で進める）
+     * report: 登録・更新した不審者情報Entity
+     */
+    private void applyLocal(ReportEntity report) {
+
+        if (!ready) {
+            return;
+        }
+        List<Integer> tags = new ArrayList<>();
+        if (report.getTags() != null) {
+            registerTags(report.getTags());
+            for (TagEntity tag : report.getTags()) {
+                if (tag.getId() != null) {
+                    tags.add(tag.getId());
+                }
+            }
+        }
+        ReportFeedCursor position = report.getUpdated() == null
+                ? null : new ReportFeedCursor(report.getUpdated(), report.getId());
+        apply(toPinDto(report), position, tags);
+        publish();
+    }
+
+    /*
+     * 1件を追記する。（公開はしない）
+     * 反映済みの位置と同じ場合（差分取得・イベントの両方で受け取った場合）は追記しない。
+     * report: 不審者情報（地図ピン用）Dto
+     * position: 差分取得の位置（不明の場合、null）
+     * tags: タグ辞書のタグID
+     */
+    private void apply(ReportPinDto report, ReportFeedCursor position, Collection<Integer> tags) {
+
+        if (position != null && position.equals(applied.get(report.getId()))) {
+            return;
+        }
+        int row = upsert(report);
+        for (int tagId : tags) {
+            setTagBit(tagId, row);
+        }
+        if (position != null && position.compareTo(cursor) > 0) {
+            applied.put(report.getId(), position);
+        }
+    }
+
+    /*
+     * タグ名→タグIDを登録する。
+     * tags: タグ
+     */
+    private void registerTags(Collection<TagEntity> tags) {
+
+        for (TagEntity tag : tags) {
+            if (tag.getId() != null) {
+                tagIds.putIfAbsent(tag.getName(), tag.getId());
+            }
+        }
+    }
+
+    /*
+     * 起動時の読み込み完了
+     * return: true: 読み取りモデルから検索可能
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /*
+     * 読み取りモデルから検索可能で、差分の反映の遅れが上限以内か
+     * 反映に失敗し続けている場合（DBとの接続断など）は、呼び出し元がDBから検索する。
+     * return: true: 読み取りモデルから検索可能
+     */
+    public boolean isCurrent() {
+        return ready && System.nanoTime() - refreshedAt <= maxLagMs * 1_000_000L;
+    }
+
+    /*
+     * 公開済みの列のETagを取得する。（検索結果は版数までの登録・更新を必ず含む）
+     * return: ETag
+     */
+    public String getETag() {
+        return "\"readmodel-" + published.version + "\"";
+    }
+
+    /*
+     * 公開済みの列の差分取得の位置を取得する。（購読のlastEventIdに指定すると、以降の登録・更新を補完できる）
+     * return: 差分取得の位置
+     */
+    public ReportFeedCursor getCursor() {
+        return published.cursor;
+    }
+
+    /*
+     * 地図ピン用の不審者情報を検索する。（ReportRepositoryCustom#searchPins と同じ条件・並び順）
+     * ページング指定時はID昇順、それ以外はID降順で返却する。
+     * condition: 検索条件
+     * maxResults: 最大取得件数
+     * return: 不審者情報（地図ピン用）Dto
+     */
+    public List<ReportPinDto> searchPins(ReportSearchCondition condition, int maxResults) {
+
+        Columns columns = published;
+        int[] rows = findRows(columns, condition, maxResults);
+
+        List<ReportPinDto> results = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            results.add(toPinDto(columns, row));
+        }
+        return results;
+    }
+
+    /*
+     * 不審者情報IDを検索する。（searchPins と同じ条件・並び順、詳細をDBから取得する場合に使用）
+     * condition: 検索条件
+     * maxResults: 最大取得件数
+     * return: 不審者情報ID
+     */
+    public List<Long> searchIds(ReportSearchCondition condition, int maxResults) {
+
+        Columns columns = published;
+        int[] rows = findRows(columns, condition, maxResults);
+
+        List<Long> results = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            results.add(columns.ids[row]);
+        }
+        return results;
+    }
+
+    /*
+     * 検索条件に一致する行を検索する。
+     * 複数タグの指定時はタグ索引から候補行を求め、候補行のみ他の条件を判定する。
+     * 遅れて追記された行を除く行は追記順とID順が一致するため、追記順に最大取得件数まで求め、
+     * 遅れて追記された行と併合する。
+     * columns: 列
+     * condition: 検索条件
+     * maxResults: 最大取得件数
+     * return: 行（ページング指定時はID昇順、それ以外はID降順）
+     */
+    private int[] findRows(Columns columns, ReportSearchCondition condition, int maxResults) {
+
+        Filter filter = createFilter(columns, condition);
+        if (filter == null) {
+            return NO_ROWS;
+        }
+
+        long[] candidates = filter.candidates();
+        int[] rows = new int[Math.min(maxResults, 64)];
+        int found = 0;
+        int size = columns.size;
+        boolean hasLate = columns.lateCount > 0;
+        boolean ascending = condition.isPaged();
+        int i = ascending ? nextRow(candidates, 0, size) : previousRow(candidates, size - 1);
+        while (i >= 0 && i < size && found < maxResults) {
+
+            if (!(hasLate && columns.isLate(i)) && filter.matches(columns, i)) {
+                if (found == rows.length) {
+                    rows = Arrays.copyOf(rows, (int) Math.min((long) rows.length * 2, maxResults));
+                }
+                rows[found++] = i;
+            }
+            i = ascending ? nextRow(candidates, i + 1, size) : previousRow(candidates, i - 1);
+        }
+        rows = Arrays.copyOf(rows, found);
+        return hasLate ? mergeLateRows(columns, filter, rows, ascending, maxResults) : rows;
+    }
+
+    /*
+     * 遅れて追記された行のうち一致する行を、ID順の位置へ併合する。
+     * 遅れて追記された行は少数のため、すべて判定してからID順に並べる。
+     * columns: 列
+     * filter: 判定条件
+     * rows: 追記順とID順が一致する行の検索結果
+     * ascending: true: ID昇順、false: ID降順
+     * maxResults: 最大取得件数
+     * return: 行
+     */
+    private static int[] mergeLateRows(Columns columns, Filter filter, int[] rows, boolean ascending,
+            int maxResults) {
+
+        int size = columns.size;
+        List<Integer> late = new ArrayList<>();
+        for (int w = 0; w < words(size); w++) {
+            long word = columns.lateBits[w];
+            while (word != 0) {
+                int i = w * 64 + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                if (i >= size) {
+                    break;
+                }
+                if (filter.matches(columns, i)) {
+                    late.add(i);
+                }
+            }
+        }
+        if (late.isEmpty()) {
+            return rows;
+        }
+
+        Comparator<Integer> byId = Comparator.comparingLong(row -> columns.ids[row]);
+        late.sort(ascending ? byId : byId.reversed());
+
+        int[] merged = new int[Math.min(rows.length + late.size(), maxResults)];
+        int r = 0;
+        int l = 0;
+        for (int m = 0; m < merged.length; m++) {
+            boolean takeRow = l == late.size() || (r < rows.length
+                    && (columns.ids[rows[r]] < columns.ids[late.get(l)]) == ascending);
+            merged[m] = takeRow ? rows[r++] : late.get(l++);
+        }
+        return merged;
+    }
+
+    /*
+     * 近くの不審者情報を検索する。（近い順）
+     * 格子索引から範囲を含む格子の行のみ距離を求め、距離の近いk件を保持する。
+     * condition: 検索条件（発生日時・発生時刻・タグ）
+     * latitude: 緯度
+     * longitude: 経度
+     * radiusM: 半径（メートル）
+     * k: 最大取得件数
+     * return: 近くの不審者情報Dto
+     */
+    public List<ReportNearDto> searchNear(ReportSearchCondition condition, double latitude, double longitude,
+            double radiusM, int k) {
+
+        Columns columns = published;
+        Filter filter = createFilter(columns, condition);
+        if (filter == null || k <= 0) {
+            return List.of();
+        }
+
+        double latDelta = GeoUtils.latitudeDelta(radiusM);
+        double lngDelta = GeoUtils.longitudeDelta(radiusM, latitude);
+        double minLat = latitude - latDelta;
+        double maxLat = latitude + latDelta;
+        double minLng = longitude - lngDelta;
+        double maxLng = longitude + lngDelta;
+
+        // 距離の遠い順（先頭を入れ替える）
+        PriorityQueue<Neighbor> nearest = new PriorityQueue<>(k + 1,
+                Comparator.comparingDouble(Neighbor::distance).reversed());
+        int size = columns.size;
+        for (int cellLat = cellIndex(minLat); cellLat <= cellIndex(maxLat); cellLat++) {
+            for (int cellLng = cellIndex(minLng); cellLng <= cellIndex(maxLng); cellLng++) {
+                GridCell cell = grid.get(cellKey(cellLat, cellLng));
+                if (cell == null) {
+                    continue;
+                }
+
+                // 件数→配列の順に読む。行は昇順に追記されるため、列の公開後の行で打ち切る
+                int cellSize = cell.size;
+                int[] rows = cell.rows;
+                for (int j = 0; j < cellSize; j++) {
+                    int row = rows[j];
+                    if (row >= size) {
+                        break;
+                    }
+
+                    double lat = columns.latitudes[row];
+                    double lng = columns.longitudes[row];
+                    if (lat < minLat || lat > maxLat || lng < minLng || lng > maxLng || !filter.matches(columns, row)) {
+                        continue;
+                    }
+                    double distance = GeoUtils.distanceMeters(latitude, longitude, lat, lng);
+                    if (distance > radiusM) {
+                        continue;
+                    }
+                    if (nearest.size() < k) {
+                        nearest.add(new Neighbor(row, distance));
+                    } else if (distance < nearest.peek().distance()) {
+                        nearest.poll();
+                        nearest.add(new Neighbor(row, distance));
+                    }
+                }
+            }
+        }
+
+        List<Neighbor> sorted = new ArrayList<>(nearest);
+        sorted.sort(Comparator.comparingDouble(Neighbor::distance));
+        List<ReportNearDto> results = new ArrayList<>(sorted.size());
+        for (Neighbor neighbor : sorted) {
+            results.add(new ReportNearDto(neighbor.distance(), toPinDto(columns, neighbor.row())));
+        }
+        return results;
+    }
+
+    // 近傍の候補（行・距離）
+    private record Neighbor(int row, double distance) {
+    }
+
+    /*
+     * 検索条件を行単位の判定条件に変換する。
+     * columns: 列
+     * condition: 検索条件
+     * return: 判定条件（一致する行がないことが明らかな場合、null）
+     */
+    private Filter createFilter(Columns columns, ReportSearchCondition condition) {
+
+        int tag = NO_VALUE;
+        if (StringUtils.isNotBlank(condition.getTag())) {
+            Integer tagId = dictionaryIds.get(condition.getTag().trim());
+            if (tagId == null || tagId >= columns.dictionarySize) {
+                return null;
+            }
+            tag = tagId;
+        }
+
+        // 候補行（null: すべての行）
+        long[] candidates = null;
+        if (condition.hasTags()) {
+            candidates = matchTags(columns, condition.getTagNames(), condition.isMatchAll());
+            if (candidates == null) {
+                return null;
+            }
+        }
+        return new Filter(condition, tag, candidates);
+    }
+
+    /**
+     * 行単位の検索条件
+     * 発生日時はエポックミリ秒、発生時刻は日内のミリ秒から求める。
+     * 複数タグはタグ索引から求めた候補行（null: すべての行）で判定する。
+     */
+    private record Filter(boolean bounds, double minLat, double maxLat, double minLng, double maxLng,
+            long from, long to, long after, int tag, ReportSearchCondition hours, long[] candidates) {
+
+        private Filter(ReportSearchCondition condition, int tag, long[] candidates) {
+            this(condition.hasBounds(),
+                    condition.hasBounds() ? condition.getMinLat() : 0,
+                    condition.hasBounds() ? condition.getMaxLat() : 0,
+                    condition.hasBounds() ? condition.getMinLng() : 0,
+                    condition.hasBounds() ? condition.getMaxLng() : 0,
+                    condition.getFrom() == null ? NO_DATE : toEpochMillis(condition.getFrom()),
+                    condition.getTo() == null ? NO_DATE : toEpochMillis(condition.getTo()),
+                    condition.getAfter() == null ? Long.MIN_VALUE : condition.getAfter(),
+                    tag,
+                    condition.hasHours() ? condition : null,
+                    candidates);
+        }
+
+        /*
+         * 1行が検索条件に一致するか
+         * columns: 列
+         * i: 行
+         * return: true: 一致
+         */
+        private boolean matches(Columns columns, int i) {
+
+            if (columns.isRemoved(i)) {
+                return false;
+            }
+            if (candidates != null && (candidates[i >>> 6] & (1L << i)) == 0) {
+                return false;
+            }
+            if (columns.ids[i] <= after) {
+                return false;
+            }
+            if (bounds && (columns.latitudes[i] < minLat || columns.latitudes[i] > maxLat
+                    || columns.longitudes[i] < minLng || columns.longitudes[i] > maxLng)) {
+                return false;
+            }
+            long occurDate = columns.occurDates[i];
+            if (from != NO_DATE && (occurDate == NO_DATE || occurDate < from)) {
+                return false;
+            }
+            if (to != NO_DATE && (occurDate == NO_DATE || occurDate >= to)) {
+                return false;
+            }
+            if (hours != null && (occurDate == NO_DATE || !hours.matchesHour(toHour(occurDate)))) {
+                return false;
+            }
+            return tag == NO_VALUE || columns.tag1[i] == tag || columns.tag2[i] == tag || columns.tag3[i] == tag;
+        }
+    }
+
+    /*
+     * タグ索引から候補行のビット集合を求める。
+     * すべて：各タグのビット集合の論理積（未登録のタグがあれば一致なし）
+     * いずれか：各タグのビット集合の論理和（未登録のタグは無視）
+     * columns: 列
+     * names: タグ名
+     * matchAll: true: すべて、false: いずれか
+     * return: 候補行のビット集合（size 未満に限定、一致なしの場合はnull）
+     */
+    private long[] matchTags(Columns columns, List<String> names, boolean matchAll) {
+
+        int words = words(columns.size);
+        long[] result = null;
+        for (String name : names) {
+            Integer tagId = tagIds.get(name);
+            long[] bits = tagId == null || tagId < 0 || tagId >= columns.tagBits.length
+                    ? null : columns.tagBits[tagId];
+            if (bits == null) {
+                if (matchAll) {
+                    return null;
+                }
+                continue;
+            }
+
+            if (result == null) {
+                result = new long[words];
+                System.arraycopy(bits, 0, result, 0, Math.min(words, bits.length));
+            } else {
+                for (int w = 0; w < words; w++) {
+                    long word = w < bits.length ? bits[w] : 0L;
+                    result[w] = matchAll ? result[w] & word : result[w] | word;
+                }
+            }
+        }
+
+        // 公開後に追記された行を除く
+        if (result != null && (columns.size & 63) != 0) {
+            result[words - 1] &= (1L << columns.size) - 1;
+        }
+        return result;
+    }
+
+    /*
+     * 指定行以降の最初の候補行
+     * candidates: 候補行のビット集合（null: すべての行）
+     * from: 開始行
+     * size: 件数
+     * return: 候補行（ない場合、size）
+     */
+    private static int nextRow(long[] candidates, int from, int size) {
+
+        if (candidates == null || from >= size) {
+            return from;
+        }
+        int w = from >>> 6;
+        long word = candidates[w] & (-1L << from);
+        while (word == 0) {
+            if (++w == candidates.length) {
+                return size;
+            }
+            word = candidates[w];
+        }
+        return Math.min(w * 64 + Long.numberOfTrailingZeros(word), size);
+    }
+
+    /*
+     * 指定行以前の最後の候補行
+     * candidates: 候補行のビット集合（null: すべての行）
+     * from: 開始行
+     * return: 候補行（ない場合、-1）
+     */
+    private static int previousRow(long[] candidates, int from) {
+
+        if (candidates == null || from < 0) {
+            return from;
+        }
+        int w = from >>> 6;
+        long word = candidates[w] & (-1L >>> (63 - (from & 63)));
+        while (word == 0) {
+            if (--w < 0) {
+                return -1;
+            }
+            word = candidates[w];
+        }
+        return w * 64 + 63 - Long.numberOfLeadingZeros(word);
+    }
+
+    /*
+     * 起動時、タグ辞書との対応をタグ索引へ読み込む。
+     * 対応・読み込み済みの行はいずれも不審者情報ID昇順のため、突き合わせで行を求める。
+     */
+    private void warmTags() {
+
+        try (Stream<ReportTagLink> links = tagRepository.streamLinksOrderByReportId()) {
+            Iterator<ReportTagLink> iterator = links.iterator();
+            int row = 0;
+            while (iterator.hasNext()) {
+                ReportTagLink link = iterator.next();
+                synchronized (this) {
+                    while (row < count && buffer.ids[row] < link.getReportId()) {
+                        row++;
+                    }
+                    if (row < count && buffer.ids[row] == link.getReportId()) {
+                        setTagBit(link.getTagId(), row);
+                    }
+                }
+            }
+        }
+    }
+
+    /*
+     * 1件追記する。（公開はしない）
+     * 公開済みの行は変更せず、容量不足時は新しい配列へ複写するため、参照中の列に影響しない。
+     * report: 不審者情報（地図ピン用）Dto
+     * return: 追記した行
+     */
+    private int append(ReportPinDto report) {
+
+        if (count == buffer.capacity()) {
+            buffer = buffer.grow(buffer.capacity() * 2);
+            tagBits = growTagBits(tagBits, buffer.capacity());
+            removedBits = Arrays.copyOf(removedBits, words(buffer.capacity()));
+        }
+
+        int i = count;
+        if (report.getId() <= maxId) {
+            buffer.lateBits[i >>> 6] |= 1L << i;
+            lateCount++;
+        } else {
+            maxId = report.getId();
+        }
+        buffer.ids[i] = report.getId();
+        buffer.latitudes[i] = report.getLatitude();
+        buffer.longitudes[i] = report.getLongitude();
+        buffer.occurDates[i] = report.getOccurDate() == null ? NO_DATE : toEpochMillis(report.getOccurDate());
+        buffer.tag1[i] = intern(report.getTag1());
+        buffer.tag2[i] = intern(report.getTag2());
+        buffer.tag3[i] = intern(report.getTag3());
+        buffer.prefectures[i] = intern(report.getPrefecture());
+        buffer.municipalities[i] = intern(report.getMunicipality());
+        buffer.districts[i] = intern(report.getDistrict());
+        buffer.addressDetails[i] = report.getAddressDetails();
+        stringBytes += estimateStringBytes(report.getAddressDetails());
+        addToGrid(i, report.getLatitude(), report.getLongitude());
+        return count++;
+    }
+
+    /*
+     * 1件を追記し、同じIDの行があれば削除済みとする。（公開はしない）
+     * 公開済みの行は変更せず、更新後の行は遅れて追記された行としてID順の位置へ併合される。
+     * 削除済みのビット集合は公開済みのものと共有しないよう複写してから変更する。
+     * report: 不審者情報（地図ピン用）Dto
+     * return: 追記した行
+     */
+    private int upsert(ReportPinDto report) {
+
+        int previous = findRow(report.getId());
+        int row = append(report);
+        if (previous >= 0) {
+            removedBits = Arrays.copyOf(removedBits, removedBits.length);
+            removedBits[previous >>> 6] |= 1L << previous;
+            removedCount++;
+        }
+        return row;
+    }
+
+    /*
+     * 不審者情報IDの行（削除済みを除く）を検索する。
+     * 遅れて追記された行（少数）を判定した後、それ以外の行（ID昇順）を遅れて追記された行を飛ばして二分探索する。
+     * id: 不審者情報ID
+     * return: 行（ない場合、-1）
+     */
+    private int findRow(long id) {
+
+        if (count == 0 || id > maxId) {
+            return -1;
+        }
+
+        if (lateCount > 0) {
+            for (int w = 0; w < words(count); w++) {
+                long word = buffer.lateBits[w];
+                while (word != 0) {
+                    int i = w * 64 + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                    if (i < count && buffer.ids[i] == id && !isRemovedRow(i)) {
+                        return i;
+                    }
+                }
+            }
+        }
+
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int row = mid;
+            while (row <= high && (buffer.lateBits[row >>> 6] & (1L << row)) != 0) {
+                row++;
+            }
+            if (row > high) {
+                high = mid - 1;
+                continue;
+            }
+            long rowId = buffer.ids[row];
+            if (rowId < id) {
+                low = row + 1;
+            } else if (rowId > id) {
+                high = mid - 1;
+            } else {
+                // 削除済みの場合、更新後の行は遅れて追記された行（判定済み）
+                return isRemovedRow(row) ? -1 : row;
+            }
+        }
+        return -1;
+    }
+
+    // 削除済みの行（追記スレッドのみ使用）
+    private boolean isRemovedRow(int row) {
+        return (removedBits[row >>> 6] & (1L << row)) != 0;
+    }
+
+    /*
+     * 行を格子索引へ追記する。
+     * row: 行
+     * latitude: 緯度
+     * longitude: 経度
+     */
+    private void addToGrid(int row, double latitude, double longitude) {
+
+        long key = cellKey(cellIndex(latitude), cellIndex(longitude));
+        GridCell cell = grid.get(key);
+        if (cell == null) {
+            grid.put(key, new GridCell(row));
+            gridBytes += 96;
+            return;
+        }
+        int capacity = cell.rows.length;
+        cell.add(row);
+        if (cell.rows.length != capacity) {
+            gridBytes += (long) (cell.rows.length - capacity) * Integer.BYTES;
+        }
+    }
+
+    /*
+     * タグ索引のビットを立てる。
+     * 公開済みの外側の配列は変更しないよう、ビット集合の追加時は複写する。
+     * tagId: タグID
+     * row: 行
+     */
+    private void setTagBit(int tagId, int row) {
+
+        if (tagId < 0) {
+            return;
+        }
+        if (tagId >= tagBits.length || tagBits[tagId] == null) {
+            long[][] copied = Arrays.copyOf(tagBits, Math.max(tagId + 1, tagBits.length));
+            copied[tagId] = new long[words(buffer.capacity())];
+            tagBits = copied;
+        }
+        tagBits[tagId][row >>> 6] |= 1L << row;
+    }
+
+    /*
+     * タグ索引のビット集合を容量に合わせて拡張した複写
+     * bits: タグ索引
+     * capacity: 容量（行数）
+     * return: 拡張したタグ索引
+     */
+    private static long[][] growTagBits(long[][] bits, int capacity) {
+
+        long[][] grown = new long[bits.length][];
+        for (int i = 0; i < bits.length; i++) {
+            if (bits[i] != null) {
+                grown[i] = Arrays.copyOf(bits[i], words(capacity));
+            }
+        }
+        return grown;
+    }
+
+    /*
+     * 文字列をIDに変換する。（タグ・住所は種類が少ないため辞書で共有する）
+     * value: 文字列
+     * return: 文字列ID
+     */
+    private int intern(String value) {
+
+        if (value == null) {
+            return NO_VALUE;
+        }
+
+        Integer id = dictionaryIds.get(value);
+        if (id != null) {
+            return id;
+        }
+
+        if (dictionarySize == dictionary.length) {
+            dictionary = Arrays.copyOf(dictionary, dictionary.length * 2);
+        }
+        int newId = dictionarySize++;
+        dictionary[newId] = value;
+        dictionaryIds.put(value, newId);
+        stringBytes += estimateStringBytes(value) + 48;
+        return newId;
+    }
+
+    /*
+     * 追記した列を公開する。（volatileへの書き込みにより、追記内容が参照スレッドから見えるようになる）
+     */
+    private void publish() {
+        published = buffer.withSize(count, dictionary, dictionarySize, tagBits, lateCount, removedBits, removedCount,
+                version, cursor);
+    }
+
+    /*
+     * Entity→地図ピン用Dto変換（追記用）
+     * report: 不審者情報Entity
+     * return: 不審者情報（地図ピン用）Dto
+     */
+    private static ReportPinDto toPinDto(ReportEntity report) {
+        return new ReportPinDto(
+                report.getId(),
+                report.getLatitude(),
+                report.getLongitude(),
+                report.getTag1(),
+                report.getTag2(),
+                report.getTag3(),
+                report.getOccurDate(),
+                report.getPrefecture(),
+                report.getMunicipality(),
+                report.getDistrict(),
+                report.getAddressDetails()
+        );
+    }
+
+    /*
+     * 地図ピン用Dtoへ変換
+     * columns: 列
+     * i: 行
+     * return: 不審者情報（地図ピン用）Dto
+     */
+    private ReportPinDto toPinDto(Columns columns, int i) {
+        return new ReportPinDto(
+                columns.ids[i],
+                columns.latitudes[i],
+                columns.longitudes[i],
+                columns.text(columns.tag1[i]),
+                columns.text(columns.tag2[i]),
+                columns.text(columns.tag3[i]),
+                columns.occurDates[i] == NO_DATE ? null : toLocalDateTime(columns.occurDates[i]),
+                columns.text(columns.prefectures[i]),
+                columns.text(columns.municipalities[i]),
+                columns.text(columns.districts[i]),
+                columns.addressDetails[i]
+        );
+    }
+
+    /*
+     * 推定メモリ使用量（列の容量分と文字列）
+     * return: バイト数
+     */
+    private double estimateBytes() {
+
+        Columns columns = published;
+        long tagBitBytes = 0;
+        for (long[] bits : columns.tagBits) {
+            tagBitBytes += bits == null ? 0 : (long) bits.length * Long.BYTES;
+        }
+        return (double) columns.capacity() * FIXED_BYTES_PER_ROW
+                + (double) columns.lateBits.length * Long.BYTES
+                + (double) columns.removedBits.length * Long.BYTES
+                + (double) columns.dictionary.length * Integer.BYTES
+                + tagBitBytes
+                + gridBytes
+                + stringBytes;
+    }
+
+    /*
+     * 1件あたりの推定メモリ使用量
+     * return: バイト数（0件の場合、0）
+     */
+    private double estimateBytesPerReport() {
+
+        int size = published.size;
+        return size == 0 ? 0 : estimateBytes() / size;
+    }
+
+    /*
+     * 文字列の推定サイズ（オブジェクトヘッダー・配列ヘッダー・UTF-16）
+     * value: 文字列
+     * return: バイト数
+     */
+    private static long estimateStringBytes(String value) {
+        return value == null ? 0 : 24 + 16 + ((value.length() * 2L + 7) & ~7L);
+    }
+
+    // エポックミリ秒→発生時刻（0〜23時）
+    private static int toHour(long epochMillis) {
+        return (int) (Math.floorMod(epochMillis, 86_400_000L) / 3_600_000L);
+    }
+
+    // 緯度・経度→格子の番号
+    private static int cellIndex(double degrees) {
+        return (int) Math.floor(degrees / CELL_DEGREES);
+    }
+
+    // 格子キー（緯度・経度の格子の番号）
+    private static long cellKey(int cellLat, int cellLng) {
+        return ((long) cellLat << 32) | (cellLng & 0xFFFFFFFFL);
+    }
+
+    // 行数を格納するビット集合の要素数
+    private static int words(int rows) {
+        return (rows + 63) >>> 6;
+    }
+
+    // 発生日時はタイムゾーンを持たないため、UTCとみなしてエポックミリ秒に変換する
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.backend.readmodel;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 読み取りモデルの読み込みの開始
+ * 全件の読み込みは件数に比例して時間がかかるため、起動（ApplicationReadyEvent）を待たせないよう別スレッドで行う。
+ * 読み込みの完了（ReportReadModel#isReady）までは、呼び出し元がDBから検索する。
+ */
+@Component
+@RequiredArgsConstructor
+public class ReportReadModelWarmer {
+
+    private final ReportReadModel reportReadModel;
+
+    /*
+     * 起動後、読み込みを開始する。（トランザクションを適用するため、Bean経由で呼び出す）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+
+        Thread thread = new Thread(reportReadModel::warm, "report-readmodel-warm");
+        thread.setDaemon(true);
+        thread.start();
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.DuplicateReportEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 重複した不審者情報Repository
+ */
+@Repository
+public interface DuplicateReportRepository extends JpaRepository<DuplicateReportEntity, Long> {
+
+    // 不審者情報に関連付けた重複の件数
+    long countByReportId(Long reportId);
+}
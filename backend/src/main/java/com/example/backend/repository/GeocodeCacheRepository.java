@@ -0,0 +1,12 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.GeocodeCacheEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 座標情報キャッシュRepository
+ */
+@Repository
+public interface GeocodeCacheRepository extends JpaRepository<GeocodeCacheEntity, String> {
+}
@@ -0,0 +1,12 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.ImportCheckpointEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 一括取込の進捗Repository
+ */
+@Repository
+public interface ImportCheckpointRepository extends JpaRepository<ImportCheckpointEntity, String> {
+}
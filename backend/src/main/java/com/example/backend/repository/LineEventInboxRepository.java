@@ -0,0 +1,46 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.LineEventInboxEntity;
+import com.example.backend.model.InboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * LINE受信イベントRepository
+ */
+@Repository
+public interface LineEventInboxRepository extends JpaRepository<LineEventInboxEntity, Long> {
+
+    // Webhookイベント IDの存在チェック
+    boolean existsByWebhookEventId(String webhookEventId);
+
+    // 処理対象のイベントを古い順に行ロックして取得（処理中のイベントは次回処理日時がリースの期限）
+    // ほかのワーカー・インスタンスがロック中の行は読み飛ばす（SKIP LOCKED）
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    List<LineEventInboxEntity> findByStatusInAndNextAttemptAtLessThanEqualOrderByIdAsc(
+            Collection<InboxStatus> statuses, LocalDateTime now, Pageable pageable);
+
+    // 取得時の試行回数が一致する処理中のイベントのみ処理済みに更新（リースを失った場合は0件）
+    @Modifying
+    @Query("update LineEventInboxEntity e set e.status = :done, e.lastError = null, e.updated = :now"
+            + " where e.id = :id and e.status = :processing and e.attempts = :attempts")
+    int updateDone(@Param("id") Long id, @Param("attempts") int attempts,
+            @Param("processing") InboxStatus processing, @Param("done") InboxStatus done,
+            @Param("now") LocalDateTime now);
+
+    // ステータス別の件数
+    long countByStatus(InboxStatus status);
+}
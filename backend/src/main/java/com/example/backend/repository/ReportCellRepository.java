@@ -0,0 +1,36 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.ReportCellEntity;
+import com.example.backend.model.CellCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 不審者情報の格子集計Repository
+ */
+@Repository
+public interface ReportCellRepository extends JpaRepository<ReportCellEntity, Long> {
+
+    // 件数・座標の合計を加算（対象がない場合、0を返却）
+    @Modifying
+    @Query("update ReportCellEntity c set c.reportCount = c.reportCount + :count,"
+            + " c.sumLat = c.sumLat + :sumLat, c.sumLng = c.sumLng + :sumLng,"
+            + " c.latestId = case when c.latestId < :latestId then :latestId else c.latestId end"
+            + " where c.cellX = :cellX and c.cellY = :cellY")
+    int increment(@Param("cellX") int cellX, @Param("cellY") int cellY, @Param("count") long count,
+            @Param("sumLat") double sumLat, @Param("sumLng") double sumLng, @Param("latestId") long latestId);
+
+    // 格子の範囲内の件数・座標の合計を、divisor個四方の格子ごとに取得（uk_report_cells_cell を使用）
+    @Query("select new com.example.backend.model.CellCount(c.cellX / :divisor, c.cellY / :divisor,"
+            + " sum(c.reportCount), sum(c.sumLat), sum(c.sumLng), max(c.latestId))"
+            + " from ReportCellEntity c"
+            + " where c.cellX between :minX and :maxX and c.cellY between :minY and :maxY"
+            + " group by c.cellX / :divisor, c.cellY / :divisor")
+    List<CellCount> sumByCell(@Param("minX") int minX, @Param("maxX") int maxX,
+            @Param("minY") int minY, @Param("maxY") int maxY, @Param("divisor") int divisor);
+}
@@ -0,0 +1,35 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.ReportMonthlyRollupEntity;
+import com.example.backend.model.BucketCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 不審者情報の月別集計Repository
+ */
+@Repository
+public interface ReportMonthlyRollupRepository extends JpaRepository<ReportMonthlyRollupEntity, Long> {
+
+    // 件数を加算（対象がない場合、0を返却）
+    @Modifying
+    @Query("update ReportMonthlyRollupEntity r set r.reportCount = r.reportCount + :count"
+            + " where r.bucket = :bucket and r.tileX = :tileX and r.tileY = :tileY")
+    int increment(@Param("bucket") LocalDateTime bucket, @Param("tileX") int tileX, @Param("tileY") int tileY,
+            @Param("count") long count);
+
+    // タイル・発生月の範囲内の件数を発生月×発生時刻ごとに取得（uk_report_monthly_rollups_bucket を使用）
+    @Query("select new com.example.backend.model.BucketCount(r.bucket, sum(r.reportCount))"
+            + " from ReportMonthlyRollupEntity r"
+            + " where r.bucket >= :from and r.bucket < :to"
+            + " and r.tileX between :minX and :maxX and r.tileY between :minY and :maxY"
+            + " group by r.bucket order by r.bucket")
+    List<BucketCount> sumByBucket(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+            @Param("minX") int minX, @Param("maxX") int maxX, @Param("minY") int minY, @Param("maxY") int maxY);
+}
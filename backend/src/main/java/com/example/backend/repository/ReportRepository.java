@@ -1,14 +1,83 @@
 package com.example.backend.repository;
 
 import com.example.backend.entity.ReportEntity;
+import com.example.backend.model.ReportArrival;
+import com.example.backend.model.ReportFeedVersion;
+import com.example.backend.model.ReportOccurrence;
+import com.example.backend.model.ReportPoint;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
 /**
  * 不審者情報Repository
  */
 @Repository
-public interface ReportRepository extends JpaRepository<ReportEntity, Long> {
-}
+public interface ReportRepository extends JpaRepository<ReportEntity, Long>, ReportRepositoryCustom {
+
+    // 範囲内の不審者情報の位置を新しい順に取得
+    @Query("select new com.example.backend.model.ReportPoint(r.id, r.latitude, r.longitude) from ReportEntity r"
+            + " where r.latitude between :minLat and :maxLat and r.longitude between :minLng and :maxLng"
+            + " order by r.id desc")
+    List<ReportPoint> findPointsWithin(@Param("minLat") double minLat, @Param("maxLat") double maxLat,
+            @Param("minLng") double minLng, @Param("maxLng") double maxLng);
+
+    // 一覧の版数（最大ID・更新回数・最新の更新日時）
+    // 最大ID・最新の更新日時は索引の端、更新回数は版数の1行を読むのみで、全件を走査しない
+    @Query("select new com.example.backend.model.ReportFeedVersion(max(r.id),"
+            + " (select v.version from ReportVersionEntity v where v.key = 'feed'), max(r.updated))"
+            + " from ReportEntity r")
+    ReportFeedVersion findFeedVersion();
+
+    // 指定日時以降に作成された不審者情報をID順に取得（重複判定の索引の再作成用）
+    List<ReportEntity> findByCreatedGreaterThanEqualOrderByIdAsc(LocalDateTime created);
 
+    // 全件をID順にカーソルで取得（読み取り専用・トランザクション内で使用）
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select r from ReportEntity r order by r.id")
+    Stream<ReportEntity> streamAllOrderById();
 
+    // 発生日時のある不審者情報の位置・発生日時をカーソルで取得（集計の再作成用、トランザクション内で使用）
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.example.backend.model.ReportOccurrence(r.latitude, r.longitude, r.occurDate)"
+            + " from ReportEntity r where r.occurDate is not null")
+    Stream<ReportOccurrence> streamOccurrences();
+
+    // 不審者情報の位置をカーソルで取得（格子集計の再作成用、トランザクション内で使用）
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.example.backend.model.ReportPoint(r.id, r.latitude, r.longitude) from ReportEntity r")
+    Stream<ReportPoint> streamPoints();
+
+    // 指定日時以降に作成された不審者情報の位置・作成日時・発生日時を作成順にカーソルで取得（急増地点の平常時の再作成用、トランザクション内で使用）
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.example.backend.model.ReportArrival(r.latitude, r.longitude, r.created, r.occurDate)"
+            + " from ReportEntity r where r.created >= :since order by r.created")
+    Stream<ReportArrival> streamArrivalsSince(@Param("since") LocalDateTime since);
+
+    // 発生時刻が未設定の不審者情報に発生日時から設定（移行用）
+    @Modifying
+    @Query("update ReportEntity r set r.occurHour = extract(hour from r.occurDate)"
+            + " where r.occurHour is null and r.occurDate is not null")
+    int fillMissingOccurHours();
+}
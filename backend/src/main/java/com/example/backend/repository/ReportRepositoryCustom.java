@@ -0,0 +1,31 @@
+package com.example.backend.repository;
+
+import com.example.backend.dto.ReportDto;
+import com.example.backend.dto.ReportPinDto;
+import com.example.backend.dto.ReportSearchCondition;
+import com.example.backend.entity.ReportEntity;
+import com.example.backend.model.ReportChange;
+import com.example.backend.model.ReportFeedCursor;
+
+import java.util.List;
+
+/**
+ * 不審者情報Repository（検索条件による動的クエリ）
+ */
+public interface ReportRepositoryCustom {
+
+    // 検索条件に一致する不審者情報を新しい順に取得
+    List<ReportEntity> search(ReportSearchCondition condition, int maxResults);
+
+    // 検索条件に一致する不審者情報をDtoへ直接射影して取得（Entityを生成しない）
+    List<ReportDto> searchDtos(ReportSearchCondition condition, int maxResults);
+
+    // 指定IDの不審者情報をDtoへ直接射影して指定IDの順に取得（読み取りモデルで絞り込んだIDの詳細取得用）
+    List<ReportDto> searchDtosByIds(List<Long> ids);
+
+    // 検索条件に一致する不審者情報を地図ピン用Dtoへ直接射影して取得（Entityを生成しない）
+    List<ReportPinDto> searchPins(ReportSearchCondition condition, int maxResults);
+
+    // 指定位置（更新日時, ID）より後に登録・更新された不審者情報を更新順に取得（差分取得・再接続時の補完用、表示範囲のみ使用）
+    List<ReportChange> searchChanges(ReportSearchCondition bounds, ReportFeedCursor since, int maxResults);
+}
@@ -0,0 +1,268 @@
+package com.example.backend.repository;
+
+import com.example.backend.dto.ReportDto;
+import com.example.backend.dto.ReportPinDto;
+import com.example.backend.dto.ReportSearchCondition;
+import com.example.backend.entity.ReportEntity;
+import com.example.backend.entity.TagEntity;
+import com.example.backend.model.ReportChange;
+import com.example.backend.model.ReportFeedCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.AbstractQuery;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.apache.commons.lang3.StringUtils;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 不審者情報Repository（検索条件による動的クエリ）の実装
+ */
+public class ReportRepositoryCustomImpl implements ReportRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ReportEntity> search(ReportSearchCondition condition, int maxResults) {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ReportEntity> query = cb.createQuery(ReportEntity.class);
+        Root<ReportEntity> root = query.from(ReportEntity.class);
+        query.select(root);
+
+        return execute(cb, query, root, condition, maxResults);
+    }
+
+    @Override
+    public List<ReportDto> searchDtos(ReportSearchCondition condition, int maxResults) {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ReportDto> query = cb.createQuery(ReportDto.class);
+        Root<ReportEntity> root = query.from(ReportEntity.class);
+        selectDto(cb, query, root);
+
+        return execute(cb, query, root, condition, maxResults);
+    }
+
+    @Override
+    public List<ReportDto> searchDtosByIds(List<Long> ids) {
+
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ReportDto> query = cb.createQuery(ReportDto.class);
+        Root<ReportEntity> root = query.from(ReportEntity.class);
+        selectDto(cb, query, root);
+        query.where(root.get("id").in(ids));
+
+        List<ReportDto> found = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultList();
+
+        // 指定IDの順に並べる（取得できなかったIDは除く）
+        Map<Long, ReportDto> byId = new HashMap<>(found.size() * 2);
+        for (ReportDto dto : found) {
+            byId.put(dto.getId(), dto);
+        }
+        List<ReportDto> results = new ArrayList<>(found.size());
+        for (Long id : ids) {
+            ReportDto dto = byId.get(id);
+            if (dto != null) {
+                results.add(dto);
+            }
+        }
+        return results;
+    }
+
+    /*
+     * 不審者情報Dtoの取得項目を設定する。
+     * cb: CriteriaBuilder
+     * query: クエリ
+     * root: 不審者情報Entity
+     */
+    private void selectDto(CriteriaBuilder cb, CriteriaQuery<ReportDto> query, Root<ReportEntity> root) {
+
+        query.select(cb.construct(ReportDto.class,
+                root.get("id"),
+                root.get("userId"),
+                root.get("tag1"),
+                root.get("tag2"),
+                root.get("tag3"),
+                root.get("occurDate"),
+                root.get("prefecture"),
+                root.get("municipality"),
+                root.get("district"),
+                root.get("addressDetails"),
+                root.get("latitude"),
+                root.get("longitude"),
+                root.get("summary"),
+                root.get("created")));
+    }
+
+    @Override
+    public List<ReportPinDto> searchPins(ReportSearchCondition condition, int maxResults) {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ReportPinDto> query = cb.createQuery(ReportPinDto.class);
+        Root<ReportEntity> root = query.from(ReportEntity.class);
+        query.select(cb.construct(ReportPinDto.class,
+                root.get("id"),
+                root.get("latitude"),
+                root.get("longitude"),
+                root.get("tag1"),
+                root.get("tag2"),
+                root.get("tag3"),
+                root.get("occurDate"),
+                root.get("prefecture"),
+                root.get("municipality"),
+                root.get("district"),
+                root.get("addressDetails")));
+
+        return execute(cb, query, root, condition, maxResults);
+    }
+
+    @Override
+    public List<ReportChange> searchChanges(ReportSearchCondition bounds, ReportFeedCursor since, int maxResults) {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ReportChange> query = cb.createQuery(ReportChange.class);
+        Root<ReportEntity> root = query.from(ReportEntity.class);
+        query.select(cb.construct(ReportChange.class,
+                root.get("id"),
+                root.get("latitude"),
+                root.get("longitude"),
+                root.get("tag1"),
+                root.get("tag2"),
+                root.get("tag3"),
+                root.get("occurDate"),
+                root.get("prefecture"),
+                root.get("municipality"),
+                root.get("district"),
+                root.get("addressDetails"),
+                root.get("updated")));
+
+        // (更新日時, ID) > (since.updated, since.id)：idx_reports_updated（updated, id）を使用する
+        ReportSearchCondition condition = new ReportSearchCondition();
+        if (bounds.hasBounds()) {
+            condition.setMinLat(bounds.getMinLat());
+            condition.setMaxLat(bounds.getMaxLat());
+            condition.setMinLng(bounds.getMinLng());
+            condition.setMaxLng(bounds.getMaxLng());
+        }
+        List<Predicate> predicates = new ArrayList<>(List.of(buildPredicates(cb, query, root, condition)));
+        predicates.add(cb.or(
+                cb.greaterThan(root.<LocalDateTime>get("updated"), since.getUpdated()),
+                cb.and(
+                        cb.equal(root.<LocalDateTime>get("updated"), since.getUpdated()),
+                        cb.greaterThan(root.<Long>get("id"), since.getId()))));
+        query.where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(root.get("updated")), cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(maxResults)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultList();
+    }
+
+    /*
+     * 検索条件・並び順を設定して実行する。
+     * cb: CriteriaBuilder
+     * query: 取得項目設定済みのクエリ
+     * root: 不審者情報Entity
+     * condition: 検索条件
+     * maxResults: 最大取得件数
+     * return: 検索結果
+     */
+    private <T> List<T> execute(CriteriaBuilder cb, CriteriaQuery<T> query, Root<ReportEntity> root,
+            ReportSearchCondition condition, int maxResults) {
+
+        // キーセットページングはID昇順、それ以外は新しい順
+        query.where(buildPredicates(cb, query, root, condition))
+                .orderBy(condition.isPaged() ? cb.asc(root.get("id")) : cb.desc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(maxResults)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultList();
+    }
+
+    /*
+     * 検索条件の組み立て
+     * 緯度・経度の範囲条件は idx_reports_lat_lng（latitude, longitude）、
+     * 発生日時の範囲条件は idx_reports_occur_date（occurDate）を使用する。
+     * cb: CriteriaBuilder
+     * query: クエリ（タグの副問い合わせ用）
+     * root: 不審者情報Entity
+     * condition: 検索条件
+     * return: 検索条件
+     */
+    private Predicate[] buildPredicates(CriteriaBuilder cb, AbstractQuery<?> query, Root<ReportEntity> root,
+            ReportSearchCondition condition) {
+
+        List<Predicate> predicates = new ArrayList<>();
+
+        // キーセットページング（主キーの範囲検索のため、ページ位置によらず一定の速度）
+        if (condition.getAfter() != null) {
+            predicates.add(cb.greaterThan(root.<Long>get("id"), condition.getAfter()));
+        }
+
+        // 表示範囲
+        if (condition.hasBounds()) {
+            predicates.add(cb.between(root.<Double>get("latitude"), condition.getMinLat(), condition.getMaxLat()));
+            predicates.add(cb.between(root.<Double>get("longitude"), condition.getMinLng(), condition.getMaxLng()));
+        }
+
+        // 発生日時
+        if (condition.getFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.<LocalDateTime>get("occurDate"), condition.getFrom()));
+        }
+        if (condition.getTo() != null) {
+            predicates.add(cb.lessThan(root.<LocalDateTime>get("occurDate"), condition.getTo()));
+        }
+
+        // 発生時刻（日をまたぐ場合は開始以降または終了より前）
+        if (condition.hasHours()) {
+            Predicate afterFrom = cb.greaterThanOrEqualTo(root.<Integer>get("occurHour"), condition.getHourFrom());
+            Predicate beforeTo = cb.lessThan(root.<Integer>get("occurHour"), condition.getHourTo());
+            predicates.add(condition.getHourFrom() < condition.getHourTo()
+                    ? cb.and(afterFrom, beforeTo)
+                    : cb.or(afterFrom, beforeTo));
+        }
+
+        // タグ（タグ1〜3のいずれか）
+        if (StringUtils.isNotBlank(condition.getTag())) {
+            String tag = condition.getTag().trim();
+            predicates.add(cb.or(
+                    cb.equal(root.get("tag1"), tag),
+                    cb.equal(root.get("tag2"), tag),
+                    cb.equal(root.get("tag3"), tag)));
+        }
+
+        // タグ（複数、タグ辞書との対応の件数で判定：いずれか→1件以上、すべて→指定数）
+        if (condition.hasTags()) {
+            List<String> names = condition.getTagNames();
+            Subquery<Long> matched = query.subquery(Long.class);
+            Root<ReportEntity> correlated = matched.correlate(root);
+            Join<ReportEntity, TagEntity> tags = correlated.join("tags");
+            matched.select(cb.count(tags)).where(tags.get("name").in(names));
+            predicates.add(condition.isMatchAll()
+                    ? cb.equal(matched, (long) names.size())
+                    : cb.greaterThan(matched, 0L));
+        }
+
+        return predicates.toArray(new Predicate[0]);
+    }
+}
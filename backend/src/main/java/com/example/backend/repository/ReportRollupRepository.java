@@ -0,0 +1,55 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.ReportRollupEntity;
+import com.example.backend.model.BucketCount;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 不審者情報の集計Repository
+ */
+@Repository
+public interface ReportRollupRepository extends JpaRepository<ReportRollupEntity, Long> {
+
+    // 件数を加算（対象がない場合、0を返却）
+    @Modifying
+    @Query("update ReportRollupEntity r set r.reportCount = r.reportCount + :count"
+            + " where r.bucket = :bucket and r.tileX = :tileX and r.tileY = :tileY")
+    int increment(@Param("bucket") LocalDateTime bucket, @Param("tileX") int tileX, @Param("tileY") int tileY,
+            @Param("count") long count);
+
+    // タイル・発生日時の範囲内の件数を発生日時（時単位）ごとに取得（uk_report_rollups_bucket を使用）
+    @Query("select new com.example.backend.model.BucketCount(r.bucket, sum(r.reportCount))"
+            + " from ReportRollupEntity r"
+            + " where r.bucket >= :from and r.bucket < :to"
+            + " and r.tileX between :minX and :maxX and r.tileY between :minY and :maxY"
+            + " group by r.bucket order by r.bucket")
+    List<BucketCount> sumByBucket(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+            @Param("minX") int minX, @Param("maxX") int maxX, @Param("minY") int minY, @Param("maxY") int maxY);
+
+    // 最初の発生日時（時単位、集計がない場合はnull、uk_report_rollups_bucket の先頭を参照）
+    @Query("select min(r.bucket) from ReportRollupEntity r")
+    LocalDateTime findFirstBucket();
+
+    // 最後の発生日時（時単位、集計がない場合はnull、uk_report_rollups_bucket の末尾を参照）
+    @Query("select max(r.bucket) from ReportRollupEntity r")
+    LocalDateTime findLastBucket();
+
+    // 集計をカーソルで取得（月別集計の再作成用、トランザクション内で使用）
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select r from ReportRollupEntity r")
+    Stream<ReportRollupEntity> streamAll();
+}
@@ -0,0 +1,36 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.ReportVersionEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * 不審者情報の版数Repository
+ */
+@Repository
+public interface ReportVersionRepository extends JpaRepository<ReportVersionEntity, String> {
+
+    // 版数を加算（対象がない場合、0を返却）
+    @Modifying
+    @Query("update ReportVersionEntity v set v.version = v.version + 1 where v.key = :key")
+    int increment(@Param("key") String key);
+
+    // 版数0の行を登録（作成済みの場合、一意制約違反）
+    @Modifying
+    @Query(value = "insert into report_versions (version_key, version) values (:key, 0)", nativeQuery = true)
+    int insert(@Param("key") String key);
+
+    // 版数を取得
+    @Query("select v.version from ReportVersionEntity v where v.key = :key")
+    Optional<Long> findVersion(@Param("key") String key);
+
+    // 版数の合計を取得（対象がない場合、0）
+    @Query("select coalesce(sum(v.version), 0) from ReportVersionEntity v where v.key in :keys")
+    long sumVersions(@Param("keys") Collection<String> keys);
+}
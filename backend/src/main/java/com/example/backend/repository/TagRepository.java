@@ -0,0 +1,63 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.TagEntity;
+import com.example.backend.model.ReportTagLink;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * タグRepository
+ */
+@Repository
+public interface TagRepository extends JpaRepository<TagEntity, Integer> {
+
+    // タグ名で取得
+    Optional<TagEntity> findByName(String name);
+
+    // 不審者情報とタグの対応の件数
+    @Query("select count(t) from ReportEntity r join r.tags t")
+    long countLinks();
+
+    // 不審者情報とタグの対応を不審者情報ID順にカーソルで取得（読み取り専用・トランザクション内で使用）
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.example.backend.model.ReportTagLink(r.id, t.id) from ReportEntity r join r.tags t"
+            + " order by r.id")
+    Stream<ReportTagLink> streamLinksOrderByReportId();
+
+    // 指定した不審者情報のタグとの対応を取得（読み取りモデルへの差分の反映用）
+    @Query("select new com.example.backend.model.ReportTagLink(r.id, t.id) from ReportEntity r join r.tags t"
+            + " where r.id in :reportIds")
+    List<ReportTagLink> findLinksByReportIds(@Param("reportIds") Collection<Long> reportIds);
+
+    // タグ1〜3のうち辞書にないタグを登録（移行用）
+    @Modifying
+    @Query(value = "insert into tags (name)"
+            + " select x.name from (select tag1 as name from reports union select tag2 from reports"
+            + " union select tag3 from reports) x"
+            + " where x.name is not null and not exists (select 1 from tags t where t.name = x.name)",
+            nativeQuery = true)
+    int insertMissingTags();
+
+    // タグ1〜3から不審者情報とタグの対応を登録（対応が未登録の不審者情報のみ、移行用）
+    @Modifying
+    @Query(value = "insert into report_tags (report_id, tag_id)"
+            + " select distinct r.id, t.id from reports r join tags t"
+            + " on t.name = r.tag1 or t.name = r.tag2 or t.name = r.tag3"
+            + " where not exists (select 1 from report_tags rt where rt.report_id = r.id)",
+            nativeQuery = true)
+    int insertMissingLinks();
+}
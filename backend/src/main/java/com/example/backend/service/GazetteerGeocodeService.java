@@ -0,0 +1,234 @@
+package com.example.backend.service;
+
+import com.example.backend.gazetteer.GazetteerTrie;
+import com.example.backend.model.GeoPoint;
+import com.example.backend.model.NormalizedAddress;
+import com.example.backend.parser.AddressNormalizer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 町丁目の代表点（位置参照情報など）による座標情報の取得（ネットワーク通信なし）
+ * CSV（都道府県名,市区町村名,大字町丁目名,緯度,経度）から文字トライを作成してメモリマップし、
+ * 住所のキー（AddressNormalizer）の最長一致で検索する。
+ * トライのファイルはCSVの更新時のみ再作成し、市区町村の一覧は住所の正規化へ登録する。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GazetteerGeocodeService {
+
+    // CSVの列名
+    private static class CSV_COLUMNS {
+        private static final String PREFECTURE = "都道府県名";
+        private static final String MUNICIPALITY = "市区町村名";
+        private static final String TOWN = "大字町丁目名";
+        private static final String LATITUDE = "緯度";
+        private static final String LONGITUDE = "経度";
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final AddressNormalizer addressNormalizer;
+
+    // 町丁目の代表点のCSV（未指定の場合、使用しない）
+    @Value("${geocode.gazetteer.csv-path:}")
+    private String csvPath;
+
+    // トライのファイル（未指定の場合、CSVと同じ場所に作成）
+    @Value("${geocode.gazetteer.trie-path:}")
+    private String triePath;
+
+    // CSVの文字コード（国土交通省の位置参照情報はShift_JIS）
+    @Value("${geocode.gazetteer.charset:UTF-8}")
+    private String charset;
+
+    private volatile GazetteerTrie trie;
+
+    private Counter hitCounter;
+    private Counter missCounter;
+
+    @PostConstruct
+    void init() {
+
+        hitCounter = meterRegistry.counter("geocode.gazetteer.lookups", "result", "hit");
+        missCounter = meterRegistry.counter("geocode.gazetteer.lookups", "result", "miss");
+        Gauge.builder("geocode.gazetteer.hit_ratio", this, GazetteerGeocodeService::hitRatio)
+                .description("町丁目の代表点による座標情報の取得率")
+                .register(meterRegistry);
+        Gauge.builder("geocode.gazetteer.entries", this, service -> service.trie == null ? 0 : service.trie.size())
+                .description("町丁目の代表点の件数")
+                .register(meterRegistry);
+
+        if (StringUtils.isBlank(csvPath)) {
+            log.info("町丁目の代表点のCSVが未指定のため、使用しません");
+            return;
+        }
+
+        try {
+            trie = load(Paths.get(csvPath));
+        } catch (Exception e) {
+            // 読み込めない場合はGeocoding APIのみで取得する
+            log.error("町丁目の代表点の読み込みに失敗しました: {}", csvPath, e);
+        }
+    }
+
+    /*
+     * 使用可否
+     * return: true: 町丁目の代表点を読み込み済み
+     */
+    public boolean isAvailable() {
+        return trie != null;
+    }
+
+    /*
+     * 座標情報を取得する。
+     * address: 正規化済みの住所
+     * return: 座標情報（該当なしの場合、null）
+     */
+    public GeoPoint getLatLng(NormalizedAddress address) {
+
+        GazetteerTrie current = trie;
+        if (current == null || address == null) {
+            return null;
+        }
+
+        int value = current.findLongestPrefix(address.getKey());
+        if (value < 0) {
+            missCounter.increment();
+            return null;
+        }
+        hitCounter.increment();
+        return new GeoPoint(current.getLatitude(value), current.getLongitude(value));
+    }
+
+    /*
+     * トライを読み込む。（CSVの更新時は再作成）
+     * csv: 町丁目の代表点のCSV
+     * return: トライ
+     */
+    private GazetteerTrie load(Path csv) throws IOException {
+
+        Path trieFile = StringUtils.isBlank(triePath) ? Paths.get(csv + ".trie") : Paths.get(triePath);
+        long size = Files.size(csv);
+        long modified = Files.getLastModifiedTime(csv).toMillis();
+
+        if (!GazetteerTrie.isUpToDate(trieFile, size, modified)) {
+            long start = System.nanoTime();
+            SortedMap<String, GeoPoint> entries = new TreeMap<>();
+            Map<String, SortedSet<String>> municipalities = new TreeMap<>();
+            readCsv(csv, entries, municipalities);
+            GazetteerTrie.write(entries, municipalities, trieFile, size, modified);
+            log.info("町丁目の代表点のトライを作成しました: {}件, {}ms",
+                    entries.size(), (System.nanoTime() - start) / 1_000_000);
+        }
+
+        GazetteerTrie loaded = GazetteerTrie.open(trieFile);
+        addressNormalizer.registerMunicipalities(loaded.readMunicipalities());
+        log.info("町丁目の代表点を読み込みました: {}件, {}バイト", loaded.size(), loaded.byteSize());
+        return loaded;
+    }
+
+    /*
+     * CSVを読み込む。（同じキーは先頭の行を採用）
+     * csv: 町丁目の代表点のCSV
+     * entries: 住所のキー→代表点（読み込み結果を追加）
+     * municipalities: 都道府県→市区町村（読み込み結果を追加）
+     */
+    private void readCsv(Path csv, SortedMap<String, GeoPoint> entries, Map<String, SortedSet<String>> municipalities)
+            throws IOException {
+
+        try (BufferedReader reader = Files.newBufferedReader(csv, Charset.forName(charset))) {
+            String header = reader.readLine();
+            if (header == null) {
+                return;
+            }
+
+            List<String> columns = Arrays.asList(splitCsvLine(StringUtils.removeStart(header, "\uFEFF")));
+            int prefecture = requireColumn(columns, CSV_COLUMNS.PREFECTURE);
+            int municipality = requireColumn(columns, CSV_COLUMNS.MUNICIPALITY);
+            int town = requireColumn(columns, CSV_COLUMNS.TOWN);
+            int latitude = requireColumn(columns, CSV_COLUMNS.LATITUDE);
+            int longitude = requireColumn(columns, CSV_COLUMNS.LONGITUDE);
+
+            int columnCount = Math.max(Math.max(prefecture, municipality),
+                    Math.max(town, Math.max(latitude, longitude))) + 1;
+
+            String line;
+            int lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String[] values = splitCsvLine(line);
+                if (values.length < columnCount) {
+                    log.warn("町丁目の代表点のCSVの列数が不足しています: {}行目", lineNumber);
+                    continue;
+                }
+
+                NormalizedAddress address = addressNormalizer.normalize(
+                        values[prefecture], values[municipality], values[town], null);
+                if (!address.isValidPrefecture()) {
+                    log.warn("町丁目の代表点の都道府県が不正です: {}行目", lineNumber);
+                    continue;
+                }
+
+                try {
+                    GeoPoint point = new GeoPoint(
+                            Double.parseDouble(values[latitude]), Double.parseDouble(values[longitude]));
+                    entries.putIfAbsent(address.getKey(), point);
+                    municipalities.computeIfAbsent(address.getPrefecture(), k -> new TreeSet<>())
+                            .add(address.getMunicipality());
+                } catch (NumberFormatException e) {
+                    log.warn("町丁目の代表点の緯度経度が不正です: {}行目", lineNumber);
+                }
+            }
+        }
+    }
+
+    // CSVの1行を分割する（値を囲む「"」は除去）
+    private static String[] splitCsvLine(String line) {
+
+        String[] values = line.split(",", -1);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = StringUtils.strip(values[i].trim(), "\"");
+        }
+        return values;
+    }
+
+    // 列名から列番号を取得する
+    private static int requireColumn(List<String> columns, String name) throws IOException {
+
+        int index = columns.indexOf(name);
+        if (index < 0) {
+            throw new IOException("町丁目の代表点のCSVに列がありません: " + name);
+        }
+        return index;
+    }
+
+    // 取得率
+    private double hitRatio() {
+
+        double hits = hitCounter.count();
+        double total = hits + missCounter.count();
+        return total == 0 ? 0 : hits / total;
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.GeocodeCacheEntity;
+import com.example.backend.model.GeoPoint;
+import com.example.backend.model.GeocodeResult;
+import com.example.backend.model.GeocodeStatus;
+import com.example.backend.parser.AddressNormalizer;
+import com.example.backend.repository.GeocodeCacheRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 座標情報キャッシュ（メモリ＋DBの2層）
+ * メモリ層はLRU＋有効期限、DB層は正規化済み住所をキーとして永続化する。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GeocodeCacheService {
+
+    private final GeocodeCacheRepository geocodeCacheRepository;
+    private final AddressNormalizer addressNormalizer;
+    private final MeterRegistry meterRegistry;
+    private final PlatformTransactionManager transactionManager;
+
+    // メモリ層の最大件数
+    @Value("${geocode.cache.memory.max-size:10000}")
+    private int memoryMaxSize;
+
+    // メモリ層の有効期限（分）
+    @Value("${geocode.cache.memory.ttl-minutes:60}")
+    private long memoryTtlMinutes;
+
+    // 座標情報ありの有効期限（日）
+    @Value("${geocode.cache.positive-ttl-days:90}")
+    private long positiveTtlDays;
+
+    // 座標情報なし（ZERO_RESULTS）の有効期限（日）
+    @Value("${geocode.cache.negative-ttl-days:7}")
+    private long negativeTtlDays;
+
+    private Map<String, MemoryEntry> memoryCache;
+
+    // DB層の登録（呼び出し元のトランザクションから独立させる）
+    private TransactionTemplate requiresNew;
+
+    private Counter memoryHitCounter;
+    private Counter dbHitCounter;
+    private Counter missCounter;
+
+    // メモリ層のエントリ
+    private record MemoryEntry(GeocodeResult result, LocalDateTime expiresAt) {
+    }
+
+    @PostConstruct
+    void init() {
+
+        memoryHitCounter = meterRegistry.counter("geocode.cache.requests", "result", "hit", "layer", "memory");
+        dbHitCounter = meterRegistry.counter("geocode.cache.requests", "result", "hit", "layer", "db");
+        missCounter = meterRegistry.counter("geocode.cache.requests", "result", "miss", "layer", "none");
+
+        requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // アクセス順のLinkedHashMapで最大件数を超えた場合、最も古いエントリを削除
+        memoryCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, MemoryEntry> eldest) {
+                return size() > memoryMaxSize;
+            }
+        });
+    }
+
+    /*
+     * キャッシュから座標情報の取得結果を取得する。
+     * address: 住所情報
+     * return: 座標情報の取得結果（キャッシュなしの場合、null）
+     */
+    public GeocodeResult get(String address) {
+
+        String key = normalizeKey(address);
+        if (key == null) {
+            return null;
+        }
+        LocalDateTime now = LocalDateTime.now();
+
+        // メモリ層
+        MemoryEntry memoryEntry = memoryCache.get(key);
+        if (memoryEntry != null) {
+            if (memoryEntry.expiresAt().isAfter(now)) {
+                memoryHitCounter.increment();
+                return memoryEntry.result();
+            }
+            memoryCache.remove(key);
+        }
+
+        // DB層
+        try {
+            Optional<GeocodeCacheEntity> entity = geocodeCacheRepository.findById(key);
+            if (entity.isPresent() && entity.get().getExpiresAt().isAfter(now)) {
+                GeocodeResult result = toResult(entity.get());
+                putMemory(key, result, entity.get().getExpiresAt());
+                dbHitCounter.increment();
+                return result;
+            }
+        } catch (Exception e) {
+            // キャッシュの障害で座標情報の取得を止めない
+            log.warn("座標情報キャッシュの取得に失敗しました: {}", key, e);
+        }
+
+        missCounter.increment();
+        return null;
+    }
+
+    /*
+     * 座標情報の取得結果をキャッシュに登録する。
+     * DB層は独立したトランザクションで登録し、コミット時の失敗（同じ住所の同時登録による一意制約違反など）も
+     * ここで捕捉する。（先に登録された結果が残るため、座標情報の取得は止めない）
+     * address: 住所情報
+     * result: 座標情報の取得結果
+     */
+    public void put(String address, GeocodeResult result) {
+
+        String key = normalizeKey(address);
+        if (key == null || result == null) {
+            return;
+        }
+
+        long ttlDays = result.isResolved() ? positiveTtlDays : negativeTtlDays;
+        LocalDateTime expiresAt = LocalDateTime.now().plusDays(ttlDays);
+        putMemory(key, result, expiresAt);
+
+        try {
+            requiresNew.executeWithoutResult(status -> {
+                GeocodeCacheEntity entity = new GeocodeCacheEntity();
+                entity.setAddressKey(key);
+                entity.setStatus(result.getStatus());
+                if (result.isResolved()) {
+                    entity.setLatitude(result.getPoint().getLatitude());
+                    entity.setLongitude(result.getPoint().getLongitude());
+                }
+                entity.setFallbackLevel(result.getFallbackLevel());
+                entity.setResolvedAddress(result.getResolvedAddress());
+                entity.setExpiresAt(expiresAt);
+                geocodeCacheRepository.save(entity);
+            });
+
+        } catch (DataIntegrityViolationException e) {
+            // 同じ住所を別のスレッド・インスタンスが先に登録した
+            log.debug("座標情報キャッシュは登録済みです: {}", key);
+
+        } catch (Exception e) {
+            // キャッシュの障害で座標情報の取得を止めない
+            log.warn("座標情報キャッシュの登録に失敗しました: {}", key, e);
+        }
+    }
+
+    /*
+     * メモリ層へ登録
+     * key: キャッシュキー
+     * result: 座標情報の取得結果
+     * expiresAt: DB層の有効期限
+     */
+    private void putMemory(String key, GeocodeResult result, LocalDateTime expiresAt) {
+
+        // メモリ層の有効期限とDB層の有効期限のうち、早い方を採用
+        LocalDateTime memoryExpiresAt = LocalDateTime.now().plusMinutes(memoryTtlMinutes);
+        if (expiresAt.isBefore(memoryExpiresAt)) {
+            memoryExpiresAt = expiresAt;
+        }
+        memoryCache.put(key, new MemoryEntry(result, memoryExpiresAt));
+    }
+
+    /*
+     * Entity→取得結果変換
+     * entity: 座標情報キャッシュEntity
+     * return: 座標情報の取得結果
+     */
+    private GeocodeResult toResult(GeocodeCacheEntity entity) {
+
+        if (entity.getStatus() == GeocodeStatus.ZERO_RESULTS
+                || entity.getLatitude() == null || entity.getLongitude() == null) {
+            return GeocodeResult.zeroResults(entity.getResolvedAddress());
+        }
+
+        GeoPoint point = new GeoPoint(entity.getLatitude(), entity.getLongitude());
+        return new GeocodeResult(entity.getStatus(), point, entity.getFallbackLevel(), entity.getResolvedAddress());
+    }
+
+    /*
+     * キャッシュキーの正規化
+     * address: 住所情報
+     * return: キャッシュキー
+     */
+    private String normalizeKey(String address) {
+
+        if (StringUtils.isBlank(address)) {
+            return null;
+        }
+
+        // 表記揺れ（漢数字・番地・号・ハイフンなど）を統一したキー
+        String key = addressNormalizer.normalize(address).getKey();
+        return StringUtils.defaultIfEmpty(key, null);
+    }
+}
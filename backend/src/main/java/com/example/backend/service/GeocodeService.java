@@ -1,17 +1,35 @@
 package com.example.backend.service;
 
+import com.example.backend.client.GeocodingClient;
 import com.example.backend.model.GeoPoint;
+import com.example.backend.model.GeocodeResult;
+import com.example.backend.model.GeocodeStatus;
+import com.example.backend.model.NormalizedAddress;
+import com.example.backend.parser.AddressNormalizer;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
@@ -31,34 +49,202 @@ public class GeocodeService {
         //　APIの返却ステータス
         private static class RESPONSE_STATUS {
             private static final String OK = "OK";
+            private static final String ZERO_RESULTS = "ZERO_RESULTS";
         }
     }
 
-    private final RestTemplate restTemplate;
+    // 計測のステータス（APIの返却ステータス以外）
+    private static class OBSERVATION_STATUS {
+        private static final String ERROR = "ERROR";
+        private static final String REJECTED = "REJECTED";
+        private static final String NONE = "NONE";
+    }
+
+    // 住所情報（フォールバック用）の試行方法
+    private static class RESOLUTION_MODE {
+        private static final String PARALLEL = "parallel";
+    }
+
+    // 座標情報の取得方法
+    private static class ENGINE {
+        private static final String GAZETTEER = "gazetteer";
+        private static final String GOOGLE = "google";
+    }
+
+    private final GeocodingClient geocodingClient;
     private final ObjectMapper objectMapper;
+    private final GeocodeCacheService geocodeCacheService;
+    private final GazetteerGeocodeService gazetteerGeocodeService;
+    private final AddressNormalizer addressNormalizer;
+    private final ObservationRegistry observationRegistry;
 
     @Value("${google.api.key}")
     private String apiKey;
 
+    // Geocoding APIのURL（負荷試験ではスタブのURLに置き換える）
+    @Value("${google.api.geocode-url:https://maps.googleapis.com/maps/api/geocode/json}")
+    private String geocodeUrl;
+
+    // 座標情報の取得方法（記載順に試行、gazetteer: 町丁目の代表点、google: Geocoding API）
+    @Value("${geocode.engines:gazetteer,google}")
+    private String[] engines;
+
+    // 試行方法（sequential: 順に試行、parallel: 並列に試行）
+    @Value("${geocode.resolution.mode:sequential}")
+    private String resolutionMode;
+
+    // 並列試行時の同時実行数
+    @Value("${geocode.parallel.max-concurrency:3}")
+    private int maxConcurrency;
+
+    // 並列試行時のヘッジ間隔（ミリ秒、0: 同時に開始）
+    @Value("${geocode.parallel.hedge-delay-ms:0}")
+    private long hedgeDelayMs;
+
+    // 並列試行用のスレッド数
+    @Value("${geocode.parallel.pool-size:8}")
+    private int poolSize;
+
+    // 並列試行用の待ち行列の上限
+    @Value("${geocode.parallel.queue-capacity:100}")
+    private int queueCapacity;
+
+    private ExecutorService geocodeExecutor;
+
+    // Geocoding APIの呼び出し前の処理なし
+    private static final Runnable NO_HOOK = () -> { };
+
+    @PostConstruct
+    void init() {
+
+        for (String engine : engines) {
+            String name = StringUtils.lowerCase(engine.trim());
+            if (!ENGINE.GAZETTEER.equals(name) && !ENGINE.GOOGLE.equals(name)) {
+                throw new IllegalStateException("不明な座標情報の取得方法です: " + engine);
+            }
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        geocodeExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "geocode-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // 待ち行列が満杯の場合は呼び出し元スレッドで試行する（順に試行するのと同じ）
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        geocodeExecutor.shutdownNow();
+    }
+
     /*
      * 座標情報を取得する。
      * address: 住所情報
      * return: 座標情報
      */
     public GeoPoint getLatLng(String address) {
+        return getLatLng(addressNormalizer.normalize(address));
+    }
 
+    /*
+     * 座標情報を取得する。
+     * 取得方法を設定順に試行し、該当なし・エラーの場合は次の取得方法へ進む。
+     * address: 正規化済みの住所
+     * return: 座標情報
+     */
+    public GeoPoint getLatLng(NormalizedAddress address) {
+        return getLatLng(address, NO_HOOK);
+    }
+
+    /*
+     * 座標情報を取得する。
+     * 取得方法を設定順に試行し、該当なし・エラーの場合は次の取得方法へ進む。
+     * beforeRequest はGeocoding APIを呼び出す直前（キャッシュ・町丁目の代表点で取得できない場合のみ）に
+     * 呼び出すごとに実行する。（呼び出し元での間隔・回数の制限用、例外を送出すると呼び出さない）
+     * address: 正規化済みの住所
+     * beforeRequest: Geocoding APIの呼び出し前の処理
+     * return: 座標情報
+     */
+    public GeoPoint getLatLng(NormalizedAddress address, Runnable beforeRequest) {
+
+        Observation observation = Observation.start("geocode.resolve", observationRegistry);
+        try (Observation.Scope scope = observation.openScope()) {
+            RuntimeException lastError = null;
+            for (String engine : engines) {
+                String name = StringUtils.lowerCase(engine.trim());
+                try {
+                    GeoPoint point = switch (name) {
+                        case ENGINE.GAZETTEER -> gazetteerGeocodeService.getLatLng(address);
+                        case ENGINE.GOOGLE -> getLatLngFromGoogle(address, beforeRequest);
+                        default -> null;
+                    };
+                    if (point != null) {
+                        observation.lowCardinalityKeyValue("engine", name);
+                        return point;
+                    }
+
+                } catch (RuntimeException e) {
+                    lastError = e;
+                }
+            }
+
+            observation.lowCardinalityKeyValue("engine", OBSERVATION_STATUS.NONE);
+            RuntimeException error = lastError != null
+                    ? lastError
+                    : new RuntimeException("有効な住所情報が見つかりませんでした: " + address);
+            observation.error(error);
+            throw error;
+
+        } finally {
+            observation.stop();
+        }
+    }
+
+    /*
+     * Geocoding APIで座標情報を取得する。（キャッシュあり）
+     * normalized: 正規化済みの住所
+     * beforeRequest: Geocoding APIの呼び出し前の処理
+     * return: 座標情報（該当なしの場合、null）
+     */
+    private GeoPoint getLatLngFromGoogle(NormalizedAddress normalized, Runnable beforeRequest) {
+
+        String address = normalized.getKey();
         try {
-            List<String> fallbackAddresses = createFallbackAddresses(address);
+            // キャッシュ確認（フォールバック用の住所で取得済みの場合も含む）
+            GeocodeResult cached = geocodeCacheService.get(address);
+            if (cached != null && cached.isResolved()) {
+                log.info("座標情報キャッシュを使用しました: {} (フォールバック段階: {})", address, cached.getFallbackLevel());
+                return cached.getPoint();
+            }
+
+            // 号まで → 番地まで → 丁目まで → 町名まで → 市区町村まで
+            List<String> fallbackAddresses = normalized.getFallbackKeys();
 
-            for (String fallbackAddress : fallbackAddresses) {
-                GeoPoint point = callGeocodingApi(fallbackAddress);
-                if (point != null) {
-                    log.info("Geocoding APIの実行に成功しました: {}", fallbackAddress);
-                    return point;
+            // 住所情報（フォールバック用）を順に、または並列に試行
+            GeocodeResult resolved = StringUtils.equals(RESOLUTION_MODE.PARALLEL, resolutionMode)
+                    ? resolveInParallel(fallbackAddresses, cached, beforeRequest)
+                    : resolveSequentially(fallbackAddresses, cached, beforeRequest);
+
+            if (resolved != null) {
+                log.info("Geocoding APIの実行に成功しました: {}", resolved.getResolvedAddress());
+                if (resolved.getFallbackLevel() > 0) {
+                    // 入力住所にフォールバックの段階を記録
+                    geocodeCacheService.put(address, resolved);
                 }
+                return resolved.getPoint();
             }
 
-            throw new RuntimeException("有効な住所情報が見つかりませんでした: " + address);
+            log.info("Geocoding APIで有効な住所情報が見つかりませんでした: {}", address);
+            return null;
+
+        // 並列試行の待機中に割り込まれた場合、割り込み状態を戻す
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Geocoding APIの実行が中断されました: " + address, e);
 
         } catch (Exception e) {
             log.error("Geocoding APIの実行に失敗しました: {}", address, e);
@@ -67,48 +253,178 @@ public class GeocodeService {
     }
 
     /*
-     * 住所情報（フォールバック用）を取得する。
-     * address: 住所情報
-     * return: 住所情報（フォールバック用）
+     * 住所情報（フォールバック用）を優先度順に1件ずつ試行する。
+     * fallbackAddresses: 住所情報（フォールバック用）
+     * cached: 入力住所のキャッシュ（未取得の場合、null）
+     * beforeRequest: Geocoding APIの呼び出し前の処理
+     * return: 座標情報の取得結果（取得できない場合、null）
      */
-    private List<String> createFallbackAddresses(String address) {
-    
-        // TODO: 住所情報（フォールバック用）の精度向上
-        // 末尾ハイフンの場合、削除
-        if (StringUtils.equals("-", address.substring(address.length() -1))) {
-            address = StringUtils.removeEnd(address, "-");
+    private GeocodeResult resolveSequentially(List<String> fallbackAddresses, GeocodeResult cached,
+            Runnable beforeRequest) {
+
+        for (int level = 0; level < fallbackAddresses.size(); level++) {
+            String fallbackAddress = fallbackAddresses.get(level);
+            GeoPoint point = resolveCandidate(fallbackAddress, level, level == 0 ? cached : null, beforeRequest);
+            if (point != null) {
+                return GeocodeResult.resolved(point, level, fallbackAddress);
+            }
         }
+        return null;
+    }
 
-        List<String> fallbackAddresses = new ArrayList<>();
-        fallbackAddresses.add(address);
+    /*
+     * 住所情報（フォールバック用）を並列に試行する。
+     * 同時実行数を上限とし、ヘッジ間隔が指定されている場合は間隔を空けて順に開始する。
+     * 優先度の高い住所がすべて失敗した時点の最上位の成功結果を採用し、残りの呼び出しは中止する。
+     * fallbackAddresses: 住所情報（フォールバック用）
+     * cached: 入力住所のキャッシュ（未取得の場合、null）
+     * beforeRequest: Geocoding APIの呼び出し前の処理
+     * return: 座標情報の取得結果（取得できない場合、null）
+     */
+    private GeocodeResult resolveInParallel(List<String> fallbackAddresses, GeocodeResult cached,
+            Runnable beforeRequest) throws InterruptedException {
 
-        // 丁目まで
-        fallbackAddresses.add(address.replaceAll("-\\d+$", ""));
-        fallbackAddresses.add(address.replaceAll("丁目.*$", "丁目"));
+        int size = fallbackAddresses.size();
+        GeoPoint[] points = new GeoPoint[size];
+        RuntimeException[] errors = new RuntimeException[size];
+        boolean[] finished = new boolean[size];
+        List<Future<?>> futures = new ArrayList<>();
+        BlockingQueue<Integer> completed = new LinkedBlockingQueue<>();
 
-        // 町名まで
-        fallbackAddresses.add(address.replaceAll("\\d+$", ""));
+        // 並列試行のスレッドでも呼び出し元のトレースを親とする
+        Observation parent = observationRegistry.getCurrentObservation();
 
-        // 区まで
-        fallbackAddresses.add(address.replaceAll("区.*$", "区"));
+        int next = 0;
+        int running = 0;
+        int best = 0;
+        long lastStartedAt = 0L;
 
-        // 市町村まで
-        fallbackAddresses.add(address.replaceAll("^(.*?[市町村]).*$", "$1"));
+        try {
+            while (true) {
+                // 優先度の高い住所から結果を確定
+                while (best < size && finished[best]) {
+                    if (errors[best] != null) {
+                        throw errors[best];
+                    }
+                    if (points[best] != null) {
+                        return GeocodeResult.resolved(points[best], best, fallbackAddresses.get(best));
+                    }
+                    best++;
+                }
+                if (best >= size) {
+                    return null;
+                }
+
+                // 同時実行数・ヘッジ間隔の範囲で次の住所を開始
+                long now = System.nanoTime();
+                boolean hedgeElapsed = running == 0
+                        || now - lastStartedAt >= TimeUnit.MILLISECONDS.toNanos(hedgeDelayMs);
+                if (next < size && running < maxConcurrency && hedgeElapsed) {
+                    int level = next++;
+                    String fallbackAddress = fallbackAddresses.get(level);
+                    GeocodeResult levelCache = level == 0 ? cached : null;
+                    Runnable task = () -> {
+                        try {
+                            points[level] = resolveCandidate(fallbackAddress, level, levelCache, beforeRequest);
+                        } catch (RuntimeException e) {
+                            errors[level] = e;
+                        } finally {
+                            completed.add(level);
+                        }
+                    };
+                    Runnable scopedTask = parent != null ? () -> parent.scoped(task) : task;
+                    futures.add(geocodeExecutor.submit(scopedTask));
+                    running++;
+                    lastStartedAt = now;
+                    continue;
+                }
+
+                // 次の完了を待機（ヘッジ間隔経過時は次の住所を開始）
+                Integer done;
+                if (next < size && running < maxConcurrency) {
+                    long waitNanos = TimeUnit.MILLISECONDS.toNanos(hedgeDelayMs) - (now - lastStartedAt);
+                    done = completed.poll(Math.max(waitNanos, 0L), TimeUnit.NANOSECONDS);
+                } else {
+                    done = completed.take();
+                }
+                if (done != null) {
+                    finished[done] = true;
+                    running--;
+                }
+            }
 
-        return fallbackAddresses.stream()
-                .distinct()
-                .toList();
+        } finally {
+            // 未開始の呼び出しを中止（実行中の呼び出しは結果をキャッシュするため完了させる）
+            for (Future<?> future : futures) {
+                future.cancel(false);
+            }
+        }
     }
 
-        /*
+    /*
+     * フォールバック用の住所1件の座標情報を取得する。
+     * キャッシュにZERO_RESULTSが記録されている住所はAPIを呼び出さない。
+     * address: 住所情報（フォールバック用）
+     * level: フォールバックの段階
+     * cached: 取得済みのキャッシュ（未取得の場合、null）
+     * beforeRequest: Geocoding APIの呼び出し前の処理
+     * return: 座標情報（取得できない場合、null）
+     */
+    private GeoPoint resolveCandidate(String address, int level, GeocodeResult cached, Runnable beforeRequest) {
+
+        if (cached == null) {
+            cached = geocodeCacheService.get(address);
+        }
+        if (cached != null) {
+            // 住所そのもので取得済みの場合のみ採用（FALLBACKは別段階の結果のため次の住所へ）
+            return cached.getStatus() == GeocodeStatus.OK ? cached.getPoint() : null;
+        }
+
+        beforeRequest.run();
+        GeocodeResult result = callGeocodingApi(address, level);
+        if (result == null) {
+            // 一時的なエラーはキャッシュしない
+            return null;
+        }
+        geocodeCacheService.put(address, result);
+        return result.getPoint();
+    }
+
+    /*
      * 座標情報を取得する。
+     * フォールバックの段階・APIの返却ステータスごとに応答時間を計測する。
      * address: 住所情報
-     * return: 座標情報
+     * level: フォールバックの段階
+     * return: 座標情報の取得結果（一時的なエラーの場合、null）
+     */
+    private GeocodeResult callGeocodingApi(String address, int level) {
+
+        Observation observation = Observation.createNotStarted("geocode.request", observationRegistry)
+                .lowCardinalityKeyValue("level", String.valueOf(level))
+                .lowCardinalityKeyValue("status", OBSERVATION_STATUS.ERROR)
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            return callGeocodingApi(address, observation);
+
+        } catch (RuntimeException e) {
+            observation.error(e);
+            throw e;
+
+        } finally {
+            observation.stop();
+        }
+    }
+
+    /*
+     * 座標情報を取得する。
+     * address: 住所情報
+     * observation: 計測（APIの返却ステータスを記録）
+     * return: 座標情報の取得結果（一時的なエラーの場合、null）
      */
-    private GeoPoint callGeocodingApi(String address) {
+    private GeocodeResult callGeocodingApi(String address, Observation observation) {
         try {
             URI uri = UriComponentsBuilder
-                .fromUriString("https://maps.googleapis.com/maps/api/geocode/json")
+                .fromUriString(geocodeUrl)
                 .queryParam("address", address)
                 .queryParam("language", "ja")
                 .queryParam("region", "jp")
@@ -116,30 +432,36 @@ public class GeocodeService {
                 .build()
                 .encode(StandardCharsets.UTF_8)
                 .toUri();
-            log.info("Geocoding API呼出し住所: {}", address);
-            log.info("Geocoding リクエストURI = {}", uri);
+            // URIはAPIキーを含むため出力しない
+            log.debug("Geocoding API呼出し住所: {}", address);
 
             // Geocoding API実行
-            String response = restTemplate.getForObject(uri, String.class);
+            String response = geocodingClient.get(uri);
             JsonNode jsonNode = objectMapper.readTree(response);
             
             // APIのステータスチェック
             String status = jsonNode.get("status").asText();
-            // 異常終了または返却結果なしの場合
+            observation.lowCardinalityKeyValue("status", status);
+            // 返却結果なしの場合
+            if (StringUtils.equals(GEOCODING_API.RESPONSE_STATUS.ZERO_RESULTS, status)) {
+                log.info("Geocoding APIの返却結果なし. address={}", address);
+                return GeocodeResult.zeroResults(address);
+            }
+
+            // 異常終了の場合
             if (!StringUtils.equals(GEOCODING_API.RESPONSE_STATUS.OK, status)) {
 
                 String errorMessage = jsonNode.has("error_message")
                     ? jsonNode.get("error_message").asText()
                     : "no error_message";
 
-                log.warn("Geocoding APIが異常終了または返却結果なし. status={}, error_message={}, address={}",
+                log.warn("Geocoding APIが異常終了. status={}, error_message={}, address={}",
                     status, errorMessage, address);
 
                 return null;
             }
 
             JsonNode results = jsonNode.get("results");
-            log.info("Geocoding results = {}", results);
 
             for (JsonNode result : results) {
                 // 曖昧な情報の場合、次の取得結果へ
@@ -162,17 +484,24 @@ public class GeocodeService {
                     JsonNode location = result.get("geometry").get("location");
                     double lat = location.get("lat").asDouble();
                     double lng = location.get("lng").asDouble();
-                    return new GeoPoint(lat, lng);
+                    return GeocodeResult.ok(new GeoPoint(lat, lng), address);
                 }
             }
 
-            return null;
+            // 有効な返却結果なし（曖昧な情報・道路情報のみ）
+            return GeocodeResult.zeroResults(address);
 
         // RestTemplateの通信エラー
         } catch (RestClientException e) {
             log.error("RestTemplateの通信エラーが発生しました: {}", address, e);
             throw new RuntimeException("RestTemplateの通信エラーが発生しました: " + address, e);
         
+        // サーキットブレーカーが開いている、または同時実行数の上限超過
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            observation.lowCardinalityKeyValue("status", OBSERVATION_STATUS.REJECTED);
+            log.warn("Geocoding APIの呼び出しを抑止しました: {} ({})", address, e.getMessage());
+            throw new RuntimeException("Geocoding APIの呼び出しを抑止しました: " + address, e);
+
         // 上記以外のエラー
         } catch (Exception e) {
             log.error("Geocoding APIの呼び出しに失敗しました: {}", address, e);
@@ -0,0 +1,382 @@
+package com.example.backend.service;
+
+import com.example.backend.common.util.TileUtils;
+import com.example.backend.dto.HotspotDto;
+import com.example.backend.entity.ReportEntity;
+import com.example.backend.event.ReportSavedEvent;
+import com.example.backend.model.ReportArrival;
+import com.example.backend.repository.ReportRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * 不審者情報の急増地点の検知
+ * 登録された不審者情報を地図タイル（格子）ごとのリングバッファで数え、直近の集計期間の件数が
+ * 平常時（集計期間から外れた過去の件数の指数移動平均）を大きく上回る格子を急増地点とする。
+ * 1件あたりの処理はスロット数に比例する定数時間で、過去の件数によらない。
+ * 格子数は上限を超えると最も古く参照された格子から破棄する。
+ * 起動時は平常時の算出期間の不審者情報から平常時・集計期間の件数を作り直す（作り直し中は検知しない）。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HotspotDetectionService implements SmartInitializingSingleton {
+
+    private final MeterRegistry meterRegistry;
+    private final ReportRepository reportRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    // 格子のズームレベル（15: 約1km四方）
+    @Value("${report.hotspot.zoom:15}")
+    private int zoom;
+
+    // 集計期間（時間）
+    @Value("${report.hotspot.window-hours:24}")
+    private int windowHours;
+
+    // 集計期間の分割数（リングバッファのスロット数）
+    @Value("${report.hotspot.slots:24}")
+    private int slotCount;
+
+    // 平常時の算出期間（日、指数移動平均の時定数）
+    @Value("${report.hotspot.baseline-days:28}")
+    private int baselineDays;
+
+    // 急増とみなす最小件数（集計期間内）
+    @Value("${report.hotspot.min-count:3}")
+    private int minCount;
+
+    // 急増とみなす平常時に対する倍率
+    @Value("${report.hotspot.ratio:3.0}")
+    private double ratio;
+
+    // 保持する格子数の上限
+    @Value("${report.hotspot.max-cells:100000}")
+    private int maxCells;
+
+    // スロットの長さ（ミリ秒）
+    private long slotMillis;
+
+    // 指数移動平均の平滑化係数（1スロットあたり）
+    private double alpha;
+
+    // 格子（タイルキー→格子、参照順）
+    // 格子の件数の更新・破棄はこのMapのロック内で行う（破棄された格子への加算を防ぐ）
+    private Map<Long, Cell> cells;
+
+    // 急増中の格子（タイルキー→検知日時）
+    private final Map<Long, Long> flagged = new ConcurrentHashMap<>();
+
+    private Counter detectedCounter;
+
+    /**
+     * 格子ごとの件数
+     * スロットは「時刻÷スロットの長さ」の剰余の位置を使い回し、集計期間から外れたスロットの件数を平常時へ反映する。
+     */
+    private static final class Cell {
+        private final int x;
+        private final int y;
+        private final long[] slots;
+        private long currentSlot;
+        private long windowCount;
+
+        // 1スロットあたりの平常時の件数（指数移動平均）
+        private double baseline;
+
+        private Cell(int x, int y, int slotCount, long slot) {
+            this.x = x;
+            this.y = y;
+            this.slots = new long[slotCount];
+            this.currentSlot = slot;
+        }
+
+        /*
+         * 指定のスロットまで進める。（集計期間から外れたスロットを平常時へ反映して空にする）
+         * slot: スロット番号
+         * alpha: 平滑化係数
+         */
+        private void advance(long slot, double alpha) {
+
+            if (slot <= currentSlot) {
+                return;
+            }
+
+            int n = slots.length;
+            long steps = slot - currentSlot;
+            for (long k = 1; k <= Math.min(steps, n); k++) {
+                int index = (int) Math.floorMod(currentSlot + k, (long) n);
+                baseline += alpha * (slots[index] - baseline);
+                windowCount -= slots[index];
+                slots[index] = 0;
+            }
+            // 集計期間より長い空白は0件のスロットとして減衰させる
+            if (steps > n) {
+                baseline *= Math.pow(1 - alpha, steps - n);
+            }
+            currentSlot = slot;
+        }
+
+        /*
+         * 1件加算する。（遅れて届いた分は最新のスロットに加算）
+         * slot: スロット番号
+         * alpha: 平滑化係数
+         */
+        private void add(long slot, double alpha) {
+            advance(slot, alpha);
+            slots[(int) Math.floorMod(currentSlot, (long) slots.length)]++;
+            windowCount++;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+
+        if (zoom < 0 || zoom > TileUtils.MAX_ZOOM || windowHours <= 0 || slotCount <= 0) {
+            throw new IllegalStateException("急増地点の検知の設定が不正です");
+        }
+        slotMillis = windowHours * 3_600_000L / slotCount;
+        alpha = Math.min(1.0, (double) slotMillis / (baselineDays * 86_400_000L));
+
+        cells = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Cell> eldest) {
+                if (size() > maxCells) {
+                    flagged.remove(eldest.getKey());
+                    return true;
+                }
+                return false;
+            }
+        });
+
+        detectedCounter = Counter.builder("report.hotspot.detected")
+                .description("急増地点の検知数")
+                .register(meterRegistry);
+        Gauge.builder("report.hotspot.cells", this, service -> service.cells.size())
+                .description("急増地点の検知で保持している格子数")
+                .register(meterRegistry);
+        Gauge.builder("report.hotspot.flagged", flagged, Map::size)
+                .description("急増中の格子数")
+                .register(meterRegistry);
+    }
+
+    /*
+     * 不審者情報の登録時、格子の件数を加算する。
+     * event: 不審者情報の登録イベント
+     */
+    @TransactionalEventListener
+    public void onReportSaved(ReportSavedEvent event) {
+
+        ReportEntity report = event.getReport();
+        // 一括取込・集計期間より前に発生した不審者情報は数えない
+        if (event.isImported()) {
+            return;
+        }
+        if (report.getOccurDate() != null
+                && report.getOccurDate().isBefore(LocalDateTime.now().minusHours(windowHours))) {
+            return;
+        }
+        record(report.getLatitude(), report.getLongitude(), System.currentTimeMillis());
+    }
+
+    /*
+     * 急増中の地点を取得する。（件数の多い順）
+     * return: 急増地点Dto
+     */
+    public List<HotspotDto> getHotspots() {
+        return getHotspots(System.currentTimeMillis());
+    }
+
+    /*
+     * 起動時（Webサーバー・Inboxワーカーの開始より前）、平常時・集計期間の件数を作り直す。
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        warm(System.currentTimeMillis());
+    }
+
+    /*
+     * 平常時の算出期間に作成された不審者情報から、平常時・集計期間の件数を作り直す。
+     * 集計期間より前の件数は指数移動平均の初期値とせず、算出期間の1スロットあたりの平均を平常時とする。
+     * （0から指数移動平均で近づけると、時定数の間は平常時が小さく誤検知となるため）
+     * 作り直し中は検知しない（作り直し後、急増中の格子は検知済みとして扱う）。
+     * now: 現在時刻（エポックミリ秒）
+     */
+    void warm(long now) {
+
+        long firstSlot = now / slotMillis - slotCount + 1;
+        long baselineStart = now - baselineDays * 86_400_000L;
+        long baselineSlots = Math.max(1, (firstSlot * slotMillis - baselineStart) / slotMillis);
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        Long count = readOnly.execute(status -> {
+            long total = 0;
+            try (Stream<ReportArrival> arrivals = reportRepository.streamArrivalsSince(toLocalDateTime(baselineStart))) {
+                for (ReportArrival arrival : (Iterable<ReportArrival>) arrivals::iterator) {
+                    LocalDateTime created = arrival.getCreated();
+                    // 受信時と同じく、集計期間より前に発生した不審者情報は数えない
+                    if (created == null || (arrival.getOccurDate() != null
+                            && arrival.getOccurDate().isBefore(created.minusHours(windowHours)))) {
+                        continue;
+                    }
+                    long time = created.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                    if (time / slotMillis < firstSlot) {
+                        addBaseline(arrival.getLatitude(), arrival.getLongitude(), firstSlot, 1.0 / baselineSlots);
+                    } else {
+                        record(arrival.getLatitude(), arrival.getLongitude(), Math.min(time, now), false);
+                    }
+                    total++;
+                }
+            }
+            return total;
+        });
+
+        // 作り直し後に急増中の格子（再起動前に検知済み）
+        long slot = now / slotMillis;
+        synchronized (cells) {
+            cells.forEach((key, cell) -> {
+                cell.advance(slot, alpha);
+                if (isHot(cell)) {
+                    flagged.putIfAbsent(key, now);
+                }
+            });
+        }
+        log.info("急増地点の平常時を作り直しました: {}件、格子{}件、急増中{}件", count, cells.size(), flagged.size());
+    }
+
+    /*
+     * 1件加算し、急増を判定する。
+     * latitude: 緯度
+     * longitude: 経度
+     * now: 受信時刻（エポックミリ秒）
+     */
+    void record(double latitude, double longitude, long now) {
+        record(latitude, longitude, now, true);
+    }
+
+    /*
+     * 1件加算し、急増を判定する。
+     * latitude: 緯度
+     * longitude: 経度
+     * now: 受信時刻（エポックミリ秒）
+     * detect: 急増を検知するか（起動時の作り直し中はしない）
+     */
+    private void record(double latitude, double longitude, long now, boolean detect) {
+
+        int x = TileUtils.lngToTileX(longitude, zoom);
+        int y = TileUtils.latToTileY(latitude, zoom);
+        long key = TileUtils.tileKey(zoom, x, y);
+        long slot = now / slotMillis;
+
+        long windowCount;
+        double baseline;
+        synchronized (cells) {
+            Cell cell = cells.computeIfAbsent(key, k -> new Cell(x, y, slotCount, slot));
+            cell.add(slot, alpha);
+            if (!detect || !isHot(cell) || flagged.putIfAbsent(key, now) != null) {
+                return;
+            }
+            windowCount = cell.windowCount;
+            baseline = cell.baseline;
+        }
+        detectedCounter.increment();
+        log.warn("不審者情報の急増を検知しました: z{}/{}/{}, {}件（平常時{}件）",
+                zoom, x, y, windowCount, String.format("%.2f", baseline * slotCount));
+    }
+
+    /*
+     * 集計期間より前の1件を平常時へ加算する。（起動時の作り直し用）
+     * latitude: 緯度
+     * longitude: 経度
+     * firstSlot: 集計期間の最初のスロット番号
+     * weight: 1件あたりの平常時の件数（1÷算出期間のスロット数）
+     */
+    private void addBaseline(double latitude, double longitude, long firstSlot, double weight) {
+
+        int x = TileUtils.lngToTileX(longitude, zoom);
+        int y = TileUtils.latToTileY(latitude, zoom);
+        long key = TileUtils.tileKey(zoom, x, y);
+
+        synchronized (cells) {
+            cells.computeIfAbsent(key, k -> new Cell(x, y, slotCount, firstSlot)).baseline += weight;
+        }
+    }
+
+    /*
+     * 急増中の地点を取得する。（集計期間を過ぎて平常に戻った格子は除外する）
+     * now: 現在時刻（エポックミリ秒）
+     * return: 急増地点Dto（件数の多い順）
+     */
+    List<HotspotDto> getHotspots(long now) {
+
+        long slot = now / slotMillis;
+        List<HotspotDto> hotspots = new ArrayList<>();
+        for (Map.Entry<Long, Long> entry : flagged.entrySet()) {
+            long key = entry.getKey();
+            synchronized (cells) {
+                Cell cell = cells.get(key);
+                if (cell == null) {
+                    flagged.remove(key);
+                    continue;
+                }
+                cell.advance(slot, alpha);
+                if (!isHot(cell)) {
+                    flagged.remove(key, entry.getValue());
+                    continue;
+                }
+                hotspots.add(toDto(cell, entry.getValue()));
+            }
+        }
+
+        hotspots.sort(Comparator.comparingLong(HotspotDto::getCount).reversed());
+        return hotspots;
+    }
+
+    // エポックミリ秒から日時へ変換
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    // 急増の判定（最小件数以上、かつ平常時の倍率を超える）
+    private boolean isHot(Cell cell) {
+        return cell.windowCount >= minCount && cell.windowCount > ratio * cell.baseline * slotCount;
+    }
+
+    /*
+     * 急増地点Dtoへ変換
+     * cell: 格子
+     * detectedAt: 検知時刻（エポックミリ秒）
+     * return: 急増地点Dto
+     */
+    private HotspotDto toDto(Cell cell, long detectedAt) {
+
+        double north = TileUtils.tileYToLat(cell.y, zoom);
+        double south = TileUtils.tileYToLat(cell.y + 1, zoom);
+        double west = TileUtils.tileXToLng(cell.x, zoom);
+        double east = TileUtils.tileXToLng(cell.x + 1, zoom);
+        return new HotspotDto(zoom, cell.x, cell.y, (north + south) / 2, (west + east) / 2,
+                cell.windowCount, cell.baseline * slotCount, toLocalDateTime(detectedAt));
+    }
+}
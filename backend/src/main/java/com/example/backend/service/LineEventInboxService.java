@@ -0,0 +1,190 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.LineEventInboxEntity;
+import com.example.backend.model.InboxStatus;
+import com.example.backend.repository.LineEventInboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * LINE受信イベント（Inbox）の永続化・状態管理
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LineEventInboxService {
+
+    // 取得対象のステータス（処理中はリース期限切れのみ）
+    private static final List<InboxStatus> CLAIMABLE = List.of(InboxStatus.PENDING, InboxStatus.PROCESSING);
+
+    private final LineEventInboxRepository lineEventInboxRepository;
+
+    // 取得後にリースの期限を過ぎ、ほかのワーカーが再取得した場合（処理結果を反映しない）
+    public static final class LeaseLostException extends IllegalStateException {
+        private LeaseLostException(String webhookEventId) {
+            super("イベントのリースの期限を過ぎたため、処理結果を反映しません: " + webhookEventId);
+        }
+    }
+
+    // 最大試行回数
+    @Value("${line.inbox.max-attempts:5}")
+    private int maxAttempts;
+
+    // 再試行間隔の初期値（ミリ秒）
+    @Value("${line.inbox.backoff-initial-ms:1000}")
+    private long backoffInitialMs;
+
+    // 再試行間隔の上限（ミリ秒）
+    @Value("${line.inbox.backoff-max-ms:300000}")
+    private long backoffMaxMs;
+
+    // 処理中のリース期間（ミリ秒、期限を過ぎても完了しないイベントは再取得する）
+    @Value("${line.inbox.lease-ms:300000}")
+    private long leaseMs;
+
+    /*
+     * 受信イベントを登録する。
+     * 同一のWebhookイベント IDは登録済みのため無視する（LINEの再送対策）。
+     * webhookEventId: Webhookイベント ID
+     * userId: ユーザーID
+     * text: 不審者情報メッセージ
+     * rawEvent: 受信イベント（JSON）
+     * traceparent: 受信時のトレースコンテキスト（トレース無効時はnull）
+     * return: true: 登録、false: 登録済み
+     */
+    public boolean enqueue(String webhookEventId, String userId, String text, String rawEvent, String traceparent) {
+
+        if (lineEventInboxRepository.existsByWebhookEventId(webhookEventId)) {
+            log.info("登録済みのイベントのため無視します: {}", webhookEventId);
+            return false;
+        }
+
+        LineEventInboxEntity event = new LineEventInboxEntity();
+        event.setWebhookEventId(webhookEventId);
+        event.setUserId(userId);
+        event.setText(text);
+        event.setRawEvent(rawEvent);
+        event.setTraceparent(traceparent);
+        event.setStatus(InboxStatus.PENDING);
+        event.setAttempts(0);
+        event.setNextAttemptAt(LocalDateTime.now());
+
+        try {
+            lineEventInboxRepository.saveAndFlush(event);
+            return true;
+
+        // 同時に受信した同一イベント（一意制約違反）
+        } catch (DataIntegrityViolationException e) {
+            log.info("登録済みのイベントのため無視します: {}", webhookEventId);
+            return false;
+        }
+    }
+
+    /*
+     * 処理対象のイベントを取得し、処理中に更新する。
+     * 処理中のイベントは次回処理日時をリースの期限とし、期限を過ぎたもの（ワーカーの停止など）も再取得する。
+     * 対象の行はロックして取得し、ほかのワーカー・インスタンスが取得中の行は読み飛ばす。
+     * （同じイベントを複数のワーカーが同時に取得しない）
+     * limit: 最大取得件数
+     * return: 処理対象のイベント
+     */
+    @Transactional
+    public List<LineEventInboxEntity> claimDueEvents(int limit) {
+
+        LocalDateTime now = LocalDateTime.now();
+        List<LineEventInboxEntity> events = lineEventInboxRepository
+                .findByStatusInAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                        CLAIMABLE, now, PageRequest.of(0, limit));
+
+        for (LineEventInboxEntity event : events) {
+            if (event.getStatus() == InboxStatus.PROCESSING) {
+                log.warn("リース期限を過ぎた処理中のイベントを再取得します: {}", event.getWebhookEventId());
+            }
+            event.setStatus(InboxStatus.PROCESSING);
+            event.setAttempts(event.getAttempts() + 1);
+            event.setNextAttemptAt(now.plusNanos(leaseMs * 1_000_000L));
+        }
+        return events;
+    }
+
+    /*
+     * 処理済みに更新する。（不審者情報の登録と同じトランザクションで実行）
+     * 取得後にリースの期限を過ぎてほかのワーカーが再取得した場合は更新せず、例外を送出して登録ごとロールバックさせる。
+     * claimed: 取得したイベント
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void markDone(LineEventInboxEntity claimed) {
+
+        int updated = lineEventInboxRepository.updateDone(claimed.getId(), claimed.getAttempts(),
+                InboxStatus.PROCESSING, InboxStatus.DONE, LocalDateTime.now());
+        if (updated == 0) {
+            throw new LeaseLostException(claimed.getWebhookEventId());
+        }
+    }
+
+    /*
+     * 処理失敗時の更新。再試行可能な場合は再試行待ちにする。
+     * 取得後にリースの期限を過ぎてほかのワーカーが再取得した場合は更新しない。
+     * claimed: 取得したイベント
+     * ex: 発生した例外
+     * return: 更新後のステータス
+     */
+    @Transactional
+    public InboxStatus markFailed(LineEventInboxEntity claimed, Exception ex) {
+
+        LineEventInboxEntity event = lineEventInboxRepository.findById(claimed.getId()).orElse(null);
+        if (event == null) {
+            return InboxStatus.FAILED;
+        }
+        if (event.getStatus() != InboxStatus.PROCESSING || event.getAttempts() != claimed.getAttempts()) {
+            log.warn("イベントのリースの期限を過ぎたため、処理結果を反映しません: {}", event.getWebhookEventId());
+            return event.getStatus();
+        }
+
+        event.setLastError(StringUtils.abbreviate(String.valueOf(ex.getMessage()), 1000));
+
+        // 入力誤り、または最大試行回数に到達した場合は再試行しない
+        if (!isRetryable(ex) || event.getAttempts() >= maxAttempts) {
+            event.setStatus(InboxStatus.FAILED);
+            log.warn("イベントの処理に失敗しました（再試行なし）: {}", event.getWebhookEventId());
+            return InboxStatus.FAILED;
+        }
+
+        // 指数バックオフ
+        long delayMs = Math.min(backoffMaxMs, backoffInitialMs << Math.min(event.getAttempts() - 1, 30));
+        event.setStatus(InboxStatus.PENDING);
+        event.setNextAttemptAt(LocalDateTime.now().plusNanos(delayMs * 1_000_000L));
+        log.warn("イベントの処理に失敗しました（{}ms後に再試行）: {}", delayMs, event.getWebhookEventId());
+        return InboxStatus.PENDING;
+    }
+
+    /*
+     * 未処理のイベント件数を取得する。
+     * return: 未処理のイベント件数
+     */
+    public long countPending() {
+        return lineEventInboxRepository.countByStatus(InboxStatus.PENDING);
+    }
+
+    /*
+     * 再試行可否の判定
+     * ex: 発生した例外
+     * return: true: 再試行可能
+     */
+    private boolean isRetryable(Exception ex) {
+
+        // メッセージの入力誤りは何度処理しても失敗する
+        return !(ex instanceof IllegalArgumentException || ex instanceof DateTimeParseException);
+    }
+}
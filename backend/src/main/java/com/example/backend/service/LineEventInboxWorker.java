@@ -0,0 +1,295 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.LineEventInboxEntity;
+import com.example.backend.entity.ReportEntity;
+import com.example.backend.model.InboxStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.transport.ReceiverContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LINE受信イベント（Inbox）を非同期で処理するワーカー
+ * 上限付きのスレッドプールで処理し、1回の処理件数を制限する（バックプレッシャー）。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LineEventInboxWorker {
+
+    // W3C Trace Contextのキー
+    private static final String TRACEPARENT = "traceparent";
+
+    private final LineEventInboxService lineEventInboxService;
+    private final ReportService reportService;
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observationRegistry;
+    private final PlatformTransactionManager transactionManager;
+
+    // ワーカースレッド数
+    @Value("${line.inbox.workers:4}")
+    private int workers;
+
+    // 待ち行列の上限
+    @Value("${line.inbox.queue-capacity:100}")
+    private int queueCapacity;
+
+    // 1回の処理件数
+    @Value("${line.inbox.batch-size:50}")
+    private int batchSize;
+
+    private ThreadPoolExecutor executor;
+    private TransactionTemplate transactionTemplate;
+    private final AtomicBoolean ready = new AtomicBoolean(false);
+    private final AtomicLong pendingCount = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private Counter doneCounter;
+    private Counter retryCounter;
+    private Counter failedCounter;
+    private Counter leaseLostCounter;
+    private Timer lagTimer;
+
+    @PostConstruct
+    void init() {
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "line-inbox-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // 待ち行列が満杯の場合は取得元スレッドで処理し、取得を抑制する
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // バックプレッシャーのメトリクス
+        Gauge.builder("line.inbox.pending", pendingCount, AtomicLong::get)
+                .description("未処理のイベント件数")
+                .register(meterRegistry);
+        Gauge.builder("line.inbox.in_flight", inFlight, AtomicInteger::get)
+                .description("処理中のイベント件数")
+                .register(meterRegistry);
+        Gauge.builder("line.inbox.queue.remaining", executor, e -> e.getQueue().remainingCapacity())
+                .description("待ち行列の空き容量")
+                .register(meterRegistry);
+        doneCounter = meterRegistry.counter("line.inbox.processed", "result", "done");
+        retryCounter = meterRegistry.counter("line.inbox.processed", "result", "retry");
+        failedCounter = meterRegistry.counter("line.inbox.processed", "result", "failed");
+        leaseLostCounter = meterRegistry.counter("line.inbox.processed", "result", "lease_lost");
+        lagTimer = Timer.builder("line.inbox.lag")
+                .description("受信から処理完了までの時間")
+                .register(meterRegistry);
+    }
+
+    /*
+     * 起動時、処理を開始する。
+     * （前回停止時に処理中だったイベントは、リースの期限後にclaimDueEventsで再取得される）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        ready.set(true);
+    }
+
+    /*
+     * 未処理のイベントを取得し、まとめて処理する。
+     */
+    @Scheduled(fixedDelayString = "${line.inbox.poll-interval-ms:500}")
+    public void drain() {
+
+        if (!ready.get()) {
+            return;
+        }
+
+        try {
+            pendingCount.set(lineEventInboxService.countPending());
+
+            List<LineEventInboxEntity> events = lineEventInboxService.claimDueEvents(batchSize);
+            if (!events.isEmpty()) {
+                processBatch(events);
+            }
+
+        } catch (Exception e) {
+            log.error("受信イベントの取得に失敗しました", e);
+        }
+    }
+
+    /*
+     * 受信イベントをまとめて処理する。
+     * 解析・座標情報取得はワーカースレッドで並列に行い（イベント単位でエラーを分離）、
+     * 成功分の不審者情報は1回のJDBCバッチで登録する。
+     * 登録と処理済みへの更新は1つのトランザクションで行い、再取得されたイベントの重複登録を防ぐ。
+     * イベントごとの処理（受信時のトレースの続き）は登録の完了まで計測する。
+     * events: 受信イベント
+     */
+    private void processBatch(List<LineEventInboxEntity> events) {
+
+        // 解析・座標情報取得（並列）
+        Map<LineEventInboxEntity, Observation> observations = new LinkedHashMap<>();
+        Map<LineEventInboxEntity, CompletableFuture<ReportEntity>> futures = new LinkedHashMap<>();
+        for (LineEventInboxEntity event : events) {
+            inFlight.incrementAndGet();
+            Observation observation = startObservation(event);
+            observations.put(event, observation);
+            futures.put(event, CompletableFuture.supplyAsync(
+                    () -> observation.scoped(() -> reportService.prepareReport(event.getUserId(), event.getText())),
+                    executor));
+        }
+
+        Map<LineEventInboxEntity, ReportEntity> prepared = new LinkedHashMap<>();
+        futures.forEach((event, future) -> {
+            try {
+                prepared.put(event, future.join());
+            } catch (CompletionException e) {
+                onFailure(event, observations.get(event), e.getCause() instanceof Exception ex ? ex : e);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+
+        if (prepared.isEmpty()) {
+            return;
+        }
+
+        // 一括登録
+        try {
+            save(prepared);
+            for (LineEventInboxEntity event : prepared.keySet()) {
+                onSuccess(event, observations.get(event));
+            }
+
+        } catch (Exception e) {
+            // 一括登録に失敗した場合、1件ずつ登録して失敗したイベントを特定する
+            log.warn("不審者情報の一括登録に失敗したため、1件ずつ登録します", e);
+            prepared.forEach((event, report) -> {
+                try {
+                    report.setId(null);
+                    observations.get(event).scoped(() -> save(Map.of(event, report)));
+                    onSuccess(event, observations.get(event));
+                } catch (LineEventInboxService.LeaseLostException ex) {
+                    onLeaseLost(event, observations.get(event), ex);
+                } catch (Exception ex) {
+                    onFailure(event, observations.get(event), ex);
+                }
+            });
+        }
+    }
+
+    /*
+     * 不審者情報を登録し、受信イベントを処理済みに更新する。（1つのトランザクション）
+     * いずれかのイベントのリースが失われていた場合は、登録ごとロールバックする。
+     * prepared: 受信イベント→不審者情報Entity
+     */
+    private void save(Map<LineEventInboxEntity, ReportEntity> prepared) {
+
+        transactionTemplate.executeWithoutResult(status -> {
+            reportService.saveReports(new ArrayList<>(prepared.values()));
+            for (LineEventInboxEntity event : prepared.keySet()) {
+                lineEventInboxService.markDone(event);
+            }
+        });
+    }
+
+    /*
+     * イベントごとの処理の計測を開始する。
+     * 受信時に保存したtraceparentを親とし、Webhook受信から登録までを1つのトレースとする。
+     * event: 受信イベント
+     * return: 計測
+     */
+    private Observation startObservation(LineEventInboxEntity event) {
+
+        ReceiverContext<LineEventInboxEntity> context = new ReceiverContext<>(
+                (carrier, key) -> TRACEPARENT.equals(key) ? carrier.getTraceparent() : null);
+        context.setCarrier(event);
+        return Observation.createNotStarted("line.inbox.process", () -> context, observationRegistry)
+                .lowCardinalityKeyValue("attempt", event.getAttempts() > 1 ? "retry" : "first")
+                .start();
+    }
+
+    /*
+     * 処理成功時（登録・処理済みへの更新はコミット済み）
+     * event: 受信イベント
+     * observation: イベントごとの処理の計測
+     */
+    private void onSuccess(LineEventInboxEntity event, Observation observation) {
+
+        doneCounter.increment();
+        lagTimer.record(Duration.between(event.getCreated(), LocalDateTime.now()));
+        observation.lowCardinalityKeyValue("result", "done").stop();
+    }
+
+    /*
+     * リースを失った場合（ほかのワーカーが再取得済みのため、登録・更新しない）
+     * event: 受信イベント
+     * observation: イベントごとの処理の計測
+     * ex: 発生した例外
+     */
+    private void onLeaseLost(LineEventInboxEntity event, Observation observation, Exception ex) {
+
+        log.warn(ex.getMessage());
+        leaseLostCounter.increment();
+        observation.lowCardinalityKeyValue("result", "lease_lost").stop();
+    }
+
+    /*
+     * 処理失敗時
+     * event: 受信イベント
+     * observation: イベントごとの処理の計測
+     * ex: 発生した例外
+     */
+    private void onFailure(LineEventInboxEntity event, Observation observation, Exception ex) {
+
+        log.error("受信イベントの処理に失敗しました: {}", event.getWebhookEventId(), ex);
+        observation.error(ex);
+        InboxStatus status = InboxStatus.FAILED;
+        try {
+            status = lineEventInboxService.markFailed(event, ex);
+            (status == InboxStatus.PENDING ? retryCounter : failedCounter).increment();
+        } catch (Exception e) {
+            // 更新できない場合は処理中のまま残り、リースの期限後に再処理される
+            log.error("受信イベントの更新に失敗しました: {}", event.getWebhookEventId(), e);
+        } finally {
+            observation.lowCardinalityKeyValue("result", status == InboxStatus.PENDING ? "retry" : "failed").stop();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+}
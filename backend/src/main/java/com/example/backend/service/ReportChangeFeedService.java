@@ -0,0 +1,93 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.ReportDeltaDto;
+import com.example.backend.dto.ReportSearchCondition;
+import com.example.backend.model.ReportChange;
+import com.example.backend.model.ReportFeedCursor;
+import com.example.backend.repository.ReportRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 不審者情報の差分取得
+ * IDはインスタンスごとにまとめて採番され、登録も並列に行われるため、IDの順序はコミットの順序と一致しない。
+ * そのため更新日時・IDの組（ReportFeedCursor）で位置を表し、更新からコミットまでの猶予より前の位置のみを確定とする。
+ * 重複の併合で更新された不審者情報は、更新日時の位置で再度返却される。
+ * 確定より後の不審者情報は次回も返却される場合がある（少なくとも1回）ため、受信側はIDで重複を除く。
+ */
+@Service
+@RequiredArgsConstructor
+public class ReportChangeFeedService {
+
+    private final ReportRepository reportRepository;
+    private final ReportFeedVersionService reportFeedVersionService;
+
+    // 更新からコミットまでの猶予（秒、インスタンス間の時刻のずれを含む）
+    @Value("${report.feed.grace-seconds:30}")
+    private long graceSeconds;
+
+    /*
+     * 確定済みの位置を取得する。
+     * 更新日時がこれ以前の不審者情報は、以降に新たにコミットされないものとみなす。
+     * return: 確定済みの位置
+     */
+    public ReportFeedCursor horizon() {
+        return new ReportFeedCursor(LocalDateTime.now().minusSeconds(graceSeconds), Long.MAX_VALUE);
+    }
+
+    /*
+     * 次回の取得に使用できる位置に変換する。（確定済みの位置を超えない）
+     * position: 返却した不審者情報の位置
+     * return: 次回の取得に指定する位置
+     */
+    public ReportFeedCursor stable(ReportFeedCursor position) {
+        return ReportFeedCursor.min(position, horizon());
+    }
+
+    /*
+     * 指定位置より後に登録・更新された不審者情報を更新順に取得する。
+     * bounds: 表示範囲（未指定の場合、全範囲）
+     * since: 前回の位置
+     * maxResults: 最大取得件数
+     * return: 不審者情報
+     */
+    public List<ReportChange> findChanges(ReportSearchCondition bounds, ReportFeedCursor since, int maxResults) {
+        return reportRepository.searchChanges(bounds, since, maxResults);
+    }
+
+    /*
+     * 前回取得以降に登録・更新された不審者情報（地図ピン用）を取得する。
+     * 一覧の版数の最新の更新日時が前回の位置より前の場合、不審者情報を参照しない。
+     * since: 前回返却したカーソル
+     * maxResults: 最大取得件数
+     * return: 不審者情報の差分Dto
+     */
+    public ReportDeltaDto getChanges(ReportFeedCursor since, int maxResults) {
+
+        LocalDateTime maxUpdated = reportFeedVersionService.getVersion().getMaxUpdated();
+        if (maxUpdated == null || maxUpdated.isBefore(since.getUpdated())) {
+            return new ReportDeltaDto(since.format(), false, List.of());
+        }
+
+        // 取得前に確定済みの位置を決める（取得後にコミットされた分を飛ばさない）
+        ReportFeedCursor horizon = horizon();
+        List<ReportChange> changes = findChanges(new ReportSearchCondition(), since, maxResults);
+
+        // 最大件数未満の場合は確定済みの位置まで、最大件数の場合は最後の位置（確定済みの位置を超えない）まで進める
+        ReportFeedCursor cursor = horizon;
+        boolean hasMore = false;
+        if (changes.size() == maxResults) {
+            ReportFeedCursor last = changes.get(changes.size() - 1).getPosition();
+            cursor = ReportFeedCursor.min(last, horizon);
+            // 確定前の分のみが残る場合は、確定を待って再取得する
+            hasMore = last.compareTo(horizon) <= 0;
+        }
+
+        return new ReportDeltaDto(ReportFeedCursor.max(since, cursor).format(), hasMore,
+                changes.stream().map(ReportChange::getReport).toList());
+    }
+}
@@ -0,0 +1,375 @@
+package com.example.backend.service;
+
+import com.example.backend.common.util.TileUtils;
+import com.example.backend.dto.ReportClusterDto;
+import com.example.backend.entity.ReportCellEntity;
+import com.example.backend.entity.ReportEntity;
+import com.example.backend.model.CellCount;
+import com.example.backend.model.ReportPoint;
+import com.example.backend.repository.ReportCellRepository;
+import com.example.backend.repository.ReportRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * 不審者情報のクラスタ集計
+ * 地図タイル（z/x/y）をさらに格子に分割して集計し、タイル単位でキャッシュする。
+ * キャッシュはTileVersionServiceの版数と一致する場合のみ有効とし、登録時は該当タイルのみ再集計される。
+ * 格子集計用のズームレベル以下のタイルは、登録時に加算する格子集計（report_cells）を合算して求め、
+ * 範囲内の不審者情報を走査しない（参照件数は格子の数による）。より詳細なタイルは範囲内の位置から集計する。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReportClusterService {
+
+    // タイル1辺あたりの格子数
+    private static final int CELLS_PER_TILE = 8;
+
+    // クラスタあたりの代表の不審者情報ID数
+    private static final int REPRESENTATIVE_IDS = 3;
+
+    // 格子集計から集計する最大ズームレベル（1タイル約8km四方）
+    private static final int AGGREGATE_ZOOM = 12;
+
+    // 格子集計のズームレベル（格子集計から集計する最大ズームレベルの格子）
+    private static final int CELL_ZOOM = AGGREGATE_ZOOM + Integer.numberOfTrailingZeros(CELLS_PER_TILE);
+
+    // 再作成時の一括登録の件数
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final ReportRepository reportRepository;
+    private final ReportCellRepository reportCellRepository;
+    private final TileVersionService tileVersionService;
+    private final PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // 格子の作成（登録のトランザクションから独立させる）
+    private TransactionTemplate requiresNew;
+
+    // 1リクエストあたりの最大タイル数
+    @Value("${report.cluster.max-tiles:256}")
+    private int maxTiles;
+
+    // キャッシュするタイル数の上限
+    @Value("${report.cluster.cache.max-tiles:10000}")
+    private int cacheMaxTiles;
+
+    private Map<Long, CachedTile> tileCache;
+
+    // タイル単位のキャッシュ
+    private record CachedTile(long version, List<ReportClusterDto> clusters) {
+    }
+
+    // 格子単位の集計
+    private static class Cell {
+        private int count;
+        private double sumLat;
+        private double sumLng;
+        private final List<Long> reportIds = new ArrayList<>();
+    }
+
+    // 格子集計の格子（格子集計のズームレベルのタイル）
+    private record CellKey(int cellX, int cellY) {
+
+        private static CellKey of(double latitude, double longitude) {
+            return new CellKey(TileUtils.lngToTileX(longitude, CELL_ZOOM), TileUtils.latToTileY(latitude, CELL_ZOOM));
+        }
+    }
+
+    // 格子集計の加算分
+    private static class CellDelta {
+        private long count;
+        private double sumLat;
+        private double sumLng;
+        private long latestId;
+
+        private void add(long id, double latitude, double longitude) {
+            count++;
+            sumLat += latitude;
+            sumLng += longitude;
+            latestId = Math.max(latestId, id);
+        }
+    }
+
+    // 格子の更新順（同時に登録するトランザクション間で行ロックの順序をそろえる）
+    private static final Comparator<CellKey> CELL_ORDER = Comparator.comparingInt(CellKey::cellX)
+            .thenComparingInt(CellKey::cellY);
+
+    @PostConstruct
+    void init() {
+        requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        tileCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedTile> eldest) {
+                return size() > cacheMaxTiles;
+            }
+        });
+    }
+
+    /*
+     * 格子集計が空の場合は不審者情報から再作成する。（起動時、ReportRollupMigrationから実行）
+     * NOTE: 再作成中に登録された不審者情報は二重に計上される場合があるため、登録の受付前に実行すること
+     */
+    @Transactional
+    public void rebuildIfEmpty() {
+
+        if (reportCellRepository.count() > 0) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        Map<CellKey, CellDelta> deltas = new HashMap<>();
+        try (Stream<ReportPoint> points = reportRepository.streamPoints()) {
+            points.forEach(point -> deltas
+                    .computeIfAbsent(CellKey.of(point.getLatitude(), point.getLongitude()), cell -> new CellDelta())
+                    .add(point.getId(), point.getLatitude(), point.getLongitude()));
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<ReportCellEntity> batch = new ArrayList<>(REBUILD_BATCH_SIZE);
+        for (Map.Entry<CellKey, CellDelta> entry : deltas.entrySet()) {
+            batch.add(toEntity(entry.getKey(), entry.getValue()));
+            if (batch.size() == REBUILD_BATCH_SIZE) {
+                saveBatch(batch);
+            }
+        }
+        saveBatch(batch);
+
+        log.info("不審者情報の格子集計を再作成しました: {}件, {}ms",
+                deltas.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /*
+     * 登録した不審者情報を格子集計に加算する。（不審者情報の登録と同じトランザクションで実行）
+     * 格子がない場合は、件数0の格子を別のトランザクションで作成してから加算する。
+     * reports: 登録した不審者情報Entity
+     */
+    @Transactional
+    public void increment(List<ReportEntity> reports) {
+
+        Map<CellKey, CellDelta> deltas = new TreeMap<>(CELL_ORDER);
+        for (ReportEntity report : reports) {
+            deltas.computeIfAbsent(CellKey.of(report.getLatitude(), report.getLongitude()), cell -> new CellDelta())
+                    .add(report.getId(), report.getLatitude(), report.getLongitude());
+        }
+
+        for (Map.Entry<CellKey, CellDelta> entry : deltas.entrySet()) {
+            CellKey cell = entry.getKey();
+            if (add(cell, entry.getValue()) == 0) {
+                createCell(cell);
+                if (add(cell, entry.getValue()) == 0) {
+                    throw new IllegalStateException("格子を作成できませんでした: " + cell);
+                }
+            }
+        }
+    }
+
+    // 格子に加算（対象がない場合、0を返却）
+    private int add(CellKey cell, CellDelta delta) {
+        return reportCellRepository.increment(cell.cellX(), cell.cellY(), delta.count,
+                delta.sumLat, delta.sumLng, delta.latestId);
+    }
+
+    /*
+     * 件数0の格子を作成し、独立してコミットする。（登録がロールバックされても件数0のため影響しない）
+     * 同時に作成された場合（一意制約違反）は作成済みとして扱う。
+     * cell: 格子
+     */
+    private void createCell(CellKey cell) {
+
+        try {
+            requiresNew.executeWithoutResult(status -> reportCellRepository.saveAndFlush(toEntity(cell, new CellDelta())));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("格子は作成済みです: {}", cell);
+        }
+    }
+
+    /*
+     * 表示範囲内のクラスタを取得する。
+     * 日付変更線をまたぐ表示範囲（西端経度 > 東端経度）は、西端〜東経180度と西経180度〜東端のタイルを取得する。
+     * minLat: 緯度（南端）
+     * minLng: 経度（西端）
+     * maxLat: 緯度（北端）
+     * maxLng: 経度（東端）
+     * zoom: ズームレベル
+     * return: クラスタ
+     */
+    public List<ReportClusterDto> getClusters(double minLat, double minLng, double maxLat, double maxLng, int zoom) {
+
+        int z = Math.min(Math.max(zoom, 0), TileUtils.MAX_ZOOM);
+        int tiles = 1 << z;
+        int minX = TileUtils.lngToTileX(minLng, z);
+        int maxX = TileUtils.lngToTileX(maxLng, z);
+        int minY = TileUtils.latToTileY(maxLat, z);
+        int maxY = TileUtils.latToTileY(minLat, z);
+        int columns = minLng > maxLng ? Math.min(tiles - minX + maxX + 1, tiles) : maxX - minX + 1;
+
+        long tileCount = (long) columns * (maxY - minY + 1);
+        if (tileCount > maxTiles) {
+            throw new IllegalArgumentException("表示範囲に対してズームレベルが大きすぎます: " + tileCount + "タイル");
+        }
+
+        List<ReportClusterDto> clusters = new ArrayList<>();
+        for (int column = 0; column < columns; column++) {
+            int x = (minX + column) % tiles;
+            for (int y = minY; y <= maxY; y++) {
+                clusters.addAll(getTileClusters(z, x, y));
+            }
+        }
+        return clusters;
+    }
+
+    /*
+     * タイル内のクラスタを取得する。（キャッシュあり）
+     * zoom: ズームレベル
+     * x: タイルX
+     * y: タイルY
+     * return: クラスタ
+     */
+    public List<ReportClusterDto> getTileClusters(int zoom, int x, int y) {
+
+        long key = TileUtils.tileKey(zoom, x, y);
+        long version = tileVersionService.getVersion(zoom, x, y);
+
+        CachedTile cached = tileCache.get(key);
+        if (cached != null && cached.version() == version) {
+            return cached.clusters();
+        }
+
+        // 集計中に登録があった場合は版数が進むため、次回参照時に再集計される
+        List<ReportClusterDto> clusters = computeTileClusters(zoom, x, y);
+        tileCache.put(key, new CachedTile(version, clusters));
+        return clusters;
+    }
+
+    /*
+     * タイル内のクラスタを集計する。
+     * zoom: ズームレベル
+     * x: タイルX
+     * y: タイルY
+     * return: クラスタ
+     */
+    private List<ReportClusterDto> computeTileClusters(int zoom, int x, int y) {
+
+        if (zoom <= AGGREGATE_ZOOM) {
+            return aggregateTileClusters(zoom, x, y);
+        }
+
+        // 格子はタイルをさらに細分化したズームレベルのタイルとする
+        int cellZoom = zoom + Integer.numberOfTrailingZeros(CELLS_PER_TILE);
+        double north = TileUtils.tileYToLat(y, zoom);
+        double south = TileUtils.tileYToLat(y + 1, zoom);
+        double west = TileUtils.tileXToLng(x, zoom);
+        double east = TileUtils.tileXToLng(x + 1, zoom);
+
+        Map<Integer, Cell> cells = new LinkedHashMap<>();
+        for (ReportPoint point : reportRepository.findPointsWithin(south, north, west, east)) {
+            // 境界上の位置は隣接タイルと重複するため、所属タイルのみ集計
+            if (TileUtils.lngToTileX(point.getLongitude(), zoom) != x
+                    || TileUtils.latToTileY(point.getLatitude(), zoom) != y) {
+                continue;
+            }
+
+            int cellX = TileUtils.lngToTileX(point.getLongitude(), cellZoom) - x * CELLS_PER_TILE;
+            int cellY = TileUtils.latToTileY(point.getLatitude(), cellZoom) - y * CELLS_PER_TILE;
+            Cell cell = cells.computeIfAbsent(cellY * CELLS_PER_TILE + cellX, index -> new Cell());
+            cell.count++;
+            cell.sumLat += point.getLatitude();
+            cell.sumLng += point.getLongitude();
+            if (cell.reportIds.size() < REPRESENTATIVE_IDS) {
+                cell.reportIds.add(point.getId());
+            }
+        }
+
+        List<ReportClusterDto> clusters = new ArrayList<>(cells.size());
+        for (Cell cell : cells.values()) {
+            clusters.add(new ReportClusterDto(
+                    cell.count,
+                    cell.sumLat / cell.count,
+                    cell.sumLng / cell.count,
+                    List.copyOf(cell.reportIds)));
+        }
+        return List.copyOf(clusters);
+    }
+
+    /*
+     * タイル内のクラスタを格子集計から集計する。（格子集計から集計する最大ズームレベル以下のタイル）
+     * 代表の不審者情報IDは、格子内の最新の1件とする。
+     * zoom: ズームレベル
+     * x: タイルX
+     * y: タイルY
+     * return: クラスタ
+     */
+    private List<ReportClusterDto> aggregateTileClusters(int zoom, int x, int y) {
+
+        // タイル内の格子集計の範囲（1辺あたり 2^shift 個）を、CELLS_PER_TILE個四方の格子へ合算する
+        int shift = CELL_ZOOM - zoom;
+        int divisor = (1 << shift) / CELLS_PER_TILE;
+        List<CellCount> counts = reportCellRepository.sumByCell(
+                x << shift, ((x + 1) << shift) - 1, y << shift, ((y + 1) << shift) - 1, divisor);
+
+        List<ReportClusterDto> clusters = new ArrayList<>(counts.size());
+        for (CellCount count : counts) {
+            // 作成後に登録がロールバックされた格子
+            if (count.getCount() == 0) {
+                continue;
+            }
+            clusters.add(new ReportClusterDto(
+                    (int) count.getCount(),
+                    count.getSumLat() / count.getCount(),
+                    count.getSumLng() / count.getCount(),
+                    List.of(count.getLatestId())));
+        }
+        return List.copyOf(clusters);
+    }
+
+    /*
+     * 格子集計を一括登録し、永続化コンテキストから切り離す。
+     * batch: 格子集計Entity（登録後に空にする）
+     */
+    private void saveBatch(List<ReportCellEntity> batch) {
+
+        reportCellRepository.saveAll(batch);
+        reportCellRepository.flush();
+        entityManager.clear();
+        batch.clear();
+    }
+
+    // 格子集計Entityの作成
+    private static ReportCellEntity toEntity(CellKey cell, CellDelta delta) {
+        ReportCellEntity entity = new ReportCellEntity();
+        entity.setCellX(cell.cellX());
+        entity.setCellY(cell.cellY());
+        entity.setReportCount(delta.count);
+        entity.setSumLat(delta.sumLat);
+        entity.setSumLng(delta.sumLng);
+        entity.setLatestId(delta.latestId);
+        return entity;
+    }
+}
@@ -0,0 +1,468 @@
+package com.example.backend.service;
+
+import com.example.backend.common.util.MinHashUtils;
+import com.example.backend.entity.DuplicateReportEntity;
+import com.example.backend.entity.ReportEntity;
+import com.example.backend.entity.TagEntity;
+import com.example.backend.event.ReportSavedEvent;
+import com.example.backend.model.GeoPoint;
+import com.example.backend.model.NormalizedAddress;
+import com.example.backend.parser.AddressNormalizer;
+import com.example.backend.repository.DuplicateReportRepository;
+import com.example.backend.repository.ReportRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 不審者情報の重複判定
+ * 同じ事案が複数の保護者から短時間に通報されるため、住所のキー・発生日時の区間・概要の類似度（MinHash）で
+ * 直近の不審者情報と照合し、重複するものは登録せずに既存の不審者情報へ関連付ける。
+ * 索引はメモリに保持し（有効期間を過ぎた要素は定期的に破棄）、1件あたりの照合は前後の区間の要素のみを参照する。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReportDedupService {
+
+    private final ReportRepository reportRepository;
+    private final DuplicateReportRepository duplicateReportRepository;
+    private final AddressNormalizer addressNormalizer;
+    private final MeterRegistry meterRegistry;
+
+    // 重複判定の有効・無効
+    @Value("${report.dedup.enabled:true}")
+    private boolean enabled;
+
+    // 発生日時の区間（分、この時間差以内を同じ事案の候補とする）
+    @Value("${report.dedup.bucket-minutes:30}")
+    private int bucketMinutes;
+
+    // 索引の有効期間（分、登録から）
+    @Value("${report.dedup.ttl-minutes:180}")
+    private int ttlMinutes;
+
+    // 重複とみなす概要の類似度
+    @Value("${report.dedup.similarity:0.5}")
+    private double threshold;
+
+    // 発生日時の区間（ミリ秒）
+    private long bucketMillis;
+
+    // 索引の有効期間（ミリ秒）
+    private long ttlMillis;
+
+    // 住所のキー・発生日時の区間→索引の要素（追加順、更新時は複製して置き換える）
+    private final Map<String, List<Entry>> buckets = new ConcurrentHashMap<>();
+
+    // 住所のキー→直近の索引の要素（座標情報の再利用）
+    private final Map<String, Entry> latest = new ConcurrentHashMap<>();
+
+    private Counter mergedCounter;
+    private Counter geocodeSkippedCounter;
+
+    /**
+     * 索引の要素
+     * 同じ一括登録内の未登録の不審者情報はIDを持たない（0）。
+     */
+    private static final class Entry {
+        private final long reportId;
+        private final String addressKey;
+        private final long occurAt;
+        private final long[] signature;
+        private final GeoPoint location;
+
+        // 有効期限（エポックミリ秒、重複の関連付けのコミット後に延長）
+        private volatile long expiresAt;
+
+        private Entry(long reportId, String addressKey, long occurAt, long[] signature, GeoPoint location,
+                long expiresAt) {
+            this.reportId = reportId;
+            this.addressKey = addressKey;
+            this.occurAt = occurAt;
+            this.signature = signature;
+            this.location = location;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    // 照合結果（索引の要素・概要の類似度）
+    private record Match(Entry entry, double similarity) {
+    }
+
+    /**
+     * 重複判定の結果
+     * unique: 登録する不審者情報Entity
+     * duplicates: 重複した不審者情報Entity（関連付ける不審者情報は未登録の場合がある）
+     * updated: 重複の併合により更新した登録済みの不審者情報Entity
+     */
+    public record Deduplication(List<ReportEntity> unique, List<DuplicateReportEntity> duplicates,
+            List<ReportEntity> updated) {
+    }
+
+    @PostConstruct
+    void init() {
+
+        if (bucketMinutes <= 0 || ttlMinutes <= 0) {
+            throw new IllegalStateException("重複判定の設定が不正です");
+        }
+        bucketMillis = bucketMinutes * 60_000L;
+        ttlMillis = ttlMinutes * 60_000L;
+
+        mergedCounter = Counter.builder("report.dedup.merged")
+                .description("重複として関連付けた不審者情報の件数")
+                .register(meterRegistry);
+        geocodeSkippedCounter = Counter.builder("report.dedup.geocode.skipped")
+                .description("索引の座標情報を再利用した件数")
+                .register(meterRegistry);
+        Gauge.builder("report.dedup.addresses", latest, Map::size)
+                .description("重複判定の索引に保持している住所数")
+                .register(meterRegistry);
+    }
+
+    /*
+     * 起動時、有効期間内に登録された不審者情報から索引を作成する。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warm() {
+
+        if (!enabled) {
+            return;
+        }
+
+        List<ReportEntity> recent = reportRepository.findByCreatedGreaterThanEqualOrderByIdAsc(
+                LocalDateTime.now().minusMinutes(ttlMinutes));
+        for (ReportEntity report : recent) {
+            long created = toEpochMillis(report.getCreated());
+            add(toEntry(report, created, created + ttlMillis));
+        }
+        if (!recent.isEmpty()) {
+            log.info("重複判定の索引を作成しました: {}件", recent.size());
+        }
+    }
+
+    /*
+     * 登録した不審者情報を索引に追加する。（コミット後）
+     * event: 不審者情報の登録イベント
+     */
+    @TransactionalEventListener
+    public void onReportSaved(ReportSavedEvent event) {
+
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        add(toEntry(event.getReport(), now, now + ttlMillis));
+    }
+
+    /*
+     * 直近に登録された同じ住所の不審者情報の座標情報を取得する。（座標情報取得の省略用）
+     * address: 正規化済みの住所
+     * return: 座標情報（該当なしの場合、null）
+     */
+    public GeoPoint findLocation(NormalizedAddress address) {
+
+        if (!enabled) {
+            return null;
+        }
+        Entry entry = latest.get(address.getKey());
+        if (entry == null || entry.expiresAt <= System.currentTimeMillis()) {
+            return null;
+        }
+        geocodeSkippedCounter.increment();
+        return entry.location;
+    }
+
+    /*
+     * 登録前の不審者情報の重複を判定する。（不審者情報の登録と同じトランザクションで実行）
+     * 索引（登録済み）と一致しない場合は、同じ一括登録内で先に判定した不審者情報と照合する。
+     * 重複した不審者情報のタグ・番地以降は、関連付ける不審者情報へ統合する。
+     * reports: 不審者情報Entity
+     * return: 重複判定の結果
+     */
+    public Deduplication deduplicate(List<ReportEntity> reports) {
+        return deduplicate(reports, System.currentTimeMillis());
+    }
+
+    /*
+     * 重複した不審者情報を登録する。（関連付ける不審者情報の登録後に実行）
+     * deduplication: 重複判定の結果
+     */
+    public void saveDuplicates(Deduplication deduplication) {
+
+        if (deduplication.duplicates().isEmpty()) {
+            return;
+        }
+        duplicateReportRepository.saveAll(deduplication.duplicates());
+        mergedCounter.increment(deduplication.duplicates().size());
+        for (DuplicateReportEntity duplicate : deduplication.duplicates()) {
+            log.info("重複した不審者情報を関連付けました。IDは「{}」、ユーザーIDは「{}」、類似度は{}です。",
+                    duplicate.getReport().getId(), duplicate.getUserId(),
+                    String.format("%.2f", duplicate.getSimilarity()));
+        }
+    }
+
+    /*
+     * 有効期間を過ぎた索引の要素を破棄する。
+     */
+    @Scheduled(fixedDelayString = "${report.dedup.purge-interval-ms:60000}")
+    public void purge() {
+        purge(System.currentTimeMillis());
+    }
+
+    /*
+     * 登録前の不審者情報の重複を判定する。
+     * reports: 不審者情報Entity
+     * now: 受信時刻（エポックミリ秒）
+     * return: 重複判定の結果
+     */
+    Deduplication deduplicate(List<ReportEntity> reports, long now) {
+
+        if (!enabled) {
+            return new Deduplication(reports, List.of(), List.of());
+        }
+
+        List<ReportEntity> unique = new ArrayList<>(reports.size());
+        List<DuplicateReportEntity> duplicates = new ArrayList<>();
+        // 同じ一括登録内の索引（要素→不審者情報Entity）
+        Map<String, List<Entry>> batch = new HashMap<>();
+        Map<Entry, ReportEntity> batchReports = new HashMap<>();
+        // 更新した登録済みの不審者情報（ID→Entity）
+        Map<Long, ReportEntity> updated = new LinkedHashMap<>();
+        for (ReportEntity report : reports) {
+            Entry entry = toEntry(report, now, now + ttlMillis);
+
+            ReportEntity incident = null;
+            boolean registered = false;
+            Match match = findMatch(buckets, entry, now);
+            if (match != null) {
+                incident = reportRepository.getReferenceById(match.entry().reportId);
+                registered = true;
+                extendAfterCommit(match.entry(), now + ttlMillis);
+            } else {
+                match = findMatch(batch, entry, now);
+                if (match != null) {
+                    incident = batchReports.get(match.entry());
+                }
+            }
+
+            if (incident == null) {
+                unique.add(report);
+                batch.computeIfAbsent(bucketKey(entry.addressKey, bucketOf(entry.occurAt)), k -> new ArrayList<>())
+                        .add(entry);
+                batchReports.put(entry, report);
+                continue;
+            }
+            if (merge(incident, report) && registered) {
+                updated.put(incident.getId(), incident);
+            }
+            duplicates.add(toDuplicate(incident, report, match.similarity()));
+        }
+        return new Deduplication(unique, duplicates, new ArrayList<>(updated.values()));
+    }
+
+    /*
+     * 有効期間を過ぎた索引の要素を破棄する。
+     * now: 現在時刻（エポックミリ秒）
+     */
+    void purge(long now) {
+
+        for (String key : buckets.keySet()) {
+            buckets.computeIfPresent(key, (k, entries) -> {
+                List<Entry> alive = entries.stream().filter(entry -> entry.expiresAt > now).toList();
+                return alive.isEmpty() ? null : alive;
+            });
+        }
+        latest.values().removeIf(entry -> entry.expiresAt <= now);
+    }
+
+    /*
+     * 前後の区間の要素から、最も概要の類似度が高い要素を取得する。
+     * index: 索引（住所のキー・発生日時の区間→要素）
+     * entry: 照合する要素
+     * now: 現在時刻（エポックミリ秒）
+     * return: 照合結果（閾値以上の要素がない場合、null）
+     */
+    private Match findMatch(Map<String, List<Entry>> index, Entry entry, long now) {
+
+        long bucket = bucketOf(entry.occurAt);
+        Match best = null;
+        for (long b = bucket - 1; b <= bucket + 1; b++) {
+            List<Entry> candidates = index.get(bucketKey(entry.addressKey, b));
+            if (candidates == null) {
+                continue;
+            }
+            for (Entry candidate : candidates) {
+                if (candidate.expiresAt <= now || Math.abs(candidate.occurAt - entry.occurAt) > bucketMillis) {
+                    continue;
+                }
+                double similarity = MinHashUtils.similarity(candidate.signature, entry.signature);
+                if (similarity >= threshold && (best == null || similarity > best.similarity())) {
+                    best = new Match(candidate, similarity);
+                }
+            }
+        }
+        return best;
+    }
+
+    /*
+     * 索引の要素の有効期限を延長する。
+     * トランザクション内の場合はコミット後に延長する（ロールバックされた関連付けで延長しない）。
+     * entry: 索引の要素
+     * expiresAt: 有効期限（エポックミリ秒）
+     */
+    private static void extendAfterCommit(Entry entry, long expiresAt) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            entry.expiresAt = Math.max(entry.expiresAt, expiresAt);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                entry.expiresAt = Math.max(entry.expiresAt, expiresAt);
+            }
+        });
+    }
+
+    /*
+     * 重複した不審者情報のタグ・番地以降を、関連付ける不審者情報へ統合する。
+     * 登録済みの不審者情報は同じトランザクションで更新し、更新日時を進める（差分取得で再度返却する）。
+     * incident: 関連付ける不審者情報Entity
+     * report: 重複した不審者情報Entity
+     * return: true: 統合により変更あり
+     */
+    private boolean merge(ReportEntity incident, ReportEntity report) {
+
+        boolean changed = false;
+
+        // タグ（タグ辞書）：未設定のタグを追加
+        for (TagEntity tag : report.getTags()) {
+            boolean present = incident.getTags().stream()
+                    .anyMatch(current -> Objects.equals(current.getId(), tag.getId()));
+            if (!present) {
+                incident.getTags().add(tag);
+                changed = true;
+            }
+        }
+
+        // タグ1〜3（互換用）：空いている項目に未設定のタグを追加
+        for (String tag : new String[]{report.getTag1(), report.getTag2(), report.getTag3()}) {
+            if (StringUtils.isBlank(tag) || tag.equals(incident.getTag1()) || tag.equals(incident.getTag2())
+                    || tag.equals(incident.getTag3())) {
+                continue;
+            }
+            if (incident.getTag1() == null) {
+                incident.setTag1(tag);
+                changed = true;
+            } else if (incident.getTag2() == null) {
+                incident.setTag2(tag);
+                changed = true;
+            } else if (incident.getTag3() == null) {
+                incident.setTag3(tag);
+                changed = true;
+            }
+        }
+
+        // 番地以降：関連付ける不審者情報にない詳細（号より後ろの目印など）がある場合は置き換える
+        if (StringUtils.isNotBlank(report.getAddressDetails())
+                && (StringUtils.isBlank(incident.getAddressDetails())
+                || (restOf(incident).isEmpty() && !restOf(report).isEmpty()))) {
+            incident.setAddressDetails(report.getAddressDetails());
+            changed = true;
+        }
+
+        // タグの追加のみの場合も更新日時・版を進める
+        if (changed) {
+            incident.setUpdated(LocalDateTime.now());
+        }
+        return changed;
+    }
+
+    // 住所の号より後ろ（正規化済み）
+    private String restOf(ReportEntity report) {
+        return addressNormalizer.normalize(report.getPrefecture(), report.getMunicipality(),
+                report.getDistrict(), report.getAddressDetails()).getRest();
+    }
+
+    /*
+     * 索引に追加する。
+     * entry: 索引の要素
+     */
+    private void add(Entry entry) {
+
+        buckets.compute(bucketKey(entry.addressKey, bucketOf(entry.occurAt)), (k, entries) -> {
+            List<Entry> copy = entries == null ? new ArrayList<>(1) : new ArrayList<>(entries);
+            copy.add(entry);
+            return copy;
+        });
+        latest.merge(entry.addressKey, entry, (current, added) -> added.expiresAt >= current.expiresAt ? added : current);
+    }
+
+    /*
+     * 索引の要素を作成する。
+     * report: 不審者情報Entity
+     * receivedAt: 受信時刻（エポックミリ秒、発生日時がない場合に使用）
+     * expiresAt: 有効期限（エポックミリ秒）
+     * return: 索引の要素
+     */
+    private Entry toEntry(ReportEntity report, long receivedAt, long expiresAt) {
+
+        NormalizedAddress address = addressNormalizer.normalize(report.getPrefecture(), report.getMunicipality(),
+                report.getDistrict(), report.getAddressDetails());
+        long occurAt = report.getOccurDate() == null ? receivedAt : toEpochMillis(report.getOccurDate());
+        return new Entry(report.getId() == null ? 0L : report.getId(), address.getKey(), occurAt,
+                MinHashUtils.signature(report.getSummary()),
+                new GeoPoint(report.getLatitude(), report.getLongitude()), expiresAt);
+    }
+
+    // 重複した不審者情報Entityの作成
+    private static DuplicateReportEntity toDuplicate(ReportEntity incident, ReportEntity report, double similarity) {
+        DuplicateReportEntity duplicate = new DuplicateReportEntity();
+        duplicate.setReport(incident);
+        duplicate.setUserId(report.getUserId());
+        duplicate.setOccurDate(report.getOccurDate());
+        duplicate.setSummary(report.getSummary());
+        duplicate.setSimilarity(similarity);
+        return duplicate;
+    }
+
+    // 発生日時の区間
+    private long bucketOf(long occurAt) {
+        return Math.floorDiv(occurAt, bucketMillis);
+    }
+
+    // 索引のキー（住所のキー・発生日時の区間）
+    private static String bucketKey(String addressKey, long bucket) {
+        return addressKey + '|' + bucket;
+    }
+
+    // LocalDateTime→エポックミリ秒
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.ReportDto;
+import com.example.backend.entity.ReportEntity;
+import com.example.backend.repository.ReportRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * 不審者情報のストリーミング出力
+ */
+@Service
+@RequiredArgsConstructor
+public class ReportExportService {
+
+    // 出力をフラッシュする件数
+    private static final int FLUSH_INTERVAL = 500;
+
+    private final ReportRepository reportRepository;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /*
+     * 全件の不審者情報をJSON配列で書き出す。
+     * DBカーソルから1件ずつ読み込み、書き出し後は永続化コンテキストから切り離す。
+     * outputStream: 出力先
+     * converter: Entity→Dto変換
+     */
+    @Transactional(readOnly = true)
+    public void writeAll(OutputStream outputStream, Function<ReportEntity, ReportDto> converter) throws IOException {
+
+        // 1件ごとのフラッシュを抑止し、一定件数ごとにフラッシュする
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+                Stream<ReportEntity> reports = reportRepository.streamAllOrderById()) {
+
+            // 出力先のクローズはサーブレットコンテナに任せる
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+
+            int count = 0;
+            Iterator<ReportEntity> iterator = reports.iterator();
+            while (iterator.hasNext()) {
+                ReportEntity report = iterator.next();
+                writer.writeValue(generator, converter.apply(report));
+                entityManager.detach(report);
+
+                if (++count % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+
+            generator.writeEndArray();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.backend.service;
+
+import com.example.backend.event.ReportSavedEvent;
+import com.example.backend.event.ReportUpdatedEvent;
+import com.example.backend.model.ReportFeedVersion;
+import com.example.backend.repository.ReportRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 不審者情報一覧の版数管理
+ * 版数はDB（最大ID・更新回数・最新の更新日時）から取得し、ほかのインスタンスの登録も反映する。
+ * 参照のたびにDBを使用しないよう短時間キャッシュし、このインスタンスでの登録時は破棄する。
+ */
+@Service
+@RequiredArgsConstructor
+public class ReportFeedVersionService {
+
+    private final ReportRepository reportRepository;
+
+    // 版数のキャッシュ期間（ミリ秒、ほかのインスタンスの登録が反映されるまでの最大の遅れ）
+    @Value("${report.feed.version-ttl-ms:1000}")
+    private long ttlMs;
+
+    // キャッシュした版数
+    private volatile Cached cached;
+
+    // 破棄の回数（取得中に破棄された場合、取得結果をキャッシュしない）
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private record Cached(ReportFeedVersion version, long loadedAt) {
+    }
+
+    /*
+     * 不審者情報の登録時、キャッシュした版数を破棄する。
+     * 一括取込の場合は1件ごとに破棄せず、キャッシュ期間の経過で反映する。
+     * event: 不審者情報の登録イベント
+     */
+    @TransactionalEventListener
+    public void onReportSaved(ReportSavedEvent event) {
+        if (!event.isImported()) {
+            invalidate();
+        }
+    }
+
+    /*
+     * 不審者情報の更新（重複の併合）時、キャッシュした版数を破棄する。
+     * event: 不審者情報の更新イベント
+     */
+    @TransactionalEventListener
+    public void onReportUpdated(ReportUpdatedEvent event) {
+        if (!event.isImported()) {
+            invalidate();
+        }
+    }
+
+    // キャッシュした版数を破棄する
+    public void invalidate() {
+        invalidations.incrementAndGet();
+        cached = null;
+    }
+
+    /*
+     * 一覧の版数を取得する。（キャッシュ期間内はDBを使用しない）
+     * return: 版数
+     */
+    public ReportFeedVersion getVersion() {
+
+        Cached current = cached;
+        if (current != null && System.nanoTime() - current.loadedAt() < ttlMs * 1_000_000L) {
+            return current.version();
+        }
+
+        synchronized (this) {
+            current = cached;
+            if (current != null && System.nanoTime() - current.loadedAt() < ttlMs * 1_000_000L) {
+                return current.version();
+            }
+
+            long invalidation = invalidations.get();
+            long loadedAt = System.nanoTime();
+            ReportFeedVersion version = reportRepository.findFeedVersion();
+            if (invalidations.get() == invalidation) {
+                cached = new Cached(version, loadedAt);
+            }
+            return version;
+        }
+    }
+
+    /*
+     * 一覧のETagを取得する。
+     * 登録順とIDの順序が一致しない場合・重複の併合による更新も検知できるよう、更新回数を含める。
+     * return: ETag
+     */
+    public String getETag() {
+        ReportFeedVersion version = getVersion();
+        return "\"reports-" + version.getMaxId() + "-" + version.getSequence() + "\"";
+    }
+
+    // 最終更新日時（エポックミリ秒、0件の場合、0）
+    public long getLastModified() {
+        LocalDateTime maxUpdated = getVersion().getMaxUpdated();
+        return maxUpdated == null ? 0L : toEpochMillis(maxUpdated);
+    }
+
+    private long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
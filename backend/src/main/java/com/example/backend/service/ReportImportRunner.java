@@ -0,0 +1,60 @@
+package com.example.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * 不審者情報の一括取込の起動
+ * report.import.fileを指定して起動した場合のみ有効とし、起動時の処理（タグ辞書・集計・読み取りモデル）の後に取り込む。
+ * 例: java -jar backend.jar --report.import.file=bulletins.jsonl --spring.main.web-application-type=none
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "report.import.file")
+public class ReportImportRunner {
+
+    private final ReportImportService reportImportService;
+    private final ConfigurableApplicationContext context;
+
+    // 取込ファイル
+    @Value("${report.import.file}")
+    private String file;
+
+    // 取込後に終了する（false: 取込後も受付を続ける）
+    @Value("${report.import.exit:true}")
+    private boolean exit;
+
+    /*
+     * 起動時、ファイルを取り込む。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void run() {
+
+        int exitCode = 0;
+        try {
+            reportImportService.importFile(Path.of(file));
+        } catch (Exception e) {
+            // 処理済みのレコードは記録済みのため、再実行すると続きから取り込む
+            log.error("一括取込に失敗しました: {}", file, e);
+            exitCode = 1;
+        }
+
+        if (exit) {
+            int code = exitCode;
+            System.exit(SpringApplication.exit(context, () -> code));
+        }
+    }
+}
@@ -0,0 +1,393 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.ImportCheckpointEntity;
+import com.example.backend.entity.ReportEntity;
+import com.example.backend.model.GeoPoint;
+import com.example.backend.model.ImportRecord;
+import com.example.backend.model.NormalizedAddress;
+import com.example.backend.parser.ImportRecordReader;
+import com.example.backend.repository.ImportCheckpointRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 不審者情報の一括取込
+ * ファイル（JSONL・CSV）をレコード単位で読み込み、解析・座標情報取得はスレッドプールで並列に、
+ * 登録は一括登録の単位でファイルの順に行う（次の単位の解析と並行）。
+ * 座標情報は取込中に同じ住所を1回だけ取得し、Geocoding APIの呼び出しの間隔・回数を制限する（利用枠）。
+ * 処理済みのレコード数は登録と同じトランザクションで記録し、中断した取込は続きから再開する。
+ * 取り込んだ不審者情報は購読者へ配信せず、タイルの版数は取込の終了時にまとめて更新する。
+ * NOTE: 解析（タグの登録）を並列に行うため、タグの登録はタグごとの独立したトランザクションで行う（TagService）。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReportImportService {
+
+    private final ReportService reportService;
+    private final GeocodeService geocodeService;
+    private final TileVersionService tileVersionService;
+    private final ReportFeedVersionService reportFeedVersionService;
+    private final ImportCheckpointRepository importCheckpointRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    // 一括登録の件数
+    @Value("${report.import.batch-size:500}")
+    private int batchSize;
+
+    // 解析・座標情報取得のスレッド数
+    @Value("${report.import.workers:4}")
+    private int workers;
+
+    // Geocoding APIの呼び出しの1秒あたりの上限（0: 制限なし）
+    @Value("${report.import.geocode-per-second:10}")
+    private double geocodePerSecond;
+
+    // Geocoding APIの呼び出し回数の上限（1回の取込あたり、0: 制限なし）
+    @Value("${report.import.geocode-limit:0}")
+    private long geocodeLimit;
+
+    // 取得済みの座標情報を保持する住所数
+    @Value("${report.import.address-cache-size:100000}")
+    private int addressCacheSize;
+
+    // ユーザーIDが未記載のレコードのユーザーID
+    @Value("${report.import.user-id:import}")
+    private String defaultUserId;
+
+    // ファイル形式（jsonl, csv、未指定の場合は拡張子から判定）
+    @Value("${report.import.format:}")
+    private String format;
+
+    /**
+     * 取込結果
+     * records: 処理したレコード数（今回の取込分）
+     * imported: 登録した件数
+     * duplicates: 重複として関連付けた件数
+     * failed: 解析・座標情報取得・登録に失敗した件数
+     * elapsedMillis: 処理時間（ミリ秒）
+     */
+    public record ImportResult(long records, long imported, long duplicates, long failed, long elapsedMillis) {
+
+        // 1秒あたりの処理件数
+        public double rowsPerSecond() {
+            return elapsedMillis == 0 ? 0 : records * 1000.0 / elapsedMillis;
+        }
+    }
+
+    // Geocoding APIの呼び出し回数の上限に達した場合（登録せずに取込を中断し、次回はこの単位から再開する）
+    private static final class QuotaExceededException extends RuntimeException {
+        private QuotaExceededException(long limit) {
+            super("Geocoding APIの呼び出し回数の上限に達しました: " + limit + "回");
+        }
+    }
+
+    // 一括登録の単位（先頭のレコード番号（1始まり）・解析結果）
+    private record Chunk(long first, List<CompletableFuture<ReportEntity>> futures) {
+    }
+
+    /*
+     * ファイルを取り込む。（取込済みの場合は何もしない）
+     * file: 取込ファイル（UTF-8）
+     * return: 取込結果
+     */
+    public ImportResult importFile(Path file) throws IOException {
+
+        String source = file.toAbsolutePath().normalize().toString();
+        ImportCheckpointEntity checkpoint = importCheckpointRepository.findById(source).orElse(null);
+        if (checkpoint != null && checkpoint.isCompleted()) {
+            log.info("取込済みのファイルです: {}（{}件）", source, checkpoint.getRecords());
+            return new ImportResult(0, 0, 0, 0, 0);
+        }
+        long skip = checkpoint == null ? 0 : checkpoint.getRecords();
+        if (skip > 0) {
+            log.info("前回の続きから取り込みます: {}（{}件目から）", source, skip + 1);
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "report-import-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Geocoder geocoder = new Geocoder();
+        long start = System.nanoTime();
+        long[] totals = new long[4];
+
+        try (ImportRecordReader reader = new ImportRecordReader(
+                Files.newBufferedReader(file, StandardCharsets.UTF_8), resolveFormat(file), objectMapper)) {
+            // 処理済みのレコードを読み飛ばす
+            long skipped = 0;
+            while (skipped < skip && reader.next() != null) {
+                skipped++;
+            }
+
+            Chunk chunk = submit(reader, skip + 1, executor, geocoder);
+            while (!chunk.futures().isEmpty()) {
+                // 次の単位の解析を先に開始し、登録と並行させる
+                Chunk next = submit(reader, chunk.first() + chunk.futures().size(), executor, geocoder);
+                long[] counts = commit(source, chunk);
+                for (int i = 0; i < totals.length; i++) {
+                    totals[i] += counts[i];
+                }
+                double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+                log.info("取込中: {}件目まで（登録{}件・重複{}件・失敗{}件）, {}件/秒",
+                        skip + totals[0], totals[1], totals[2], totals[3],
+                        String.format("%.1f", totals[0] / seconds));
+                chunk = next;
+            }
+
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                ImportCheckpointEntity completed = findCheckpoint(source);
+                completed.setCompleted(true);
+                importCheckpointRepository.save(completed);
+            });
+
+        } finally {
+            executor.shutdownNow();
+            // 取り込んだ分（中断した場合を含む）をタイル・一覧の版数へまとめて反映
+            if (totals[1] > 0) {
+                tileVersionService.invalidateAll();
+                reportFeedVersionService.invalidate();
+            }
+        }
+
+        ImportResult result = new ImportResult(totals[0], totals[1], totals[2], totals[3],
+                (System.nanoTime() - start) / 1_000_000);
+        log.info("取込が完了しました: {}, {}件（登録{}件・重複{}件・失敗{}件）, {}ms, {}件/秒, Geocoding API{}回",
+                source, result.records(), result.imported(), result.duplicates(), result.failed(),
+                result.elapsedMillis(), String.format("%.1f", result.rowsPerSecond()), geocoder.calls.get());
+        return result;
+    }
+
+    /*
+     * 一括登録の単位のレコードを読み込み、解析・座標情報取得を開始する。
+     * reader: 取込ファイル
+     * first: 先頭のレコード番号（1始まり）
+     * executor: 解析・座標情報取得のスレッドプール
+     * geocoder: 座標情報の取得
+     * return: 一括登録の単位（ファイルの終端の場合、空）
+     */
+    private Chunk submit(ImportRecordReader reader, long first, ExecutorService executor, Geocoder geocoder)
+            throws IOException {
+
+        List<CompletableFuture<ReportEntity>> futures = new ArrayList<>(batchSize);
+        ImportRecord record;
+        while (futures.size() < batchSize && (record = reader.next()) != null) {
+            String userId = StringUtils.defaultIfBlank(record.getUserId(), defaultUserId);
+            String text = record.getText();
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> reportService.prepareReport(userId, text, geocoder::locate), executor));
+        }
+        return new Chunk(first, futures);
+    }
+
+    /*
+     * 一括登録の単位を登録し、処理済みのレコード数を記録する。
+     * 一括登録に失敗した場合は、1件ずつ登録して失敗したレコードを特定する。
+     * source: 取込元
+     * chunk: 一括登録の単位
+     * return: 件数（処理・登録・重複・失敗）
+     */
+    private long[] commit(String source, Chunk chunk) {
+
+        List<ReportEntity> prepared = new ArrayList<>(chunk.futures().size());
+        for (int i = 0; i < chunk.futures().size(); i++) {
+            try {
+                prepared.add(chunk.futures().get(i).join());
+            } catch (CompletionException e) {
+                // 座標情報の取得でラップされる場合があるため、原因をたどる
+                QuotaExceededException quotaExceeded = ExceptionUtils.throwableOfType(e, QuotaExceededException.class);
+                if (quotaExceeded != null) {
+                    throw quotaExceeded;
+                }
+                log.warn("取込に失敗しました: {}件目, {}", chunk.first() + i, e.getCause().getMessage());
+                prepared.add(null);
+            }
+        }
+
+        try {
+            return save(source, prepared);
+
+        } catch (RuntimeException e) {
+            log.warn("不審者情報の一括登録に失敗したため、1件ずつ登録します: {}〜{}件目",
+                    chunk.first(), chunk.first() + prepared.size() - 1, e);
+            long[] counts = new long[4];
+            for (int i = 0; i < prepared.size(); i++) {
+                ReportEntity report = prepared.get(i);
+                long[] single;
+                try {
+                    if (report != null) {
+                        report.setId(null);
+                    }
+                    single = save(source, Collections.singletonList(report));
+                } catch (RuntimeException ex) {
+                    log.warn("取込に失敗しました: {}件目", chunk.first() + i, ex);
+                    single = save(source, Collections.singletonList(null));
+                }
+                for (int j = 0; j < counts.length; j++) {
+                    counts[j] += single[j];
+                }
+            }
+            return counts;
+        }
+    }
+
+    /*
+     * 不審者情報を登録し、処理済みのレコード数を同じトランザクションで記録する。
+     * source: 取込元
+     * prepared: 不審者情報Entity（失敗したレコードはnull）
+     * return: 件数（処理・登録・重複・失敗）
+     */
+    private long[] save(String source, List<ReportEntity> prepared) {
+
+        List<ReportEntity> reports = prepared.stream().filter(Objects::nonNull).toList();
+        long failed = prepared.size() - reports.size();
+        long[] counts = new TransactionTemplate(transactionManager).execute(status -> {
+            long imported = reports.isEmpty() ? 0 : reportService.saveReports(reports, true).size();
+            ImportCheckpointEntity checkpoint = findCheckpoint(source);
+            checkpoint.setRecords(checkpoint.getRecords() + prepared.size());
+            checkpoint.setImported(checkpoint.getImported() + imported);
+            checkpoint.setDuplicates(checkpoint.getDuplicates() + reports.size() - imported);
+            checkpoint.setFailed(checkpoint.getFailed() + failed);
+            importCheckpointRepository.save(checkpoint);
+            return new long[] {prepared.size(), imported, reports.size() - imported, failed};
+        });
+
+        meterRegistry.counter("report.import.records", "result", "imported").increment(counts[1]);
+        meterRegistry.counter("report.import.records", "result", "duplicate").increment(counts[2]);
+        meterRegistry.counter("report.import.records", "result", "failed").increment(counts[3]);
+        return counts;
+    }
+
+    // 取込の進捗（未作成の場合は新規）
+    private ImportCheckpointEntity findCheckpoint(String source) {
+        return importCheckpointRepository.findById(source).orElseGet(() -> {
+            ImportCheckpointEntity checkpoint = new ImportCheckpointEntity();
+            checkpoint.setSource(source);
+            return checkpoint;
+        });
+    }
+
+    // ファイル形式（未指定の場合は拡張子から判定）
+    private String resolveFormat(Path file) {
+        if (StringUtils.isNotBlank(format)) {
+            return format.trim().toLowerCase();
+        }
+        return StringUtils.endsWithIgnoreCase(file.getFileName().toString(), ".csv")
+                ? ImportRecordReader.FORMAT_CSV : ImportRecordReader.FORMAT_JSONL;
+    }
+
+    /**
+     * 座標情報の取得（1回の取込ごと）
+     * 同じ住所は1回だけ取得し（同時に要求された場合は取得を待つ）、Geocoding APIの呼び出しの間隔・回数を制限する。
+     * （町丁目の代表点・座標情報キャッシュで取得できた住所は制限の対象外）
+     * 取得に失敗した住所は、取込中は再取得しない。
+     */
+    private final class Geocoder {
+
+        // 住所のキー→座標情報
+        private final Map<String, CompletableFuture<GeoPoint>> locations = new ConcurrentHashMap<>();
+
+        // Geocoding APIの呼び出し回数（上限を超えた要求を含む）
+        private final AtomicLong calls = new AtomicLong();
+
+        // 取得の間隔（ナノ秒）
+        private final long intervalNanos = geocodePerSecond > 0 ? (long) (1_000_000_000L / geocodePerSecond) : 0;
+
+        // 次回の取得可能時刻（System.nanoTime）
+        private long nextSlot = System.nanoTime();
+
+        /*
+         * 座標情報を取得する。
+         * address: 正規化済みの住所
+         * return: 座標情報
+         */
+        private GeoPoint locate(NormalizedAddress address) {
+
+            if (locations.size() >= addressCacheSize) {
+                locations.clear();
+            }
+            CompletableFuture<GeoPoint> future = new CompletableFuture<>();
+            CompletableFuture<GeoPoint> existing = locations.putIfAbsent(address.getKey(), future);
+            if (existing != null) {
+                try {
+                    return existing.join();
+                } catch (CompletionException e) {
+                    throw e.getCause() instanceof RuntimeException cause ? cause : e;
+                }
+            }
+
+            try {
+                GeoPoint point = geocodeService.getLatLng(address, this::beforeRequest);
+                future.complete(point);
+                return point;
+
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        // Geocoding APIの呼び出し前に、回数の上限を確認する
+        private void beforeRequest() {
+
+            if (calls.incrementAndGet() > geocodeLimit && geocodeLimit > 0) {
+                throw new QuotaExceededException(geocodeLimit);
+            }
+            throttle();
+        }
+
+        // 前回の呼び出しから間隔を空ける
+        private void throttle() {
+
+            if (intervalNanos == 0) {
+                return;
+            }
+            long wait;
+            synchronized (this) {
+                long now = System.nanoTime();
+                long slot = nextSlot - now > 0 ? nextSlot : now;
+                nextSlot = slot + intervalNanos;
+                wait = slot - now;
+            }
+            if (wait <= 0) {
+                return;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("取込が中断されました", e);
+            }
+        }
+    }
+}
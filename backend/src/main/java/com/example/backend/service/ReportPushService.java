@@ -0,0 +1,447 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.ReportPinDto;
+import com.example.backend.dto.ReportSearchCondition;
+import com.example.backend.model.ReportChange;
+import com.example.backend.model.ReportFeedCursor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 不審者情報のプッシュ配信（Server-Sent Events）
+ * 登録・更新（重複の併合）された不審者情報を、表示範囲が一致する購読者へ配信する。
+ * 配信する不審者情報は差分取得（DB）を短い間隔で取得するため、ほかのインスタンスで登録・更新された分も配信される。
+ * 1回の取得が補完件数の上限を超える場合（一括取込など）は、個別に配信せず全購読者へ再取得を求める。
+ * 購読者ごとに上限付きの送信待ち行列を持ち、溢れた（受信が遅い）購読者は切断する。
+ * 切断後はEventSourceが Last-Event-ID を付けて再接続するため、未受信分は再接続時に補完される。
+ * イベントIDは差分取得と同じ位置（更新日時・ID、確定済みの位置を超えない）のため、
+ * 補完は確定前の分を再送する場合がある（受信側はIDで重複を除く）。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReportPushService {
+
+    // イベント名：不審者情報
+    private static final String REPORT_EVENT = "report";
+
+    // イベント名：再取得要求（補完件数の上限超過）
+    private static final String RESET_EVENT = "reset";
+
+    private final ReportChangeFeedService reportChangeFeedService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    // 購読者ごとの送信待ち行列の上限
+    @Value("${report.push.queue-capacity:256}")
+    private int queueCapacity;
+
+    // 接続のタイムアウト（ミリ秒、タイムアウト後はクライアントが再接続する）
+    @Value("${report.push.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    // 再接続時に補完する最大件数
+    @Value("${report.push.backfill-max:1000}")
+    private int backfillMax;
+
+    // 最大購読者数
+    @Value("${report.push.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    // 送信スレッド数
+    @Value("${report.push.sender-threads:4}")
+    private int senderThreads;
+
+    // 再取得要求の最短の間隔（ミリ秒、一括取込中に再取得を繰り返させない）
+    @Value("${report.push.reset-interval-ms:10000}")
+    private long resetIntervalMs;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private ExecutorService sender;
+
+    // 差分取得の配信済みの位置（取得スレッドのみ使用）
+    private ReportFeedCursor cursor;
+
+    // 配信済みの位置より後に配信した不審者情報の位置（ID→位置、確定前の分を二重に配信しない、取得スレッドのみ使用）
+    private final Map<Long, ReportFeedCursor> sent = new HashMap<>();
+
+    // 再取得要求の保留（間隔内に上限を超えた場合）・最後の再取得要求の時刻（System.nanoTime、取得スレッドのみ使用）
+    private boolean resetPending;
+    private long resetAt;
+
+    private Counter sentCounter;
+    private Counter droppedCounter;
+
+    // 送信するイベント（position: 不審者情報の位置、ハートビートはnull）
+    private record Message(ReportFeedCursor position, Set<ResponseBodyEmitter.DataWithMediaType> data) {
+    }
+
+    // 購読者
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final ReportSearchCondition bounds;
+        private final BlockingQueue<Message> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        // 補完済みの不審者情報の位置（補完中に登録・更新された分の配信は重複のため送信しない）
+        // 更新された不審者情報は位置が変わるため、IDではなく位置で判定する
+        private volatile Set<ReportFeedCursor> backfilledPositions = Set.of();
+
+        // 補完の完了
+        private volatile boolean ready;
+
+        private Subscriber(SseEmitter emitter, ReportSearchCondition bounds) {
+            this.emitter = emitter;
+            this.bounds = bounds;
+        }
+
+        // 表示範囲内の判定
+        private boolean matches(ReportPinDto report) {
+            return !bounds.hasBounds()
+                    || (bounds.getMinLat() <= report.getLatitude() && report.getLatitude() <= bounds.getMaxLat()
+                    && bounds.getMinLng() <= report.getLongitude() && report.getLongitude() <= bounds.getMaxLng());
+        }
+    }
+
+    @PostConstruct
+    void init() {
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "report-push-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("report.push.subscribers", subscribers, Set::size)
+                .description("購読者数")
+                .register(meterRegistry);
+        sentCounter = meterRegistry.counter("report.push.sent");
+        droppedCounter = meterRegistry.counter("report.push.dropped");
+    }
+
+    /*
+     * 不審者情報の配信を購読する。
+     * lastEventId指定時は、その位置より後に登録された表示範囲内の不審者情報を先に送信する。
+     * 補完件数が上限を超える場合は、全件の再取得を求めるresetイベントを送信する。
+     * bounds: 表示範囲（未指定の場合、全範囲）
+     * lastEventId: 最後に受信したイベントID、または一覧取得時の位置（未指定の場合、補完なし）
+     * return: SSEの送信オブジェクト
+     */
+    public SseEmitter subscribe(ReportSearchCondition bounds, String lastEventId) {
+
+        ReportFeedCursor since = lastEventId == null ? null : ReportFeedCursor.parse(lastEventId);
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, bounds);
+
+        // 補完中に登録された分は待ち行列に溜め、補完後に送信する
+        // 上限の判定と登録を同時に行う（解除は件数を減らすのみのため排他しない）
+        synchronized (subscribers) {
+            if (subscribers.size() >= maxSubscribers) {
+                throw new IllegalStateException("購読者数が上限に達しています");
+            }
+            subscribers.add(subscriber);
+        }
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscribers.remove(subscriber));
+        try {
+            if (since != null) {
+                backfill(subscriber, since);
+            }
+        } catch (Exception e) {
+            subscribers.remove(subscriber);
+            emitter.completeWithError(e);
+            return emitter;
+        }
+
+        subscriber.ready = true;
+        schedule(subscriber);
+        return emitter;
+    }
+
+    /*
+     * 再接続時、未受信の不審者情報を送信する。
+     * subscriber: 購読者
+     * since: 最後に受信したイベントの位置
+     */
+    private void backfill(Subscriber subscriber, ReportFeedCursor since) throws Exception {
+
+        List<ReportChange> changes = reportChangeFeedService.findChanges(subscriber.bounds, since, backfillMax + 1);
+        if (changes.size() > backfillMax) {
+            subscriber.emitter.send(SseEmitter.event().name(RESET_EVENT).data(""));
+            return;
+        }
+
+        Set<ReportFeedCursor> positions = new HashSet<>();
+        for (ReportChange change : changes) {
+            subscriber.emitter.send(toMessage(change.getReport(), change.getPosition()).data());
+            positions.add(change.getPosition());
+        }
+        subscriber.backfilledPositions = positions;
+    }
+
+    /*
+     * 前回の取得以降に登録・更新された不審者情報を差分取得から取得し、表示範囲内の購読者へ配信する。
+     * 取得前に確定済みの位置を決め、次回はその位置から取得する（確定前の分は配信済みの位置で重複を除く）。
+     * JSONへの変換は1件につき1回のみ行い、全購読者で共有する。
+     */
+    @Scheduled(fixedDelayString = "${report.push.poll-interval-ms:1000}")
+    public void poll() {
+
+        ReportFeedCursor horizon = reportChangeFeedService.horizon();
+        if (cursor == null || subscribers.isEmpty()) {
+            // 購読者がいない間の分は、購読時の補完で送信される
+            advance(horizon);
+            return;
+        }
+
+        List<ReportChange> changes;
+        try {
+            changes = reportChangeFeedService.findChanges(new ReportSearchCondition(), cursor,
+                    backfillMax + sent.size() + 1);
+        } catch (RuntimeException e) {
+            log.warn("配信する不審者情報の取得に失敗しました", e);
+            return;
+        }
+
+        List<ReportChange> unsent = changes.stream()
+                .filter(change -> !change.getPosition().equals(sent.get(change.getReport().getId())))
+                .toList();
+        if (unsent.size() > backfillMax) {
+            // 個別に配信せず、全購読者へ再取得を求める
+            resetPending = true;
+            sent.clear();
+        } else {
+            for (ReportChange change : unsent) {
+                publish(change);
+                sent.put(change.getReport().getId(), change.getPosition());
+            }
+        }
+        if (resetPending && System.nanoTime() - resetAt >= resetIntervalMs * 1_000_000L) {
+            broadcastReset();
+        }
+        advance(horizon);
+    }
+
+    /*
+     * 配信済みの位置を確定済みの位置まで進め、それ以前の配信済み・補完済みの位置を破棄する。
+     * horizon: 取得前の確定済みの位置
+     */
+    private void advance(ReportFeedCursor horizon) {
+
+        cursor = cursor == null ? horizon : ReportFeedCursor.max(cursor, horizon);
+        sent.values().removeIf(position -> position.compareTo(cursor) <= 0);
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.ready && !subscriber.backfilledPositions.isEmpty()) {
+                subscriber.backfilledPositions = subscriber.backfilledPositions.stream()
+                        .filter(position -> position.compareTo(cursor) > 0)
+                        .collect(Collectors.toUnmodifiableSet());
+            }
+        }
+    }
+
+    /*
+     * 表示範囲内の購読者へ配信する。
+     * change: 登録・更新された不審者情報
+     */
+    private void publish(ReportChange change) {
+
+        Message message;
+        try {
+            message = toMessage(change.getReport(), change.getPosition());
+        } catch (JsonProcessingException e) {
+            log.error("配信する不審者情報の変換に失敗しました: {}", change.getReport().getId(), e);
+            return;
+        }
+
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.matches(change.getReport())) {
+                offer(subscriber, message);
+            }
+        }
+    }
+
+    /*
+     * 全購読者へ再取得要求（resetイベント）を送信する。
+     */
+    private void broadcastReset() {
+
+        resetPending = false;
+        resetAt = System.nanoTime();
+        Message reset = new Message(null, SseEmitter.event().name(RESET_EVENT).data("").build());
+        for (Subscriber subscriber : subscribers) {
+            offer(subscriber, reset);
+        }
+        log.info("配信する不審者情報が上限を超えたため、再取得を求めました: 購読者{}件", subscribers.size());
+    }
+
+    /*
+     * 接続維持のため、定期的にコメント行を送信する。
+     * 送信待ちが溢れている購読者はここで切断される。
+     */
+    @Scheduled(fixedRateString = "${report.push.heartbeat-ms:15000}")
+    public void heartbeat() {
+
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        Message heartbeat = new Message(null, SseEmitter.event().comment("heartbeat").build());
+        for (Subscriber subscriber : subscribers) {
+            offer(subscriber, heartbeat);
+        }
+    }
+
+    /*
+     * 送信待ち行列へ追加する。溢れた場合は受信が遅い購読者として切断する。
+     * subscriber: 購読者
+     * message: 送信するイベント
+     */
+    private void offer(Subscriber subscriber, Message message) {
+
+        if (!subscriber.queue.offer(message)) {
+            drop(subscriber);
+            return;
+        }
+        schedule(subscriber);
+    }
+
+    /*
+     * 送信処理を登録する。（購読者ごとに同時に1つのみ）
+     * subscriber: 購読者
+     */
+    private void schedule(Subscriber subscriber) {
+
+        if (subscriber.ready && !subscriber.queue.isEmpty() && subscriber.scheduled.compareAndSet(false, true)) {
+            try {
+                sender.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                // 停止中
+                subscriber.scheduled.set(false);
+                disconnect(subscriber, e);
+            }
+        }
+    }
+
+    /*
+     * 送信待ちのイベントを送信する。
+     * subscriber: 購読者
+     */
+    private void drain(Subscriber subscriber) {
+
+        try {
+            Message message;
+            while ((message = subscriber.queue.poll()) != null) {
+                // 補完済みの不審者情報は送信しない
+                if (message.position() != null && subscriber.backfilledPositions.contains(message.position())) {
+                    continue;
+                }
+                subscriber.emitter.send(message.data());
+                if (message.position() != null) {
+                    sentCounter.increment();
+                }
+            }
+        } catch (Exception e) {
+            // 切断済みのクライアント
+            disconnect(subscriber, e);
+            return;
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+
+        // 送信中に追加された分
+        schedule(subscriber);
+    }
+
+    /*
+     * 受信が遅い購読者を切断する。
+     * subscriber: 購読者
+     */
+    private void drop(Subscriber subscriber) {
+
+        if (subscribers.remove(subscriber)) {
+            droppedCounter.increment();
+            subscriber.queue.clear();
+            subscriber.emitter.complete();
+            log.info("受信が遅い購読者を切断しました");
+        }
+    }
+
+    /*
+     * 送信に失敗した購読者を切断する。
+     * 購読者の登録を解除し、接続を終了する（終了済みの場合は何もしない）。
+     * subscriber: 購読者
+     * cause: 発生した例外
+     */
+    private void disconnect(Subscriber subscriber, Exception cause) {
+
+        if (subscribers.remove(subscriber)) {
+            subscriber.queue.clear();
+            try {
+                subscriber.emitter.completeWithError(cause);
+            } catch (Exception e) {
+                log.debug("購読者の切断に失敗しました", e);
+            }
+        }
+    }
+
+    /*
+     * 送信するイベントを作成する。
+     * イベントIDは次回の補完に使用できる位置（確定済みの位置を超えない）とする。
+     * report: 不審者情報（地図ピン用）Dto
+     * position: 不審者情報の位置（更新日時, ID）
+     * return: 送信するイベント
+     */
+    private Message toMessage(ReportPinDto report, ReportFeedCursor position) throws JsonProcessingException {
+
+        String json = objectMapper.writeValueAsString(report);
+        return new Message(position, SseEmitter.event()
+                .id(reportChangeFeedService.stable(position).format())
+                .name(REPORT_EVENT)
+                .data(json)
+                .build());
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+        sender.shutdown();
+        if (!sender.awaitTermination(10, TimeUnit.SECONDS)) {
+            sender.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package com.example.backend.service;
+
+import com.example.backend.common.util.TileUtils;
+import com.example.backend.dto.ReportHistogramDto;
+import com.example.backend.dto.ReportSearchCondition;
+import com.example.backend.entity.ReportEntity;
+import com.example.backend.entity.ReportMonthlyRollupEntity;
+import com.example.backend.entity.ReportRollupEntity;
+import com.example.backend.model.BucketCount;
+import com.example.backend.model.ReportOccurrence;
+import com.example.backend.repository.ReportMonthlyRollupRepository;
+import com.example.backend.repository.ReportRepository;
+import com.example.backend.repository.ReportRollupRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * 不審者情報の時系列集計
+ * 集計用のズームレベルのタイル×発生日時（時）ごとの件数を登録時に加算し、
+ * 日別・時間帯別の件数は不審者情報ではなく集計を合算して求める（参照件数は集計単位の数による）。
+ * 長期間の集計は、タイル×発生月×発生時刻ごとの月別集計を併用し、月別の件数を求める
+ * （参照件数は月数×24による。月の途中の開始・終了の端数のみ時別の集計を参照する）。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReportRollupService {
+
+    // 集計用のズームレベル（1タイル約8km四方）
+    private static final int ROLLUP_ZOOM = 12;
+
+    // 発生日時の未指定時の範囲
+    private static final LocalDateTime MIN_BUCKET = LocalDateTime.of(1900, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_BUCKET = LocalDateTime.of(9999, 1, 1, 0, 0);
+
+    // 時系列集計Dtoの集計単位
+    private static final String UNIT_DAY = "day";
+    private static final String UNIT_MONTH = "month";
+
+    // 再作成時の一括登録の件数
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final ReportRepository reportRepository;
+    private final ReportRollupRepository reportRollupRepository;
+    private final ReportMonthlyRollupRepository reportMonthlyRollupRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    // 月別の件数を求める発生日時の範囲（日数、これを超える場合は月別集計を使用する）
+    @Value("${report.rollup.monthly-threshold-days:92}")
+    private long monthlyThresholdDays;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // 集計単位の作成（登録のトランザクションから独立させる）
+    private TransactionTemplate requiresNew;
+
+    // 集計単位（タイル×発生日時（時））
+    private record Bucket(int tileX, int tileY, LocalDateTime hour) {
+
+        private static Bucket of(double latitude, double longitude, LocalDateTime occurDate) {
+            return new Bucket(TileUtils.lngToTileX(longitude, ROLLUP_ZOOM),
+                    TileUtils.latToTileY(latitude, ROLLUP_ZOOM),
+                    occurDate.truncatedTo(ChronoUnit.HOURS));
+        }
+
+        // 月別集計の集計単位（発生月の1日の同じ発生時刻）
+        private Bucket monthly() {
+            return new Bucket(tileX, tileY, hour.withDayOfMonth(1));
+        }
+    }
+
+    // 集計単位の更新順（同時に登録するトランザクション間で行ロックの順序をそろえる）
+    private static final Comparator<Bucket> BUCKET_ORDER = Comparator.comparing(Bucket::hour)
+            .thenComparingInt(Bucket::tileX)
+            .thenComparingInt(Bucket::tileY);
+
+    @PostConstruct
+    void init() {
+        requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /*
+     * 集計が空の場合は不審者情報から再作成する。（起動時、ReportRollupMigrationから実行）
+     * 併せて、発生時刻が未設定の不審者情報に発生日時から設定する。
+     * NOTE: 再作成中に登録された不審者情報は二重に計上される場合があるため、登録の受付前に実行すること
+     */
+    @Transactional
+    public void rebuildIfEmpty() {
+
+        int filled = reportRepository.fillMissingOccurHours();
+        if (filled > 0) {
+            log.info("発生時刻を設定しました: {}件", filled);
+        }
+
+        rebuildHourly();
+        rebuildMonthly();
+    }
+
+    /*
+     * 時別の集計が空の場合は不審者情報から再作成する。
+     */
+    private void rebuildHourly() {
+
+        if (reportRollupRepository.count() > 0) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        Map<Bucket, Long> counts = new HashMap<>();
+        try (Stream<ReportOccurrence> occurrences = reportRepository.streamOccurrences()) {
+            occurrences.forEach(occurrence -> counts.merge(
+                    Bucket.of(occurrence.getLatitude(), occurrence.getLongitude(), occurrence.getOccurDate()),
+                    1L, Long::sum));
+        }
+        if (counts.isEmpty()) {
+            return;
+        }
+
+        List<ReportRollupEntity> batch = new ArrayList<>(REBUILD_BATCH_SIZE);
+        for (Map.Entry<Bucket, Long> entry : counts.entrySet()) {
+            batch.add(toEntity(entry.getKey(), entry.getValue()));
+            if (batch.size() == REBUILD_BATCH_SIZE) {
+                saveBatch(reportRollupRepository, batch);
+            }
+        }
+        saveBatch(reportRollupRepository, batch);
+
+        log.info("不審者情報の集計を再作成しました: {}件, {}ms",
+                counts.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /*
+     * 月別集計が空の場合は時別の集計から再作成する。
+     */
+    private void rebuildMonthly() {
+
+        if (reportMonthlyRollupRepository.count() > 0) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        Map<Bucket, Long> counts = new HashMap<>();
+        try (Stream<ReportRollupEntity> rollups = reportRollupRepository.streamAll()) {
+            rollups.forEach(rollup -> counts.merge(
+                    new Bucket(rollup.getTileX(), rollup.getTileY(), rollup.getBucket()).monthly(),
+                    rollup.getReportCount(), Long::sum));
+        }
+        if (counts.isEmpty()) {
+            return;
+        }
+
+        List<ReportMonthlyRollupEntity> batch = new ArrayList<>(REBUILD_BATCH_SIZE);
+        for (Map.Entry<Bucket, Long> entry : counts.entrySet()) {
+            batch.add(toMonthlyEntity(entry.getKey(), entry.getValue()));
+            if (batch.size() == REBUILD_BATCH_SIZE) {
+                saveBatch(reportMonthlyRollupRepository, batch);
+            }
+        }
+        saveBatch(reportMonthlyRollupRepository, batch);
+
+        log.info("不審者情報の月別集計を再作成しました: {}件, {}ms",
+                counts.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /*
+     * 登録した不審者情報を集計に加算する。（不審者情報の登録と同じトランザクションで実行）
+     * 集計単位がない場合は、件数0の集計単位を別のトランザクションで作成してから加算するため、
+     * 同じ集計単位の作成が同時に行われても、登録のトランザクションは一意制約違反にならない。
+     * reports: 登録した不審者情報Entity
+     */
+    @Transactional
+    public void increment(List<ReportEntity> reports) {
+
+        Map<Bucket, Long> counts = new TreeMap<>(BUCKET_ORDER);
+        for (ReportEntity report : reports) {
+            if (report.getOccurDate() != null) {
+                counts.merge(Bucket.of(report.getLatitude(), report.getLongitude(), report.getOccurDate()),
+                        1L, Long::sum);
+            }
+        }
+
+        Map<Bucket, Long> monthlyCounts = new TreeMap<>(BUCKET_ORDER);
+        counts.forEach((bucket, count) -> monthlyCounts.merge(bucket.monthly(), count, Long::sum));
+
+        // 時別・月別の順に加算する（行ロックの順序をそろえる）
+        for (Map.Entry<Bucket, Long> entry : counts.entrySet()) {
+            increment(entry.getKey(), entry.getValue(), false);
+        }
+        for (Map.Entry<Bucket, Long> entry : monthlyCounts.entrySet()) {
+            increment(entry.getKey(), entry.getValue(), true);
+        }
+    }
+
+    /*
+     * 集計単位に件数を加算する。（集計単位がない場合は作成してから加算する）
+     * bucket: 集計単位
+     * count: 件数
+     * monthly: 月別集計
+     */
+    private void increment(Bucket bucket, long count, boolean monthly) {
+
+        if (add(bucket, count, monthly) == 0) {
+            createBucket(bucket, monthly);
+            if (add(bucket, count, monthly) == 0) {
+                throw new IllegalStateException("集計単位を作成できませんでした: " + bucket);
+            }
+        }
+    }
+
+    // 集計単位に件数を加算（対象がない場合、0を返却）
+    private int add(Bucket bucket, long count, boolean monthly) {
+        return monthly
+                ? reportMonthlyRollupRepository.increment(bucket.hour(), bucket.tileX(), bucket.tileY(), count)
+                : reportRollupRepository.increment(bucket.hour(), bucket.tileX(), bucket.tileY(), count);
+    }
+
+    /*
+     * 件数0の集計単位を作成し、独立してコミットする。（登録がロールバックされても件数0のため影響しない）
+     * 同時に作成された場合（一意制約違反）は作成済みとして扱う。
+     * bucket: 集計単位
+     * monthly: 月別集計
+     */
+    private void createBucket(Bucket bucket, boolean monthly) {
+
+        try {
+            requiresNew.executeWithoutResult(status -> {
+                if (monthly) {
+                    reportMonthlyRollupRepository.saveAndFlush(toMonthlyEntity(bucket, 0));
+                } else {
+                    reportRollupRepository.saveAndFlush(toEntity(bucket, 0));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("集計単位は作成済みです: {}", bucket);
+        }
+    }
+
+    /*
+     * 日別（発生日時の範囲が長い場合は月別）・時間帯別の件数を集計する。
+     * 表示範囲は集計用のタイル単位に、発生日時は時単位に広げて集計する（開始は切り捨て、終了は切り上げ）。
+     * condition: 検索条件（表示範囲・発生日時・発生時刻）
+     * return: 時系列集計Dto
+     */
+    @Transactional(readOnly = true)
+    public ReportHistogramDto getHistogram(ReportSearchCondition condition) {
+
+        int maxTile = (1 << ROLLUP_ZOOM) - 1;
+        int minX = 0;
+        int maxX = maxTile;
+        int minY = 0;
+        int maxY = maxTile;
+        if (condition.hasBounds()) {
+            minX = TileUtils.lngToTileX(condition.getMinLng(), ROLLUP_ZOOM);
+            maxX = TileUtils.lngToTileX(condition.getMaxLng(), ROLLUP_ZOOM);
+            minY = TileUtils.latToTileY(condition.getMaxLat(), ROLLUP_ZOOM);
+            maxY = TileUtils.latToTileY(condition.getMinLat(), ROLLUP_ZOOM);
+        }
+
+        LocalDateTime from = condition.getFrom() == null
+                ? MIN_BUCKET : condition.getFrom().truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime to = condition.getTo() == null ? MAX_BUCKET : ceilToHour(condition.getTo());
+
+        // 未指定・集計より広い範囲は、集計のある範囲に狭めてから集計単位を決める
+        LocalDateTime first = reportRollupRepository.findFirstBucket();
+        LocalDateTime last = reportRollupRepository.findLastBucket();
+        if (first == null) {
+            to = from;
+        } else {
+            from = from.isBefore(first) ? first : from;
+            to = to.isAfter(last.plusHours(1)) ? last.plusHours(1) : to;
+        }
+
+        boolean monthly = ChronoUnit.DAYS.between(from, to) > monthlyThresholdDays;
+        List<BucketCount> counts = new ArrayList<>();
+        if (monthly) {
+            // 月の途中の開始・終了の端数は時別の集計、その間の月は月別集計を参照する
+            LocalDateTime firstMonth = ceilToMonth(from);
+            LocalDateTime lastMonth = to.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+            counts.addAll(reportRollupRepository.sumByBucket(from, firstMonth, minX, maxX, minY, maxY));
+            counts.addAll(reportMonthlyRollupRepository.sumByBucket(firstMonth, lastMonth, minX, maxX, minY, maxY));
+            counts.addAll(reportRollupRepository.sumByBucket(lastMonth, to, minX, maxX, minY, maxY));
+        } else {
+            counts.addAll(reportRollupRepository.sumByBucket(from, to, minX, maxX, minY, maxY));
+        }
+
+        long total = 0;
+        long[] hours = new long[24];
+        Map<LocalDate, Long> days = new LinkedHashMap<>();
+        for (BucketCount count : counts) {
+            int hour = count.getBucket().getHour();
+            if (!condition.matchesHour(hour)) {
+                continue;
+            }
+            total += count.getCount();
+            hours[hour] += count.getCount();
+            LocalDate date = count.getBucket().toLocalDate();
+            days.merge(monthly ? date.withDayOfMonth(1) : date, count.getCount(), Long::sum);
+        }
+
+        List<ReportHistogramDto.DayCount> dayCounts = new ArrayList<>(days.size());
+        days.forEach((date, count) -> dayCounts.add(new ReportHistogramDto.DayCount(date, count)));
+        return new ReportHistogramDto(total, monthly ? UNIT_MONTH : UNIT_DAY, dayCounts, hours);
+    }
+
+    /*
+     * 集計を一括登録し、永続化コンテキストから切り離す。
+     * repository: 集計Repository
+     * batch: 集計Entity（登録後に空にする）
+     */
+    private <T> void saveBatch(JpaRepository<T, Long> repository, List<T> batch) {
+
+        repository.saveAll(batch);
+        repository.flush();
+        entityManager.clear();
+        batch.clear();
+    }
+
+    // 集計Entityの作成
+    private static ReportRollupEntity toEntity(Bucket bucket, long count) {
+        ReportRollupEntity rollup = new ReportRollupEntity();
+        rollup.setTileX(bucket.tileX());
+        rollup.setTileY(bucket.tileY());
+        rollup.setBucket(bucket.hour());
+        rollup.setReportCount(count);
+        return rollup;
+    }
+
+    // 月別集計Entityの作成
+    private static ReportMonthlyRollupEntity toMonthlyEntity(Bucket bucket, long count) {
+        ReportMonthlyRollupEntity rollup = new ReportMonthlyRollupEntity();
+        rollup.setTileX(bucket.tileX());
+        rollup.setTileY(bucket.tileY());
+        rollup.setBucket(bucket.hour());
+        rollup.setReportCount(count);
+        return rollup;
+    }
+
+    // 時単位に切り上げ
+    private static LocalDateTime ceilToHour(LocalDateTime dateTime) {
+        LocalDateTime truncated = dateTime.truncatedTo(ChronoUnit.HOURS);
+        return truncated.equals(dateTime) ? truncated : truncated.plusHours(1);
+    }
+
+    // 月単位（1日0時）に切り上げ
+    private static LocalDateTime ceilToMonth(LocalDateTime dateTime) {
+        LocalDateTime truncated = dateTime.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+        return truncated.equals(dateTime) ? truncated : truncated.plusMonths(1);
+    }
+}
@@ -3,18 +3,27 @@ package com.example.backend.service;
 import com.example.backend.common.constant.CommonConst;
 import com.example.backend.common.util.DateUtils;
 import com.example.backend.entity.ReportEntity;
+import com.example.backend.event.ReportSavedEvent;
+import com.example.backend.event.ReportUpdatedEvent;
 import com.example.backend.model.GeoPoint;
+import com.example.backend.model.NormalizedAddress;
+import com.example.backend.model.ParsedReport;
+import com.example.backend.parser.AddressNormalizer;
+import com.example.backend.parser.ReportMessageParser;
 import com.example.backend.repository.ReportRepository;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Arrays;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.Function;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import java.text.Normalizer;
 
 /**
  * 不審者情報周りのサービスロジック
@@ -23,19 +32,18 @@ import java.text.Normalizer;
 @Service
 @RequiredArgsConstructor
 public class ReportService {
-    // 不審者情報の各項目
-    private static class REPORT_ITEMS {
-        private static final String TAG = "タグ:";
-        private static final String OCCUR_DATE = "日時:";
-        private static final String PREFECTURE = "都道府県:";
-        private static final String MUNICIPALITY = "市区町村:";
-        private static final String DISTRICT = "丁目:";
-        private static final String ADDRESS_DETAILS = "番地以降:";
-        private static final String SUMMARY = "概要:";
-    }
-
     private final ReportRepository reportRepository;
     private final GeocodeService geocodeService;
+    private final ReportMessageParser reportMessageParser;
+    private final AddressNormalizer addressNormalizer;
+    private final TagService tagService;
+    private final ReportRollupService reportRollupService;
+    private final ReportClusterService reportClusterService;
+    private final ReportDedupService reportDedupService;
+    private final ReportVersionService reportVersionService;
+    private final TileVersionService tileVersionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObservationRegistry observationRegistry;
 
     /*
      * 不審者情報を登録する。
@@ -45,44 +53,82 @@ public class ReportService {
     @Transactional
     public void processReportMessage(String userId, String text) {
 
+        saveReports(List.of(prepareReport(userId, text)));
+    }
+
+    /*
+     * 不審者情報メッセージから登録用のEntityを作成する。（DB登録は行わない）
+     * userId: ユーザーID
+     * text: 不審者情報メッセージ
+     * return: 不審者情報Entity
+     */
+    public ReportEntity prepareReport(String userId, String text) {
+        return prepareReport(userId, text, this::locate);
+    }
+
+    /*
+     * 不審者情報メッセージから登録用のEntityを作成する。（DB登録は行わない）
+     * userId: ユーザーID
+     * text: 不審者情報メッセージ
+     * locator: 座標情報の取得方法（一括取込では住所ごとにまとめて取得する）
+     * return: 不審者情報Entity
+     */
+    public ReportEntity prepareReport(String userId, String text, Function<NormalizedAddress, GeoPoint> locator) {
+
         // パラメータチェック
         paramCheck(userId, text);
         
         // 不審者情報の抽出
-        List<String> tags = extractLineToMultiple(text, REPORT_ITEMS.TAG);
-        String occurDate = extractLineToSingle(text, REPORT_ITEMS.OCCUR_DATE);
-        String prefecture = extractLineToSingle(text, REPORT_ITEMS.PREFECTURE);
-        String municipality = extractLineToSingle(text, REPORT_ITEMS.MUNICIPALITY);
-        String district = extractLineToSingle(text, REPORT_ITEMS.DISTRICT);
-        String addressDetails = extractLineToSingle(text, REPORT_ITEMS.ADDRESS_DETAILS);
-        String summary = extractLineToSingle(text, REPORT_ITEMS.SUMMARY);
-
-        // 発生日時の型変換（String→LocalDateTime）
-        LocalDateTime ldtOccurDate = DateUtils.parseToLocalDateTime(occurDate);
-        // 住所情報チェック　※番地以降の情報は任意
-        addressCheck(prefecture, municipality, district);
-        // 住所情報結合
-        String address = buildAddress(prefecture, municipality, district, addressDetails);
-        // 住所情報の正規化
-        address = normalizeAddress(address);
+        ParsedReport parsed;
+        LocalDateTime ldtOccurDate;
+        NormalizedAddress address;
+        Observation parseObservation = Observation.start("report.parse", observationRegistry);
+        try (Observation.Scope scope = parseObservation.openScope()) {
+            parsed = reportMessageParser.parse(text);
+            // 発生日時の型変換（String→LocalDateTime）
+            ldtOccurDate = DateUtils.parseToLocalDateTime(parsed.getOccurDate());
+            // 住所情報チェック　※番地以降の情報は任意
+            addressCheck(parsed.getPrefecture(), parsed.getMunicipality(), parsed.getDistrict());
+            // 住所情報の正規化（表記揺れの統一・都道府県の妥当性確認）
+            address = normalizeAddress(parsed.getPrefecture(), parsed.getMunicipality(),
+                    parsed.getDistrict(), parsed.getAddressDetails());
+
+        } catch (RuntimeException e) {
+            parseObservation.error(e);
+            throw e;
+
+        } finally {
+            parseObservation.stop();
+        }
+        List<String> tags = parsed.getTags();
+        String prefecture = parsed.getPrefecture();
+        String municipality = parsed.getMunicipality();
+        String district = parsed.getDistrict();
+        String addressDetails = parsed.getAddressDetails();
+        String summary = parsed.getSummary();
+
         // 座標情報取得（緯度経度）
-        GeoPoint location = geocodeService.getLatLng(address);
+        GeoPoint location = locator.apply(address);
 
         // Entity作成
         ReportEntity report = new ReportEntity();
         report.setUserId(userId);
         int tagCounter = CommonConst.COUNT.ZERO;
-        for (String tag : tags) {
-            if (tagCounter == CommonConst.COUNT.ZERO) {
-                report.setTag1(tag);
-                tagCounter++;
-            } else if (tagCounter == CommonConst.COUNT.ONE) {
-                report.setTag2(tag);
-                tagCounter++;
-            } else if (tagCounter == CommonConst.COUNT.TWO) {
-                report.setTag3(tag);
+        if (tags != null) {
+            for (String tag : tags) {
+                if (tagCounter == CommonConst.COUNT.ZERO) {
+                    report.setTag1(tag);
+                    tagCounter++;
+                } else if (tagCounter == CommonConst.COUNT.ONE) {
+                    report.setTag2(tag);
+                    tagCounter++;
+                } else if (tagCounter == CommonConst.COUNT.TWO) {
+                    report.setTag3(tag);
+                }
             }
         }
+        // タグ辞書との対応（4つ目以降のタグも保持する）
+        report.setTags(new LinkedHashSet<>(tagService.resolve(tags)));
         report.setOccurDate(ldtOccurDate);
         report.setPrefecture(prefecture);
         report.setMunicipality(municipality);
@@ -92,10 +138,94 @@ public class ReportService {
         report.setLongitude(location.getLongitude());
         report.setSummary(summary);
         // createdは@CreatedDateにより自動設定される
-        
-        // 登録処理
-        ReportEntity saved = reportRepository.save(report);
-        log.info("不審者情報の登録に成功しました。IDは「{}」、ユーザーIDは「{}」です。", saved.getId(), userId);
+
+        return report;
+    }
+
+    /*
+     * 不審者情報を一括登録する。（JDBCバッチでINSERT）
+     * 既存の不審者情報と重複するものは登録せず、既存の不審者情報へ関連付ける。
+     * reports: 不審者情報Entity
+     * return: 登録済みの不審者情報Entity（重複したものは除く）
+     */
+    @Transactional
+    public List<ReportEntity> saveReports(List<ReportEntity> reports) {
+        return saveReports(reports, false);
+    }
+
+    /*
+     * 不審者情報を一括登録する。（JDBCバッチでINSERT）
+     * 既存の不審者情報と重複するものは登録せず、既存の不審者情報へ関連付ける。
+     * reports: 不審者情報Entity
+     * imported: 一括取込による登録（配信・版数の更新など即時の反映を行わない）
+     * return: 登録済みの不審者情報Entity（重複したものは除く）
+     */
+    @Transactional
+    public List<ReportEntity> saveReports(List<ReportEntity> reports, boolean imported) {
+
+        // 登録処理（コミット前にINSERTを実行し、登録時間として計測）
+        // 重複判定（登録済みの不審者情報への併合）・時系列と格子の集計・版数の加算も同じトランザクションで行う
+        List<ReportEntity> updatedReports = new ArrayList<>();
+        List<ReportEntity> savedReports = Observation.createNotStarted("report.save", observationRegistry)
+                .highCardinalityKeyValue("reports", String.valueOf(reports.size()))
+                .observe(() -> {
+                    ReportDedupService.Deduplication deduplication = reportDedupService.deduplicate(reports);
+                    List<ReportEntity> saved = reportRepository.saveAll(deduplication.unique());
+                    reportDedupService.saveDuplicates(deduplication);
+                    updatedReports.addAll(deduplication.updated());
+                    reportRollupService.increment(saved);
+                    reportClusterService.increment(saved);
+                    // 一覧・タイルの版数の行ロックはコミットまで保持されるため、最後に加算する
+                    // 一括取込のタイルの版数は、取込の完了時にまとめて更新する
+                    if (!reports.isEmpty()) {
+                        reportVersionService.increment(versionKeys(saved, deduplication.updated(), imported));
+                    }
+                    reportRepository.flush();
+                    return saved;
+                });
+        for (ReportEntity saved : savedReports) {
+            log.info("不審者情報の登録に成功しました。IDは「{}」、ユーザーIDは「{}」です。", saved.getId(), saved.getUserId());
+            // コミット後にキャッシュ・集計へ反映
+            eventPublisher.publishEvent(new ReportSavedEvent(saved, imported));
+        }
+        for (ReportEntity updated : updatedReports) {
+            eventPublisher.publishEvent(new ReportUpdatedEvent(updated, imported));
+        }
+        return savedReports;
+    }
+
+    /*
+     * 登録・更新時に加算する版数の種類を取得する。
+     * saved: 登録した不審者情報Entity
+     * updated: 更新（重複の併合）した不審者情報Entity
+     * imported: 一括取込による登録（タイルの版数は含めない）
+     * return: 版数の種類
+     */
+    private List<String> versionKeys(List<ReportEntity> saved, List<ReportEntity> updated, boolean imported) {
+
+        List<String> keys = new ArrayList<>();
+        keys.add(ReportVersionService.FEED);
+        if (!imported) {
+            for (ReportEntity report : saved) {
+                keys.addAll(tileVersionService.keys(report));
+            }
+            for (ReportEntity report : updated) {
+                keys.addAll(tileVersionService.keys(report));
+            }
+        }
+        return keys;
+    }
+
+    /*
+     * 座標情報を取得する。
+     * 直近に同じ住所の不審者情報がある場合は、その座標情報を使用する（重複判定の索引）
+     * address: 正規化済みの住所
+     * return: 座標情報
+     */
+    private GeoPoint locate(NormalizedAddress address) {
+
+        GeoPoint location = reportDedupService.findLocation(address);
+        return location != null ? location : geocodeService.getLatLng(address);
     }
 
     /*
@@ -118,63 +248,6 @@ public class ReportService {
         }
     }
 
-    /*
-     * 不審者情報の抽出
-     * text: 不審者情報メッセージ
-     * item: 抽出対象項目
-     * return: 単一の抽出結果
-     */
-    private String extractLineToSingle(String text, String item) {
-
-        // 不審者情報を項目単位で抽出
-        String[] lines = text.split("[\r\n]+"); // OSごとの改行コードを考慮し分割
-        List<String> lineList = Arrays.asList(lines);
-        for (String line : lineList) {
-            String singleLine = line.trim();
-            if (singleLine.startsWith(item)) {
-                // 「都道府県：福岡県」 → 「福岡県」のように値抽出
-                String value = singleLine.substring(item.length());
-                return value.replace(":", "")
-                            .replace("：", "")
-                            .trim();
-            }
-        }
-        return null;
-    }
-
-        /*
-     * 不審者情報の抽出
-     * text: 不審者情報メッセージ
-     * item: 抽出対象項目
-     * return: 複数の抽出結果
-     */
-    private List<String> extractLineToMultiple(String text, String item) {
-
-        // 不審者情報を項目単位で抽出
-        String[] lines = text.split("[\r\n]+"); // OSごとの改行コードを考慮し分割
-        List<String> lineList = Arrays.asList(lines);
-        List<String> valuesWithItem = null;
-        for (String line : lineList) {
-            String singleLine = line.trim();
-            if (singleLine.startsWith(item)) {
-                // 「タグ：不審な声かけ、撮影行為」 → 「不審な声かけ、撮影行為」のように値抽出
-                // 空行、カンマ、読点を考慮
-                valuesWithItem = Arrays.asList(line.split("\\s*[,、]\\s*"));
-                List<String> values = new ArrayList<>();
-                for (String value : valuesWithItem) {
-                    if (value.startsWith(item)) {
-                        value = value.substring(item.length());
-                    }
-                    value.replace(":", "")
-                         .replace("：", "");
-                    values.add(value);
-                }
-                return values;
-            }
-        }
-        return null;
-    }
-
     /*
      * 住所情報チェック
      * prefecture: 都道府県
@@ -201,48 +274,27 @@ public class ReportService {
     }
 
     /*
-     * 住所情報結合
+     * 住所情報の正規化
      * prefecture: 都道府県
      * municipality: 市区町村
      * district: 丁目
      * addressDetails: 番地以降
-     * return: 住所情報
+     * return: 正規化済みの住所
      */
-    private String buildAddress(String prefecture, String municipality, String district, String addressDetails) {
+    private NormalizedAddress normalizeAddress(String prefecture, String municipality, String district,
+            String addressDetails) {
 
-        // GeocodeService.getLatLng()にて、マップピン留め用の座標情報を取得するために住所情報を結合する。
-        StringBuilder sb = new StringBuilder();
-        sb.append(prefecture);
-        sb.append(municipality);
-        sb.append(district);
-        
-        if (StringUtils.isNotBlank(addressDetails)) {
-            sb.append(addressDetails);
-        }
-        
-        return sb.toString();
-    }
+        NormalizedAddress address = addressNormalizer.normalize(prefecture, municipality, district, addressDetails);
 
-    /*
-     * 住所情報の正規化
-     * address: 住所情報
-     * return: 住所情報
-     */
-    private String normalizeAddress(String address) {
-
-        if (StringUtils.isEmpty(address)) {
-            return null;
+        // 妥当性チェック：　都道府県
+        if (!address.isValidPrefecture()) {
+            throw new IllegalArgumentException("都道府県が不正です: " + prefecture);
         }
 
-        // 1) 前後の空白・改行除去
-        address = address.trim();
-
-        // 2) 全角英数字・記号を半角寄せ（３→3、－→- など）
-        address = Normalizer.normalize(address, Normalizer.Form.NFKC);
-
-        // 3) 空白の除去
-        address.replace(" ", "");
-        address.replace("　", "");
+        // 市区町村は一覧の漏れ（合併直後など）を考慮し、警告のみ
+        if (!address.isValidMunicipality()) {
+            log.warn("市区町村が一覧にありません: {}{}", address.getPrefecture(), address.getMunicipality());
+        }
 
         return address;
     }
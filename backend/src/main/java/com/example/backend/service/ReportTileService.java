@@ -0,0 +1,60 @@
+package com.example.backend.service;
+
+import com.example.backend.common.util.TileUtils;
+import com.example.backend.dto.ReportPinDto;
+import com.example.backend.dto.ReportSearchCondition;
+import com.example.backend.dto.TileDto;
+import com.example.backend.repository.ReportRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 地図タイル単位の不審者情報の取得
+ */
+@Service
+@RequiredArgsConstructor
+public class ReportTileService {
+
+    private final ReportRepository reportRepository;
+    private final ReportClusterService reportClusterService;
+
+    // 不審者情報を個別に返却するズームレベル
+    @Value("${report.tile.detail-zoom:15}")
+    private int detailZoom;
+
+    /*
+     * タイル内の不審者情報またはクラスタを取得する。
+     * zoom: ズームレベル
+     * x: タイルX
+     * y: タイルY
+     * return: 地図タイルDto
+     */
+    public TileDto getTile(int zoom, int x, int y) {
+
+        // 詳細表示のズームレベル未満はクラスタ
+        if (zoom < detailZoom) {
+            return new TileDto(zoom, x, y, reportClusterService.getTileClusters(zoom, x, y), null);
+        }
+
+        double north = TileUtils.tileYToLat(y, zoom);
+        double south = TileUtils.tileYToLat(y + 1, zoom);
+        double west = TileUtils.tileXToLng(x, zoom);
+        double east = TileUtils.tileXToLng(x + 1, zoom);
+
+        ReportSearchCondition condition = new ReportSearchCondition();
+        condition.setMinLat(south);
+        condition.setMaxLat(north);
+        condition.setMinLng(west);
+        condition.setMaxLng(east);
+
+        // 境界上の位置は隣接タイルと重複するため、所属タイルのみ返却
+        List<ReportPinDto> pins = reportRepository.searchPins(condition, Integer.MAX_VALUE).stream()
+                .filter(pin -> TileUtils.lngToTileX(pin.getLongitude(), zoom) == x
+                        && TileUtils.latToTileY(pin.getLatitude(), zoom) == y)
+                .toList();
+        return new TileDto(zoom, x, y, null, pins);
+    }
+}
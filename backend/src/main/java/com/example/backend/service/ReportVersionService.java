@@ -0,0 +1,96 @@
+package com.example.backend.service;
+
+import com.example.backend.repository.ReportVersionRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.TreeSet;
+
+/**
+ * 不審者情報の版数管理（DB）
+ * 版数は不審者情報の登録・更新と同じトランザクションで加算するため、コミットと同時に
+ * すべてのインスタンスから参照でき、コミットの順序によらず更新のたびに必ず変わる。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReportVersionService {
+
+    // 一覧の版数の種類
+    public static final String FEED = "feed";
+
+    private final ReportVersionRepository reportVersionRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    // 版数の作成（登録のトランザクションから独立させる）
+    private TransactionTemplate requiresNew;
+
+    @PostConstruct
+    void init() {
+        requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /*
+     * 版数を加算する。（不審者情報の登録・更新と同じトランザクションで実行）
+     * 加算した行はコミットまでロックされるため、同時に登録するトランザクション間で
+     * 行ロックの順序をそろえるよう、種類の昇順に加算する。
+     * 版数がない場合は、版数0の行を別のトランザクションで作成してから加算する。
+     * keys: 版数の種類
+     */
+    @Transactional
+    public void increment(Collection<String> keys) {
+
+        for (String key : new TreeSet<>(keys)) {
+            if (reportVersionRepository.increment(key) == 0) {
+                createVersion(key);
+                if (reportVersionRepository.increment(key) == 0) {
+                    throw new IllegalStateException("版数を作成できませんでした: " + key);
+                }
+            }
+        }
+    }
+
+    /*
+     * 版数を取得する。
+     * key: 版数の種類
+     * return: 版数（未作成の場合、0）
+     */
+    @Transactional(readOnly = true)
+    public long getVersion(String key) {
+        return reportVersionRepository.findVersion(key).orElse(0L);
+    }
+
+    /*
+     * 複数の版数の合計を取得する。（いずれかの版数が加算されると必ず変わる）
+     * keys: 版数の種類
+     * return: 版数の合計（未作成の種類は0）
+     */
+    @Transactional(readOnly = true)
+    public long getTotal(Collection<String> keys) {
+        return reportVersionRepository.sumVersions(keys);
+    }
+
+    /*
+     * 版数0の行を作成し、独立してコミットする。（登録がロールバックされても版数0のため影響しない）
+     * 作成済みの行を版数0で上書きしないよう、merge（saveAndFlush）ではなく INSERT で登録する。
+     * 同時に作成された場合（一意制約違反）は作成済みとして扱う。
+     * key: 版数の種類
+     */
+    private void createVersion(String key) {
+
+        try {
+            requiresNew.executeWithoutResult(status -> reportVersionRepository.insert(key));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("版数は作成済みです: {}", key);
+        }
+    }
+}
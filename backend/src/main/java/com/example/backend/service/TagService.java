@@ -0,0 +1,150 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.TagEntity;
+import com.example.backend.repository.TagRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * タグ辞書のサービスロジック
+ * タグ名とIDの対応はほとんど増えないため、メモリに保持する。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TagService {
+
+    // タグ名の最大文字数
+    private static final int MAX_NAME_LENGTH = 50;
+
+    private final TagRepository tagRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    // タグ名→タグ
+    private final Map<String, TagEntity> tags = new ConcurrentHashMap<>();
+
+    // タグの登録（1件ずつ独立したトランザクションで行い、一意制約違反を呼び出し元へ波及させない）
+    private TransactionTemplate requiresNew;
+
+    @PostConstruct
+    void init() {
+        requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /*
+     * 起動時、タグ1〜3から辞書・対応を作成する。（対応が未作成の場合のみ）
+     * 読み取りモデルの読み込みより先に実行する。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public void migrate() {
+
+        if (tagRepository.countLinks() > 0) {
+            return;
+        }
+
+        int insertedTags = tagRepository.insertMissingTags();
+        int insertedLinks = tagRepository.insertMissingLinks();
+        if (insertedLinks > 0) {
+            log.info("タグ辞書を作成しました: タグ{}件, 対応{}件", insertedTags, insertedLinks);
+        }
+    }
+
+    /*
+     * タグ名をタグに変換する。（未登録のタグは登録する）
+     * 登録はタグごとに独立したトランザクションでコミットするため、呼び出し元のロールバックでは取り消されない。
+     * names: タグ名
+     * return: タグ（空・重複は除く、指定順）
+     */
+    public List<TagEntity> resolve(List<String> names) {
+
+        List<TagEntity> resolved = new ArrayList<>();
+        if (names == null) {
+            return resolved;
+        }
+
+        for (String name : names) {
+            if (StringUtils.isBlank(name)) {
+                continue;
+            }
+            TagEntity tag = findOrCreate(StringUtils.left(name.trim(), MAX_NAME_LENGTH));
+            if (!resolved.contains(tag)) {
+                resolved.add(tag);
+            }
+        }
+        return resolved;
+    }
+
+    /*
+     * タグ名からタグIDを取得する。（登録は行わない）
+     * name: タグ名
+     * return: タグID（未登録の場合、null）
+     */
+    public Integer findId(String name) {
+
+        if (StringUtils.isBlank(name)) {
+            return null;
+        }
+        TagEntity tag = tags.get(name.trim());
+        if (tag != null) {
+            return tag.getId();
+        }
+        return tagRepository.findByName(name.trim())
+                .map(this::remember)
+                .map(TagEntity::getId)
+                .orElse(null);
+    }
+
+    /*
+     * タグを取得し、未登録の場合は登録する。
+     * name: タグ名
+     * return: タグ
+     */
+    private TagEntity findOrCreate(String name) {
+
+        TagEntity cached = tags.get(name);
+        if (cached != null) {
+            return cached;
+        }
+
+        TagEntity found = tagRepository.findByName(name).orElse(null);
+        if (found != null) {
+            return remember(found);
+        }
+
+        TagEntity tag = new TagEntity();
+        tag.setName(name);
+        try {
+            return remember(requiresNew.execute(status -> tagRepository.saveAndFlush(tag)));
+
+        // 同時に登録された同一タグ（一意制約違反、登録のトランザクションはロールバック済みのため、その外で再取得）
+        } catch (DataIntegrityViolationException e) {
+            return remember(tagRepository.findByName(name).orElseThrow(() -> e));
+        }
+    }
+
+    // タグを保持する
+    private TagEntity remember(TagEntity tag) {
+        tags.put(tag.getName(), tag);
+        return tag;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.backend.service;
+
+import com.example.backend.common.util.TileUtils;
+import com.example.backend.entity.ReportEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 地図タイル単位の版数管理
+ * 不審者情報の登録・更新時、その位置を含むタイルの版数のみを更新する。
+ * 版数はDB（ReportVersionService）で管理するため、すべてのインスタンスで共有され、再起動しても戻らない。
+ * タイル単位のキャッシュは、版数が一致する場合のみ有効とする。
+ * 一括取込の場合は、取込の完了時に全タイルの版数をまとめて更新する。
+ */
+@Service
+@RequiredArgsConstructor
+public class TileVersionService {
+
+    // 版数を管理する最大ズームレベル（より詳細なタイルは、このズームレベルの祖先タイルの版数を使用する）
+    static final int VERSION_ZOOM = 12;
+
+    // 版数の種類：全タイル（一括取込の完了時に更新、タイルの版数に加算する）
+    private static final String ALL_TILES = "tile";
+
+    private final ReportVersionService reportVersionService;
+
+    /*
+     * タイルのETagを取得する。
+     * zoom: ズームレベル
+     * x: タイルX
+     * y: タイルY
+     * return: ETag
+     */
+    public String getETag(int zoom, int x, int y) {
+        return "\"tile-" + zoom + "-" + x + "-" + y + "-" + getVersion(zoom, x, y) + "\"";
+    }
+
+    /*
+     * タイルの版数を取得する。
+     * zoom: ズームレベル
+     * x: タイルX
+     * y: タイルY
+     * return: 版数（登録なしの場合、0）
+     */
+    public long getVersion(int zoom, int x, int y) {
+        return reportVersionService.getTotal(List.of(ALL_TILES, key(zoom, x, y)));
+    }
+
+    /*
+     * 全タイルの版数を更新する。（一括取込の完了時、1件ごとのタイルの版数の更新の代わり）
+     */
+    public void invalidateAll() {
+        reportVersionService.increment(List.of(ALL_TILES));
+    }
+
+    /*
+     * 位置を含む各ズームレベルのタイルの版数の種類を取得する。（登録・更新と同じトランザクションで加算する）
+     * report: 不審者情報Entity
+     * return: 版数の種類
+     */
+    public List<String> keys(ReportEntity report) {
+
+        List<String> keys = new ArrayList<>(VERSION_ZOOM + 1);
+        for (int zoom = 0; zoom <= VERSION_ZOOM; zoom++) {
+            int x = TileUtils.lngToTileX(report.getLongitude(), zoom);
+            int y = TileUtils.latToTileY(report.getLatitude(), zoom);
+            keys.add(key(zoom, x, y));
+        }
+        return keys;
+    }
+
+    /*
+     * タイルの版数の種類を取得する。
+     * zoom: ズームレベル
+     * x: タイルX
+     * y: タイルY
+     * return: 版数の種類（版数を管理する最大ズームレベルより詳細なタイルは、祖先タイルの種類）
+     */
+    private static String key(int zoom, int x, int y) {
+
+        if (zoom > VERSION_ZOOM) {
+            int shift = zoom - VERSION_ZOOM;
+            return key(VERSION_ZOOM, x >> shift, y >> shift);
+        }
+        return ALL_TILES + "/" + zoom + "/" + x + "/" + y;
+    }
+}
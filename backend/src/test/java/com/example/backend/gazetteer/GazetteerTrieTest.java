@@ -0,0 +1,77 @@
+package com.example.backend.gazetteer;
+
+import com.example.backend.model.GeoPoint;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 町丁目の代表点のトライの確認
+ */
+class GazetteerTrieTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void findsLongestPrefix() throws Exception {
+
+        SortedMap<String, GeoPoint> entries = new TreeMap<>();
+        entries.put("福岡県福岡市中央区天神", new GeoPoint(33.59, 130.40));
+        entries.put("福岡県福岡市中央区天神1丁目", new GeoPoint(33.591, 130.401));
+        entries.put("福岡県福岡市中央区天神2丁目", new GeoPoint(33.592, 130.402));
+        entries.put("福岡県福岡市博多区博多駅前1丁目", new GeoPoint(33.59, 130.42));
+
+        Map<String, SortedSet<String>> municipalities = new TreeMap<>();
+        municipalities.put("福岡県", new TreeSet<>(List.of("福岡市中央区", "福岡市博多区")));
+
+        Path path = tempDir.resolve("gazetteer.trie");
+        GazetteerTrie.write(entries, municipalities, path, 100L, 200L);
+        GazetteerTrie trie = GazetteerTrie.open(path);
+
+        assertThat(trie.size()).isEqualTo(4);
+
+        int value = trie.findLongestPrefix("福岡県福岡市中央区天神2丁目11-1");
+        assertThat(trie.getLatitude(value)).isEqualTo(33.592);
+        assertThat(trie.getLongitude(value)).isEqualTo(130.402);
+
+        value = trie.findLongestPrefix("福岡県福岡市中央区天神3丁目");
+        assertThat(trie.getLatitude(value)).isEqualTo(33.59);
+
+        // 町名のみ一致する場合は町名の代表点、町名の途中までの一致は一致なし
+        value = trie.findLongestPrefix("福岡県福岡市中央区天神5丁目");
+        assertThat(trie.getLatitude(value)).isEqualTo(33.59);
+        assertThat(trie.findLongestPrefix("福岡県福岡市中央区天神町1丁目")).isEqualTo(-1);
+        assertThat(trie.findLongestPrefix("福岡県福岡市中央区天神12丁目")).isEqualTo(
+                trie.findLongestPrefix("福岡県福岡市中央区天神"));
+
+        assertThat(trie.findLongestPrefix("福岡県福岡市中央区")).isEqualTo(-1);
+        assertThat(trie.findLongestPrefix("佐賀県佐賀市")).isEqualTo(-1);
+
+        assertThat(trie.readMunicipalities())
+                .containsExactly(Map.entry("福岡県", List.of("福岡市中央区", "福岡市博多区")));
+    }
+
+    @Test
+    void detectsStaleFile() throws Exception {
+
+        SortedMap<String, GeoPoint> entries = new TreeMap<>();
+        entries.put("福岡県福岡市中央区天神1丁目", new GeoPoint(33.591, 130.401));
+
+        Path path = tempDir.resolve("gazetteer.trie");
+        assertThat(GazetteerTrie.isUpToDate(path, 100L, 200L)).isFalse();
+
+        GazetteerTrie.write(entries, Map.of(), path, 100L, 200L);
+        assertThat(GazetteerTrie.isUpToDate(path, 100L, 200L)).isTrue();
+        assertThat(GazetteerTrie.isUpToDate(path, 100L, 201L)).isFalse();
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.backend.parser;
+
+import com.example.backend.model.NormalizedAddress;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 住所の正規化の確認
+ */
+class AddressNormalizerTest {
+
+    private final AddressNormalizer normalizer = new AddressNormalizer();
+
+    @Test
+    void unifiesNotationVariants() {
+
+        String expected = "福岡県福岡市中央区天神1丁目11-1";
+
+        assertThat(normalizer.normalize("福岡県福岡市中央区天神一丁目十一番一号").getKey()).isEqualTo(expected);
+        assertThat(normalizer.normalize("福岡県 福岡市中央区 天神１丁目　１１－１").getKey()).isEqualTo(expected);
+        assertThat(normalizer.normalize("福岡県福岡市中央区天神1丁目11番地1").getKey()).isEqualTo(expected);
+        assertThat(normalizer.normalize("福岡県福岡市中央区天神1丁目11の1").getKey()).isEqualTo(expected);
+        assertThat(normalizer.normalize("福岡県福岡市中央区天神1丁目11ー1").getKey()).isEqualTo(expected);
+        assertThat(normalizer.normalize("福岡県福岡市中央区天神1-11-1").getKey()).isEqualTo(expected);
+        assertThat(normalizer.normalize("福岡", "福岡市中央区", "天神一丁目", "十一番一号").getKey()).isEqualTo(expected);
+    }
+
+    @Test
+    void splitsAddressElements() {
+
+        NormalizedAddress address = normalizer.normalize("東京都港区六本木六丁目10-1 六本木ヒルズ");
+
+        assertThat(address.getPrefecture()).isEqualTo("東京都");
+        assertThat(address.getMunicipality()).isEqualTo("港区");
+        assertThat(address.getTown()).isEqualTo("六本木");
+        assertThat(address.getChome()).isEqualTo("6");
+        assertThat(address.getBanchi()).isEqualTo("10");
+        assertThat(address.getGo()).isEqualTo("1");
+        assertThat(address.getRest()).isEqualTo("六本木ヒルズ");
+        assertThat(address.getFallbackKeys()).containsExactly(
+                "東京都港区六本木6丁目10-1",
+                "東京都港区六本木6丁目10",
+                "東京都港区六本木6丁目",
+                "東京都港区六本木",
+                "東京都港区");
+    }
+
+    @Test
+    void keepsTownNamesAndStripsOaza() {
+
+        // 町名の漢数字は変換しない
+        assertThat(normalizer.normalize("宮城県仙台市青葉区一番町二丁目3番地").getKey())
+                .isEqualTo("宮城県仙台市青葉区一番町2丁目3");
+        assertThat(normalizer.normalize("北海道札幌市中央区北一条西二丁目").getKey())
+                .isEqualTo("北海道札幌市中央区北一条西2丁目");
+
+        assertThat(normalizer.normalize("福岡県糸島市大字志摩初１２３番地").getKey())
+                .isEqualTo("福岡県糸島市志摩初123");
+        assertThat(normalizer.normalize("福岡県", "糸島市", "字志摩初", null).getKey())
+                .isEqualTo("福岡県糸島市志摩初");
+    }
+
+    @Test
+    void validatesPrefectureAndMunicipality() {
+
+        assertThat(normalizer.normalize("福岡県", "福岡市中央区", "天神1丁目", null).isValidPrefecture()).isTrue();
+        assertThat(normalizer.normalize("北海", "札幌市中央区", "北一条西2丁目", null).isValidPrefecture()).isFalse();
+
+        // 一覧の登録前は市区町村を確認しない
+        assertThat(normalizer.normalize("福岡県", "福岡市西区", "姪浜1丁目", null).isValidMunicipality()).isTrue();
+
+        normalizer.registerMunicipalities(Map.of(
+                "福岡県", List.of("福岡市中央区", "糸島市"),
+                "三重県", List.of("四日市市")));
+
+        assertThat(normalizer.normalize("福岡県", "福岡市中央区", "天神1丁目", null).isValidMunicipality()).isTrue();
+        assertThat(normalizer.normalize("福岡県", "福岡市西区", "姪浜1丁目", null).isValidMunicipality()).isFalse();
+
+        // 市区町村の一覧から都道府県を補完
+        NormalizedAddress address = normalizer.normalize("四日市市諏訪町1-5");
+        assertThat(address.getPrefecture()).isEqualTo("三重県");
+        assertThat(address.getMunicipality()).isEqualTo("四日市市");
+        assertThat(address.getKey()).isEqualTo("三重県四日市市諏訪町1-5");
+    }
+
+    @Test
+    void keyIsStable() {
+
+        for (String input : List.of(
+                "福岡県福岡市中央区天神一丁目十一番一号",
+                "大阪府大阪市北区梅田三丁目一の五",
+                "福岡県春日市春日公園3-1",
+                "福岡県福岡市中央区天神1丁目-")) {
+            String key = normalizer.normalize(input).getKey();
+            assertThat(normalizer.normalize(key).getKey()).isEqualTo(key);
+        }
+    }
+
+    @Test
+    void parsesKanjiNumbers() {
+
+        assertThat(AddressNormalizer.parseKanjiNumber("三")).isEqualTo(3);
+        assertThat(AddressNormalizer.parseKanjiNumber("十")).isEqualTo(10);
+        assertThat(AddressNormalizer.parseKanjiNumber("二十三")).isEqualTo(23);
+        assertThat(AddressNormalizer.parseKanjiNumber("百五")).isEqualTo(105);
+        assertThat(AddressNormalizer.parseKanjiNumber("一〇")).isEqualTo(10);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.backend.parser;
+
+import com.example.backend.model.ImportRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 一括取込ファイルの読み込みの確認
+ */
+class ImportRecordReaderTest {
+
+    private static final String MESSAGE = "タグ:不審な声かけ\n日時:2024年4月8日午後3時\n都道府県:福岡県\n"
+            + "市区町村:福岡市中央区\n丁目:天神1丁目\n概要:「こんにちは」と声をかけた";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void readsCsvWithQuotedMultilineFields() throws IOException {
+
+        // BOM・CRLF・クォート内の改行・カンマ・""・空行
+        String csv = "\uFEFFid,user_id,text\r\n"
+                + "1,U001,\"" + MESSAGE.replace("\"", "\"\"").replace("\n", "\r\n") + "\"\r\n"
+                + "\r\n"
+                + "2,,\"概要:赤い服、黒い帽子,\"\"男性\"\"\"\n"
+                + "3,U003,";
+
+        List<ImportRecord> records = readAll(csv, ImportRecordReader.FORMAT_CSV);
+
+        assertThat(records).hasSize(3);
+        assertThat(records.get(0).getUserId()).isEqualTo("U001");
+        assertThat(records.get(0).getText()).isEqualTo(MESSAGE.replace("\n", "\r\n"));
+        assertThat(records.get(1).getUserId()).isNull();
+        assertThat(records.get(1).getText()).isEqualTo("概要:赤い服、黒い帽子,\"男性\"");
+        assertThat(records.get(2).getUserId()).isEqualTo("U003");
+        assertThat(records.get(2).getText()).isNull();
+    }
+
+    @Test
+    void rejectsCsvWithoutTextColumn() {
+
+        assertThatThrownBy(() -> readAll("id,user_id\n1,U001\n", ImportRecordReader.FORMAT_CSV))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void readsJsonLinesAndKeepsBrokenLinesAsRecords() throws IOException {
+
+        // 読めない行もレコードとして数える（取込の再開位置がずれないようにする）
+        String jsonl = objectMapper.writeValueAsString(Map.of("userId", "U001", "text", MESSAGE)) + "\n"
+                + "\n"
+                + "{broken\n"
+                + "{\"text\":\"概要:2件目\"}\n";
+
+        List<ImportRecord> records = readAll(jsonl, ImportRecordReader.FORMAT_JSONL);
+
+        assertThat(records).hasSize(3);
+        assertThat(records.get(0).getUserId()).isEqualTo("U001");
+        assertThat(records.get(0).getText()).isEqualTo(MESSAGE);
+        assertThat(records.get(1).getText()).isNull();
+        assertThat(records.get(2).getUserId()).isNull();
+        assertThat(records.get(2).getText()).isEqualTo("概要:2件目");
+    }
+
+    private List<ImportRecord> readAll(String content, String format) throws IOException {
+
+        List<ImportRecord> records = new ArrayList<>();
+        try (ImportRecordReader reader = new ImportRecordReader(
+                new BufferedReader(new StringReader(content)), format, objectMapper)) {
+            ImportRecord record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.backend.parser;
+
+import com.example.backend.model.ParsedReport;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 不審者情報メッセージの解析の確認
+ */
+class ReportMessageParserTest {
+
+    private final ReportMessageParser parser = new ReportMessageParser();
+
+    @Test
+    void parsesHalfWidthColons() {
+
+        ParsedReport parsed = parser.parse(String.join("\n",
+                "タグ:不審な声かけ,撮影行為",
+                "日時:2025年9月8日午後6時10分",
+                "都道府県:福岡県",
+                "市区町村:福岡市中央区",
+                "丁目:天神1丁目",
+                "番地以降:1-1",
+                "概要:下校中の児童に声をかけていた"));
+
+        assertThat(parsed.getTags()).containsExactly("不審な声かけ", "撮影行為");
+        assertThat(parsed.getOccurDate()).isEqualTo("2025年9月8日午後6時10分");
+        assertThat(parsed.getPrefecture()).isEqualTo("福岡県");
+        assertThat(parsed.getMunicipality()).isEqualTo("福岡市中央区");
+        assertThat(parsed.getDistrict()).isEqualTo("天神1丁目");
+        assertThat(parsed.getAddressDetails()).isEqualTo("1-1");
+        assertThat(parsed.getSummary()).isEqualTo("下校中の児童に声をかけていた");
+    }
+
+    @Test
+    void parsesFullWidthColonsAndSeparators() {
+
+        ParsedReport parsed = parser.parse(String.join("\r\n",
+                "　タグ：不審な声かけ、 撮影行為，つきまとい　",
+                "都道府県 ： 福岡県",
+                "市区町村：福岡市博多区",
+                "丁目：博多駅前２丁目"));
+
+        assertThat(parsed.getTags()).containsExactly("不審な声かけ", "撮影行為", "つきまとい");
+        assertThat(parsed.getPrefecture()).isEqualTo("福岡県");
+        assertThat(parsed.getMunicipality()).isEqualTo("福岡市博多区");
+        assertThat(parsed.getDistrict()).isEqualTo("博多駅前２丁目");
+    }
+
+    @Test
+    void removesColonsInsideValues() {
+
+        ParsedReport parsed = parser.parse("タグ：：声かけ:、撮影\r番地以降:1：2");
+
+        assertThat(parsed.getTags()).containsExactly("声かけ", "撮影");
+        assertThat(parsed.getAddressDetails()).isEqualTo("12");
+    }
+
+    @Test
+    void usesFirstOccurrenceAndIgnoresUnknownLines() {
+
+        ParsedReport parsed = parser.parse("お知らせ\n\n都道府県:福岡県\n都道府県:佐賀県\n市区町村 福岡市");
+
+        assertThat(parsed.getPrefecture()).isEqualTo("福岡県");
+        assertThat(parsed.getMunicipality()).isNull();
+    }
+
+    @Test
+    void returnsEmptyValuesForMissingItems() {
+
+        ParsedReport parsed = parser.parse("タグ:\n概要:");
+
+        assertThat(parsed.getTags()).isEmpty();
+        assertThat(parsed.getSummary()).isNull();
+        assertThat(parsed.getOccurDate()).isNull();
+    }
+}
@@ -0,0 +1,326 @@
+package com.example.backend.readmodel;
+
+import com.example.backend.dto.ReportNearDto;
+import com.example.backend.dto.ReportPinDto;
+import com.example.backend.dto.ReportSearchCondition;
+import com.example.backend.entity.ReportEntity;
+import com.example.backend.entity.TagEntity;
+import com.example.backend.event.ReportSavedEvent;
+import com.example.backend.event.ReportUpdatedEvent;
+import com.example.backend.model.ReportChange;
+import com.example.backend.model.ReportFeedCursor;
+import com.example.backend.model.ReportTagLink;
+import com.example.backend.repository.ReportRepository;
+import com.example.backend.repository.TagRepository;
+import com.example.backend.service.ReportChangeFeedService;
+import com.example.backend.service.ReportVersionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 読み取りモデルのタグ索引による絞り込み・近傍検索の確認
+ */
+class ReportReadModelTest {
+
+    // 起動時に読み込む件数（ビット集合の複数要素・容量の拡張を含む）
+    private static final int WARM_SIZE = 3000;
+
+    private static final TagEntity SUSPICIOUS = tag(1, "不審者");
+    private static final TagEntity VOICE = tag(2, "声かけ");
+    private static final TagEntity FOLLOW = tag(3, "つきまとい");
+
+    // 起動時の読み込み前の確定済みの位置
+    private static final ReportFeedCursor HORIZON = new ReportFeedCursor(LocalDateTime.of(2025, 10, 1, 12, 0), 0L);
+
+    private ReportReadModel readModel;
+    private TagRepository tagRepository;
+    private ReportChangeFeedService reportChangeFeedService;
+    private ReportVersionService reportVersionService;
+
+    @BeforeEach
+    void setUp() {
+        ReportRepository reportRepository = mock(ReportRepository.class);
+        tagRepository = mock(TagRepository.class);
+        reportChangeFeedService = mock(ReportChangeFeedService.class);
+        reportVersionService = mock(ReportVersionService.class);
+
+        // ID: 1〜3000、不審者: 偶数、声かけ: 3の倍数
+        List<ReportEntity> reports = new ArrayList<>();
+        List<ReportTagLink> links = new ArrayList<>();
+        for (long id = 1; id <= WARM_SIZE; id++) {
+            reports.add(report(id));
+            if (id % 2 == 0) {
+                links.add(new ReportTagLink(id, SUSPICIOUS.getId()));
+            }
+            if (id % 3 == 0) {
+                links.add(new ReportTagLink(id, VOICE.getId()));
+            }
+        }
+        when(reportRepository.streamAllOrderById()).thenReturn(reports.stream());
+        when(tagRepository.findAll()).thenReturn(List.of(SUSPICIOUS, VOICE));
+        when(tagRepository.streamLinksOrderByReportId()).thenReturn(links.stream());
+        when(reportChangeFeedService.horizon()).thenReturn(HORIZON);
+        when(reportVersionService.getVersion(ReportVersionService.FEED)).thenReturn(1L);
+
+        readModel = new ReportReadModel(reportRepository, tagRepository, new SimpleMeterRegistry(),
+                reportChangeFeedService, reportVersionService);
+        ReflectionTestUtils.setField(readModel, "entityManager", mock(EntityManager.class));
+        ReflectionTestUtils.setField(readModel, "maxLagMs", 60_000L);
+        readModel.warm();
+    }
+
+    @Test
+    void filtersByAnyTag() {
+
+        List<Long> ids = readModel.searchIds(condition("any", "不審者", "声かけ"), Integer.MAX_VALUE);
+
+        assertThat(ids).hasSize(WARM_SIZE / 2 + WARM_SIZE / 3 - WARM_SIZE / 6);
+        assertThat(ids).allMatch(id -> id % 2 == 0 || id % 3 == 0);
+        // 新しい順
+        assertThat(ids.get(0)).isEqualTo(WARM_SIZE);
+    }
+
+    @Test
+    void filtersByAllTags() {
+
+        List<Long> ids = readModel.searchIds(condition("all", "不審者", "声かけ"), Integer.MAX_VALUE);
+
+        assertThat(ids).hasSize(WARM_SIZE / 6);
+        assertThat(ids).allMatch(id -> id % 6 == 0);
+    }
+
+    @Test
+    void handlesUnknownTags() {
+
+        // すべて：未登録のタグがあれば一致なし、いずれか：未登録のタグは無視
+        assertThat(readModel.searchIds(condition("all", "不審者", "未登録"), Integer.MAX_VALUE)).isEmpty();
+        assertThat(readModel.searchIds(condition("any", "不審者", "未登録"), Integer.MAX_VALUE))
+                .hasSize(WARM_SIZE / 2);
+        assertThat(readModel.searchIds(condition("any", "未登録"), Integer.MAX_VALUE)).isEmpty();
+    }
+
+    @Test
+    void combinesTagsWithPagingAndOtherConditions() {
+
+        ReportSearchCondition condition = condition("all", "不審者", "声かけ");
+        condition.setAfter(600L);
+        condition.setLimit(3);
+
+        assertThat(readModel.searchIds(condition, 3)).containsExactly(606L, 612L, 618L);
+
+        condition = condition("any", "声かけ");
+        condition.setMinLat(0.0);
+        condition.setMaxLat(90.0);
+        condition.setMinLng(0.0);
+        condition.setMaxLng(180.0);
+        List<ReportPinDto> pins = readModel.searchPins(condition, 2);
+        assertThat(pins).extracting(ReportPinDto::getId).containsExactly(3000L, 2997L);
+    }
+
+    @Test
+    void indexesTagsOfSavedReports() {
+
+        // 4つ目以降のタグ・新しいタグも索引に追加
+        ReportEntity report = report(WARM_SIZE + 1);
+        report.setTags(new LinkedHashSet<>(List.of(SUSPICIOUS, VOICE, FOLLOW)));
+        readModel.onReportSaved(new ReportSavedEvent(report));
+
+        assertThat(readModel.searchIds(condition("all", "不審者", "声かけ", "つきまとい"), Integer.MAX_VALUE))
+                .containsExactly((long) WARM_SIZE + 1);
+        assertThat(readModel.searchIds(condition("all", "不審者", "声かけ"), 2))
+                .containsExactly((long) WARM_SIZE + 1, (long) WARM_SIZE);
+    }
+
+    @Test
+    void ordersLateReportsById() {
+
+        // 3001・3003がコミットされた後に3002がコミットされた場合も、ID順に返却
+        readModel.onReportSaved(new ReportSavedEvent(report(WARM_SIZE + 1)));
+        readModel.onReportSaved(new ReportSavedEvent(report(WARM_SIZE + 3)));
+        readModel.onReportSaved(new ReportSavedEvent(report(WARM_SIZE + 2)));
+
+        assertThat(readModel.searchIds(new ReportSearchCondition(), 3))
+                .containsExactly((long) WARM_SIZE + 3, (long) WARM_SIZE + 2, (long) WARM_SIZE + 1);
+
+        // キーセットページングで遅れて追記された行を飛ばさない
+        ReportSearchCondition condition = new ReportSearchCondition();
+        condition.setAfter((long) WARM_SIZE);
+        condition.setLimit(2);
+        assertThat(readModel.searchIds(condition, 2)).containsExactly((long) WARM_SIZE + 1, (long) WARM_SIZE + 2);
+        condition.setAfter((long) WARM_SIZE + 2);
+        assertThat(readModel.searchIds(condition, 2)).containsExactly((long) WARM_SIZE + 3);
+    }
+
+    @Test
+    void replacesUpdatedReports() {
+
+        // 600（不審者・声かけ）に重複を併合（つきまとい・番地以降を追加）
+        ReportEntity updated = report(600);
+        updated.setTag1("不審者");
+        updated.setAddressDetails("1-1 公園前");
+        updated.setTags(new LinkedHashSet<>(List.of(SUSPICIOUS, VOICE, FOLLOW)));
+        readModel.onReportUpdated(new ReportUpdatedEvent(updated, false));
+
+        assertThat(readModel.searchIds(condition("any", "つきまとい"), Integer.MAX_VALUE)).containsExactly(600L);
+
+        // 元の行は返却せず、ID順の位置に1件のみ
+        ReportSearchCondition condition = condition("all", "不審者", "声かけ");
+        condition.setAfter(594L);
+        condition.setLimit(3);
+        assertThat(readModel.searchIds(condition, 3)).containsExactly(600L, 606L, 612L);
+        List<ReportPinDto> pins = readModel.searchPins(condition, 1);
+        assertThat(pins.get(0).getAddressDetails()).isEqualTo("1-1 公園前");
+        assertThat(pins.get(0).getTag1()).isEqualTo("不審者");
+        assertThat(readModel.searchNear(new ReportSearchCondition(), 33.59, 130.40, 10, WARM_SIZE + 1))
+                .hasSize(WARM_SIZE);
+    }
+
+        @Test
+    void refreshesChangesOfOtherInstances() {
+
+        // ほかのインスタンスで登録（新しいタグ）・更新（600の番地以降）された分
+        TagEntity watch = tag(4, "見守り");
+        ReportChange added = change(report(WARM_SIZE + 1), HORIZON.getUpdated().plusSeconds(1));
+        ReportEntity merged = report(600);
+        merged.setAddressDetails("2-2 公園前");
+        ReportChange updated = change(merged, HORIZON.getUpdated().plusSeconds(2));
+        when(reportVersionService.getVersion(ReportVersionService.FEED)).thenReturn(3L);
+        when(reportChangeFeedService.horizon()).thenReturn(
+                new ReportFeedCursor(HORIZON.getUpdated().plusSeconds(10), Long.MAX_VALUE));
+        when(reportChangeFeedService.findChanges(any(), any(), anyInt())).thenReturn(List.of(added, updated));
+        when(tagRepository.findLinksByReportIds(any())).thenReturn(List.of(
+                new ReportTagLink(WARM_SIZE + 1, watch.getId()), new ReportTagLink(600L, SUSPICIOUS.getId())));
+        when(tagRepository.findAllById(any())).thenReturn(List.of(watch));
+
+        assertThat(readModel.getETag()).isEqualTo("\"readmodel-1\"");
+        readModel.refresh();
+
+        // 反映後の列の版数・位置
+        assertThat(readModel.getETag()).isEqualTo("\"readmodel-3\"");
+        assertThat(readModel.getCursor().getUpdated()).isEqualTo(HORIZON.getUpdated().plusSeconds(10));
+        assertThat(readModel.isCurrent()).isTrue();
+
+        assertThat(readModel.searchIds(condition("any", "見守り"), Integer.MAX_VALUE))
+                .containsExactly((long) WARM_SIZE + 1);
+        ReportSearchCondition condition = new ReportSearchCondition();
+        condition.setAfter(599L);
+        condition.setLimit(2);
+        assertThat(readModel.searchPins(condition, 2))
+                .extracting(ReportPinDto::getId, ReportPinDto::getAddressDetails)
+                .containsExactly(tuple(600L, "2-2 公園前"), tuple(601L, null));
+    }
+
+    @Test
+    void keepsETagUntilChangesAreRefreshed() {
+
+        // このインスタンスの登録は即時に追記するが、版数は差分の反映まで進めない
+        ReportEntity report = report(WARM_SIZE + 1);
+        report.setUpdated(HORIZON.getUpdated().plusSeconds(1));
+        readModel.onReportSaved(new ReportSavedEvent(report));
+        assertThat(readModel.searchIds(new ReportSearchCondition(), 1)).containsExactly((long) WARM_SIZE + 1);
+        assertThat(readModel.getETag()).isEqualTo("\"readmodel-1\"");
+
+        // 差分取得で同じ位置を再度受け取っても二重に追記しない
+        when(reportVersionService.getVersion(ReportVersionService.FEED)).thenReturn(2L);
+        when(reportChangeFeedService.findChanges(any(), any(), anyInt()))
+                .thenReturn(List.of(change(report, report.getUpdated())));
+        readModel.refresh();
+
+        assertThat(readModel.getETag()).isEqualTo("\"readmodel-2\"");
+        assertThat(readModel.searchNear(new ReportSearchCondition(), 33.59, 130.40, 10, WARM_SIZE + 2))
+                .hasSize(WARM_SIZE + 1);
+    }
+
+    @Test
+    void fallsBehindWhenRefreshFails() {
+
+        when(reportChangeFeedService.findChanges(any(), any(), anyInt())).thenThrow(new IllegalStateException());
+        ReflectionTestUtils.setField(readModel, "maxLagMs", 0L);
+
+        readModel.refresh();
+
+        // 反映の遅れが上限を超えた場合はDBから検索させる
+        assertThat(readModel.isReady()).isTrue();
+        assertThat(readModel.isCurrent()).isFalse();
+        assertThat(readModel.getETag()).isEqualTo("\"readmodel-1\"");
+    }
+
+    @Test
+    void searchesNearestWithinRadius() {
+
+        // 基準点から約56m（1年前）・約222m（当日）、起動時の3000件は約1112m
+        ReportEntity near = report(WARM_SIZE + 1);
+        near.setLatitude(33.5995);
+        near.setOccurDate(LocalDateTime.of(2024, 9, 1, 8, 0));
+        ReportEntity middle = report(WARM_SIZE + 2);
+        middle.setLatitude(33.598);
+        middle.setOccurDate(LocalDateTime.of(2025, 9, 1, 8, 0));
+        readModel.onReportSaved(new ReportSavedEvent(near));
+        readModel.onReportSaved(new ReportSavedEvent(middle));
+
+        ReportSearchCondition condition = new ReportSearchCondition();
+        List<ReportNearDto> results = readModel.searchNear(condition, 33.60, 130.40, 500, 10);
+        assertThat(results).extracting(result -> result.getReport().getId())
+                .containsExactly((long) WARM_SIZE + 1, (long) WARM_SIZE + 2);
+        assertThat(results.get(0).getDistance()).isBetween(50.0, 60.0);
+
+        // 距離の近い順に上位k件
+        results = readModel.searchNear(condition, 33.60, 130.40, 2000, 3);
+        assertThat(results).hasSize(3);
+        assertThat(results.get(2).getDistance()).isBetween(1100.0, 1120.0);
+
+        // 発生日時で絞り込み
+        condition.setFrom(LocalDateTime.of(2025, 1, 1, 0, 0));
+        assertThat(readModel.searchNear(condition, 33.60, 130.40, 2000, 10))
+                .extracting(result -> result.getReport().getId())
+                .containsExactly((long) WARM_SIZE + 2);
+    }
+
+    private static ReportSearchCondition condition(String mode, String... tags) {
+        ReportSearchCondition condition = new ReportSearchCondition();
+        condition.setTags(List.of(tags));
+        condition.setMode(mode);
+        return condition;
+    }
+
+    private static ReportChange change(ReportEntity report, LocalDateTime updated) {
+        return new ReportChange(report.getId(), report.getLatitude(), report.getLongitude(), report.getTag1(),
+                report.getTag2(), report.getTag3(), report.getOccurDate(), report.getPrefecture(),
+                report.getMunicipality(), report.getDistrict(), report.getAddressDetails(), updated);
+    }
+
+    private static ReportEntity report(long id) {
+        ReportEntity report = new ReportEntity();
+        report.setId(id);
+        report.setUserId("U" + id);
+        report.setPrefecture("福岡県");
+        report.setMunicipality("福岡市中央区");
+        report.setDistrict("天神1丁目");
+        report.setLatitude(33.59);
+        report.setLongitude(130.40);
+        return report;
+    }
+
+    private static TagEntity tag(int id, String name) {
+        TagEntity tag = new TagEntity();
+        tag.setId(id);
+        tag.setName(name);
+        return tag;
+    }
+}
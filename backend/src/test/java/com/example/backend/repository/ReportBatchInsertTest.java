@@ -0,0 +1,87 @@
+package com.example.backend.repository;
+
+import com.example.backend.config.JpaConfig;
+import com.example.backend.entity.ReportEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 不審者情報の一括登録（JDBCバッチ）の確認
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(JpaConfig.class)
+class ReportBatchInsertTest {
+
+    // 1回の配信に含まれるイベント件数
+    private static final int DELIVERY_SIZE = 10;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // シーケンスの採番を事前に済ませ、INSERTのみを計測する
+        reportRepository.saveAll(createReports(1));
+        entityManager.flush();
+        statistics.clear();
+    }
+
+    @Test
+    void insertsEachReportSeparatelyWithoutBatching() {
+        entityManager.getEntityManager().unwrap(Session.class).setJdbcBatchSize(1);
+
+        reportRepository.saveAll(createReports(DELIVERY_SIZE));
+        entityManager.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(DELIVERY_SIZE);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(DELIVERY_SIZE);
+    }
+
+    @Test
+    void insertsDeliveryInOneBatch() {
+        reportRepository.saveAll(createReports(DELIVERY_SIZE));
+        entityManager.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(DELIVERY_SIZE);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private List<ReportEntity> createReports(int count) {
+        List<ReportEntity> reports = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ReportEntity report = new ReportEntity();
+            report.setUserId("U" + i);
+            report.setPrefecture("福岡県");
+            report.setMunicipality("福岡市中央区");
+            report.setDistrict("天神" + (i + 1) + "丁目");
+            report.setLatitude(33.59 + i * 0.001);
+            report.setLongitude(130.40 + i * 0.001);
+            report.setSummary("声かけ事案");
+            reports.add(report);
+        }
+        return reports;
+    }
+}
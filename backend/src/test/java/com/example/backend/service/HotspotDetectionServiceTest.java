@@ -0,0 +1,147 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.HotspotDto;
+import com.example.backend.model.ReportArrival;
+import com.example.backend.repository.ReportRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 急増地点の検知の確認
+ */
+class HotspotDetectionServiceTest {
+
+    private static final long HOUR = 3_600_000L;
+    private static final long DAY = 24 * HOUR;
+
+    // 起点（2025-06-01T00:00Z）
+    private static final long START = 1_748_736_000_000L;
+
+    private ReportRepository reportRepository;
+    private HotspotDetectionService service;
+
+    @BeforeEach
+    void setUp() {
+        reportRepository = mock(ReportRepository.class);
+        service = new HotspotDetectionService(new SimpleMeterRegistry(), reportRepository,
+                mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(service, "zoom", 15);
+        ReflectionTestUtils.setField(service, "windowHours", 24);
+        ReflectionTestUtils.setField(service, "slotCount", 24);
+        ReflectionTestUtils.setField(service, "baselineDays", 28);
+        ReflectionTestUtils.setField(service, "minCount", 3);
+        ReflectionTestUtils.setField(service, "ratio", 3.0);
+        ReflectionTestUtils.setField(service, "maxCells", 100);
+        service.init();
+    }
+
+    @Test
+    void detectsBurstAndCoolsDown() {
+
+        // 天神：1時間に3件、博多：2件
+        for (int i = 0; i < 3; i++) {
+            service.record(33.5910, 130.3990, START + i * 60_000L);
+        }
+        service.record(33.5897, 130.4207, START);
+        service.record(33.5897, 130.4207, START + 60_000L);
+
+        List<HotspotDto> hotspots = service.getHotspots(START + HOUR);
+        assertThat(hotspots).hasSize(1);
+        assertThat(hotspots.get(0).getCount()).isEqualTo(3);
+        assertThat(hotspots.get(0).getLatitude()).isCloseTo(33.5910, within(0.01));
+
+        // 集計期間を過ぎると平常に戻る
+        assertThat(service.getHotspots(START + DAY + HOUR)).isEmpty();
+    }
+
+    @Test
+    void comparesWithBaseline() {
+
+        // 90日間、毎日5件（平常時は1日あたり約5件）
+        for (int day = 0; day < 90; day++) {
+            for (int i = 0; i < 5; i++) {
+                service.record(33.5910, 130.3990, START + day * DAY + i * HOUR);
+            }
+        }
+        long today = START + 91 * DAY;
+        assertThat(service.getHotspots(today)).isEmpty();
+
+        // 平常時の倍率以下は検知しない
+        for (int i = 0; i < 10; i++) {
+            service.record(33.5910, 130.3990, today + i * 60_000L);
+        }
+        assertThat(service.getHotspots(today + HOUR)).isEmpty();
+
+        for (int i = 0; i < 10; i++) {
+            service.record(33.5910, 130.3990, today + HOUR + i * 60_000L);
+        }
+        List<HotspotDto> hotspots = service.getHotspots(today + 2 * HOUR);
+        assertThat(hotspots).hasSize(1);
+        assertThat(hotspots.get(0).getCount()).isEqualTo(20);
+        assertThat(hotspots.get(0).getBaseline()).isBetween(4.0, 5.0);
+    }
+
+    @Test
+    void warmsBaselineFromHistory() {
+
+        // 再起動前の27日間、毎日4件（平常時は1日あたり約4件）、直近の集計期間に5件
+        long now = START + 30 * DAY;
+        List<ReportArrival> arrivals = new ArrayList<>();
+        for (int day = 27; day >= 2; day--) {
+            for (int i = 0; i < 4; i++) {
+                arrivals.add(arrival(now - day * DAY + i * HOUR));
+            }
+        }
+        for (int i = 5; i >= 1; i--) {
+            arrivals.add(arrival(now - i * HOUR));
+        }
+        when(reportRepository.streamArrivalsSince(any())).thenReturn(arrivals.stream());
+
+        service.warm(now);
+
+        // 平常時から0件で始めないため、再起動直後に誤検知しない
+        assertThat(service.getHotspots(now)).isEmpty();
+
+        for (int i = 0; i < 8; i++) {
+            service.record(33.5910, 130.3990, now + i * 60_000L);
+        }
+        List<HotspotDto> hotspots = service.getHotspots(now + HOUR);
+        assertThat(hotspots).hasSize(1);
+        assertThat(hotspots.get(0).getCount()).isEqualTo(13);
+        assertThat(hotspots.get(0).getBaseline()).isBetween(3.5, 4.0);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedCells() {
+
+        // 格子数の上限を超えた場合、古い格子から破棄する
+        for (int i = 0; i < 3; i++) {
+            service.record(33.5910, 130.3990, START);
+        }
+        for (int cell = 0; cell < 100; cell++) {
+            service.record(35.0 + cell * 0.05, 135.0, START);
+        }
+
+        assertThat(service.getHotspots(START)).isEmpty();
+    }
+
+    private static ReportArrival arrival(long created) {
+        LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(created), ZoneId.systemDefault());
+        return new ReportArrival(33.5910, 130.3990, time, time);
+    }
+}
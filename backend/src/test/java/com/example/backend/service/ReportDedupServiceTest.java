@@ -0,0 +1,170 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.ReportEntity;
+import com.example.backend.entity.TagEntity;
+import com.example.backend.event.ReportSavedEvent;
+import com.example.backend.model.GeoPoint;
+import com.example.backend.parser.AddressNormalizer;
+import com.example.backend.repository.DuplicateReportRepository;
+import com.example.backend.repository.ReportRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 不審者情報の重複判定の確認
+ */
+class ReportDedupServiceTest {
+
+    private static final long MINUTE = 60_000L;
+
+    // 発生日時
+    private static final LocalDateTime OCCUR_DATE = LocalDateTime.of(2025, 9, 8, 18, 10);
+
+    private ReportRepository reportRepository;
+    private ReportDedupService service;
+
+    // 登録済みの不審者情報（索引に追加済み）
+    private ReportEntity incident;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        reportRepository = mock(ReportRepository.class);
+        service = new ReportDedupService(reportRepository, mock(DuplicateReportRepository.class),
+                new AddressNormalizer(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "bucketMinutes", 30);
+        ReflectionTestUtils.setField(service, "ttlMinutes", 180);
+        ReflectionTestUtils.setField(service, "threshold", 0.5);
+        service.init();
+
+        incident = report("天神1丁目", "1-1", OCCUR_DATE, "下校中の児童に声をかけていた。黒い服の男性");
+        incident.setId(10L);
+        when(reportRepository.getReferenceById(10L)).thenReturn(incident);
+        now = System.currentTimeMillis();
+        service.onReportSaved(new ReportSavedEvent(incident));
+    }
+
+    @Test
+    void linksNearDuplicateToExistingReport() {
+
+        // 住所の表記揺れ・発生日時の時間差（区間の長さ以内）・概要の言い回しの違い
+        ReportEntity report = report("天神一丁目", "１－１", OCCUR_DATE.plusMinutes(25),
+                "下校中の児童に声をかけていた 黒い服の男");
+
+        ReportDedupService.Deduplication deduplication = service.deduplicate(List.of(report), now);
+
+        assertThat(deduplication.unique()).isEmpty();
+        assertThat(deduplication.duplicates()).hasSize(1);
+        assertThat(deduplication.duplicates().get(0).getReport()).isSameAs(incident);
+        assertThat(deduplication.duplicates().get(0).getSimilarity()).isGreaterThanOrEqualTo(0.5);
+    }
+
+    @Test
+    void mergesTagsAndAddressDetailsIntoIncident() {
+
+        ReportEntity report = report("天神1丁目", "1-1 コンビニ前", OCCUR_DATE.plusMinutes(5),
+                "下校中の児童に声をかけていた。黒い服の男性");
+        report.setTag1("声かけ");
+        report.setTags(new LinkedHashSet<>(List.of(tag(2, "声かけ"))));
+
+        ReportDedupService.Deduplication deduplication = service.deduplicate(List.of(report), now);
+
+        assertThat(incident.getTag1()).isEqualTo("声かけ");
+        assertThat(incident.getTags()).extracting(TagEntity::getName).containsExactly("声かけ");
+        assertThat(incident.getAddressDetails()).isEqualTo("1-1 コンビニ前");
+        // 更新イベントの対象・差分取得の位置（更新日時）を進める
+        assertThat(deduplication.updated()).containsExactly(incident);
+        assertThat(incident.getUpdated()).isNotNull();
+
+        // 変更がない重複は更新しない
+        assertThat(service.deduplicate(List.of(report), now).updated()).isEmpty();
+    }
+
+    @Test
+    void keepsReportsWithoutSummary() {
+
+        // 概要がない同士は重複とみなさない
+        ReportEntity first = report("大名1丁目", "2-3", OCCUR_DATE, null);
+        ReportEntity second = report("大名1丁目", "2-3", OCCUR_DATE, null);
+
+        assertThat(service.deduplicate(List.of(first, second), now).unique()).containsExactly(first, second);
+    }
+
+    @Test
+    void keepsDifferentIncidents() {
+
+        List<ReportEntity> reports = List.of(
+                // 概要が異なる
+                report("天神1丁目", "1-1", OCCUR_DATE, "公園で子どもの写真を撮影していた"),
+                // 発生日時が離れている
+                report("天神1丁目", "1-1", OCCUR_DATE.plusHours(2), "下校中の児童に声をかけていた。黒い服の男性"),
+                // 住所が異なる
+                report("天神2丁目", "1-1", OCCUR_DATE, "下校中の児童に声をかけていた。黒い服の男性"));
+
+        ReportDedupService.Deduplication deduplication = service.deduplicate(reports, now);
+
+        assertThat(deduplication.unique()).containsExactlyElementsOf(reports);
+        assertThat(deduplication.duplicates()).isEmpty();
+    }
+
+    @Test
+    void linksDuplicatesWithinSameBatch() {
+
+        ReportEntity first = report("大名1丁目", "2-3", OCCUR_DATE, "自転車で女子生徒をつけ回していた");
+        ReportEntity second = report("大名1丁目", "2-3", OCCUR_DATE.plusMinutes(5), "自転車で女子生徒をつけ回していた。");
+
+        ReportDedupService.Deduplication deduplication = service.deduplicate(List.of(first, second), now);
+
+        assertThat(deduplication.unique()).containsExactly(first);
+        assertThat(deduplication.duplicates()).hasSize(1);
+        assertThat(deduplication.duplicates().get(0).getReport()).isSameAs(first);
+    }
+
+    @Test
+    void reusesLocationUntilExpired() {
+
+        AddressNormalizer normalizer = new AddressNormalizer();
+        GeoPoint location = service.findLocation(normalizer.normalize("福岡県", "福岡市中央区", "天神一丁目", "1番1号"));
+        assertThat(location).isNotNull();
+        assertThat(location.getLatitude()).isEqualTo(incident.getLatitude());
+
+        // 有効期間を過ぎた要素は破棄される
+        service.purge(now + 181 * MINUTE);
+        assertThat(service.findLocation(normalizer.normalize("福岡県", "福岡市中央区", "天神1丁目", "1-1"))).isNull();
+        ReportEntity report = report("天神1丁目", "1-1", OCCUR_DATE, "下校中の児童に声をかけていた。黒い服の男性");
+        assertThat(service.deduplicate(List.of(report), now + 181 * MINUTE).unique()).containsExactly(report);
+    }
+
+    private static ReportEntity report(String district, String addressDetails, LocalDateTime occurDate,
+            String summary) {
+        ReportEntity report = new ReportEntity();
+        report.setUserId("U0123456789abcdef0123456789abcdef");
+        report.setPrefecture("福岡県");
+        report.setMunicipality("福岡市中央区");
+        report.setDistrict(district);
+        report.setAddressDetails(addressDetails);
+        report.setOccurDate(occurDate);
+        report.setLatitude(33.5914);
+        report.setLongitude(130.3989);
+        report.setSummary(summary);
+        return report;
+    }
+
+    private static TagEntity tag(int id, String name) {
+        TagEntity tag = new TagEntity();
+        tag.setId(id);
+        tag.setName(name);
+        return tag;
+    }
+}
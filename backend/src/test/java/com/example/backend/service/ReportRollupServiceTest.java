@@ -0,0 +1,158 @@
+package com.example.backend.service;
+
+import com.example.backend.config.JpaConfig;
+import com.example.backend.dto.ReportDto;
+import com.example.backend.dto.ReportHistogramDto;
+import com.example.backend.dto.ReportSearchCondition;
+import com.example.backend.entity.ReportEntity;
+import com.example.backend.repository.ReportMonthlyRollupRepository;
+import com.example.backend.repository.ReportRepository;
+import com.example.backend.repository.ReportRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 不審者情報の時系列集計・発生時刻の絞り込みの確認
+ */
+@DataJpaTest
+@Import({JpaConfig.class, ReportRollupService.class})
+class ReportRollupServiceTest {
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private ReportRollupRepository reportRollupRepository;
+
+    @Autowired
+    private ReportMonthlyRollupRepository reportMonthlyRollupRepository;
+
+    @Autowired
+    private ReportRollupService reportRollupService;
+
+    @BeforeEach
+    void setUp() {
+        // 福岡市中央区：6/1 16時×2・23時、6/2 16時、北九州市：6/1 16時
+        List<ReportEntity> reports = new ArrayList<>();
+        reports.add(report(33.59, 130.40, LocalDateTime.of(2025, 6, 1, 16, 10)));
+        reports.add(report(33.59, 130.40, LocalDateTime.of(2025, 6, 1, 16, 50)));
+        reports.add(report(33.59, 130.40, LocalDateTime.of(2025, 6, 1, 23, 5)));
+        reports.add(report(33.59, 130.40, LocalDateTime.of(2025, 6, 2, 16, 30)));
+        reports.add(report(33.88, 130.88, LocalDateTime.of(2025, 6, 1, 16, 0)));
+        reportRollupService.increment(reportRepository.saveAllAndFlush(reports));
+    }
+
+    @Test
+    void countsByDayAndHour() {
+
+        ReportHistogramDto histogram = reportRollupService.getHistogram(new ReportSearchCondition());
+
+        assertThat(histogram.getTotal()).isEqualTo(5);
+        assertThat(histogram.getUnit()).isEqualTo("day");
+        assertThat(histogram.getHours()[16]).isEqualTo(4);
+        assertThat(histogram.getHours()[23]).isEqualTo(1);
+        assertThat(histogram.getDays()).containsExactly(
+                new ReportHistogramDto.DayCount(LocalDate.of(2025, 6, 1), 4),
+                new ReportHistogramDto.DayCount(LocalDate.of(2025, 6, 2), 1));
+        // 同じタイル・時間の不審者情報は1件に集計
+        assertThat(reportRollupRepository.count()).isEqualTo(4);
+    }
+
+    @Test
+    void filtersByBoundsAndTime() {
+
+        ReportSearchCondition condition = fukuokaChuo();
+        condition.setFrom(LocalDateTime.of(2025, 6, 1, 0, 0));
+        condition.setTo(LocalDateTime.of(2025, 6, 2, 0, 0));
+        condition.setHourFrom(15);
+        condition.setHourTo(18);
+
+        ReportHistogramDto histogram = reportRollupService.getHistogram(condition);
+
+        assertThat(histogram.getTotal()).isEqualTo(2);
+        assertThat(histogram.getDays()).containsExactly(
+                new ReportHistogramDto.DayCount(LocalDate.of(2025, 6, 1), 2));
+    }
+
+    @Test
+    void rebuildsEmptyRollups() {
+
+        ReportHistogramDto expected = reportRollupService.getHistogram(new ReportSearchCondition());
+        reportRollupRepository.deleteAllInBatch();
+
+        reportRollupService.rebuildIfEmpty();
+
+        assertThat(reportRollupService.getHistogram(new ReportSearchCondition())).isEqualTo(expected);
+    }
+
+    @Test
+    void countsByMonthOverLongRanges() {
+
+        // 7/20 8時・9/15 10時（6月〜9月の途中は時別、7月・8月は月別の集計を参照）
+        reportRollupService.increment(reportRepository.saveAllAndFlush(List.of(
+                report(33.59, 130.40, LocalDateTime.of(2025, 7, 20, 8, 0)),
+                report(33.59, 130.40, LocalDateTime.of(2025, 9, 15, 10, 30)))));
+
+        ReportHistogramDto histogram = reportRollupService.getHistogram(new ReportSearchCondition());
+
+        assertThat(histogram.getTotal()).isEqualTo(7);
+        assertThat(histogram.getUnit()).isEqualTo("month");
+        assertThat(histogram.getHours()[8]).isEqualTo(1);
+        assertThat(histogram.getHours()[16]).isEqualTo(4);
+        assertThat(histogram.getDays()).containsExactly(
+                new ReportHistogramDto.DayCount(LocalDate.of(2025, 6, 1), 5),
+                new ReportHistogramDto.DayCount(LocalDate.of(2025, 7, 1), 1),
+                new ReportHistogramDto.DayCount(LocalDate.of(2025, 9, 1), 1));
+
+        // 月別集計は時別の集計から再作成できる
+        reportMonthlyRollupRepository.deleteAllInBatch();
+        reportRollupService.rebuildIfEmpty();
+
+        assertThat(reportRollupService.getHistogram(new ReportSearchCondition())).isEqualTo(histogram);
+    }
+
+    @Test
+    void filtersReportsByHourAcrossMidnight() {
+
+        ReportSearchCondition condition = new ReportSearchCondition();
+        condition.setHourFrom(22);
+        condition.setHourTo(5);
+
+        List<ReportDto> reports = reportRepository.searchDtos(condition, Integer.MAX_VALUE);
+
+        assertThat(reports).extracting(ReportDto::getOccurDate)
+                .containsExactly(LocalDateTime.of(2025, 6, 1, 23, 5));
+    }
+
+    private static ReportSearchCondition fukuokaChuo() {
+        ReportSearchCondition condition = new ReportSearchCondition();
+        condition.setMinLat(33.55);
+        condition.setMaxLat(33.60);
+        condition.setMinLng(130.35);
+        condition.setMaxLng(130.42);
+        return condition;
+    }
+
+    private static ReportEntity report(double latitude, double longitude, LocalDateTime occurDate) {
+        ReportEntity report = new ReportEntity();
+        report.setUserId("U1");
+        report.setPrefecture("福岡県");
+        report.setMunicipality("福岡市中央区");
+        report.setDistrict("天神1丁目");
+        report.setLatitude(latitude);
+        report.setLongitude(longitude);
+        report.setOccurDate(occurDate);
+        report.setSummary("声かけ事案");
+        return report;
+    }
+}
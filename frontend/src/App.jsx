@@ -1,21 +1,57 @@
-import React, { useEffect, useState } from 'react';
-import { getReports } from './services/api';
+import React, { useCallback, useEffect, useState } from 'react';
+import { getClusters, getReportPins, subscribeReports } from './services/api';
 import AddressList from './components/AddressList';
 import MapView from './components/MapView';
 import ReportDetail from './components/ReportDetail';
 import './App.css';
 import logo from "./assets/SuspiciousPersonMapLogo.png";
 
+// このズームレベル未満はサーバー側で集計したクラスタを表示
+const CLUSTER_MAX_ZOOM = 15;
+
 function App() {
   const [reports, setReports] = useState([]);
+  const [clusters, setClusters] = useState(null);
   const [selectedReport, setSelectedReport] = useState(null);
   const [loading, setLoading] = useState(true);
+  const [bounds, setBounds] = useState(null);
 
+  // 表示範囲内のレポートのみ取得（表示範囲は地図の表示後に確定）
   useEffect(() => {
+    if (!bounds) {
+      setLoading(false);
+      return;
+    }
+
     const fetchReports = async () => {
       try {
-        const data = await getReports();
+        const { zoom, ...box } = bounds;
+        const [{ reports: data, cursor }, clusterData] = await Promise.all([
+          getReportPins(box),
+          zoom < CLUSTER_MAX_ZOOM ? getClusters(box, zoom) : Promise.resolve(null),
+        ]);
         setReports(data);
+        setClusters(clusterData);
+
+        // 取得分以降の新規レポートをプッシュで受信（ポーリングなし）
+        if (!cancelled) {
+          source = subscribeReports(box, cursor, {
+            // 新規は先頭に追加、更新（重複の併合）・再送は同じIDのレポートを置き換え
+            onReport: (report) => {
+              setReports((prev) => (prev.some((r) => r.id === report.id)
+                ? prev.map((r) => (r.id === report.id ? report : r))
+                : [report, ...prev]));
+              // クラスタ表示中は件数が変わるため再集計
+              if (zoom < CLUSTER_MAX_ZOOM) {
+                getClusters(box, zoom).then(setClusters).catch((error) => {
+                  console.error('Failed to fetch clusters:', error);
+                });
+              }
+            },
+            // 未受信分が多すぎる場合は再取得
+            onReset: () => setBounds((prev) => ({ ...prev })),
+          });
+        }
       } catch (error) {
         console.error('Failed to fetch reports:', error);
       } finally {
@@ -23,7 +59,20 @@ function App() {
       }
     };
 
+    let cancelled = false;
+    let source = null;
     fetchReports();
+
+    return () => {
+      cancelled = true;
+      if (source) {
+        source.close();
+      }
+    };
+  }, [bounds]);
+
+  const handleBoundsChange = useCallback((nextBounds) => {
+    setBounds(nextBounds);
   }, []);
 
   const handleReportSelect = (report) => {
@@ -56,8 +105,10 @@ function App() {
           ) : (
             <MapView 
               reports={reports}
+              clusters={clusters}
               onMarkerClick={handleMarkerClick}
               selectedReport={selectedReport}
+              onBoundsChange={handleBoundsChange}
             />
           )}
         </section>
@@ -1,4 +1,4 @@
-import React, { useCallback, useMemo } from 'react';
+import React, { useCallback, useMemo, useRef } from 'react';
 import { GoogleMap, Marker, useLoadScript } from '@react-google-maps/api';
 import './MapView.css';
 
@@ -21,11 +21,33 @@ const mapContainerStyle = {
   height: '100%',
 };
 
-function MapView({ reports, onMarkerClick, selectedReport }) {
+function MapView({ reports, clusters, onMarkerClick, selectedReport, onBoundsChange }) {
   const { isLoaded, loadError } = useLoadScript({
     googleMapsApiKey: import.meta.env.VITE_GOOGLE_MAPS_API_KEY || '',
   });
 
+  const mapRef = useRef(null);
+
+  const handleLoad = useCallback((map) => {
+    mapRef.current = map;
+  }, []);
+
+  // 地図の移動・拡大縮小が落ち着いたら表示範囲を通知
+  const handleIdle = useCallback(() => {
+    const bounds = mapRef.current?.getBounds();
+    if (!bounds || !onBoundsChange) return;
+
+    const northEast = bounds.getNorthEast();
+    const southWest = bounds.getSouthWest();
+    onBoundsChange({
+      minLat: southWest.lat(),
+      maxLat: northEast.lat(),
+      minLng: southWest.lng(),
+      maxLng: northEast.lng(),
+      zoom: mapRef.current.getZoom(),
+    });
+  }, [onBoundsChange]);
+
   const mapOptions = useMemo(
     () => ({
       disableDefaultUI: false,
@@ -100,8 +122,28 @@ function MapView({ reports, onMarkerClick, selectedReport }) {
         center={DEFAULT_CENTER}
         zoom={DEFAULT_ZOOM}
         options={mapOptions}
+        onLoad={handleLoad}
+        onIdle={handleIdle}
       >
-        {reports &&
+        {clusters &&
+          clusters.map((cluster) => (
+            <Marker
+              key={`${cluster.latitude},${cluster.longitude}`}
+              position={{ lat: cluster.latitude, lng: cluster.longitude }}
+              label={{ text: String(cluster.count), color: '#ffffff' }}
+              title={`${cluster.count}件`}
+              onClick={() => {
+                // クラスタをクリックした場合は拡大
+                const map = mapRef.current;
+                if (!map) return;
+                map.panTo({ lat: cluster.latitude, lng: cluster.longitude });
+                map.setZoom(map.getZoom() + 2);
+              }}
+            />
+          ))}
+
+        {!clusters &&
+          reports &&
           reports.map((report) => {
 
             if (report.latitude == null || report.longitude == null) return null;
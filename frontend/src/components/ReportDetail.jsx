@@ -1,7 +1,31 @@
-import React from 'react';
+import React, { useEffect, useState } from 'react';
+import { getReport } from '../services/api';
 import './ReportDetail.css';
 
-function ReportDetail({ report }) {
+function ReportDetail({ report: pin }) {
+  // 地図ピン用の情報には概要が含まれないため、選択時に詳細を取得
+  const [detail, setDetail] = useState(null);
+
+  useEffect(() => {
+    if (!pin) {
+      setDetail(null);
+      return;
+    }
+
+    let cancelled = false;
+    getReport(pin.id)
+      .then((data) => {
+        if (!cancelled) setDetail(data);
+      })
+      .catch((error) => console.error('Failed to fetch report:', error));
+
+    return () => {
+      cancelled = true;
+    };
+  }, [pin]);
+
+  const report = detail?.id === pin?.id ? detail : pin;
+
   if (!report) {
     return (
       <div className="report-detail">
@@ -2,15 +2,60 @@
 
 const BASE_URL = 'http://localhost:8080'; // Spring BootのAPIサーバーURL
 
-// 全レポート取得
-export async function getReports() {
-  const response = await fetch(`${BASE_URL}/api/reports`);
+// 地図ピン用レポート取得（概要などの詳細を含まない）
+// cursorは取得時点の購読の開始位置（subscribeReportsのlastEventIdに指定する）
+export async function getReportPins(bounds) {
+  const params = new URLSearchParams();
+  if (bounds) {
+    params.set('minLat', bounds.minLat);
+    params.set('maxLat', bounds.maxLat);
+    params.set('minLng', bounds.minLng);
+    params.set('maxLng', bounds.maxLng);
+  }
+  const query = params.toString();
+  const response = await fetch(`${BASE_URL}/api/reports/pins${query ? `?${query}` : ''}`);
+  if (!response.ok) {
+    throw new Error('Failed to fetch report pins');
+  }
+  return { reports: await response.json(), cursor: response.headers.get('X-Feed-Cursor') };
+}
+
+// レポート詳細取得
+export async function getReport(id) {
+  const response = await fetch(`${BASE_URL}/api/reports/${id}`);
+  if (!response.ok) {
+    throw new Error('Failed to fetch report');
+  }
+  return await response.json();
+}
+
+// クラスタ取得（表示範囲・ズームレベル単位）
+export async function getClusters(bounds, zoom) {
+  const bbox = [bounds.minLng, bounds.minLat, bounds.maxLng, bounds.maxLat].join(',');
+  const params = new URLSearchParams({ bbox, zoom: String(zoom) });
+  const response = await fetch(`${BASE_URL}/api/reports/clusters?${params}`);
   if (!response.ok) {
-    throw new Error('Failed to fetch reports');
+    throw new Error('Failed to fetch clusters');
   }
   return await response.json();
 }
 
+// 新規レポートの受信（Server-Sent Events、切断時はブラウザが自動で再接続する）
+export function subscribeReports(bounds, lastEventId, { onReport, onReset }) {
+  const params = new URLSearchParams();
+  if (bounds) {
+    params.set('bbox', [bounds.minLng, bounds.minLat, bounds.maxLng, bounds.maxLat].join(','));
+  }
+  if (lastEventId) {
+    params.set('lastEventId', lastEventId);
+  }
+  const query = params.toString();
+  const source = new EventSource(`${BASE_URL}/api/reports/subscribe${query ? `?${query}` : ''}`);
+  source.addEventListener('report', (event) => onReport(JSON.parse(event.data)));
+  source.addEventListener('reset', () => onReset());
+  return source;
+}
+
 // 特定レポート追加などが必要な場合（将来的に）
 export async function addReport(data) {
   const response = await fetch(`${BASE_URL}/api/reports`, {